@@ -16,8 +16,6 @@
 
 package org.springframework.integration.amqp.channel;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -181,7 +179,7 @@ public class PollableAmqpChannel extends AbstractAmqpChannel
 	@Nullable
 	protected Message<?> doReceive(Long timeout) {
 		ChannelInterceptorList interceptorList = getIChannelInterceptorList();
-		Deque<ChannelInterceptor> interceptorStack = null;
+		ChannelInterceptor[] appliedInterceptors = null;
 		AtomicBoolean counted = new AtomicBoolean();
 		boolean countsEnabled = isCountsEnabled();
 		boolean traceEnabled = isLoggingEnabled() && logger.isTraceEnabled();
@@ -189,27 +187,30 @@ public class PollableAmqpChannel extends AbstractAmqpChannel
 			if (traceEnabled) {
 				logger.trace("preReceive on channel '" + this + "'");
 			}
-			if (interceptorList.getInterceptors().size() > 0) {
-				interceptorStack = new ArrayDeque<>();
-				if (!interceptorList.preReceive(this, interceptorStack)) {
+			ChannelInterceptor[] interceptorArray = interceptorList.getInterceptorArray();
+			if (interceptorArray.length > 0) {
+				if (!interceptorList.preReceive(this, interceptorArray)) {
 					return null;
 				}
+				appliedInterceptors = interceptorArray;
 			}
 			Object object = performReceive(timeout);
 			Message<?> message = buildMessageFromResult(object, traceEnabled, countsEnabled ? counted : null);
-
-
-			if (message != null) {
-				message = interceptorList.postReceive(message, this);
+			if (appliedInterceptors != null) {
+				if (message != null) {
+					message = interceptorList.postReceive(message, this, appliedInterceptors);
+				}
+				interceptorList.afterReceiveCompletion(message, this, null, appliedInterceptors);
 			}
-			interceptorList.afterReceiveCompletion(message, this, null, interceptorStack);
 			return message;
 		}
 		catch (RuntimeException ex) {
 			if (countsEnabled && !counted.get()) {
 				incrementReceiveErrorCounter(ex);
 			}
-			interceptorList.afterReceiveCompletion(null, this, ex, interceptorStack);
+			if (appliedInterceptors != null) {
+				interceptorList.afterReceiveCompletion(null, this, ex, appliedInterceptors);
+			}
 			throw ex;
 		}
 	}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.integration.context.IntegrationObjectSupport;
+
+/**
+ * Common utilities for the JMH benchmarks.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+final class BenchmarkUtils {
+
+	private static final DefaultListableBeanFactory BEAN_FACTORY = new DefaultListableBeanFactory();
+
+	private BenchmarkUtils() {
+	}
+
+	/**
+	 * Populate a {@link org.springframework.beans.factory.BeanFactory} into the component
+	 * and initialize it in the same way as an application context does.
+	 * @param component the component to initialize.
+	 * @param <T> the component type.
+	 * @return the initialized component.
+	 */
+	static <T extends IntegrationObjectSupport> T initialize(T component) {
+		component.setBeanFactory(BEAN_FACTORY);
+		component.afterPropertiesSet();
+		return component;
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.integration.channel.ExecutorChannel;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * The {@link ExecutorChannel} send path.
+ * The {@code caller} executor measures the dispatching overhead only (task decoration,
+ * interceptors handling etc.); the {@code pool} one adds a thread hand off.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutorChannelBenchmark {
+
+	@Param({ "caller", "pool" })
+	public String executor;
+
+	private final LongAdder handled = new LongAdder();
+
+	private ThreadPoolExecutor executorService;
+
+	private ExecutorChannel channel;
+
+	private Message<?> message;
+
+	@Setup
+	public void setup() {
+		Executor taskExecutor = Runnable::run;
+		if ("pool".equals(this.executor)) {
+			// bounded and caller-runs to not let the producer outrun the consumers unlimitedly
+			this.executorService = new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(1024), new ThreadPoolExecutor.CallerRunsPolicy());
+			taskExecutor = this.executorService;
+		}
+		this.channel = BenchmarkUtils.initialize(new ExecutorChannel(taskExecutor));
+		this.channel.subscribe(m -> this.handled.increment());
+		this.message = new GenericMessage<>("test");
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (this.executorService != null) {
+			this.executorService.shutdownNow();
+		}
+	}
+
+	@Benchmark
+	public boolean send() {
+		return this.channel.send(this.message);
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.integration.support.IdGenerators;
+import org.springframework.util.AlternativeJdkIdGenerator;
+import org.springframework.util.IdGenerator;
+
+/**
+ * The {@link IdGenerator} strategies used for the {@code id} header of every new message:
+ * the {@link AlternativeJdkIdGenerator} is the {@link org.springframework.messaging.MessageHeaders}
+ * default; the others can be selected via an {@link IdGenerator} bean.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+	@Param({ "alternativeJdk", "jdk", "simpleIncrementing", "timeOrdered" })
+	public String generator;
+
+	private IdGenerator idGenerator;
+
+	@Setup
+	public void setup() {
+		switch (this.generator) {
+			case "jdk":
+				this.idGenerator = new IdGenerators.JdkIdGenerator();
+				break;
+			case "simpleIncrementing":
+				this.idGenerator = new IdGenerators.SimpleIncrementingIdGenerator();
+				break;
+			case "timeOrdered":
+				this.idGenerator = new IdGenerators.TimeOrderedIdGenerator();
+				break;
+			default:
+				this.idGenerator = new AlternativeJdkIdGenerator();
+		}
+	}
+
+	@Benchmark
+	public UUID singleThread() {
+		return this.idGenerator.generateId();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public UUID contended() {
+		return this.idGenerator.generateId();
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.integration.jdbc.store.JdbcChannelMessageStore;
+import org.springframework.integration.jdbc.store.channel.ChannelMessageStoreQueryProvider;
+import org.springframework.integration.jdbc.store.channel.DerbyChannelMessageStoreQueryProvider;
+import org.springframework.integration.jdbc.store.channel.H2ChannelMessageStoreQueryProvider;
+import org.springframework.integration.jdbc.store.channel.HsqlChannelMessageStoreQueryProvider;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * The {@link JdbcChannelMessageStore} poll of several messages with a single query
+ * and a batch of deletes versus a poll of the same messages one by one, per embedded
+ * database dialect.
+ * The messages to poll are stored before each invocation, so that is not measured.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JdbcChannelMessageStoreBenchmark {
+
+	private static final String GROUP_ID = "benchmark";
+
+	@Param({ "H2", "HSQL", "DERBY" })
+	public EmbeddedDatabaseType database;
+
+	@Param({ "10", "100" })
+	public int maxMessages;
+
+	private EmbeddedDatabase dataSource;
+
+	private JdbcChannelMessageStore messageStore;
+
+	@Setup
+	public void setup() {
+		String schema;
+		ChannelMessageStoreQueryProvider queryProvider;
+		switch (this.database) {
+			case HSQL:
+				schema = "hsqldb";
+				queryProvider = new HsqlChannelMessageStoreQueryProvider();
+				break;
+			case DERBY:
+				schema = "derby";
+				queryProvider = new DerbyChannelMessageStoreQueryProvider();
+				break;
+			default:
+				schema = "h2";
+				queryProvider = new H2ChannelMessageStoreQueryProvider();
+		}
+		this.dataSource =
+				new EmbeddedDatabaseBuilder()
+						.generateUniqueName(true)
+						.setType(this.database)
+						.addScript("classpath:org/springframework/integration/jdbc/schema-" + schema + ".sql")
+						.build();
+		this.messageStore = new JdbcChannelMessageStore(this.dataSource);
+		this.messageStore.setChannelMessageStoreQueryProvider(queryProvider);
+		this.messageStore.afterPropertiesSet();
+	}
+
+	@Setup(Level.Invocation)
+	public void storeMessages() {
+		for (int i = 0; i < this.maxMessages; i++) {
+			this.messageStore.addMessageToGroup(GROUP_ID, new GenericMessage<>(i));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.dataSource.shutdown();
+	}
+
+	@Benchmark
+	public List<Message<?>> pollBatch() {
+		return this.messageStore.pollMessagesFromGroup(GROUP_ID, this.maxMessages);
+	}
+
+	@Benchmark
+	public List<Message<?>> pollOneByOne() {
+		List<Message<?>> messages = new ArrayList<>(this.maxMessages);
+		for (int i = 0; i < this.maxMessages; i++) {
+			messages.add(this.messageStore.pollMessageFromGroup(GROUP_ID));
+		}
+		return messages;
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.integration.support.AbstractIntegrationMessageBuilder;
+import org.springframework.integration.support.CompactMessageBuilderFactory;
+import org.springframework.integration.support.DefaultMessageBuilderFactory;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.support.MessageBuilderFactory;
+import org.springframework.messaging.Message;
+
+/**
+ * The {@link MessageBuilder} creation and copy paths - the most frequent message
+ * (and headers) allocation site in a typical flow - for the default and the compact
+ * ({@link CompactMessageBuilderFactory}) header representations.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageBuilderBenchmark {
+
+	@Param({ "2", "10" })
+	public int headers;
+
+	@Param({ "default", "compact" })
+	public String factory;
+
+	private MessageBuilderFactory messageBuilderFactory;
+
+	private Message<?> message;
+
+	private Map<String, Object> otherHeaders;
+
+	@Setup
+	public void setup() {
+		this.messageBuilderFactory = "compact".equals(this.factory)
+				? new CompactMessageBuilderFactory()
+				: new DefaultMessageBuilderFactory();
+		AbstractIntegrationMessageBuilder<String> builder = this.messageBuilderFactory.withPayload("test");
+		this.otherHeaders = new HashMap<>();
+		for (int i = 0; i < this.headers; i++) {
+			builder.setHeader("header" + i, "value" + i);
+			this.otherHeaders.put("other" + i, "value" + i);
+		}
+		this.message = builder.build();
+	}
+
+	@Benchmark
+	public Message<?> withPayload() {
+		return this.messageBuilderFactory.withPayload("test").build();
+	}
+
+	@Benchmark
+	public Message<?> fromMessage() {
+		return this.messageBuilderFactory.fromMessage(this.message).build();
+	}
+
+	@Benchmark
+	public Message<?> fromMessageSetHeader() {
+		return this.messageBuilderFactory.fromMessage(this.message).setHeader("foo", "bar").build();
+	}
+
+	@Benchmark
+	public Message<?> copyHeadersIfAbsent() {
+		return this.messageBuilderFactory.fromMessage(this.message).copyHeadersIfAbsent(this.otherHeaders).build();
+	}
+
+	@Benchmark
+	public Message<?> withPayloadCopyHeaders() {
+		return this.messageBuilderFactory.withPayload("other").copyHeaders(this.message.getHeaders()).build();
+	}
+
+}
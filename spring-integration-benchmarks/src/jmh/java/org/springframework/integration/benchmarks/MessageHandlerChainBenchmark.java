@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.handler.MessageHandlerChain;
+import org.springframework.integration.transformer.MessageTransformingHandler;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * The {@link MessageHandlerChain} with pass-through
+ * {@link MessageTransformingHandler}s: measures the per-hop overhead of the chain.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageHandlerChainBenchmark {
+
+	@Param({ "1", "5" })
+	public int handlers;
+
+	private MessageHandlerChain chain;
+
+	private Message<?> message;
+
+	@Setup
+	public void setup(Blackhole blackhole) {
+		List<MessageHandler> chainHandlers = new ArrayList<>();
+		for (int i = 0; i < this.handlers; i++) {
+			chainHandlers.add(BenchmarkUtils.initialize(new MessageTransformingHandler(m -> m)));
+		}
+		DirectChannel outputChannel = BenchmarkUtils.initialize(new DirectChannel());
+		outputChannel.subscribe(blackhole::consume);
+		this.chain = new MessageHandlerChain();
+		this.chain.setHandlers(chainHandlers);
+		this.chain.setOutputChannel(outputChannel);
+		BenchmarkUtils.initialize(this.chain);
+		this.message = new GenericMessage<>("test");
+	}
+
+	@Benchmark
+	public void handleMessage() {
+		this.chain.handleMessage(this.message);
+	}
+
+}
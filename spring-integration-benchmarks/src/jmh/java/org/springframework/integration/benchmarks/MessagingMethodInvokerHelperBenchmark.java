@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.integration.handler.support.MessagingMethodInvokerHelper;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * The {@link MessagingMethodInvokerHelper} invocation of POJO methods with
+ * different argument resolution strategies.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessagingMethodInvokerHelperBenchmark {
+
+	private MessagingMethodInvokerHelper payloadInvoker;
+
+	private MessagingMethodInvokerHelper headerInvoker;
+
+	private MessagingMethodInvokerHelper messageInvoker;
+
+	private Message<?> message;
+
+	@Setup
+	public void setup() {
+		TestService service = new TestService();
+		this.payloadInvoker = createInvoker(service, "payload");
+		this.headerInvoker = createInvoker(service, "header");
+		this.messageInvoker = createInvoker(service, "message");
+		this.message = MessageBuilder.withPayload("test").setHeader("foo", "bar").build();
+	}
+
+	@Benchmark
+	public Object payload() {
+		return this.payloadInvoker.process(this.message);
+	}
+
+	@Benchmark
+	public Object header() {
+		return this.headerInvoker.process(this.message);
+	}
+
+	@Benchmark
+	public Object message() {
+		return this.messageInvoker.process(this.message);
+	}
+
+	private static MessagingMethodInvokerHelper createInvoker(Object service, String method) {
+		MessagingMethodInvokerHelper invoker = new MessagingMethodInvokerHelper(service, method, false);
+		invoker.setBeanFactory(new DefaultListableBeanFactory());
+		return invoker;
+	}
+
+	public static class TestService {
+
+		public String payload(String payload) {
+			return payload;
+		}
+
+		public String header(String payload, @Header("foo") String foo) {
+			return foo;
+		}
+
+		public Object message(Message<?> message) {
+			return message.getPayload();
+		}
+
+	}
+
+}
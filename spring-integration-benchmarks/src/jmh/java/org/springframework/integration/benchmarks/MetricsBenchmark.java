@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.integration.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.integration.channel.DirectChannel;
+import org.springframework.integration.handler.BridgeHandler;
+import org.springframework.integration.support.management.IntegrationStatsManagement;
+import org.springframework.integration.support.management.micrometer.MicrometerMetricsCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The {@link DirectChannel} to {@link BridgeHandler} to {@link DirectChannel} flow with
+ * different metrics settings on all the components: measures the metrics overhead of the
+ * {@link org.springframework.integration.channel.AbstractMessageChannel} send and
+ * {@link org.springframework.integration.handler.AbstractMessageHandler} handle paths.
+ * The {@code none} mode is expected to not allocate anything per operation.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+	@Param({ "none", "counts", "stats", "micrometer" })
+	public String metrics;
+
+	private DirectChannel channel;
+
+	private Message<?> message;
+
+	@Setup
+	public void setup(Blackhole blackhole) {
+		this.channel = configure(BenchmarkUtils.initialize(new DirectChannel()));
+		DirectChannel outputChannel = configure(BenchmarkUtils.initialize(new DirectChannel()));
+		outputChannel.subscribe(blackhole::consume);
+		BridgeHandler handler = new BridgeHandler();
+		handler.setOutputChannel(outputChannel);
+		this.channel.subscribe(configure(BenchmarkUtils.initialize(handler)));
+		this.message = new GenericMessage<>("test");
+	}
+
+	private <T extends IntegrationStatsManagement> T configure(T component) {
+		switch (this.metrics) {
+			case "counts":
+				component.setCountsEnabled(true);
+				break;
+			case "stats":
+				component.setStatsEnabled(true);
+				break;
+			case "micrometer":
+				component.registerMetricsCaptor(new MicrometerMetricsCaptor(new SimpleMeterRegistry()));
+				component.setCountsEnabled(true);
+				break;
+			default:
+				component.setCountsEnabled(false);
+		}
+		return component;
+	}
+
+	@Benchmark
+	public boolean send() {
+		return this.channel.send(this.message);
+	}
+
+}
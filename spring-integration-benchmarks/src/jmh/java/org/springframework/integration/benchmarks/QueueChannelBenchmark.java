@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * The {@link QueueChannel} send and receive paths: an uncontended round trip
+ * and a producers/consumers group sharing the same channel.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueChannelBenchmark {
+
+	@Param({ "1024" })
+	public int capacity;
+
+	private QueueChannel channel;
+
+	private Message<?> message;
+
+	@Setup
+	public void setup() {
+		this.channel = BenchmarkUtils.initialize(new QueueChannel(this.capacity));
+		this.message = new GenericMessage<>("test");
+	}
+
+	@Benchmark
+	@Group("roundTrip")
+	public Message<?> sendAndReceive() {
+		this.channel.send(this.message);
+		return this.channel.receive(0);
+	}
+
+	@Benchmark
+	@Group("contended")
+	@GroupThreads(4)
+	public boolean send() {
+		return this.channel.send(this.message, 0);
+	}
+
+	@Benchmark
+	@Group("contended")
+	@GroupThreads(4)
+	public Message<?> receive() {
+		return this.channel.receive(0);
+	}
+
+}
@@ -25,6 +25,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
 import org.aopalliance.aop.Advice;
@@ -43,7 +44,9 @@ import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.integration.expression.ExpressionUtils;
 import org.springframework.integration.handler.AbstractMessageProducingHandler;
 import org.springframework.integration.handler.DiscardingMessageHandler;
+import org.springframework.integration.store.AbstractKeyValueMessageStore;
 import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupMetadata;
 import org.springframework.integration.store.MessageGroupStore;
 import org.springframework.integration.store.SimpleMessageGroup;
 import org.springframework.integration.store.SimpleMessageStore;
@@ -51,6 +54,10 @@ import org.springframework.integration.store.UniqueExpiryCallback;
 import org.springframework.integration.support.AbstractIntegrationMessageBuilder;
 import org.springframework.integration.support.locks.DefaultLockRegistry;
 import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.integration.support.management.IntegrationManagement;
+import org.springframework.integration.support.management.metrics.MetricsCaptor;
+import org.springframework.integration.support.management.metrics.TimerFacade;
+import org.springframework.integration.util.HashedTimingWheel;
 import org.springframework.integration.util.UUIDConverter;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -141,6 +148,12 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 
 	private boolean releaseLockBeforeSend;
 
+	private long timingWheelTickDuration;
+
+	private HashedTimingWheel timingWheel;
+
+	private volatile TimerFacade lockWaitTimer;
+
 	private volatile boolean running;
 
 	public AbstractCorrelatingMessageHandler(MessageGroupProcessor processor, MessageGroupStore store,
@@ -307,6 +320,23 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 		this.releaseLockBeforeSend = releaseLockBeforeSend;
 	}
 
+	/**
+	 * Set a tick duration in milliseconds to schedule the group timeouts (and empty group
+	 * removals) into a {@link HashedTimingWheel} instead of a
+	 * {@link org.springframework.scheduling.TaskScheduler} task per group.
+	 * The wheel is advanced by a single task on the {@code TaskScheduler} and processes
+	 * all the due groups on each tick as a batch; therefore the groups are timed out
+	 * up to one tick later than their {@code groupTimeout}. The scheduled futures are
+	 * still used as per-group cancellation tokens when a group is completed normally.
+	 * Recommended for a large number of concurrent groups with a group timeout.
+	 * Default {@code 0} - no timing wheel.
+	 * @param timingWheelTickDuration the tick duration.
+	 * @since 5.2.3
+	 */
+	public void setTimingWheelTickDuration(long timingWheelTickDuration) {
+		this.timingWheelTickDuration = timingWheelTickDuration;
+	}
+
 	@Override
 	public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
 		this.applicationEventPublisher = applicationEventPublisher;
@@ -342,6 +372,10 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 			this.evaluationContext = ExpressionUtils.createStandardEvaluationContext(getBeanFactory());
 		}
 
+		if (this.timingWheelTickDuration > 0) {
+			this.timingWheel = new HashedTimingWheel(this.timingWheelTickDuration);
+		}
+
 		if (this.sequenceAware) {
 			this.logger.warn("Using a SequenceSizeReleaseStrategy with large groups may not perform well, consider "
 					+ "using a SimpleSequenceSizeReleaseStrategy");
@@ -461,7 +495,7 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 
 		boolean noOutput = true;
 		try {
-			lock.lockInterruptibly();
+			lockInterruptibly(lock);
 		}
 		catch (InterruptedException e) {
 			Thread.currentThread().interrupt();
@@ -485,13 +519,13 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 			messageGroup = new SequenceAwareMessageGroup(messageGroup);
 		}
 
-		if (!messageGroup.isComplete() && messageGroup.canAdd(message)) {
+		if (canAdd(messageGroup, message)) {
 			if (this.logger.isTraceEnabled()) {
 				this.logger.trace("Adding message to group [ " + messageGroup + "]");
 			}
 			messageGroup = store(correlationKey, message);
 
-			if (this.releaseStrategy.canRelease(messageGroup)) {
+			if (canRelease(correlationKey, messageGroup)) {
 				Collection<Message<?>> completedMessages = null;
 				try {
 					noOutput = false;
@@ -517,6 +551,37 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 		return noOutput;
 	}
 
+	/**
+	 * Determine whether the message can be added to the group;
+	 * the message is discarded otherwise.
+	 * @param messageGroup the group for the message.
+	 * @param message the message to add.
+	 * @return true if the message can be added to the group.
+	 * @since 5.2.3
+	 */
+	protected boolean canAdd(MessageGroup messageGroup, Message<?> message) {
+		return !messageGroup.isComplete() && messageGroup.canAdd(message);
+	}
+
+	private boolean canRelease(Object correlationKey, MessageGroup messageGroup) {
+		/*
+		 * Only the key-value stores maintain the group metadata on each addition,
+		 * others would build it from the group messages.
+		 * The accumulated state message stands for many messages, so its group size
+		 * is not the same as in the metadata.
+		 */
+		if (this.releaseStrategy instanceof GroupMetadataReleaseStrategy
+				&& this.messageStore instanceof AbstractKeyValueMessageStore
+				&& !(this.outputProcessor instanceof AccumulatingMessageGroupProcessor)) {
+
+			MessageGroupMetadata groupMetadata = this.messageStore.getGroupMetadata(correlationKey);
+			if (groupMetadata != null) {
+				return ((GroupMetadataReleaseStrategy) this.releaseStrategy).canRelease(groupMetadata);
+			}
+		}
+		return this.releaseStrategy.canRelease(messageGroup);
+	}
+
 	private void cancelScheduledFutureIfAny(Object correlationKey, UUID groupIdUuid, boolean mayInterruptIfRunning) {
 		ScheduledFuture<?> scheduledFuture = this.expireGroupScheduledFutures.remove(groupIdUuid);
 		if (scheduledFuture != null) {
@@ -535,12 +600,12 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 	private void removeEmptyGroupAfterTimeout(MessageGroup messageGroup, long timeout) {
 		Object groupId = messageGroup.getGroupId();
 		UUID groupUuid = UUIDConverter.getUUID(groupId);
-		ScheduledFuture<?> scheduledFuture = getTaskScheduler()
-				.schedule(() -> {
+		ScheduledFuture<?> scheduledFuture =
+				schedule(() -> {
 					Lock lock = this.lockRegistry.obtain(groupUuid.toString());
 
 					try {
-						lock.lockInterruptibly();
+						lockInterruptibly(lock);
 						try {
 							this.expireGroupScheduledFutures.remove(groupUuid);
 							/*
@@ -571,7 +636,7 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 						removeEmptyGroupAfterTimeout(messageGroup, timeout);
 					}
 
-				}, new Date(System.currentTimeMillis() + timeout));
+				}, timeout);
 
 		if (this.logger.isDebugEnabled()) {
 			this.logger.debug("Schedule empty MessageGroup [ " + groupId + "] for removal.");
@@ -590,8 +655,8 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 				final Object groupId = messageGroup.getGroupId();
 				final long timestamp = messageGroup.getTimestamp();
 				final long lastModified = messageGroup.getLastModified();
-				ScheduledFuture<?> scheduledFuture = getTaskScheduler()
-						.schedule(() -> {
+				ScheduledFuture<?> scheduledFuture =
+						schedule(() -> {
 							try {
 								processForceRelease(groupId, timestamp, lastModified);
 							}
@@ -602,7 +667,7 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 								}
 								scheduleGroupToForceComplete(groupId);
 							}
-						}, new Date(System.currentTimeMillis() + groupTimeout));
+						}, groupTimeout);
 
 				if (this.logger.isDebugEnabled()) {
 					this.logger.debug("Schedule MessageGroup [ " + messageGroup + "] to 'forceComplete'.");
@@ -615,6 +680,43 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 		}
 	}
 
+	private ScheduledFuture<?> schedule(Runnable task, long delay) {
+		if (this.timingWheel != null) {
+			if (!this.timingWheel.isRunning()) {
+				this.timingWheel.start(getTaskScheduler());
+			}
+			return this.timingWheel.schedule(task, delay);
+		}
+		else {
+			return getTaskScheduler().schedule(task, new Date(System.currentTimeMillis() + delay));
+		}
+	}
+
+	private void lockInterruptibly(Lock lock) throws InterruptedException {
+		MetricsCaptor metricsCaptor = getMetricsCaptor();
+		if (metricsCaptor == null) {
+			lock.lockInterruptibly();
+		}
+		else {
+			long start = System.nanoTime();
+			lock.lockInterruptibly();
+			lockWaitTimer(metricsCaptor).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private TimerFacade lockWaitTimer(MetricsCaptor metricsCaptor) {
+		TimerFacade timer = this.lockWaitTimer;
+		if (timer == null) {
+			timer = metricsCaptor.timerBuilder(IntegrationManagement.LOCK_WAIT_TIMER_NAME)
+					.tag("type", "handler")
+					.tag("name", getComponentName() == null ? "unknown" : getComponentName())
+					.description("Time spent waiting for message group locks")
+					.build();
+			this.lockWaitTimer = timer;
+		}
+		return timer;
+	}
+
 	private void scheduleGroupToForceComplete(Object groupId) {
 		MessageGroup messageGroup = this.messageStore.getMessageGroup(groupId);
 		scheduleGroupToForceComplete(messageGroup);
@@ -667,7 +769,7 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 		boolean removeGroup = true;
 		boolean noOutput = true;
 		try {
-			lock.lockInterruptibly();
+			lockInterruptibly(lock);
 			try {
 				cancelScheduledFutureIfAny(correlationKey, groupId, false);
 				MessageGroup groupNow = group;
@@ -865,7 +967,16 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 
 	@Override
 	public void destroy() {
+		super.destroy();
 		this.expireGroupScheduledFutures.values().forEach(future -> future.cancel(true));
+		if (this.timingWheel != null) {
+			this.timingWheel.stop();
+		}
+		TimerFacade timer = this.lockWaitTimer;
+		if (timer != null) {
+			timer.remove();
+			this.lockWaitTimer = null;
+		}
 	}
 
 	@Override
@@ -911,6 +1022,7 @@ public abstract class AbstractCorrelatingMessageHandler extends AbstractMessageP
 			 */
 			super(messageGroup.getMessages(), null, messageGroup.getGroupId(), messageGroup.getTimestamp(),
 					messageGroup.isComplete(), true);
+			setLastReleasedMessageSequenceNumber(messageGroup.getLastReleasedMessageSequenceNumber());
 			if (messageGroup instanceof SimpleMessageGroup) {
 				this.sourceGroup = (SimpleMessageGroup) messageGroup;
 			}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link AbstractAggregatingMessageGroupProcessor} for incremental aggregation:
+ * each message is folded into a running state with the provided accumulator
+ * function when it arrives to the {@link AggregatingMessageHandler}, so the
+ * {@link org.springframework.integration.store.MessageGroupStore} keeps only
+ * a single message with that state for the group instead of all the group members.
+ * <p>
+ * The state is carried by the group as the payload of a message with the headers of
+ * the latest accumulated message and an {@link #ACCUMULATED_SIZE} header; the
+ * {@link AggregatingMessageHandler} exposes this header as the group size for the
+ * {@link ReleaseStrategy}. On release the state is converted to the output payload
+ * with the optional {@link #setFinisher(Function) finisher}.
+ * <p>
+ * Since the individual messages are not stored, the duplicate sequence number
+ * detection for the sequence-aware release strategies is done only against the latest
+ * accumulated message. When a persistent store is used, the state must be
+ * serializable for that store.
+ * <p>
+ * When a group expires without {@code sendPartialResultOnExpiry}, the state message
+ * (not the original messages) is sent to the discard channel.
+ *
+ * @param <S> the accumulated state type.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public class AccumulatingMessageGroupProcessor<S> extends AbstractAggregatingMessageGroupProcessor {
+
+	/**
+	 * The header for the number of messages accumulated into the state message.
+	 */
+	public static final String ACCUMULATED_SIZE = "accumulatedSize";
+
+	private final Supplier<S> initialState;
+
+	private final BiFunction<S, Message<?>, S> accumulator;
+
+	private Function<S, ?> finisher = Function.identity();
+
+	/**
+	 * Create an instance based on the provided initial state supplier and accumulator function.
+	 * @param initialState the {@link Supplier} for the state of a new group.
+	 * @param accumulator the {@link BiFunction} to fold a message into the current state;
+	 * must not return {@code null}.
+	 */
+	public AccumulatingMessageGroupProcessor(Supplier<S> initialState, BiFunction<S, Message<?>, S> accumulator) {
+		Assert.notNull(initialState, "'initialState' must not be null");
+		Assert.notNull(accumulator, "'accumulator' must not be null");
+		this.initialState = initialState;
+		this.accumulator = accumulator;
+	}
+
+	/**
+	 * Specify a {@link Function} to convert the accumulated state into the output payload.
+	 * Defaults to the state as is.
+	 * @param finisher the {@link Function} to use.
+	 */
+	public void setFinisher(Function<S, ?> finisher) {
+		Assert.notNull(finisher, "'finisher' must not be null");
+		this.finisher = finisher;
+	}
+
+	/**
+	 * Fold the message into the state carried by the provided state message.
+	 * @param stateMessage the current state message of the group; null for a new group.
+	 * @param message the message to accumulate.
+	 * @return the new state message.
+	 */
+	@SuppressWarnings("unchecked")
+	public Message<S> accumulate(@Nullable Message<?> stateMessage, Message<?> message) {
+		S state;
+		int size;
+		if (stateMessage != null) {
+			state = (S) stateMessage.getPayload();
+			size = getAccumulatedSize(stateMessage);
+		}
+		else {
+			state = this.initialState.get();
+			size = 0;
+		}
+		S newState = this.accumulator.apply(state, message);
+		Assert.state(newState != null, "The accumulator must not return null");
+		return getMessageBuilderFactory()
+				.withPayload(newState)
+				.copyHeaders(message.getHeaders())
+				.setHeader(ACCUMULATED_SIZE, size + 1)
+				.build();
+	}
+
+	@Override
+	protected Map<String, Object> aggregateHeaders(MessageGroup group) {
+		Map<String, Object> headers = new HashMap<>(super.aggregateHeaders(group));
+		headers.remove(ACCUMULATED_SIZE);
+		return headers;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected Object aggregatePayloads(MessageGroup group, Map<String, Object> defaultHeaders) {
+		Message<?> stateMessage = group.getOne();
+		Assert.state(stateMessage != null, getClass().getSimpleName() + " cannot process empty message groups");
+		return this.finisher.apply((S) stateMessage.getPayload());
+	}
+
+	/**
+	 * Return the number of messages accumulated into the provided state message.
+	 * @param stateMessage the state message.
+	 * @return the number of accumulated messages.
+	 */
+	public static int getAccumulatedSize(Message<?> stateMessage) {
+		Integer size = stateMessage.getHeaders().get(ACCUMULATED_SIZE, Integer.class);
+		return size != null ? size : 1;
+	}
+
+}
@@ -17,9 +17,12 @@
 package org.springframework.integration.aggregator;
 
 import java.util.Collection;
+import java.util.Collections;
 
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.integration.store.ShardedMessageStore;
+import org.springframework.integration.store.SimpleMessageGroup;
 import org.springframework.integration.store.SimpleMessageStore;
 import org.springframework.messaging.Message;
 
@@ -27,6 +30,10 @@ import org.springframework.messaging.Message;
  * Aggregator specific implementation of {@link AbstractCorrelatingMessageHandler}.
  * Will remove {@link MessageGroup}s in the {@linkplain #afterRelease}
  * only if 'expireGroupsUponCompletion' flag is set to 'true'.
+ * <p>
+ * When the output processor is an {@link AccumulatingMessageGroupProcessor},
+ * the messages are folded into the group state on arrival and only the state message
+ * is kept in the {@link MessageGroupStore}.
  *
  * @author Oleg Zhurakousky
  * @author Artem Bilan
@@ -62,6 +69,30 @@ public class AggregatingMessageHandler extends AbstractCorrelatingMessageHandler
 		this.expireGroupsUponCompletion = expireGroupsUponCompletion;
 	}
 
+	@Override
+	protected MessageGroup store(Object correlationKey, Message<?> message) {
+		MessageGroupProcessor outputProcessor = getOutputProcessor();
+		if (outputProcessor instanceof AccumulatingMessageGroupProcessor) {
+			return accumulate((AccumulatingMessageGroupProcessor<?>) outputProcessor, correlationKey, message);
+		}
+		return super.store(correlationKey, message);
+	}
+
+	private MessageGroup accumulate(AccumulatingMessageGroupProcessor<?> processor, Object correlationKey,
+			Message<?> message) {
+
+		MessageGroupStore messageStore = getMessageStore();
+		MessageGroup group = messageStore.getMessageGroup(correlationKey);
+		Message<?> stateMessage = group.size() > 0 ? group.getOne() : null;
+		Message<?> newStateMessage = processor.accumulate(stateMessage, message);
+		// Add the new state before removing the old one, so the state is not lost if the store fails
+		group = messageStore.addMessageToGroup(correlationKey, newStateMessage);
+		if (stateMessage != null) {
+			messageStore.removeMessagesFromGroup(correlationKey, stateMessage);
+		}
+		return new AccumulatedMessageGroup(group, newStateMessage);
+	}
+
 	@Override
 	protected boolean isExpireGroupsUponCompletion() {
 		return this.expireGroupsUponCompletion;
@@ -86,10 +117,36 @@ public class AggregatingMessageHandler extends AbstractCorrelatingMessageHandler
 			if (messageStore instanceof SimpleMessageStore) {
 				((SimpleMessageStore) messageStore).clearMessageGroup(groupId);
 			}
+			else if (messageStore instanceof ShardedMessageStore) {
+				((ShardedMessageStore) messageStore).clearMessageGroup(groupId);
+			}
 			else {
 				messageStore.removeMessagesFromGroup(groupId, messageGroup.getMessages());
 			}
 		}
 	}
 
+	/**
+	 * A view of the group with only the current state message which reports
+	 * the number of accumulated messages as its size.
+	 */
+	private static final class AccumulatedMessageGroup extends SimpleMessageGroup {
+
+		private final int accumulatedSize;
+
+		AccumulatedMessageGroup(MessageGroup messageGroup, Message<?> stateMessage) {
+			super(Collections.singletonList(stateMessage), null, messageGroup.getGroupId(),
+					messageGroup.getTimestamp(), messageGroup.isComplete(), true);
+			setLastModified(messageGroup.getLastModified());
+			setLastReleasedMessageSequenceNumber(messageGroup.getLastReleasedMessageSequenceNumber());
+			this.accumulatedSize = AccumulatingMessageGroupProcessor.getAccumulatedSize(stateMessage);
+		}
+
+		@Override
+		public int size() {
+			return this.accumulatedSize;
+		}
+
+	}
+
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import org.springframework.integration.store.MessageGroupMetadata;
+
+/**
+ * A {@link ReleaseStrategy} which can make its decision from the
+ * {@link MessageGroupMetadata} alone.
+ * <p>
+ * When the {@link org.springframework.integration.store.MessageGroupStore} maintains
+ * the metadata incrementally on each message addition (e.g. the
+ * {@link org.springframework.integration.store.AbstractKeyValueMessageStore}
+ * implementations), the {@link AbstractCorrelatingMessageHandler} consults
+ * {@link #canRelease(MessageGroupMetadata)} instead of
+ * {@link #canRelease(org.springframework.integration.store.MessageGroup)}, so the
+ * group messages are not loaded from the store for each arriving message.
+ * Both methods must come to the same decision for the same group.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public interface GroupMetadataReleaseStrategy extends ReleaseStrategy {
+
+	/**
+	 * Determine whether the group described by the provided metadata can be released.
+	 * @param groupMetadata the group metadata.
+	 * @return true if the group can be released.
+	 */
+	boolean canRelease(MessageGroupMetadata groupMetadata);
+
+}
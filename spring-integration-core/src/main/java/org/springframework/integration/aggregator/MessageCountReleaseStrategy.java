@@ -17,15 +17,17 @@
 package org.springframework.integration.aggregator;
 
 import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupMetadata;
 
 /**
  * A {@link ReleaseStrategy} that releases only the first <code>n</code> messages, where <code>n</code> is a threshold.
  *
  * @author Dave Syer
  * @author Oleg Zhurakousky
+ * @author Artem Bilan
  *
  */
-public class MessageCountReleaseStrategy implements ReleaseStrategy {
+public class MessageCountReleaseStrategy implements GroupMetadataReleaseStrategy {
 
 	private final int threshold;
 
@@ -54,4 +56,9 @@ public class MessageCountReleaseStrategy implements ReleaseStrategy {
 		return group.size() >= this.threshold;
 	}
 
+	@Override
+	public boolean canRelease(MessageGroupMetadata groupMetadata) {
+		return groupMetadata.size() >= this.threshold;
+	}
+
 }
@@ -23,10 +23,15 @@ import java.util.List;
 
 import org.springframework.integration.StaticMessageHeaderAccessor;
 import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.SimpleMessageGroup;
 import org.springframework.messaging.Message;
 
 /**
  * This class implements all the strategy interfaces needed for a default resequencer.
+ * <p>
+ * The group messages are sorted by their sequence numbers, unless the group is a
+ * {@link SimpleMessageGroup#isSequenceOrdered() sequence ordered} one, when the
+ * contiguous run is collected from the head of the group without sorting.
  *
  * @author Iwein Fuld
  * @author Dave Syer
@@ -43,10 +48,14 @@ public class ResequencingMessageGroupProcessor implements MessageGroupProcessor
 		Collection<Message<?>> messages = group.getMessages();
 
 		if (messages.size() > 0) {
-			List<Message<?>> sorted = new ArrayList<>(messages);
-			sorted.sort(this.comparator);
+			Collection<Message<?>> sorted = messages;
+			if (!(group instanceof SimpleMessageGroup) || !((SimpleMessageGroup) group).isSequenceOrdered()) {
+				List<Message<?>> list = new ArrayList<>(messages);
+				list.sort(this.comparator);
+				sorted = list;
+			}
 			ArrayList<Message<?>> partialSequence = new ArrayList<>();
-			int previousSequence = extractSequenceNumber(sorted.get(0));
+			int previousSequence = extractSequenceNumber(sorted.iterator().next());
 			int currentSequence = previousSequence;
 			for (Message<?> message : sorted) {
 				previousSequence = currentSequence;
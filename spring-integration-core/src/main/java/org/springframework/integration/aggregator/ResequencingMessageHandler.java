@@ -16,16 +16,24 @@
 
 package org.springframework.integration.aggregator;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
+import org.springframework.integration.StaticMessageHeaderAccessor;
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.store.MessageGroupStore;
 import org.springframework.integration.store.SimpleMessageStore;
 import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
 
 /**
  * Resequencer specific implementation of {@link AbstractCorrelatingMessageHandler}.
  * Will remove {@link MessageGroup}s only if 'sequenceSize' is provided and reached.
+ * <p>
+ * A {@link #setMaxReorderWindow(int) maxReorderWindow} can be set to bound the number
+ * of sequence numbers a message may run ahead of the next expected one for its group;
+ * see {@link ReorderWindowOverflowPolicy} for what happens with messages outside the window.
  *
  * @author Oleg Zhurakousky
  * @author Gary Russell
@@ -35,6 +43,10 @@ import org.springframework.messaging.Message;
  */
 public class ResequencingMessageHandler extends AbstractCorrelatingMessageHandler {
 
+	private int maxReorderWindow;
+
+	private ReorderWindowOverflowPolicy reorderWindowOverflowPolicy = ReorderWindowOverflowPolicy.DISCARD;
+
 	public ResequencingMessageHandler(MessageGroupProcessor processor,
 			MessageGroupStore store, CorrelationStrategy correlationStrategy,
 			ReleaseStrategy releaseStrategy) {
@@ -66,6 +78,32 @@ public class ResequencingMessageHandler extends AbstractCorrelatingMessageHandle
 		super.setExpireGroupsUponTimeout(expireGroupsUponTimeout);
 	}
 
+	/**
+	 * Set the max distance between the next expected sequence number of a group
+	 * (the last released one plus one) and the sequence number of an arriving message.
+	 * Intended for unbounded sequences released with the
+	 * {@link #setReleasePartialSequences(boolean) releasePartialSequences}.
+	 * Defaults to 0 - unbounded.
+	 * @param maxReorderWindow the max reorder window.
+	 * @since 5.2.3
+	 * @see #setReorderWindowOverflowPolicy(ReorderWindowOverflowPolicy)
+	 */
+	public void setMaxReorderWindow(int maxReorderWindow) {
+		Assert.isTrue(maxReorderWindow >= 0, "'maxReorderWindow' must not be negative");
+		this.maxReorderWindow = maxReorderWindow;
+	}
+
+	/**
+	 * Set the policy for messages outside of the {@link #setMaxReorderWindow(int) maxReorderWindow}.
+	 * Defaults to {@link ReorderWindowOverflowPolicy#DISCARD}.
+	 * @param reorderWindowOverflowPolicy the policy.
+	 * @since 5.2.3
+	 */
+	public void setReorderWindowOverflowPolicy(ReorderWindowOverflowPolicy reorderWindowOverflowPolicy) {
+		Assert.notNull(reorderWindowOverflowPolicy, "'reorderWindowOverflowPolicy' must not be null");
+		this.reorderWindowOverflowPolicy = reorderWindowOverflowPolicy;
+	}
+
 	@Override
 	public String getComponentType() {
 		return "resequencer";
@@ -76,6 +114,53 @@ public class ResequencingMessageHandler extends AbstractCorrelatingMessageHandle
 		return false;
 	}
 
+	@Override
+	protected boolean canAdd(MessageGroup messageGroup, Message<?> message) {
+		if (!super.canAdd(messageGroup, message)) {
+			return false;
+		}
+		int sequenceNumber = StaticMessageHeaderAccessor.getSequenceNumber(message);
+		if (this.maxReorderWindow == 0 || sequenceNumber <= 0) {
+			return true;
+		}
+		int skipTo = sequenceNumber - this.maxReorderWindow;
+		if (skipTo <= messageGroup.getLastReleasedMessageSequenceNumber()) {
+			return true;
+		}
+		if (ReorderWindowOverflowPolicy.DISCARD.equals(this.reorderWindowOverflowPolicy)) {
+			return false;
+		}
+		releaseBehindWindow(messageGroup, skipTo, message);
+		return true;
+	}
+
+	/**
+	 * Give up on the missing sequence numbers up to {@code skipTo}:
+	 * release the buffered messages with sequence numbers not after it in order
+	 * and make {@code skipTo} the last released sequence number of the group.
+	 */
+	private void releaseBehindWindow(MessageGroup messageGroup, int skipTo, Message<?> message) {
+		List<Message<?>> behindWindow = new ArrayList<>();
+		for (Message<?> buffered : messageGroup.getMessages()) {
+			if (StaticMessageHeaderAccessor.getSequenceNumber(buffered) <= skipTo) {
+				behindWindow.add(buffered);
+			}
+		}
+		Object groupId = messageGroup.getGroupId();
+		MessageGroupStore messageStore = getMessageStore();
+		messageStore.setLastReleasedSequenceNumberForGroup(groupId, skipTo);
+		messageGroup.setLastReleasedMessageSequenceNumber(skipTo);
+		if (!behindWindow.isEmpty()) {
+			if (this.logger.isDebugEnabled()) {
+				this.logger.debug("Releasing " + behindWindow.size() + " messages of group [" + groupId
+						+ "] behind the reorder window; skipping to sequence number " + skipTo);
+			}
+			behindWindow.sort(new MessageSequenceComparator());
+			messageStore.removeMessagesFromGroup(groupId, behindWindow);
+			sendOutputs(behindWindow, message);
+		}
+	}
+
 	@Override
 	protected void afterRelease(MessageGroup messageGroup, Collection<Message<?>> completedMessages) {
 		afterRelease(messageGroup, completedMessages, false);
@@ -117,4 +202,26 @@ public class ResequencingMessageHandler extends AbstractCorrelatingMessageHandle
 		}
 	}
 
+	/**
+	 * The policy for messages with the sequence number outside of the
+	 * {@link #setMaxReorderWindow(int) maxReorderWindow}.
+	 *
+	 * @since 5.2.3
+	 */
+	public enum ReorderWindowOverflowPolicy {
+
+		/**
+		 * Send the message to the discard channel.
+		 */
+		DISCARD,
+
+		/**
+		 * Consider the missing sequence numbers before the window as lost:
+		 * release the buffered messages behind the window (in order, with gaps)
+		 * and move the window forward to accept the message.
+		 */
+		RELEASE
+
+	}
+
 }
@@ -25,6 +25,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.SimpleMessageGroup;
 import org.springframework.messaging.Message;
 
 /**
@@ -86,8 +87,16 @@ public class SequenceSizeReleaseStrategy implements ReleaseStrategy {
 			if (logger.isTraceEnabled()) {
 				logger.trace("Considering partial release of group [" + messageGroup + "]");
 			}
-			Collection<Message<?>> messages = messageGroup.getMessages();
-			Message<?> minMessage = Collections.min(messages, this.comparator);
+			Message<?> minMessage;
+			if (messageGroup instanceof SimpleMessageGroup
+					&& ((SimpleMessageGroup) messageGroup).isSequenceOrdered()) {
+
+				minMessage = messageGroup.getOne();
+			}
+			else {
+				Collection<Message<?>> messages = messageGroup.getMessages();
+				minMessage = Collections.min(messages, this.comparator);
+			}
 
 			int nextSequenceNumber = new IntegrationMessageHeaderAccessor(minMessage).getSequenceNumber();
 			int lastReleasedMessageSequence = messageGroup.getLastReleasedMessageSequenceNumber();
@@ -17,21 +17,32 @@
 package org.springframework.integration.aggregator;
 
 import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupMetadata;
 
 /**
  * An implementation of {@link ReleaseStrategy} that simply compares the current size of
  * the message list to the expected 'sequenceSize'. It does not support releasing partial
  * sequences. Correlating message handlers using this strategy do not check for duplicate
  * sequence numbers.
+ * <p>
+ * Since version 5.2.3, the decision can be made from the {@link MessageGroupMetadata}.
+ *
  * @author Gary Russell
+ * @author Artem Bilan
+ *
  * @since 4.3.4
  *
  */
-public class SimpleSequenceSizeReleaseStrategy implements ReleaseStrategy {
+public class SimpleSequenceSizeReleaseStrategy implements GroupMetadataReleaseStrategy {
 
 	@Override
 	public boolean canRelease(MessageGroup group) {
 		return group.getSequenceSize() == group.size();
 	}
 
+	@Override
+	public boolean canRelease(MessageGroupMetadata groupMetadata) {
+		return groupMetadata.getSequenceSize() == groupMetadata.size();
+	}
+
 }
@@ -16,7 +16,6 @@
 
 package org.springframework.integration.channel;
 
-import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
@@ -424,67 +423,73 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 			message = MessageHistory.write(message, this, getMessageBuilderFactory());
 		}
 
-		Deque<ChannelInterceptor> interceptorStack = null;
+		ChannelInterceptor[] appliedInterceptors = null;
 		boolean sent = false;
-		boolean metricsProcessed = false;
-		org.springframework.integration.support.management.MetricsContext metricsContext = null;
-		boolean countsAreEnabled = this.countsEnabled;
+		boolean sendAttempted = false;
 		ChannelInterceptorList interceptorList = this.interceptors;
-		AbstractMessageChannelMetrics metrics = this.channelMetrics;
-		SampleFacade sample = null;
 		try {
 			message = convertPayloadIfNecessary(message);
 			boolean debugEnabled = this.loggingEnabled && logger.isDebugEnabled();
 			if (debugEnabled) {
 				logger.debug("preSend on channel '" + this + "', message: " + message);
 			}
-			if (interceptorList.getSize() > 0) {
-				interceptorStack = new ArrayDeque<>();
-				message = interceptorList.preSend(message, this, interceptorStack);
+			ChannelInterceptor[] interceptorArray = interceptorList.getInterceptorArray();
+			if (interceptorArray.length > 0) {
+				message = interceptorList.preSend(message, this, interceptorArray);
 				if (message == null) {
 					return false;
 				}
+				appliedInterceptors = interceptorArray;
 			}
-			if (countsAreEnabled) {
-				metricsContext = metrics.beforeSend();
-				if (this.metricsCaptor != null) {
-					sample = this.metricsCaptor.start();
-				}
-				sent = doSend(message, timeout);
-				if (sample != null) {
-					sample.stop(sendTimer(sent));
-				}
-				metrics.afterSend(metricsContext, sent);
-				metricsProcessed = true;
-			}
-			else {
-				sent = doSend(message, timeout);
-			}
+			sendAttempted = true;
+			sent = this.countsEnabled ? sendWithMetrics(message, timeout) : doSend(message, timeout);
 
 			if (debugEnabled) {
 				logger.debug("postSend (sent=" + sent + ") on channel '" + this + "', message: " + message);
 			}
-			if (interceptorStack != null) {
-				interceptorList.postSend(message, this, sent);
-				interceptorList.afterSendCompletion(message, this, sent, null, interceptorStack);
+			if (appliedInterceptors != null) {
+				interceptorList.postSend(message, this, sent, appliedInterceptors);
+				interceptorList.afterSendCompletion(message, this, sent, null, appliedInterceptors);
 			}
 			return sent;
 		}
 		catch (Exception ex) {
-			if (countsAreEnabled && !metricsProcessed) {
-				if (sample != null) {
-					sample.stop(buildSendTimer(false, ex.getClass().getSimpleName()));
-				}
-				metrics.afterSend(metricsContext, false);
+			if (this.countsEnabled && !sendAttempted) {
+				// The conversion and interceptor failures are send errors as well;
+				// the doSend() ones are accounted in the sendWithMetrics()
+				this.channelMetrics.afterSend(null, false);
 			}
-			if (interceptorStack != null) {
-				interceptorList.afterSendCompletion(message, this, sent, ex, interceptorStack);
+			if (appliedInterceptors != null) {
+				interceptorList.afterSendCompletion(message, this, sent, ex, appliedInterceptors);
 			}
 			throw IntegrationUtils.wrapInDeliveryExceptionIfNecessary(message,
 					() -> "failed to send Message to channel '" + this.getComponentName() + "'", ex);
 		}
 	}
 
+	// A separate method keeps the timing and allocations out of send() when counts are disabled
+	private boolean sendWithMetrics(Message<?> message, long timeout) {
+		AbstractMessageChannelMetrics metrics = this.channelMetrics;
+		org.springframework.integration.support.management.MetricsContext metricsContext = metrics.beforeSend();
+		SampleFacade sample = this.metricsCaptor != null ? this.metricsCaptor.start() : null;
+		boolean sent;
+		try {
+			sent = doSend(message, timeout);
+		}
+		catch (RuntimeException ex) {
+			if (sample != null) {
+				sample.stop(buildSendTimer(false, ex.getClass().getSimpleName()));
+			}
+			metrics.afterSend(metricsContext, false);
+			throw ex;
+		}
+		if (sample != null) {
+			sample.stop(sendTimer(sent));
+		}
+		metrics.afterSend(metricsContext, sent);
+		return sent;
+	}
+
 	private TimerFacade sendTimer(boolean sent) {
 		if (sent) {
 			if (this.successTimer == null) {
@@ -567,14 +572,22 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 
 	/**
 	 * A convenience wrapper class for the list of ChannelInterceptors.
+	 * <p>
+	 * Since version 5.2.3, the list is compiled into an array on each modification,
+	 * so the send and receive operations iterate over an array snapshot and track
+	 * the applied interceptors by their count instead of a per-operation
+	 * {@link Deque}. Therefore the {@link #interceptors} must be modified only via
+	 * the methods of this class.
 	 */
 	protected static class ChannelInterceptorList {
 
+		private static final ChannelInterceptor[] EMPTY = new ChannelInterceptor[0];
+
 		protected final List<ChannelInterceptor> interceptors = new CopyOnWriteArrayList<>(); // NOSONAR
 
 		private final Log logger;
 
-		private int size;
+		private volatile ChannelInterceptor[] interceptorArray = EMPTY;
 
 		public ChannelInterceptorList(Log logger) {
 			this.logger = logger;
@@ -583,56 +596,179 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 		public boolean set(List<ChannelInterceptor> interceptors) {
 			synchronized (this.interceptors) {
 				this.interceptors.clear();
-				this.size = interceptors.size();
-				return this.interceptors.addAll(interceptors);
+				boolean changed = this.interceptors.addAll(interceptors);
+				compile();
+				return changed;
 			}
 		}
 
 		public int getSize() {
-			return this.size;
+			return this.interceptorArray.length;
 		}
 
 		public boolean add(ChannelInterceptor interceptor) {
-			this.size++;
-			return this.interceptors.add(interceptor);
+			synchronized (this.interceptors) {
+				boolean added = this.interceptors.add(interceptor);
+				compile();
+				return added;
+			}
 		}
 
 		public void add(int index, ChannelInterceptor interceptor) {
-			this.size++;
-			this.interceptors.add(index, interceptor);
+			synchronized (this.interceptors) {
+				this.interceptors.add(index, interceptor);
+				compile();
+			}
 		}
 
+		private void compile() {
+			this.interceptorArray = this.interceptors.isEmpty()
+					? EMPTY
+					: this.interceptors.toArray(new ChannelInterceptor[0]);
+		}
+
+		/**
+		 * Return the current snapshot of the interceptors to be used for
+		 * the array-based operations of this class.
+		 * The array must not be modified.
+		 * @return the interceptors.
+		 * @since 5.2.3
+		 */
+		public ChannelInterceptor[] getInterceptorArray() {
+			return this.interceptorArray;
+		}
+
+		/**
+		 * Apply the {@link ChannelInterceptor#preSend(Message, MessageChannel)} of the
+		 * provided interceptors. If an interceptor returns {@code null} or throws an
+		 * exception, the {@link ChannelInterceptor#afterSendCompletion} is invoked on the
+		 * interceptors applied so far; in this case the caller must not call
+		 * {@link #afterSendCompletion(Message, MessageChannel, boolean, Exception, ChannelInterceptor[])}.
+		 * @param messageArg the message.
+		 * @param channel the channel.
+		 * @param interceptors the interceptors from the {@link #getInterceptorArray()}.
+		 * @return the message to send or {@code null} to preclude the send.
+		 * @since 5.2.3
+		 */
+		@Nullable
+		public Message<?> preSend(Message<?> messageArg, MessageChannel channel, ChannelInterceptor[] interceptors) {
+			Message<?> message = messageArg;
+			for (int i = 0; i < interceptors.length; i++) {
+				ChannelInterceptor interceptor = interceptors[i];
+				Message<?> previous = message;
+				try {
+					message = interceptor.preSend(message, channel);
+				}
+				catch (RuntimeException ex) {
+					afterSendCompletion(previous, channel, false, ex, interceptors, i);
+					throw ex;
+				}
+				if (message == null) {
+					if (this.logger.isDebugEnabled()) {
+						this.logger.debug(interceptor.getClass().getSimpleName()
+								+ " returned null from preSend, i.e. precluding the send.");
+					}
+					afterSendCompletion(previous, channel, false, null, interceptors, i);
+					return null;
+				}
+			}
+			return message;
+		}
+
+		/**
+		 * Apply the {@link ChannelInterceptor#preSend(Message, MessageChannel)} of the
+		 * interceptors, collecting the applied ones into the provided stack.
+		 * @param messageArg the message.
+		 * @param channel the channel.
+		 * @param interceptorStack the stack for applied interceptors.
+		 * @return the message to send or {@code null} to preclude the send.
+		 * @deprecated since 5.2.3 in favor of {@link #preSend(Message, MessageChannel, ChannelInterceptor[])}.
+		 */
+		@Deprecated
 		@Nullable
 		public Message<?> preSend(Message<?> messageArg, MessageChannel channel,
 				Deque<ChannelInterceptor> interceptorStack) {
 
 			Message<?> message = messageArg;
-			if (this.size > 0) {
-				for (ChannelInterceptor interceptor : this.interceptors) {
-					Message<?> previous = message;
-					message = interceptor.preSend(message, channel);
-					if (message == null) {
-						if (this.logger.isDebugEnabled()) {
-							this.logger.debug(interceptor.getClass().getSimpleName()
-									+ " returned null from preSend, i.e. precluding the send.");
-						}
-						afterSendCompletion(previous, channel, false, null, interceptorStack);
-						return null;
+			for (ChannelInterceptor interceptor : this.interceptorArray) {
+				Message<?> previous = message;
+				message = interceptor.preSend(message, channel);
+				if (message == null) {
+					if (this.logger.isDebugEnabled()) {
+						this.logger.debug(interceptor.getClass().getSimpleName()
+								+ " returned null from preSend, i.e. precluding the send.");
 					}
-					interceptorStack.add(interceptor);
+					afterSendCompletion(previous, channel, false, null, interceptorStack);
+					return null;
 				}
+				interceptorStack.add(interceptor);
 			}
 			return message;
 		}
 
+		/**
+		 * Apply the {@link ChannelInterceptor#postSend(Message, MessageChannel, boolean)}
+		 * of the provided interceptors.
+		 * @param message the message.
+		 * @param channel the channel.
+		 * @param sent the send result.
+		 * @param interceptors the interceptors from the {@link #getInterceptorArray()}.
+		 * @since 5.2.3
+		 */
+		public void postSend(Message<?> message, MessageChannel channel, boolean sent,
+				ChannelInterceptor[] interceptors) {
+
+			for (ChannelInterceptor interceptor : interceptors) {
+				interceptor.postSend(message, channel, sent);
+			}
+		}
+
 		public void postSend(Message<?> message, MessageChannel channel, boolean sent) {
-			if (this.size > 0) {
-				for (ChannelInterceptor interceptor : this.interceptors) {
-					interceptor.postSend(message, channel, sent);
+			postSend(message, channel, sent, this.interceptorArray);
+		}
+
+		/**
+		 * Apply the {@link ChannelInterceptor#afterSendCompletion} of the provided interceptors
+		 * in the reverse order.
+		 * @param message the message.
+		 * @param channel the channel.
+		 * @param sent the send result.
+		 * @param ex the send exception, if any.
+		 * @param interceptors the interceptors from the {@link #getInterceptorArray()}.
+		 * @since 5.2.3
+		 */
+		public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent,
+				@Nullable Exception ex, ChannelInterceptor[] interceptors) {
+
+			afterSendCompletion(message, channel, sent, ex, interceptors, interceptors.length);
+		}
+
+		private void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent,
+				@Nullable Exception ex, ChannelInterceptor[] interceptors, int applied) {
+
+			for (int i = applied - 1; i >= 0; i--) {
+				ChannelInterceptor interceptor = interceptors[i];
+				try {
+					interceptor.afterSendCompletion(message, channel, sent, ex);
+				}
+				catch (Exception ex2) {
+					this.logger.error("Exception from afterSendCompletion in " + interceptor, ex2);
 				}
 			}
 		}
 
+		/**
+		 * Apply the {@link ChannelInterceptor#afterSendCompletion} of the interceptors
+		 * from the provided stack in the reverse order.
+		 * @param message the message.
+		 * @param channel the channel.
+		 * @param sent the send result.
+		 * @param ex the send exception, if any.
+		 * @param interceptorStack the stack of applied interceptors.
+		 * @deprecated since 5.2.3 in favor of
+		 * {@link #afterSendCompletion(Message, MessageChannel, boolean, Exception, ChannelInterceptor[])}.
+		 */
+		@Deprecated
 		public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent,
 				@Nullable Exception ex, Deque<ChannelInterceptor> interceptorStack) {
 
@@ -647,33 +783,123 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 			}
 		}
 
+		/**
+		 * Apply the {@link ChannelInterceptor#preReceive(MessageChannel)} of the provided
+		 * interceptors. If an interceptor returns {@code false} or throws an exception,
+		 * the {@link ChannelInterceptor#afterReceiveCompletion} is invoked on the
+		 * interceptors applied so far; in this case the caller must not call
+		 * {@link #afterReceiveCompletion(Message, MessageChannel, Exception, ChannelInterceptor[])}.
+		 * @param channel the channel.
+		 * @param interceptors the interceptors from the {@link #getInterceptorArray()}.
+		 * @return false to preclude the receive.
+		 * @since 5.2.3
+		 */
+		public boolean preReceive(MessageChannel channel, ChannelInterceptor[] interceptors) {
+			for (int i = 0; i < interceptors.length; i++) {
+				boolean proceed;
+				try {
+					proceed = interceptors[i].preReceive(channel);
+				}
+				catch (RuntimeException ex) {
+					afterReceiveCompletion(null, channel, ex, interceptors, i);
+					throw ex;
+				}
+				if (!proceed) {
+					afterReceiveCompletion(null, channel, null, interceptors, i);
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Apply the {@link ChannelInterceptor#preReceive(MessageChannel)} of the
+		 * interceptors, collecting the applied ones into the provided stack.
+		 * @param channel the channel.
+		 * @param interceptorStack the stack for applied interceptors.
+		 * @return false to preclude the receive.
+		 * @deprecated since 5.2.3 in favor of {@link #preReceive(MessageChannel, ChannelInterceptor[])}.
+		 */
+		@Deprecated
 		public boolean preReceive(MessageChannel channel, Deque<ChannelInterceptor> interceptorStack) {
-			if (this.size > 0) {
-				for (ChannelInterceptor interceptor : this.interceptors) {
-					if (!interceptor.preReceive(channel)) {
-						afterReceiveCompletion(null, channel, null, interceptorStack);
-						return false;
-					}
-					interceptorStack.add(interceptor);
+			for (ChannelInterceptor interceptor : this.interceptorArray) {
+				if (!interceptor.preReceive(channel)) {
+					afterReceiveCompletion(null, channel, null, interceptorStack);
+					return false;
 				}
+				interceptorStack.add(interceptor);
 			}
 			return true;
 		}
 
+		/**
+		 * Apply the {@link ChannelInterceptor#postReceive(Message, MessageChannel)}
+		 * of the provided interceptors.
+		 * @param messageArg the message.
+		 * @param channel the channel.
+		 * @param interceptors the interceptors from the {@link #getInterceptorArray()}.
+		 * @return the message or {@code null} if an interceptor returned {@code null}.
+		 * @since 5.2.3
+		 */
 		@Nullable
-		public Message<?> postReceive(Message<?> messageArg, MessageChannel channel) {
+		public Message<?> postReceive(Message<?> messageArg, MessageChannel channel,
+				ChannelInterceptor[] interceptors) {
+
 			Message<?> message = messageArg;
-			if (this.size > 0) {
-				for (ChannelInterceptor interceptor : this.interceptors) {
-					message = interceptor.postReceive(message, channel);
-					if (message == null) {
-						return null;
-					}
+			for (ChannelInterceptor interceptor : interceptors) {
+				message = interceptor.postReceive(message, channel);
+				if (message == null) {
+					return null;
 				}
 			}
 			return message;
 		}
 
+		@Nullable
+		public Message<?> postReceive(Message<?> messageArg, MessageChannel channel) {
+			return postReceive(messageArg, channel, this.interceptorArray);
+		}
+
+		/**
+		 * Apply the {@link ChannelInterceptor#afterReceiveCompletion} of the provided
+		 * interceptors in the reverse order.
+		 * @param message the message, if any.
+		 * @param channel the channel.
+		 * @param ex the receive exception, if any.
+		 * @param interceptors the interceptors from the {@link #getInterceptorArray()}.
+		 * @since 5.2.3
+		 */
+		public void afterReceiveCompletion(@Nullable Message<?> message, MessageChannel channel,
+				@Nullable Exception ex, ChannelInterceptor[] interceptors) {
+
+			afterReceiveCompletion(message, channel, ex, interceptors, interceptors.length);
+		}
+
+		private void afterReceiveCompletion(@Nullable Message<?> message, MessageChannel channel,
+				@Nullable Exception ex, ChannelInterceptor[] interceptors, int applied) {
+
+			for (int i = applied - 1; i >= 0; i--) {
+				ChannelInterceptor interceptor = interceptors[i];
+				try {
+					interceptor.afterReceiveCompletion(message, channel, ex);
+				}
+				catch (Exception ex2) {
+					this.logger.error("Exception from afterReceiveCompletion in " + interceptor, ex2);
+				}
+			}
+		}
+
+		/**
+		 * Apply the {@link ChannelInterceptor#afterReceiveCompletion} of the interceptors
+		 * from the provided stack in the reverse order.
+		 * @param message the message, if any.
+		 * @param channel the channel.
+		 * @param ex the receive exception, if any.
+		 * @param interceptorStack the stack of applied interceptors.
+		 * @deprecated since 5.2.3 in favor of
+		 * {@link #afterReceiveCompletion(Message, MessageChannel, Exception, ChannelInterceptor[])}.
+		 */
+		@Deprecated
 		public void afterReceiveCompletion(@Nullable Message<?> message, MessageChannel channel,
 				@Nullable Exception ex, @Nullable Deque<ChannelInterceptor> interceptorStack) {
 
@@ -695,22 +921,24 @@ public abstract class AbstractMessageChannel extends IntegrationObjectSupport
 		}
 
 		public boolean remove(ChannelInterceptor interceptor) {
-			if (this.interceptors.remove(interceptor)) {
-				this.size--;
-				return true;
-			}
-			else {
-				return false;
+			synchronized (this.interceptors) {
+				if (this.interceptors.remove(interceptor)) {
+					compile();
+					return true;
+				}
+				else {
+					return false;
+				}
 			}
 		}
 
 		@Nullable
 		public ChannelInterceptor remove(int index) {
-			ChannelInterceptor removed = this.interceptors.remove(index);
-			if (removed != null) {
-				this.size--;
+			synchronized (this.interceptors) {
+				ChannelInterceptor removed = this.interceptors.remove(index);
+				compile();
+				return removed;
 			}
-			return removed;
 		}
 
 	}
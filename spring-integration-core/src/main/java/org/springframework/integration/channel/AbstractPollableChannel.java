@@ -16,8 +16,8 @@
 
 package org.springframework.integration.channel;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.springframework.integration.support.management.PollableChannelManagement;
@@ -28,6 +28,7 @@ import org.springframework.messaging.Message;
 import org.springframework.messaging.PollableChannel;
 import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.util.Assert;
 
 /**
  * Base class for all pollable channels.
@@ -91,7 +92,7 @@ public abstract class AbstractPollableChannel extends AbstractMessageChannel
 	@Nullable
 	public Message<?> receive(long timeout) {
 		ChannelInterceptorList interceptorList = getIChannelInterceptorList();
-		Deque<ChannelInterceptor> interceptorStack = null;
+		ChannelInterceptor[] appliedInterceptors = null;
 		boolean counted = false;
 		boolean countsEnabled = isCountsEnabled();
 		boolean traceEnabled = isLoggingEnabled() && logger.isTraceEnabled();
@@ -99,12 +100,12 @@ public abstract class AbstractPollableChannel extends AbstractMessageChannel
 			if (traceEnabled) {
 				logger.trace("preReceive on channel '" + this + "'");
 			}
-			if (interceptorList.getSize() > 0) {
-				interceptorStack = new ArrayDeque<>();
-
-				if (!interceptorList.preReceive(this, interceptorStack)) {
+			ChannelInterceptor[] interceptorArray = interceptorList.getInterceptorArray();
+			if (interceptorArray.length > 0) {
+				if (!interceptorList.preReceive(this, interceptorArray)) {
 					return null;
 				}
+				appliedInterceptors = interceptorArray;
 			}
 			Message<?> message = doReceive(timeout);
 			if (message == null) {
@@ -124,17 +125,69 @@ public abstract class AbstractPollableChannel extends AbstractMessageChannel
 				}
 			}
 
-			if (interceptorStack != null && message != null) {
-				message = interceptorList.postReceive(message, this);
+			if (appliedInterceptors != null) {
+				if (message != null) {
+					message = interceptorList.postReceive(message, this, appliedInterceptors);
+				}
+				interceptorList.afterReceiveCompletion(message, this, null, appliedInterceptors);
 			}
-			interceptorList.afterReceiveCompletion(message, this, null, interceptorStack);
 			return message;
 		}
 		catch (RuntimeException ex) {
 			if (countsEnabled && !counted) {
 				incrementReceiveErrorCounter(ex);
 			}
-			interceptorList.afterReceiveCompletion(null, this, ex, interceptorStack);
+			if (appliedInterceptors != null) {
+				interceptorList.afterReceiveCompletion(null, this, ex, appliedInterceptors);
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Receive up to {@code maxMessages} available messages from this channel.
+	 * Only the first message is awaited for the provided timeout
+	 * (with the same semantics as for the {@link #receive(long)});
+	 * the rest of the batch consists of messages immediately available in the channel.
+	 * <p>When the channel has no interceptors, the batch is drained from the underlying
+	 * storage at once (see {@link #doReceive(int, long)}); otherwise the interceptor
+	 * contract is honored via a per-message {@link #receive(long)} loop.
+	 * @param maxMessages the max number of messages to receive.
+	 * @param timeout the timeout in milliseconds to wait for the first message.
+	 * @return the received messages; an empty list if no message is available
+	 * within the allotted time.
+	 * @since 5.2.3
+	 */
+	public List<Message<?>> receive(int maxMessages, long timeout) {
+		Assert.isTrue(maxMessages > 0, "'maxMessages' must be greater than 0");
+		if (getIChannelInterceptorList().getSize() > 0) {
+			List<Message<?>> messages = new ArrayList<>();
+			Message<?> message = receive(timeout);
+			while (message != null) {
+				messages.add(message);
+				message = messages.size() < maxMessages ? receive(0) : null;
+			}
+			return messages;
+		}
+
+		boolean countsEnabled = isCountsEnabled();
+		try {
+			List<Message<?>> messages = doReceive(maxMessages, timeout);
+			if (countsEnabled) {
+				for (int i = 0; i < messages.size(); i++) {
+					incrementReceiveCounter();
+					getMetrics().afterReceive();
+				}
+			}
+			if (!messages.isEmpty() && isLoggingEnabled() && logger.isDebugEnabled()) {
+				logger.debug("postReceive on channel '" + this + "', messages: " + messages);
+			}
+			return messages;
+		}
+		catch (RuntimeException ex) {
+			if (countsEnabled) {
+				incrementReceiveErrorCounter(ex);
+			}
 			throw ex;
 		}
 	}
@@ -232,4 +285,27 @@ public abstract class AbstractPollableChannel extends AbstractMessageChannel
 	@Nullable
 	protected abstract Message<?> doReceive(long timeout);
 
+	/**
+	 * Receive up to {@code maxMessages} messages; only the first one is awaited
+	 * for the provided timeout. This implementation calls {@link #doReceive(long)}
+	 * for each message; subclasses can override it to drain the underlying storage
+	 * in a single operation.
+	 * @param maxMessages the max number of messages to receive.
+	 * @param timeout the timeout to wait for the first message.
+	 * @return the received messages or an empty list.
+	 * @since 5.2.3
+	 */
+	protected List<Message<?>> doReceive(int maxMessages, long timeout) {
+		Message<?> message = doReceive(timeout);
+		if (message == null) {
+			return Collections.emptyList();
+		}
+		List<Message<?>> messages = new ArrayList<>();
+		while (message != null) {
+			messages.add(message);
+			message = messages.size() < maxMessages ? doReceive(0) : null;
+		}
+		return messages;
+	}
+
 }
@@ -17,6 +17,7 @@
 package org.springframework.integration.channel;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -26,7 +27,6 @@ import org.springframework.integration.store.PriorityCapableChannelMessageStore;
 import org.springframework.integration.util.UpperBound;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
-import org.springframework.messaging.MessageHeaders;
 
 /**
  * A message channel that prioritizes messages based on a {@link Comparator}.
@@ -124,7 +124,7 @@ public class PriorityChannel extends QueueChannel {
 			return false;
 		}
 		if (!this.useMessageStore) {
-			return super.doSend(new MessageWrapper(message), 0);
+			return super.doSend(new MessageWrapper(message, isQueueWaitTimeTracked()), 0);
 		}
 		else {
 			return super.doSend(message, 0);
@@ -135,14 +135,20 @@ public class PriorityChannel extends QueueChannel {
 	protected Message<?> doReceive(long timeout) {
 		Message<?> message = super.doReceive(timeout);
 		if (message != null) {
-			if (!this.useMessageStore) {
-				message = ((MessageWrapper) message).getRootMessage();
-			}
 			this.upperBound.release();
 		}
 		return message;
 	}
 
+	@Override
+	protected List<Message<?>> doReceive(int maxMessages, long timeout) {
+		List<Message<?>> messages = super.doReceive(maxMessages, timeout);
+		for (int i = 0; i < messages.size(); i++) {
+			this.upperBound.release();
+		}
+		return messages;
+	}
+
 	private static final class SequenceFallbackComparator implements Comparator<Message<?>> {
 
 		private final Comparator<Message<?>> targetComparator;
@@ -177,31 +183,15 @@ public class PriorityChannel extends QueueChannel {
 	}
 
 	//we need this because of INT-2508
-	private final class MessageWrapper implements Message<Object> {
-
-		private final Message<?> rootMessage;
+	private final class MessageWrapper extends QueuedMessage {
 
 		private final long sequence;
 
-		MessageWrapper(Message<?> rootMessage) {
-			this.rootMessage = rootMessage;
+		MessageWrapper(Message<?> rootMessage, boolean timed) {
+			super(rootMessage, timed);
 			this.sequence = PriorityChannel.this.sequenceCounter.incrementAndGet();
 		}
 
-		public Message<?> getRootMessage() {
-			return this.rootMessage;
-		}
-
-		@Override
-		public MessageHeaders getHeaders() {
-			return this.rootMessage.getHeaders();
-		}
-
-		@Override
-		public Object getPayload() {
-			return this.rootMessage.getPayload();
-		}
-
 		long getSequence() {
 			return this.sequence;
 		}
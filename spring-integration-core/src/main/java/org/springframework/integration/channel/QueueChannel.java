@@ -17,6 +17,7 @@
 package org.springframework.integration.channel;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
@@ -25,9 +26,13 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.integration.core.MessageSelector;
+import org.springframework.integration.store.MessageGroupQueue;
 import org.springframework.integration.support.management.QueueChannelManagement;
+import org.springframework.integration.support.management.metrics.MetricsCaptor;
+import org.springframework.integration.support.management.metrics.TimerFacade;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.util.Assert;
 
 /**
@@ -49,6 +54,10 @@ public class QueueChannel extends AbstractPollableChannel implements QueueChanne
 
 	protected final Semaphore queueSemaphore = new Semaphore(0); // NOSONAR final
 
+	private volatile boolean queueWaitTimeEnabled;
+
+	private volatile TimerFacade queueWaitTimer;
+
 	/**
 	 * Create a channel with the specified queue.
 	 *
@@ -79,9 +88,43 @@ public class QueueChannel extends AbstractPollableChannel implements QueueChanne
 		this(new LinkedBlockingQueue<>());
 	}
 
+	/**
+	 * Set to true to record the time messages spend in the queue (from enqueue to dequeue)
+	 * with a {@value org.springframework.integration.support.management.IntegrationManagement#QUEUE_WAIT_TIMER_NAME}
+	 * timer. Messages are wrapped with their enqueue time for that purpose, therefore this
+	 * option is ignored for a {@link MessageGroupQueue} or when no {@link MetricsCaptor}
+	 * is registered.
+	 * @param queueWaitTimeEnabled true to enable.
+	 * @since 5.2.3
+	 */
+	public void setQueueWaitTimeEnabled(boolean queueWaitTimeEnabled) {
+		this.queueWaitTimeEnabled = queueWaitTimeEnabled && !(this.queue instanceof MessageGroupQueue);
+	}
+
+	/**
+	 * @return true if the queue wait time is recorded.
+	 * @since 5.2.3
+	 * @see #setQueueWaitTimeEnabled(boolean)
+	 */
+	public boolean isQueueWaitTimeEnabled() {
+		return this.queueWaitTimeEnabled;
+	}
+
+	/**
+	 * @return true if messages should be wrapped with their enqueue time.
+	 * @since 5.2.3
+	 */
+	protected boolean isQueueWaitTimeTracked() {
+		return this.queueWaitTimeEnabled && getMetricsCaptor() != null;
+	}
+
 	@Override
-	protected boolean doSend(Message<?> message, long timeout) {
-		Assert.notNull(message, "'message' must not be null");
+	protected boolean doSend(Message<?> messageArg, long timeout) {
+		Assert.notNull(messageArg, "'message' must not be null");
+		Message<?> message = messageArg;
+		if (!(message instanceof QueuedMessage) && isQueueWaitTimeTracked()) {
+			message = new QueuedMessage(message, true);
+		}
 		try {
 			if (this.queue instanceof BlockingQueue) {
 				BlockingQueue<Message<?>> blockingQueue = (BlockingQueue<Message<?>>) this.queue;
@@ -112,6 +155,75 @@ public class QueueChannel extends AbstractPollableChannel implements QueueChanne
 	@Override
 	@Nullable
 	protected Message<?> doReceive(long timeout) {
+		Message<?> message = receiveFromQueue(timeout);
+		return message instanceof QueuedMessage ? dequeued(message, System.nanoTime()) : message;
+	}
+
+	/**
+	 * Wait for the first message according to the provided timeout and then drain
+	 * the rest of the batch with a single {@link BlockingQueue#drainTo(java.util.Collection, int)}
+	 * operation if the underlying queue is a {@link BlockingQueue}.
+	 * @param maxMessages the max number of messages to receive.
+	 * @param timeout the timeout to wait for the first message.
+	 * @return the received messages or an empty list.
+	 * @since 5.2.3
+	 */
+	@Override
+	protected List<Message<?>> doReceive(int maxMessages, long timeout) {
+		Message<?> message = receiveFromQueue(timeout);
+		if (message == null) {
+			return Collections.emptyList();
+		}
+		List<Message<?>> messages = new ArrayList<>();
+		messages.add(message);
+		if (maxMessages > 1) {
+			if (this.queue instanceof BlockingQueue) {
+				((BlockingQueue<Message<?>>) this.queue).drainTo(messages, maxMessages - 1);
+			}
+			else {
+				while (messages.size() < maxMessages && (message = this.queue.poll()) != null) {
+					messages.add(message);
+				}
+			}
+		}
+		long now = System.nanoTime();
+		for (int i = 0; i < messages.size(); i++) {
+			messages.set(i, dequeued(messages.get(i), now));
+		}
+		return messages;
+	}
+
+	private Message<?> dequeued(Message<?> message, long now) {
+		if (message instanceof QueuedMessage) {
+			QueuedMessage queuedMessage = (QueuedMessage) message;
+			if (queuedMessage.timed) {
+				recordQueueWaitTime(now - queuedMessage.enqueueTime);
+			}
+			return queuedMessage.rootMessage;
+		}
+		return message;
+	}
+
+	private void recordQueueWaitTime(long nanos) {
+		TimerFacade timer = this.queueWaitTimer;
+		if (timer == null) {
+			MetricsCaptor metricsCaptor = getMetricsCaptor();
+			if (metricsCaptor == null) {
+				return;
+			}
+			timer = metricsCaptor.timerBuilder(QUEUE_WAIT_TIMER_NAME)
+					.tag("type", "channel")
+					.tag("name", getComponentName() == null ? "unknown" : getComponentName())
+					.description("Time messages spend in the queue")
+					.build();
+			this.meters.add(timer);
+			this.queueWaitTimer = timer;
+		}
+		timer.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Nullable
+	private Message<?> receiveFromQueue(long timeout) {
 		try {
 			if (timeout > 0) {
 				if (this.queue instanceof BlockingQueue) {
@@ -172,6 +284,9 @@ public class QueueChannel extends AbstractPollableChannel implements QueueChanne
 				clearedMessages.add(message);
 			}
 		}
+		for (int i = 0; i < clearedMessages.size(); i++) {
+			clearedMessages.set(i, unwrap(clearedMessages.get(i)));
+		}
 		return clearedMessages;
 	}
 
@@ -184,8 +299,9 @@ public class QueueChannel extends AbstractPollableChannel implements QueueChanne
 		Object[] array = this.queue.toArray();
 		for (Object o : array) {
 			Message<?> message = (Message<?>) o;
-			if (!selector.accept(message) && this.queue.remove(message)) {
-				purgedMessages.add(message);
+			Message<?> rootMessage = unwrap(message);
+			if (!selector.accept(rootMessage) && this.queue.remove(message)) {
+				purgedMessages.add(rootMessage);
 			}
 		}
 		return purgedMessages;
@@ -207,4 +323,49 @@ public class QueueChannel extends AbstractPollableChannel implements QueueChanne
 		}
 	}
 
+	@Override
+	public void destroy() {
+		super.destroy();
+		this.queueWaitTimer = null;
+	}
+
+	private static Message<?> unwrap(Message<?> message) {
+		return message instanceof QueuedMessage ? ((QueuedMessage) message).rootMessage : message;
+	}
+
+	/**
+	 * A {@link Message} wrapper for the queue entries, optionally carrying the enqueue time.
+	 * @since 5.2.3
+	 */
+	static class QueuedMessage implements Message<Object> {
+
+		private final Message<?> rootMessage;
+
+		private final boolean timed;
+
+		private final long enqueueTime;
+
+		QueuedMessage(Message<?> rootMessage, boolean timed) {
+			this.rootMessage = rootMessage;
+			this.timed = timed;
+			this.enqueueTime = timed ? System.nanoTime() : 0;
+		}
+
+		@Override
+		public MessageHeaders getHeaders() {
+			return this.rootMessage.getHeaders();
+		}
+
+		@Override
+		public Object getPayload() {
+			return this.rootMessage.getPayload();
+		}
+
+		@Override
+		public String toString() {
+			return this.rootMessage.toString();
+		}
+
+	}
+
 }
@@ -32,6 +32,7 @@ import org.springframework.core.annotation.AliasFor;
  * bean is defined under the name {@code integrationManagementConfigurer}.
  *
  * @author Gary Russell
+ * @author Artem Bilan
  *
  * @since 4.2
  */
@@ -100,6 +101,36 @@ public @interface EnableIntegrationManagement {
 	@Deprecated
 	String[] statsEnabled() default "*";
 
+	/**
+	 * A list of simple patterns for component names for which latency instrumentation is
+	 * enabled: percentile histograms for their timers, the time messages spend in a queue
+	 * channel and the time a message producing handler spends in sending its output downstream.
+	 * If a pattern starts with `!`, latency instrumentation is disabled for matches.
+	 * For components that match multiple patterns, the first pattern wins.
+	 * Requires Micrometer. Defaults to no components.
+	 * @return the patterns.
+	 * @since 5.2.3
+	 * @see IntegrationManagementConfigurer#setLatencyPatterns(String...)
+	 */
+	String[] latencyEnabled() default {};
+
+	/**
+	 * A list of percentiles (e.g. {@code 0.5, 0.99}) to publish for the timers of the
+	 * components matched by {@link #latencyEnabled()}.
+	 * @return the percentiles.
+	 * @since 5.2.3
+	 */
+	String[] latencyPercentiles() default {};
+
+	/**
+	 * A list of service level objectives in the ISO-8601 duration format
+	 * (e.g. {@code PT0.1S}) to publish buckets for in the timers of the components
+	 * matched by {@link #latencyEnabled()}.
+	 * @return the service level objectives.
+	 * @since 5.2.3
+	 */
+	String[] latencyServiceLevelObjectives() default {};
+
 	/**
 	 * The default setting for enabling counts when a bean name is not matched by
 	 * {@link #countsEnabled() countsEnabled}.
@@ -16,6 +16,7 @@
 
 package org.springframework.integration.config;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -71,6 +72,7 @@ public class IntegrationManagementConfiguration implements ImportAware, Environm
 		IntegrationManagementConfigurer configurer = new IntegrationManagementConfigurer();
 		setupCountsEnabledNamePatterns(configurer);
 		setupStatsEnabledNamePatterns(configurer);
+		setupLatency(configurer);
 		configurer.setDefaultLoggingEnabled(
 				Boolean.parseBoolean(this.environment.resolvePlaceholders(
 						(String) this.attributes.get("defaultLoggingEnabled"))));
@@ -105,4 +107,29 @@ public class IntegrationManagementConfiguration implements ImportAware, Environm
 		configurer.setEnabledStatsPatterns(patterns.toArray(new String[0]));
 	}
 
+	private void setupLatency(IntegrationManagementConfigurer configurer) {
+		configurer.setLatencyPatterns(resolveList("latencyEnabled").toArray(new String[0]));
+		configurer.setLatencyPercentiles(resolveList("latencyPercentiles")
+				.stream()
+				.mapToDouble(Double::parseDouble)
+				.toArray());
+		configurer.setLatencyServiceLevelObjectives(resolveList("latencyServiceLevelObjectives")
+				.stream()
+				.map(Duration::parse)
+				.toArray(Duration[]::new));
+	}
+
+	private List<String> resolveList(String attribute) {
+		List<String> values = new ArrayList<>();
+		for (String value : this.attributes.getStringArray(attribute)) {
+			String resolved = this.environment.resolvePlaceholders(value);
+			for (String item : StringUtils.commaDelimitedListToStringArray(resolved)) {
+				if (StringUtils.hasText(item)) {
+					values.add(item.trim());
+				}
+			}
+		}
+		return values;
+	}
+
 }
@@ -16,6 +16,7 @@
 
 package org.springframework.integration.config;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -30,13 +31,16 @@ import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.core.MessageSource;
+import org.springframework.integration.handler.AbstractMessageProducingHandler;
 import org.springframework.integration.support.management.AbstractMessageChannelMetrics;
 import org.springframework.integration.support.management.AbstractMessageHandlerMetrics;
 import org.springframework.integration.support.management.ConfigurableMetricsAware;
 import org.springframework.integration.support.management.IntegrationManagement;
 import org.springframework.integration.support.management.IntegrationManagement.ManagementOverrides;
 import org.springframework.integration.support.management.PollableChannelManagement;
+import org.springframework.integration.support.management.metrics.HistogramMetricsCaptor;
 import org.springframework.integration.support.management.metrics.MetricsCaptor;
 import org.springframework.integration.support.management.micrometer.MicrometerMetricsCaptor;
 import org.springframework.integration.support.utils.PatternMatchUtils;
@@ -98,10 +102,18 @@ public class IntegrationManagementConfigurer
 
 	private String[] enabledStatsPatterns = { };
 
+	private String[] latencyPatterns = { };
+
+	private double[] latencyPercentiles = { };
+
+	private Duration[] latencyServiceLevelObjectives = { };
+
 	private volatile boolean singletonsInstantiated;
 
 	private MetricsCaptor metricsCaptor;
 
+	private MetricsCaptor latencyMetricsCaptor;
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
 		this.applicationContext = applicationContext;
@@ -183,6 +195,51 @@ public class IntegrationManagementConfigurer
 		this.enabledStatsPatterns = Arrays.copyOf(enabledStatsPatterns, enabledStatsPatterns.length);
 	}
 
+	/**
+	 * Set the array of simple patterns for component names for which latency
+	 * instrumentation is enabled when a
+	 * {@link org.springframework.integration.support.management.metrics.MetricsCaptor}
+	 * (e.g. Micrometer) is present: timers of the matching components publish a percentile
+	 * histogram (and the {@link #setLatencyPercentiles(double...) percentiles} and
+	 * {@link #setLatencyServiceLevelObjectives(Duration...) service level objectives},
+	 * if configured), a {@link QueueChannel} (including a
+	 * {@link org.springframework.integration.channel.PriorityChannel}) records the time
+	 * messages spend in its queue and an {@link AbstractMessageProducingHandler} records
+	 * the time spent in sending its output downstream. If a pattern starts with `!`,
+	 * latency instrumentation is disabled for matches, so hot components can be excluded.
+	 * For components that match multiple patterns, the first pattern wins.
+	 * Not enabled for any components by default.
+	 * @param latencyPatterns the patterns.
+	 * @since 5.2.3
+	 */
+	public void setLatencyPatterns(String... latencyPatterns) {
+		Assert.notNull(latencyPatterns, "'latencyPatterns' must not be null");
+		this.latencyPatterns = Arrays.copyOf(latencyPatterns, latencyPatterns.length);
+	}
+
+	/**
+	 * Set the client-side computed percentiles to publish for the timers of the components
+	 * matching the {@link #setLatencyPatterns(String...) latencyPatterns}.
+	 * @param percentiles the percentiles, e.g. {@code 0.5, 0.99, 0.999}.
+	 * @since 5.2.3
+	 */
+	public void setLatencyPercentiles(double... percentiles) {
+		Assert.notNull(percentiles, "'percentiles' must not be null");
+		this.latencyPercentiles = Arrays.copyOf(percentiles, percentiles.length);
+	}
+
+	/**
+	 * Set the service level objectives to publish buckets for in the timers of the components
+	 * matching the {@link #setLatencyPatterns(String...) latencyPatterns}.
+	 * @param serviceLevelObjectives the objectives.
+	 * @since 5.2.3
+	 */
+	public void setLatencyServiceLevelObjectives(Duration... serviceLevelObjectives) {
+		Assert.notNull(serviceLevelObjectives, "'serviceLevelObjectives' must not be null");
+		this.latencyServiceLevelObjectives =
+				Arrays.copyOf(serviceLevelObjectives, serviceLevelObjectives.length);
+	}
+
 	/**
 	 * Set whether managed components maintain message counts by default.
 	 * Defaults to false, unless an Integration MBean Exporter is configured.
@@ -254,6 +311,12 @@ public class IntegrationManagementConfigurer
 			this.metricsCaptor = MicrometerMetricsCaptor.loadCaptor(this.applicationContext);
 		}
 		if (this.metricsCaptor != null) {
+			if (this.latencyPatterns.length > 0) {
+				HistogramMetricsCaptor histogramMetricsCaptor = new HistogramMetricsCaptor(this.metricsCaptor);
+				histogramMetricsCaptor.setPercentiles(this.latencyPercentiles);
+				histogramMetricsCaptor.setServiceLevelObjectives(this.latencyServiceLevelObjectives);
+				this.latencyMetricsCaptor = histogramMetricsCaptor;
+			}
 			injectCaptor();
 			registerComponentGauges();
 		}
@@ -295,7 +358,21 @@ public class IntegrationManagementConfigurer
 			if (!bean.getOverrides().loggingConfigured) {
 				bean.setLoggingEnabled(this.defaultLoggingEnabled);
 			}
-			bean.registerMetricsCaptor(this.metricsCaptor);
+			registerMetricsCaptor(bean, entry.getKey());
+		}
+	}
+
+	private void registerMetricsCaptor(IntegrationManagement bean, String name) {
+		boolean latencyEnabled = this.latencyMetricsCaptor != null
+				&& Boolean.TRUE.equals(PatternMatchUtils.smartMatch(name, this.latencyPatterns));
+		bean.registerMetricsCaptor(latencyEnabled ? this.latencyMetricsCaptor : this.metricsCaptor);
+		if (latencyEnabled) {
+			if (bean instanceof QueueChannel) {
+				((QueueChannel) bean).setQueueWaitTimeEnabled(true);
+			}
+			else if (bean instanceof AbstractMessageProducingHandler) {
+				((AbstractMessageProducingHandler) bean).setDownstreamTimeEnabled(true);
+			}
 		}
 	}
 
@@ -303,7 +380,7 @@ public class IntegrationManagementConfigurer
 	public Object postProcessAfterInitialization(Object bean, String name) throws BeansException {
 		if (this.singletonsInstantiated) {
 			if (bean instanceof IntegrationManagement) {
-				((IntegrationManagement) bean).registerMetricsCaptor(this.metricsCaptor);
+				registerMetricsCaptor((IntegrationManagement) bean, name);
 			}
 			return doConfigureMetrics(bean, name);
 		}
@@ -21,6 +21,7 @@ import java.util.concurrent.Executor;
 
 import org.springframework.integration.store.ChannelMessageStore;
 import org.springframework.integration.store.PriorityCapableChannelMessageStore;
+import org.springframework.integration.util.LockFreeArrayBlockingQueue;
 import org.springframework.messaging.Message;
 
 /**
@@ -73,6 +74,24 @@ public final class Channels {
 		return MessageChannels.queue(id, messageGroupStore, groupId);
 	}
 
+	public QueueChannelSpec lockFreeQueue(int capacity) {
+		return MessageChannels.lockFreeQueue(capacity);
+	}
+
+	public QueueChannelSpec lockFreeQueue(String id, int capacity) {
+		return MessageChannels.lockFreeQueue(id, capacity);
+	}
+
+	public QueueChannelSpec lockFreeQueue(int capacity, LockFreeArrayBlockingQueue.WaitStrategy waitStrategy) {
+		return MessageChannels.lockFreeQueue(capacity, waitStrategy);
+	}
+
+	public QueueChannelSpec lockFreeQueue(String id, int capacity,
+			LockFreeArrayBlockingQueue.WaitStrategy waitStrategy) {
+
+		return MessageChannels.lockFreeQueue(id, capacity, waitStrategy);
+	}
+
 	public PriorityChannelSpec priority() {
 		return MessageChannels.priority();
 	}
@@ -329,4 +329,17 @@ public abstract class CorrelationHandlerSpec<S extends CorrelationHandlerSpec<S,
 		return _this();
 	}
 
+	/**
+	 * Set a tick duration in milliseconds to schedule the group timeouts into a
+	 * hashed timing wheel instead of a task scheduler task per group.
+	 * @param tickDuration the tick duration.
+	 * @return the endpoint spec.
+	 * @since 5.2.3
+	 * @see AbstractCorrelatingMessageHandler#setTimingWheelTickDuration(long)
+	 */
+	public S timingWheelTickDuration(long tickDuration) {
+		this.handler.setTimingWheelTickDuration(tickDuration);
+		return _this();
+	}
+
 }
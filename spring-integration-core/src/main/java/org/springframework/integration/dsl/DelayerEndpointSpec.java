@@ -164,6 +164,44 @@ public final class DelayerEndpointSpec extends ConsumerEndpointSpec<DelayerEndpo
 		return this;
 	}
 
+	/**
+	 * Set a tick duration in milliseconds to schedule the delayed messages into a
+	 * hashed timing wheel instead of a task scheduler task per message.
+	 * @param tickDuration the tick duration.
+	 * @return the endpoint spec.
+	 * @since 5.2.3
+	 * @see DelayHandler#setTimingWheelTickDuration(long)
+	 */
+	public DelayerEndpointSpec timingWheelTickDuration(long tickDuration) {
+		this.handler.setTimingWheelTickDuration(tickDuration);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of delayed messages to coalesce into a single store
+	 * operation on a persistent message store.
+	 * @param storeBatchSize the batch size.
+	 * @return the endpoint spec.
+	 * @since 5.2.3
+	 * @see DelayHandler#setStoreBatchSize(int)
+	 */
+	public DelayerEndpointSpec storeBatchSize(int storeBatchSize) {
+		this.handler.setStoreBatchSize(storeBatchSize);
+		return this;
+	}
+
+	/**
+	 * Set the time in milliseconds to wait for more messages to fill a store batch.
+	 * @param storeBatchLinger the linger time.
+	 * @return the endpoint spec.
+	 * @since 5.2.3
+	 * @see DelayHandler#setStoreBatchLinger(long)
+	 */
+	public DelayerEndpointSpec storeBatchLinger(long storeBatchLinger) {
+		this.handler.setStoreBatchLinger(storeBatchLinger);
+		return this;
+	}
+
 	/**
 	 * Specify a {@link TransactionInterceptor} {@link Advice} with default
 	 * {@link PlatformTransactionManager} and
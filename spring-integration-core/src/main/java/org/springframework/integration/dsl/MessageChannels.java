@@ -21,6 +21,7 @@ import java.util.concurrent.Executor;
 
 import org.springframework.integration.store.ChannelMessageStore;
 import org.springframework.integration.store.PriorityCapableChannelMessageStore;
+import org.springframework.integration.util.LockFreeArrayBlockingQueue;
 import org.springframework.messaging.Message;
 
 /**
@@ -73,6 +74,54 @@ public final class MessageChannels {
 		return queue(messageGroupStore, groupId).id(id);
 	}
 
+	/**
+	 * Create a {@link QueueChannelSpec} based on a {@link LockFreeArrayBlockingQueue}
+	 * with the {@link LockFreeArrayBlockingQueue.WaitStrategy#PARK} wait strategy.
+	 * @param capacity the queue capacity; rounded up to the next power of two.
+	 * @return the {@link QueueChannelSpec}.
+	 * @since 5.2.3
+	 */
+	public static QueueChannelSpec lockFreeQueue(int capacity) {
+		return lockFreeQueue(capacity, LockFreeArrayBlockingQueue.WaitStrategy.PARK);
+	}
+
+	/**
+	 * Create a {@link QueueChannelSpec} based on a {@link LockFreeArrayBlockingQueue}
+	 * with the {@link LockFreeArrayBlockingQueue.WaitStrategy#PARK} wait strategy.
+	 * @param id the channel bean name.
+	 * @param capacity the queue capacity; rounded up to the next power of two.
+	 * @return the {@link QueueChannelSpec}.
+	 * @since 5.2.3
+	 */
+	public static QueueChannelSpec lockFreeQueue(String id, int capacity) {
+		return lockFreeQueue(capacity).id(id);
+	}
+
+	/**
+	 * Create a {@link QueueChannelSpec} based on a {@link LockFreeArrayBlockingQueue}.
+	 * @param capacity the queue capacity; rounded up to the next power of two.
+	 * @param waitStrategy the wait strategy for blocking send and receive operations.
+	 * @return the {@link QueueChannelSpec}.
+	 * @since 5.2.3
+	 */
+	public static QueueChannelSpec lockFreeQueue(int capacity, LockFreeArrayBlockingQueue.WaitStrategy waitStrategy) {
+		return queue(new LockFreeArrayBlockingQueue<>(capacity, waitStrategy));
+	}
+
+	/**
+	 * Create a {@link QueueChannelSpec} based on a {@link LockFreeArrayBlockingQueue}.
+	 * @param id the channel bean name.
+	 * @param capacity the queue capacity; rounded up to the next power of two.
+	 * @param waitStrategy the wait strategy for blocking send and receive operations.
+	 * @return the {@link QueueChannelSpec}.
+	 * @since 5.2.3
+	 */
+	public static QueueChannelSpec lockFreeQueue(String id, int capacity,
+			LockFreeArrayBlockingQueue.WaitStrategy waitStrategy) {
+
+		return lockFreeQueue(capacity, waitStrategy).id(id);
+	}
+
 	public static ExecutorChannelSpec executor(Executor executor) {
 		return new ExecutorChannelSpec(executor);
 	}
@@ -132,6 +132,21 @@ public final class PollerSpec extends IntegrationComponentSpec<PollerSpec, Polle
 		return this;
 	}
 
+	/**
+	 * Specify the max number of messages to drain from the
+	 * {@link org.springframework.integration.channel.AbstractPollableChannel}
+	 * in a single receive operation.
+	 * Defaults to {@code 1} - no batching.
+	 * @param receiveBatchSize the max number of messages in the batch.
+	 * @return the spec.
+	 * @since 5.2.3
+	 * @see PollerMetadata#setReceiveBatchSize(int)
+	 */
+	public PollerSpec receiveBatchSize(int receiveBatchSize) {
+		this.target.setReceiveBatchSize(receiveBatchSize);
+		return this;
+	}
+
 	/**
 	 * Specify AOP {@link Advice}s for the {@code pollingTask}.
 	 * @param advice the {@link Advice}s to use.
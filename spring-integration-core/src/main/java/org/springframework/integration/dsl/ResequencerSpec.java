@@ -40,4 +40,28 @@ public class ResequencerSpec extends CorrelationHandlerSpec<ResequencerSpec, Res
 		return _this();
 	}
 
+	/**
+	 * @param maxReorderWindow the max reorder window.
+	 * @return the handler spec.
+	 * @since 5.2.3
+	 * @see ResequencingMessageHandler#setMaxReorderWindow(int)
+	 */
+	public ResequencerSpec maxReorderWindow(int maxReorderWindow) {
+		this.handler.setMaxReorderWindow(maxReorderWindow);
+		return _this();
+	}
+
+	/**
+	 * @param reorderWindowOverflowPolicy the policy for messages outside the reorder window.
+	 * @return the handler spec.
+	 * @since 5.2.3
+	 * @see ResequencingMessageHandler#setReorderWindowOverflowPolicy
+	 */
+	public ResequencerSpec reorderWindowOverflowPolicy(
+			ResequencingMessageHandler.ReorderWindowOverflowPolicy reorderWindowOverflowPolicy) {
+
+		this.handler.setReorderWindowOverflowPolicy(reorderWindowOverflowPolicy);
+		return _this();
+	}
+
 }
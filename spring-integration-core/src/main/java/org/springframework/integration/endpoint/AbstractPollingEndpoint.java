@@ -43,6 +43,7 @@ import org.springframework.integration.util.ErrorHandlingTaskExecutor;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.GenericMessage;
 import org.springframework.scheduling.Trigger;
 import org.springframework.scheduling.support.PeriodicTrigger;
 import org.springframework.scheduling.support.SimpleTriggerContext;
@@ -376,6 +377,11 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 			}
 			return null;
 		}
+		else if (message instanceof MessageBatch) {
+			List<Message<?>> messages = ((MessageBatch) message).getPayload();
+			batchReceived(holder, messages);
+			return messages.get(0);
+		}
 		else {
 			messageReceived(holder, message);
 		}
@@ -383,6 +389,43 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		return message;
 	}
 
+	/**
+	 * Handle each message of the batch; every failure but the last one is sent to the
+	 * error handler as it happens, the last one is re-thrown as for a single message.
+	 */
+	private void batchReceived(IntegrationResourceHolder holder, List<Message<?>> messages) {
+		RuntimeException failure = null;
+		Message<?> failedMessage = null;
+		for (Message<?> message : messages) {
+			try {
+				messageReceived(holder, message);
+			}
+			catch (RuntimeException ex) {
+				if (failure != null) {
+					obtainErrorHandler().handleError(failure);
+				}
+				failure = ex;
+				failedMessage = message;
+			}
+		}
+		if (failure != null) {
+			if (holder != null) {
+				holder.setMessage(failedMessage);
+			}
+			throw failure;
+		}
+	}
+
+	private ErrorHandler obtainErrorHandler() {
+		ErrorHandler handler = this.errorHandler;
+		if (handler == null) {
+			handler = ChannelUtils.getErrorHandler(getBeanFactory());
+			this.errorHandler = handler;
+			this.errorHandlerIsDefault = true;
+		}
+		return handler;
+	}
+
 	private void messageReceived(IntegrationResourceHolder holder, Message<?> message) {
 		if (this.logger.isDebugEnabled()) {
 			this.logger.debug("Poll resulted in Message: " + message);
@@ -421,6 +464,8 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 	/**
 	 * Obtain the next message (if one is available). MAY return null
 	 * if no message is immediately available.
+	 * A {@link MessageBatch} is unwrapped and its messages are handled one by one
+	 * within the same polling task.
 	 * @return The message or null.
 	 */
 	protected abstract Message<?> receiveMessage();
@@ -485,4 +530,19 @@ public abstract class AbstractPollingEndpoint extends AbstractEndpoint implement
 		return null;
 	}
 
+	/**
+	 * The internal carrier of messages received in a single poll: it is never exposed
+	 * to the handler, transaction synchronization or error handling - they deal
+	 * with the individual messages.
+	 */
+	static final class MessageBatch extends GenericMessage<List<Message<?>>> {
+
+		private static final long serialVersionUID = 1L;
+
+		MessageBatch(List<Message<?>> messages) {
+			super(messages);
+		}
+
+	}
+
 }
@@ -24,6 +24,7 @@ import java.util.List;
 import org.reactivestreams.Subscriber;
 
 import org.springframework.context.Lifecycle;
+import org.springframework.integration.channel.AbstractPollableChannel;
 import org.springframework.integration.channel.ExecutorChannelInterceptorAware;
 import org.springframework.integration.channel.NullChannel;
 import org.springframework.integration.channel.ReactiveStreamsSubscribableChannel;
@@ -60,6 +61,8 @@ public class PollingConsumer extends AbstractPollingEndpoint implements Integrat
 
 	private volatile long receiveTimeout = 1000;
 
+	private volatile int receiveBatchSize = 1;
+
 	public PollingConsumer(PollableChannel inputChannel, MessageHandler handler) {
 		Assert.notNull(inputChannel, "inputChannel must not be null");
 		Assert.notNull(handler, "handler must not be null");
@@ -82,6 +85,28 @@ public class PollingConsumer extends AbstractPollingEndpoint implements Integrat
 		this.receiveTimeout = receiveTimeout;
 	}
 
+	/**
+	 * Specify the max number of messages to drain from the input channel in a single
+	 * receive operation when it is an {@link AbstractPollableChannel}
+	 * (e.g. {@link org.springframework.integration.channel.QueueChannel}).
+	 * The received messages are handled one by one within the same polling task:
+	 * the poller advice chain and transaction (if any) cover the whole batch and
+	 * the {@code maxMessagesPerPoll} counts batches, not messages.
+	 * If the handling of some message fails, the rest of the batch is still handled:
+	 * each failure but the last one is sent to the poller's error handler as it happens
+	 * and the last one is re-thrown (so it rolls back the transaction, if any, and
+	 * reaches the error handler as well). The transaction synchronization is exposed
+	 * to the last failed message.
+	 * Ignored for reactive endpoints. Defaults to {@code 1} - no batching.
+	 * @param receiveBatchSize the max number of messages in the batch.
+	 * @since 5.2.3
+	 * @see AbstractPollableChannel#receive(int, long)
+	 */
+	public void setReceiveBatchSize(int receiveBatchSize) {
+		Assert.isTrue(receiveBatchSize > 0, "'receiveBatchSize' must be greater than 0");
+		this.receiveBatchSize = receiveBatchSize;
+	}
+
 	@Override
 	public MessageChannel getInputChannel() {
 		return this.inputChannel;
@@ -199,6 +224,14 @@ public class PollingConsumer extends AbstractPollingEndpoint implements Integrat
 
 	@Override
 	protected Message<?> receiveMessage() {
+		if (this.receiveBatchSize > 1 && this.inputChannel instanceof AbstractPollableChannel && !isReactive()) {
+			List<Message<?>> messages =
+					((AbstractPollableChannel) this.inputChannel).receive(this.receiveBatchSize, this.receiveTimeout);
+			if (messages.isEmpty()) {
+				return null;
+			}
+			return messages.size() == 1 ? messages.get(0) : new MessageBatch(messages);
+		}
 		return (this.receiveTimeout >= 0)
 				? this.inputChannel.receive(this.receiveTimeout)
 				: this.inputChannel.receive();
@@ -154,36 +154,44 @@ public abstract class AbstractMessageHandler extends IntegrationObjectSupport
 		if (this.loggingEnabled && this.logger.isDebugEnabled()) {
 			this.logger.debug(this + " received message: " + message);
 		}
-		org.springframework.integration.support.management.MetricsContext start = null;
-		boolean countsAreEnabled = this.countsEnabled;
-		AbstractMessageHandlerMetrics metrics = this.handlerMetrics;
-		SampleFacade sample = null;
-		if (countsAreEnabled && this.metricsCaptor != null) {
-			sample = this.metricsCaptor.start();
+		if (this.countsEnabled) {
+			handleMessageWithMetrics(message);
+			return;
 		}
 		try {
 			if (this.shouldTrack) {
 				message = MessageHistory.write(message, this, getMessageBuilderFactory());
 			}
-			if (countsAreEnabled) {
-				start = metrics.beforeHandle();
-				handleMessageInternal(message);
-				if (sample != null) {
-					sample.stop(sendTimer());
-				}
-				metrics.afterHandle(start, true);
+			handleMessageInternal(message);
+		}
+		catch (Exception e) {
+			throw IntegrationUtils.wrapInHandlingExceptionIfNecessary(message,
+					() -> "error occurred in message handler [" + this + "]", e);
+		}
+	}
+
+	// Called from handleMessage() only when counts are enabled
+	private void handleMessageWithMetrics(Message<?> messageArg) {
+		Message<?> message = messageArg;
+		AbstractMessageHandlerMetrics metrics = this.handlerMetrics;
+		SampleFacade sample = this.metricsCaptor != null ? this.metricsCaptor.start() : null;
+		org.springframework.integration.support.management.MetricsContext start = null;
+		try {
+			if (this.shouldTrack) {
+				message = MessageHistory.write(message, this, getMessageBuilderFactory());
 			}
-			else {
-				handleMessageInternal(message);
+			start = metrics.beforeHandle();
+			handleMessageInternal(message);
+			if (sample != null) {
+				sample.stop(sendTimer());
 			}
+			metrics.afterHandle(start, true);
 		}
 		catch (Exception e) {
 			if (sample != null) {
 				sample.stop(buildSendTimer(false, e.getClass().getSimpleName()));
 			}
-			if (countsAreEnabled) {
-				metrics.afterHandle(start, false);
-			}
+			metrics.afterHandle(start, false);
 			throw IntegrationUtils.wrapInHandlingExceptionIfNecessary(message,
 					() -> "error occurred in message handler [" + this + "]", e);
 		}
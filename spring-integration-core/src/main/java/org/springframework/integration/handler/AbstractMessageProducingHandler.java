@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.reactivestreams.Publisher;
@@ -36,6 +37,8 @@ import org.springframework.integration.core.MessageProducer;
 import org.springframework.integration.core.MessagingTemplate;
 import org.springframework.integration.routingslip.RoutingSlipRouteStrategy;
 import org.springframework.integration.support.AbstractIntegrationMessageBuilder;
+import org.springframework.integration.support.management.metrics.MetricsCaptor;
+import org.springframework.integration.support.management.metrics.TimerFacade;
 import org.springframework.integration.support.utils.IntegrationUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
@@ -84,6 +87,10 @@ public abstract class AbstractMessageProducingHandler extends AbstractMessageHan
 
 	private boolean noHeadersPropagation;
 
+	private volatile boolean downstreamTimeEnabled;
+
+	private volatile TimerFacade downstreamTimer;
+
 	/**
 	 * Set the timeout for sending reply Messages.
 	 * @param sendTimeout The send timeout.
@@ -123,6 +130,29 @@ public abstract class AbstractMessageProducingHandler extends AbstractMessageHan
 		return this.async;
 	}
 
+	/**
+	 * Set to true to record the time spent in sending output messages downstream with a
+	 * {@value org.springframework.integration.support.management.IntegrationManagement#DOWNSTREAM_TIMER_NAME}
+	 * timer, so the time spent in this handler itself can be compared with the time spent
+	 * in the downstream flow. Ignored when no
+	 * {@link org.springframework.integration.support.management.metrics.MetricsCaptor}
+	 * is registered.
+	 * @param downstreamTimeEnabled true to enable.
+	 * @since 5.2.3
+	 */
+	public void setDownstreamTimeEnabled(boolean downstreamTimeEnabled) {
+		this.downstreamTimeEnabled = downstreamTimeEnabled;
+	}
+
+	/**
+	 * @return true if the downstream time is recorded.
+	 * @since 5.2.3
+	 * @see #setDownstreamTimeEnabled(boolean)
+	 */
+	public boolean isDownstreamTimeEnabled() {
+		return this.downstreamTimeEnabled;
+	}
+
 	/**
 	 * Set header patterns ("xxx*", "*xxx", "*xxx*" or "xxx*yyy")
 	 * that will NOT be copied from the inbound message if
@@ -439,6 +469,23 @@ public abstract class AbstractMessageProducingHandler extends AbstractMessageHan
 			throw new DestinationResolutionException("no output-channel or replyChannel header available");
 		}
 
+		if (this.downstreamTimeEnabled) {
+			MetricsCaptor metricsCaptor = getMetricsCaptor();
+			if (metricsCaptor != null) {
+				long start = System.nanoTime();
+				try {
+					doSendOutput(output, replyChannel);
+				}
+				finally {
+					downstreamTimer(metricsCaptor).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+				}
+				return;
+			}
+		}
+		doSendOutput(output, replyChannel);
+	}
+
+	private void doSendOutput(Object output, Object replyChannel) {
 		if (replyChannel instanceof MessageChannel) {
 			if (output instanceof Message<?>) {
 				this.messagingTemplate.send((MessageChannel) replyChannel, (Message<?>) output);
@@ -460,6 +507,29 @@ public abstract class AbstractMessageProducingHandler extends AbstractMessageHan
 		}
 	}
 
+	private TimerFacade downstreamTimer(MetricsCaptor metricsCaptor) {
+		TimerFacade timer = this.downstreamTimer;
+		if (timer == null) {
+			timer = metricsCaptor.timerBuilder(DOWNSTREAM_TIMER_NAME)
+					.tag("type", "handler")
+					.tag("name", getComponentName() == null ? "unknown" : getComponentName())
+					.description("Time spent in sending output messages downstream")
+					.build();
+			this.downstreamTimer = timer;
+		}
+		return timer;
+	}
+
+	@Override
+	public void destroy() {
+		super.destroy();
+		TimerFacade timer = this.downstreamTimer;
+		if (timer != null) {
+			timer.remove();
+			this.downstreamTimer = null;
+		}
+	}
+
 	/**
 	 * Subclasses may override this. True by default.
 	 * @return true if the request headers should be copied.
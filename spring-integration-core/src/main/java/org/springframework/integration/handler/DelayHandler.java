@@ -17,6 +17,7 @@
 package org.springframework.integration.handler;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -42,6 +43,8 @@ import org.springframework.integration.store.MessageGroupStore;
 import org.springframework.integration.store.MessageStore;
 import org.springframework.integration.store.SimpleMessageStore;
 import org.springframework.integration.support.management.IntegrationManagedResource;
+import org.springframework.integration.util.GroupCommitBatcher;
+import org.springframework.integration.util.HashedTimingWheel;
 import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -120,6 +123,24 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 
 	private long retryDelay = DEFAULT_RETRY_DELAY;
 
+	private long timingWheelTickDuration;
+
+	private HashedTimingWheel timingWheel;
+
+	private int storeBatchSize = 1;
+
+	private long storeBatchLinger;
+
+	private boolean storeBatching;
+
+	private GroupCommitBatcher<Message<?>> storeBatcher;
+
+	private final Object removalMonitor = new Object();
+
+	private List<Message<?>> pendingRemovals = new ArrayList<>();
+
+	private boolean removalFlushScheduled;
+
 	/**
 	 * Create a DelayHandler with the given 'messageGroupId' that is used as 'key' for
 	 * {@link MessageGroup} to store delayed Messages in the {@link MessageGroupStore}.
@@ -268,6 +289,56 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 		this.retryDelay = retryDelay;
 	}
 
+	/**
+	 * Set a tick duration in milliseconds to schedule the delayed messages into a
+	 * {@link HashedTimingWheel} instead of a {@link TaskScheduler} task per message.
+	 * The wheel is advanced by a single task on the {@link TaskScheduler} and releases
+	 * all the due messages on each tick as a batch; therefore the messages are released
+	 * with up to one tick later than their delay. Recommended for a large number of
+	 * concurrently delayed messages. Default {@code 0} - no timing wheel.
+	 * @param timingWheelTickDuration the tick duration.
+	 * @since 5.2.3
+	 */
+	public void setTimingWheelTickDuration(long timingWheelTickDuration) {
+		this.timingWheelTickDuration = timingWheelTickDuration;
+	}
+
+	/**
+	 * Set the maximum number of delayed messages to coalesce into a single
+	 * {@link MessageGroupStore#addMessagesToGroup(Object, Message[])} and a single
+	 * {@link MessageGroupStore#removeMessagesFromGroup(Object, Collection)} call on a
+	 * persistent {@link MessageGroupStore}. A sending thread doesn't return until the
+	 * batch with its message is stored, so an accepted message is never lost.
+	 * The released messages are removed from the store in batches after they have been
+	 * sent to the output channel (or to the error channel, or discarded after
+	 * {@code maxAttempts}), therefore the messages released just before a crash are
+	 * released again by the {@link #reschedulePersistedMessages()} after restart.
+	 * Since the removal is no longer used to claim a message for release, the batching
+	 * must not be used when the {@code messageGroupId} is shared between several
+	 * application instances. Ignored for the {@link SimpleMessageStore}.
+	 * Default {@code 1} - no batching.
+	 * @param storeBatchSize the batch size.
+	 * @since 5.2.3
+	 * @see #setStoreBatchLinger(long)
+	 */
+	public void setStoreBatchSize(int storeBatchSize) {
+		Assert.isTrue(storeBatchSize > 0, "'storeBatchSize' must be greater than 0");
+		this.storeBatchSize = storeBatchSize;
+	}
+
+	/**
+	 * Set the time in milliseconds to wait for more messages to fill a store batch
+	 * before writing (or removing) a partial one. Regardless of this option, a partial
+	 * batch is not written while another batch is being written, so the messages sent
+	 * concurrently are coalesced anyway. Default {@code 0}.
+	 * @param storeBatchLinger the linger time.
+	 * @since 5.2.3
+	 * @see #setStoreBatchSize(int)
+	 */
+	public void setStoreBatchLinger(long storeBatchLinger) {
+		this.storeBatchLinger = storeBatchLinger;
+	}
+
 	private MessageChannel getErrorChannel() {
 		if (this.delayedMessageErrorChannel != null) {
 			return this.delayedMessageErrorChannel;
@@ -294,6 +365,15 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 		}
 		this.evaluationContext = ExpressionUtils.createStandardEvaluationContext(this.getBeanFactory());
 		this.releaseHandler = this.createReleaseMessageTask();
+		if (this.timingWheelTickDuration > 0) {
+			this.timingWheel = new HashedTimingWheel(this.timingWheelTickDuration);
+		}
+		this.storeBatching = this.storeBatchSize > 1 && !(this.messageStore instanceof SimpleMessageStore);
+		if (this.storeBatching) {
+			this.storeBatcher = new GroupCommitBatcher<>(this.storeBatchSize, this.storeBatchLinger,
+					messages -> this.messageStore.addMessagesToGroup(this.messageGroupId,
+							messages.toArray(new Message<?>[0])));
+		}
 	}
 
 	private MessageHandler createReleaseMessageTask() {
@@ -401,12 +481,12 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 					.withPayload(messageWrapper)
 					.copyHeaders(message.getHeaders())
 					.build();
-			this.messageStore.addMessageToGroup(this.messageGroupId, delayedMessage);
+			storeDelayedMessage(delayedMessage);
 		}
 
 		Runnable releaseTask;
 
-		if (this.messageStore instanceof SimpleMessageStore) {
+		if (this.messageStore instanceof SimpleMessageStore || this.storeBatching) {
 			final Message<?> messageToSchedule = delayedMessage;
 
 			releaseTask = () -> releaseMessage(messageToSchedule);
@@ -422,7 +502,80 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 			};
 		}
 
-		getTaskScheduler().schedule(releaseTask, new Date(messageWrapper.getRequestDate() + delay));
+		schedule(releaseTask, new Date(messageWrapper.getRequestDate() + delay));
+	}
+
+	private void storeDelayedMessage(Message<?> message) {
+		if (this.storeBatching) {
+			this.storeBatcher.add(message);
+		}
+		else {
+			this.messageStore.addMessageToGroup(this.messageGroupId, message);
+		}
+	}
+
+	private void removeReleasedMessage(Message<?> message) {
+		if (!this.storeBatching) {
+			return;
+		}
+		List<Message<?>> batch = null;
+		boolean scheduleFlush = false;
+		synchronized (this.removalMonitor) {
+			this.pendingRemovals.add(message);
+			if (this.pendingRemovals.size() >= this.storeBatchSize) {
+				batch = this.pendingRemovals;
+				this.pendingRemovals = new ArrayList<>();
+			}
+			else if (!this.removalFlushScheduled) {
+				this.removalFlushScheduled = true;
+				scheduleFlush = true;
+			}
+		}
+		if (batch != null) {
+			removeFromStore(batch);
+		}
+		else if (scheduleFlush) {
+			getTaskScheduler().schedule(this::flushRemovals,
+					new Date(System.currentTimeMillis() + this.storeBatchLinger));
+		}
+	}
+
+	private void flushRemovals() {
+		List<Message<?>> batch;
+		synchronized (this.removalMonitor) {
+			this.removalFlushScheduled = false;
+			if (this.pendingRemovals.isEmpty()) {
+				return;
+			}
+			batch = this.pendingRemovals;
+			this.pendingRemovals = new ArrayList<>();
+		}
+		removeFromStore(batch);
+	}
+
+	private void removeFromStore(List<Message<?>> batch) {
+		try {
+			this.messageStore.removeMessagesFromGroup(this.messageGroupId, batch);
+		}
+		catch (RuntimeException e) {
+			this.logger.error("Failed to remove released messages from the store; "
+					+ "the removal is retried with the next batch", e);
+			synchronized (this.removalMonitor) {
+				this.pendingRemovals.addAll(batch);
+			}
+		}
+	}
+
+	private void schedule(Runnable task, Date startTime) {
+		if (this.timingWheel != null) {
+			if (!this.timingWheel.isRunning()) {
+				this.timingWheel.start(getTaskScheduler());
+			}
+			this.timingWheel.schedule(task, startTime.getTime() - System.currentTimeMillis());
+		}
+		else {
+			getTaskScheduler().schedule(task, startTime);
+		}
 	}
 
 	private Message<?> getMessageById(UUID messageId) {
@@ -446,6 +599,7 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 		try {
 			this.releaseHandler.handleMessage(message);
 			this.deliveries.remove(identity);
+			removeReleasedMessage(message);
 		}
 		catch (Exception e) {
 			if (getErrorChannel() != null) {
@@ -462,6 +616,7 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 					}
 					else {
 						this.deliveries.remove(identity);
+						removeReleasedMessage(message);
 					}
 				}
 				catch (Exception e1) {
@@ -486,6 +641,7 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 		if (this.deliveries.get(identity).incrementAndGet() >= this.maxAttempts) {
 			this.logger.error("Discarding; maximum release attempts reached for: " + message);
 			this.deliveries.remove(identity);
+			removeReleasedMessage(message);
 			return false;
 		}
 		if (this.retryDelay <= 0) {
@@ -502,12 +658,14 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 	}
 
 	protected void rescheduleAt(final Message<?> message, Date startTime) {
-		getTaskScheduler()
-				.schedule(() -> releaseMessage(message), startTime);
+		schedule(() -> releaseMessage(message), startTime);
 	}
 
 	private void doReleaseMessage(Message<?> message) {
-		if (removeDelayedMessageFromMessageStore(message)
+		if (this.storeBatching) {
+			handleMessageInternal(message);
+		}
+		else if (removeDelayedMessageFromMessageStore(message)
 				|| this.deliveries.get(ObjectUtils.getIdentityHexString(message)).get() > 0) {
 			if (!(this.messageStore instanceof SimpleMessageStore)) {
 				this.messageStore.removeMessagesFromGroup(this.messageGroupId, message);
@@ -540,7 +698,13 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 
 	@Override
 	public int getDelayedMessageCount() {
-		return this.messageStore.messageGroupSize(this.messageGroupId);
+		int pendingRemovalCount = 0;
+		if (this.storeBatching) {
+			synchronized (this.removalMonitor) {
+				pendingRemovalCount = this.pendingRemovals.size();
+			}
+		}
+		return this.messageStore.messageGroupSize(this.messageGroupId) - pendingRemovalCount;
 	}
 
 	/**
@@ -548,24 +712,48 @@ public class DelayHandler extends AbstractReplyProducingMessageHandler implement
 	 * upon application restart. The logic is based on iteration over
 	 * {@code messageGroup.getMessages()} and schedules task for 'delay' logic. This
 	 * behavior is dictated by the avoidance of invocation thread overload.
+	 * When the {@link #setTimingWheelTickDuration(long) timing wheel} is used, the
+	 * messages are placed into the wheel directly from the calling thread; the ones
+	 * already due are released on the next tick.
 	 */
 	@Override
 	public synchronized void reschedulePersistedMessages() {
 		MessageGroup messageGroup = this.messageStore.getMessageGroup(this.messageGroupId);
 		for (final Message<?> message : messageGroup.getMessages()) {
-			getTaskScheduler()
-					.schedule(() -> {
-						// This is fine to keep the reference to the message,
-						// because the scheduled task is performed immediately.
-						long delay = determineDelayForMessage(message);
-						if (delay > 0) {
-							releaseMessageAfterDelay(message, delay);
-						}
-						else {
-							releaseMessage(message);
-						}
-					}, new Date());
+			if (this.timingWheel != null) {
+				rescheduleMessage(message, true);
+			}
+			else {
+				// This is fine to keep the reference to the message,
+				// because the scheduled task is performed immediately.
+				getTaskScheduler()
+						.schedule(() -> rescheduleMessage(message, false), new Date());
+			}
+		}
+	}
+
+	private void rescheduleMessage(Message<?> message, boolean scheduleRelease) {
+		long delay = determineDelayForMessage(message);
+		if (delay > 0) {
+			releaseMessageAfterDelay(message, delay);
+		}
+		else if (scheduleRelease) {
+			rescheduleNow(message);
+		}
+		else {
+			releaseMessage(message);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (this.timingWheel != null) {
+			this.timingWheel.stop();
+		}
+		if (this.storeBatching) {
+			flushRemovals();
 		}
+		super.destroy();
 	}
 
 	/**
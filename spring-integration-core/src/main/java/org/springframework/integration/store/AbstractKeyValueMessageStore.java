@@ -25,6 +25,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.messaging.Message;
 import org.springframework.util.Assert;
@@ -186,6 +187,9 @@ public abstract class AbstractKeyValueMessageStore extends AbstractMessageGroupS
 					.create(this, groupId, metadata.getTimestamp(), metadata.isComplete());
 			messageGroup.setLastModified(metadata.getLastModified());
 			messageGroup.setLastReleasedMessageSequenceNumber(metadata.getLastReleasedMessageSequenceNumber());
+			if (messageGroup instanceof PersistentMessageGroup) {
+				((PersistentMessageGroup) messageGroup).setSize(metadata.size());
+			}
 			return messageGroup;
 		}
 		else {
@@ -199,7 +203,15 @@ public abstract class AbstractKeyValueMessageStore extends AbstractMessageGroupS
 		Object mgm = this.doRetrieve(this.groupPrefix + groupId);
 		if (mgm != null) {
 			Assert.isInstanceOf(MessageGroupMetadata.class, mgm);
-			return (MessageGroupMetadata) mgm;
+			MessageGroupMetadata metadata = (MessageGroupMetadata) mgm;
+			if (!metadata.hasSequenceSize()) {
+				// Stored before the sequence size tracking - take it from the first message
+				UUID firstId = metadata.firstId();
+				Message<?> message = firstId != null ? getMessage(firstId) : null;
+				metadata.setSequenceSize(
+						message != null ? new IntegrationMessageHeaderAccessor(message).getSequenceSize() : 0);
+			}
+			return metadata;
 		}
 		return null;
 	}
@@ -218,7 +230,7 @@ public abstract class AbstractKeyValueMessageStore extends AbstractMessageGroupS
 		for (Message<?> message : messages) {
 			doAddMessage(message);
 			if (metadata != null) {
-				metadata.add(message.getHeaders().getId());
+				metadata.add(message);
 			}
 			else {
 				group.add(message);
@@ -127,13 +127,7 @@ public abstract class AbstractMessageGroupStore extends AbstractBatchingMessageG
 		int count = 0;
 		long threshold = System.currentTimeMillis() - timeout;
 		for (MessageGroup group : this) {
-
-			long timestamp = group.getTimestamp();
-			if (this.isTimeoutOnIdle() && group.getLastModified() > 0) {
-				timestamp = group.getLastModified();
-			}
-
-			if (timestamp <= threshold) {
+			if (getExpiryTimestamp(group) <= threshold) {
 				count++;
 				expire(copy(group));
 			}
@@ -141,6 +135,22 @@ public abstract class AbstractMessageGroupStore extends AbstractBatchingMessageG
 		return count;
 	}
 
+	/**
+	 * Return the timestamp the expiry of the group is calculated from:
+	 * the {@link MessageGroup#getLastModified()} when {@link #isTimeoutOnIdle()},
+	 * otherwise the {@link MessageGroup#getTimestamp()}.
+	 * @param group the group.
+	 * @return the timestamp.
+	 * @since 5.2.3
+	 */
+	protected long getExpiryTimestamp(MessageGroup group) {
+		long timestamp = group.getTimestamp();
+		if (isTimeoutOnIdle() && group.getLastModified() > 0) {
+			timestamp = group.getLastModified();
+		}
+		return timestamp;
+	}
+
 	/**
 	 * Used by expireMessageGroups. We need to return a snapshot of the group
 	 * at the time the reaper runs, so we can properly detect if the
@@ -191,7 +201,13 @@ public abstract class AbstractMessageGroupStore extends AbstractBatchingMessageG
 		return getMessageGroup(groupId);
 	}
 
-	private void expire(MessageGroup group) {
+	/**
+	 * Call the registered expiry callbacks for the group.
+	 * @param group the group to expire.
+	 * @since 5.2.3
+	 * @see #registerMessageGroupExpiryCallback(MessageGroupCallback)
+	 */
+	protected void expire(MessageGroup group) {
 
 		RuntimeException exception = null;
 
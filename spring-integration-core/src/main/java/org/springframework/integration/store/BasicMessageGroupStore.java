@@ -16,6 +16,9 @@
 
 package org.springframework.integration.store;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.messaging.Message;
 
@@ -23,6 +26,8 @@ import org.springframework.messaging.Message;
  * Defines a minimal message group store with basic capabilities.
  *
  * @author Gary Russell
+ * @author Artem Bilan
+ *
  * @since 4.0
  *
  */
@@ -64,6 +69,27 @@ public interface BasicMessageGroupStore {
 	 */
 	Message<?> pollMessageFromGroup(Object groupId);
 
+	/**
+	 * Poll up to {@code maxMessages} Messages from this {@link MessageGroup}
+	 * (in FIFO style if supported by the implementation) while also removing them.
+	 * The default implementation calls {@link #pollMessageFromGroup(Object)} until
+	 * the group is exhausted; implementations may claim and remove several messages
+	 * with a single operation instead.
+	 * @param groupId The group identifier.
+	 * @param maxMessages The max number of messages to poll.
+	 * @return The messages; may be fewer than requested, and empty if there are
+	 * no messages to poll.
+	 * @since 5.2.3
+	 */
+	default List<Message<?>> pollMessagesFromGroup(Object groupId, int maxMessages) {
+		List<Message<?>> messages = new ArrayList<>();
+		Message<?> message;
+		while (messages.size() < maxMessages && (message = pollMessageFromGroup(groupId)) != null) {
+			messages.add(message);
+		}
+		return messages;
+	}
+
 	/**
 	 * Remove the message group with this id.
 	 *
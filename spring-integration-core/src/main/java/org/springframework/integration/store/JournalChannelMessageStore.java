@@ -0,0 +1,737 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.codec.Codec;
+import org.springframework.integration.codec.CodecMessageConverter;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+/**
+ * A persistent {@link PriorityCapableChannelMessageStore} which appends messages to a
+ * local journal of memory-mapped segment files.
+ * <p>
+ * Each message is encoded with the provided {@link Codec} (via a
+ * {@link CodecMessageConverter}) and appended as a checksummed record to the current
+ * segment; a new segment is started when the current one is full. Only a segment
+ * reference and an offset per message is kept on heap. Polling a message marks its
+ * record as removed in place, and a segment file is deleted as soon as it has no live
+ * records any more. The {@link #compact()} operation moves the live records of sparse
+ * segments to the current one, so their files can be deleted.
+ * <p>
+ * The segment buffers cannot be unmapped explicitly: the memory mapping of a deleted
+ * segment, as well as of all the segments after {@link #destroy()}, is released only when
+ * the buffer is garbage collected, so the disk space of a deleted segment file may be
+ * reclaimed later. On Windows a mapped file cannot be deleted at all; such a segment
+ * (which has no live records) is deleted on the next start instead.
+ * <p>
+ * When {@link #setSyncWrites(boolean) syncWrites} is {@code true} (default), the
+ * {@link #addMessageToGroup(Object, Message)} returns only when the record is forced to
+ * the storage device; concurrent writers share a single {@code force()} (group commit).
+ * Removals are not forced, so a message polled just before a crash may be redelivered
+ * after restart.
+ * <p>
+ * On {@link #afterPropertiesSet()} the existing segments in the directory are scanned
+ * and the groups are restored in their original order; a torn record at the end of a
+ * segment is detected by its checksum and ignored. Group ids are restored as their
+ * {@code toString()} representation, which is also used as the key for the groups at
+ * runtime.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public class JournalChannelMessageStore
+		implements PriorityCapableChannelMessageStore, InitializingBean, DisposableBean {
+
+	/**
+	 * The default segment size - 64 MB.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	private static final Log LOGGER = LogFactory.getLog(JournalChannelMessageStore.class);
+
+	private static final String SEGMENT_SUFFIX = ".journal";
+
+	private static final byte LIVE = 1;
+
+	private static final byte REMOVED = 2;
+
+	/**
+	 * Record header: length (int), state (byte), checksum (int);
+	 * followed by the checksummed body: sequence (long), priority (int),
+	 * group id length (int), group id, message.
+	 */
+	private static final int HEADER_SIZE = 4 + 1 + 4;
+
+	private static final int BODY_HEADER_SIZE = 8 + 4 + 4;
+
+	private static final int STATE_OFFSET = 4;
+
+	private final Lock lock = new ReentrantLock();
+
+	private final Lock flushLock = new ReentrantLock();
+
+	private final Map<String, GroupIndex> groups = new HashMap<>();
+
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+	private final File directory;
+
+	private final CodecMessageConverter messageConverter;
+
+	private MessageGroupFactory messageGroupFactory = new SimpleMessageGroupFactory();
+
+	private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+	private boolean syncWrites = true;
+
+	private boolean priorityEnabled;
+
+	private double compactionThreshold = 0.5; // NOSONAR magic number
+
+	@Nullable
+	private Segment current;
+
+	private long nextSequence;
+
+	private long nextSegmentId;
+
+	private long appended;
+
+	private volatile long flushed;
+
+	private int messageCount;
+
+	/**
+	 * Create a store which keeps the journal segments in the provided directory
+	 * and encodes messages with the provided {@link Codec}.
+	 * @param directory the directory for the journal segments.
+	 * @param codec the codec for messages.
+	 */
+	public JournalChannelMessageStore(File directory, Codec codec) {
+		Assert.notNull(directory, "'directory' must not be null");
+		Assert.notNull(codec, "'codec' must not be null");
+		this.directory = directory;
+		this.messageConverter = new CodecMessageConverter(codec);
+	}
+
+	/**
+	 * Specify the {@link MessageGroupFactory} to create {@link MessageGroup} object where
+	 * it is necessary.
+	 * Defaults to {@link SimpleMessageGroupFactory}.
+	 * @param messageGroupFactory the {@link MessageGroupFactory} to use.
+	 */
+	public void setMessageGroupFactory(MessageGroupFactory messageGroupFactory) {
+		Assert.notNull(messageGroupFactory, "'messageGroupFactory' must not be null");
+		this.messageGroupFactory = messageGroupFactory;
+	}
+
+	/**
+	 * Set the size of the journal segment files; a larger record is stored in a
+	 * dedicated segment. Defaults to {@link #DEFAULT_SEGMENT_SIZE}.
+	 * @param segmentSize the segment size in bytes.
+	 */
+	public void setSegmentSize(int segmentSize) {
+		Assert.isTrue(segmentSize > HEADER_SIZE + BODY_HEADER_SIZE, "'segmentSize' is too small");
+		this.segmentSize = segmentSize;
+	}
+
+	/**
+	 * Set to false to not wait for the appended records to be forced to the storage
+	 * device; they are forced when a segment is full and on {@link #destroy()}.
+	 * Defaults to true.
+	 * @param syncWrites false to not force each write.
+	 */
+	public void setSyncWrites(boolean syncWrites) {
+		this.syncWrites = syncWrites;
+	}
+
+	/**
+	 * Set to true to poll messages in the order of their
+	 * {@link IntegrationMessageHeaderAccessor#PRIORITY} header (FIFO within a priority;
+	 * messages without priority are polled last). Defaults to false.
+	 * @param priorityEnabled true to enable priority.
+	 */
+	public void setPriorityEnabled(boolean priorityEnabled) {
+		this.priorityEnabled = priorityEnabled;
+	}
+
+	@Override
+	public boolean isPriorityEnabled() {
+		return this.priorityEnabled;
+	}
+
+	/**
+	 * Set the ratio of live records in a segment below which the segment is
+	 * rewritten by the {@link #compact()}. Defaults to 0.5.
+	 * @param compactionThreshold the threshold in the {@code (0, 1]} range.
+	 */
+	public void setCompactionThreshold(double compactionThreshold) {
+		Assert.isTrue(compactionThreshold > 0 && compactionThreshold <= 1,
+				"'compactionThreshold' must be in the (0, 1] range");
+		this.compactionThreshold = compactionThreshold;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		Assert.state(this.directory.isDirectory() || this.directory.mkdirs(),
+				() -> "Cannot create directory: " + this.directory);
+		this.lock.lock();
+		try {
+			recover();
+			roll(0);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to recover the journal from " + this.directory, ex);
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	@ManagedAttribute
+	public int messageGroupSize(Object groupId) {
+		this.lock.lock();
+		try {
+			GroupIndex index = this.groups.get(groupId.toString());
+			return index == null ? 0 : index.size;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public MessageGroup getMessageGroup(Object groupId) {
+		List<byte[]> encoded = new ArrayList<>();
+		this.lock.lock();
+		try {
+			GroupIndex index = this.groups.get(groupId.toString());
+			if (index != null) {
+				for (ArrayDeque<Entry> queue : index.queues.values()) {
+					for (Entry entry : queue) {
+						encoded.add(readMessage(entry));
+					}
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+		List<Message<?>> messages = new ArrayList<>(encoded.size());
+		for (byte[] bytes : encoded) {
+			messages.add(this.messageConverter.toMessage(bytes, null));
+		}
+		return this.messageGroupFactory.create(messages, groupId);
+	}
+
+	/**
+	 * Store the message in the group.
+	 * @return an empty {@link MessageGroup} for the group id: the stored messages are
+	 * not read back on each insert; use {@link #getMessageGroup(Object)} for the content.
+	 */
+	@Override
+	public MessageGroup addMessageToGroup(Object groupId, Message<?> message) {
+		byte[] messageBytes = (byte[]) this.messageConverter.fromMessage(message, byte[].class);
+		Assert.state(messageBytes != null, "The codec produced no content");
+		String key = groupId.toString();
+		byte[] groupBytes = key.getBytes(StandardCharsets.UTF_8);
+		Integer priority = new IntegrationMessageHeaderAccessor(message).getPriority();
+		int priorityValue = priority != null ? priority : Integer.MIN_VALUE;
+		long ticket;
+		this.lock.lock();
+		try {
+			Assert.state(this.current != null, "The store is not started; call 'afterPropertiesSet()'");
+			long sequence = this.nextSequence++;
+			ByteBuffer body = ByteBuffer.allocate(BODY_HEADER_SIZE + groupBytes.length + messageBytes.length);
+			body.putLong(sequence)
+					.putInt(priorityValue)
+					.putInt(groupBytes.length)
+					.put(groupBytes)
+					.put(messageBytes);
+			Entry entry = new Entry(sequence);
+			append(entry, body.array());
+			this.groups.computeIfAbsent(key, k -> new GroupIndex())
+					.add(priorityKey(priorityValue), entry);
+			this.messageCount++;
+			ticket = ++this.appended;
+		}
+		finally {
+			this.lock.unlock();
+		}
+		if (this.syncWrites) {
+			awaitFlushed(ticket);
+		}
+		return this.messageGroupFactory.create(groupId);
+	}
+
+	@Override
+	@Nullable
+	public Message<?> pollMessageFromGroup(Object groupId) {
+		byte[] bytes;
+		this.lock.lock();
+		try {
+			String key = groupId.toString();
+			GroupIndex index = this.groups.get(key);
+			if (index == null) {
+				return null;
+			}
+			Entry entry = index.poll();
+			if (index.size == 0) {
+				this.groups.remove(key);
+			}
+			bytes = readMessage(entry);
+			remove(entry);
+		}
+		finally {
+			this.lock.unlock();
+		}
+		return this.messageConverter.toMessage(bytes, null);
+	}
+
+	@Override
+	public void removeMessageGroup(Object groupId) {
+		this.lock.lock();
+		try {
+			GroupIndex index = this.groups.remove(groupId.toString());
+			if (index != null) {
+				for (ArrayDeque<Entry> queue : index.queues.values()) {
+					for (Entry entry : queue) {
+						remove(entry);
+					}
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@ManagedAttribute
+	public int getMessageCountForAllMessageGroups() {
+		this.lock.lock();
+		try {
+			return this.messageCount;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@ManagedAttribute
+	public int getMessageGroupCount() {
+		this.lock.lock();
+		try {
+			return this.groups.size();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Return the number of segment files in the journal.
+	 * @return the number of segments.
+	 */
+	@ManagedAttribute
+	public int getSegmentCount() {
+		this.lock.lock();
+		try {
+			return this.segments.size();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Move the live records of the segments with the ratio of live records below the
+	 * {@link #setCompactionThreshold(double) compactionThreshold} to the current segment
+	 * and delete those segment files.
+	 * @return the number of deleted segments.
+	 */
+	@ManagedOperation
+	public int compact() {
+		this.lock.lock();
+		try {
+			Assert.state(this.current != null, "The store is not started; call 'afterPropertiesSet()'");
+			Set<Segment> sparse = new HashSet<>();
+			for (Segment segment : this.segments.values()) {
+				if (segment != this.current && segment.live < segment.records * this.compactionThreshold) {
+					sparse.add(segment);
+				}
+			}
+			if (sparse.isEmpty()) {
+				return 0;
+			}
+			for (GroupIndex index : this.groups.values()) {
+				for (ArrayDeque<Entry> queue : index.queues.values()) {
+					for (Entry entry : queue) {
+						if (sparse.contains(entry.segment)) {
+							Segment segment = entry.segment;
+							byte[] record = new byte[segment.buffer.getInt(entry.offset)];
+							read(segment, entry.offset, record);
+							segment.live--;
+							copy(entry, record);
+						}
+					}
+				}
+			}
+			force(this.current);
+			for (Segment segment : sparse) {
+				// The copies are durable now; don't let the originals be restored as well
+				markRemoved(segment);
+				force(segment);
+				delete(segment);
+			}
+			return sparse.size();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.lock.lock();
+		try {
+			if (this.current != null) {
+				force(this.current);
+			}
+			this.current = null;
+			this.groups.clear();
+			this.segments.clear();
+			this.messageCount = 0;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private int priorityKey(int priority) {
+		return this.priorityEnabled ? priority : 0;
+	}
+
+	private void append(Entry entry, byte[] body) {
+		CRC32 crc = new CRC32();
+		crc.update(body);
+		int length = HEADER_SIZE + body.length;
+		Segment segment = segmentFor(length);
+		MappedByteBuffer buffer = segment.buffer;
+		entry.segment = segment;
+		entry.offset = buffer.position();
+		buffer.putInt(length)
+				.put(LIVE)
+				.putInt((int) crc.getValue())
+				.put(body);
+		segment.live++;
+		segment.records++;
+	}
+
+	private void copy(Entry entry, byte[] record) {
+		Segment segment = segmentFor(record.length);
+		entry.segment = segment;
+		entry.offset = segment.buffer.position();
+		segment.buffer.put(record);
+		segment.live++;
+		segment.records++;
+	}
+
+	private Segment segmentFor(int length) {
+		Segment segment = this.current;
+		if (segment == null || segment.buffer.remaining() < length) {
+			segment = roll(length);
+		}
+		return segment;
+	}
+
+	private Segment roll(int length) {
+		Segment previous = this.current;
+		if (previous != null) {
+			force(previous);
+			if (previous.live == 0) {
+				delete(previous);
+			}
+		}
+		long id = this.nextSegmentId++;
+		File file = new File(this.directory, String.format("%020d", id) + SEGMENT_SUFFIX);
+		try {
+			Segment segment = new Segment(id, file, map(file, Math.max(this.segmentSize, length)));
+			this.segments.put(id, segment);
+			this.current = segment;
+			return segment;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to create journal segment " + file, ex);
+		}
+	}
+
+	private void remove(Entry entry) {
+		Segment segment = entry.segment;
+		segment.buffer.put(entry.offset + STATE_OFFSET, REMOVED);
+		this.messageCount--;
+		if (--segment.live == 0 && segment != this.current) {
+			delete(segment);
+		}
+	}
+
+	private static void markRemoved(Segment segment) {
+		MappedByteBuffer buffer = segment.buffer;
+		int offset = 0;
+		for (int i = 0; i < segment.records; i++) {
+			buffer.put(offset + STATE_OFFSET, REMOVED);
+			offset += buffer.getInt(offset);
+		}
+	}
+
+	/**
+	 * Delete the file of a segment without live records. There is no API to unmap the
+	 * buffer: the mapping (and the disk space of the deleted file) is released when the
+	 * buffer is garbage collected. Where a mapped file cannot be deleted (Windows), the
+	 * file is left in place and deleted on the next start, since it has no live records.
+	 */
+	private void delete(Segment segment) {
+		this.segments.remove(segment.id);
+		if (!segment.file.delete() && LOGGER.isWarnEnabled()) {
+			LOGGER.warn("Failed to delete journal segment " + segment.file
+					+ "; it has no live records and will be deleted on the next start");
+		}
+	}
+
+	private void awaitFlushed(long ticket) {
+		this.flushLock.lock();
+		try {
+			if (this.flushed >= ticket) {
+				return;
+			}
+			long target;
+			Segment segment;
+			this.lock.lock();
+			try {
+				target = this.appended;
+				segment = this.current;
+			}
+			finally {
+				this.lock.unlock();
+			}
+			if (segment != null) {
+				force(segment);
+			}
+			this.flushed = target;
+		}
+		finally {
+			this.flushLock.unlock();
+		}
+	}
+
+	private void recover() throws IOException {
+		File[] files = this.directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+		if (files == null) {
+			return;
+		}
+		Map<Long, Entry> recovered = new HashMap<>();
+		Map<Entry, String> entryGroups = new HashMap<>();
+		Map<Entry, Integer> entryPriorities = new HashMap<>();
+		for (File file : files) {
+			long id = Long.parseLong(file.getName().substring(0, file.getName().length() - SEGMENT_SUFFIX.length()));
+			Segment segment = new Segment(id, file, map(file, (int) file.length()));
+			this.segments.put(id, segment);
+			this.nextSegmentId = Math.max(this.nextSegmentId, id + 1);
+		}
+		for (Segment segment : this.segments.values()) {
+			MappedByteBuffer buffer = segment.buffer;
+			int offset = 0;
+			while (offset + HEADER_SIZE + BODY_HEADER_SIZE <= buffer.capacity()) {
+				int length = buffer.getInt(offset);
+				if (length < HEADER_SIZE + BODY_HEADER_SIZE || offset + length > buffer.capacity()) {
+					break;
+				}
+				byte[] body = new byte[length - HEADER_SIZE];
+				read(segment, offset + HEADER_SIZE, body);
+				CRC32 crc = new CRC32();
+				crc.update(body);
+				if ((int) crc.getValue() != buffer.getInt(offset + STATE_OFFSET + 1)) {
+					if (LOGGER.isWarnEnabled()) {
+						LOGGER.warn("Corrupted record in journal segment " + segment.file + " at " + offset
+								+ "; ignoring the rest of the segment");
+					}
+					break;
+				}
+				segment.records++;
+				if (buffer.get(offset + STATE_OFFSET) == LIVE) {
+					ByteBuffer wrapped = ByteBuffer.wrap(body);
+					long sequence = wrapped.getLong();
+					int priority = wrapped.getInt();
+					byte[] group = new byte[wrapped.getInt()];
+					wrapped.get(group);
+					Entry entry = new Entry(sequence);
+					entry.segment = segment;
+					entry.offset = offset;
+					if (recovered.putIfAbsent(sequence, entry) == null) {
+						entryGroups.put(entry, new String(group, StandardCharsets.UTF_8));
+						entryPriorities.put(entry, priority);
+						segment.live++;
+					}
+					else {
+						// A copy left by an interrupted compaction
+						buffer.put(offset + STATE_OFFSET, REMOVED);
+					}
+				}
+				offset += length;
+			}
+		}
+		List<Entry> entries = new ArrayList<>(recovered.values());
+		entries.sort(Comparator.comparingLong(entry -> entry.sequence));
+		for (Entry entry : entries) {
+			this.groups.computeIfAbsent(entryGroups.get(entry), k -> new GroupIndex())
+					.add(priorityKey(entryPriorities.get(entry)), entry);
+			this.nextSequence = entry.sequence + 1;
+		}
+		this.messageCount = entries.size();
+		for (Segment segment : new ArrayList<>(this.segments.values())) {
+			if (segment.live == 0) {
+				delete(segment);
+			}
+		}
+	}
+
+	private byte[] readMessage(Entry entry) {
+		Segment segment = entry.segment;
+		int length = segment.buffer.getInt(entry.offset);
+		int groupLength = segment.buffer.getInt(entry.offset + HEADER_SIZE + 8 + 4);
+		int start = HEADER_SIZE + BODY_HEADER_SIZE + groupLength;
+		byte[] bytes = new byte[length - start];
+		read(segment, entry.offset + start, bytes);
+		return bytes;
+	}
+
+	private static void read(Segment segment, int offset, byte[] target) {
+		ByteBuffer buffer = segment.buffer.duplicate();
+		buffer.position(offset);
+		buffer.get(target);
+	}
+
+	private static void force(Segment segment) {
+		segment.buffer.force();
+	}
+
+	private static MappedByteBuffer map(File file, int size) throws IOException {
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+				FileChannel channel = randomAccessFile.getChannel()) {
+
+			return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		}
+	}
+
+	private static final class Segment {
+
+		private final long id;
+
+		private final File file;
+
+		private final MappedByteBuffer buffer;
+
+		private int live;
+
+		private int records;
+
+		Segment(long id, File file, MappedByteBuffer buffer) {
+			this.id = id;
+			this.file = file;
+			this.buffer = buffer;
+		}
+
+	}
+
+	private static final class Entry {
+
+		private final long sequence;
+
+		private Segment segment;
+
+		private int offset;
+
+		Entry(long sequence) {
+			this.sequence = sequence;
+		}
+
+	}
+
+	/**
+	 * The FIFO queues of a group per priority, highest first.
+	 */
+	private static final class GroupIndex {
+
+		private final TreeMap<Integer, ArrayDeque<Entry>> queues = new TreeMap<>(Collections.reverseOrder());
+
+		private int size;
+
+		GroupIndex() {
+		}
+
+		void add(int priority, Entry entry) {
+			this.queues.computeIfAbsent(priority, k -> new ArrayDeque<>()).add(entry);
+			this.size++;
+		}
+
+		Entry poll() {
+			Map.Entry<Integer, ArrayDeque<Entry>> first = this.queues.firstEntry();
+			ArrayDeque<Entry> queue = first.getValue();
+			Entry entry = queue.poll();
+			if (queue.isEmpty()) {
+				this.queues.remove(first.getKey());
+			}
+			this.size--;
+			return entry;
+		}
+
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.util.Assert;
+
+/**
+ * An index of message group ids by their expiry timestamp, so a
+ * {@link MessageGroupStore#expireMessageGroups(long)} sweep visits only the groups
+ * which are due instead of every group in the store.
+ * <p>
+ * The timestamps are grouped into buckets of the configured resolution.
+ * {@link #pollDue(long)} removes whole buckets up to and including the one containing
+ * the threshold, so the caller must re-check the actual timestamp of the returned groups
+ * and {@link #index(Object, long) re-index} those that are not due yet or remain in
+ * the store after the expiry callbacks. Since the polled ids are removed from the index,
+ * concurrent sweeps never process the same group.
+ * <p>
+ * The caller is expected to serialize {@link #index(Object, long)} and
+ * {@link #remove(Object)} calls for the same group, e.g. with the group lock.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public final class MessageGroupExpiryIndex {
+
+	/**
+	 * The default bucket resolution in milliseconds.
+	 */
+	public static final long DEFAULT_RESOLUTION = 1000;
+
+	private final long resolution;
+
+	private final Map<Object, Long> groupToBucket = new ConcurrentHashMap<>();
+
+	private final TreeMap<Long, Set<Object>> buckets = new TreeMap<>();
+
+	private final Lock bucketsLock = new ReentrantLock();
+
+	/**
+	 * Create an index with the {@link #DEFAULT_RESOLUTION}.
+	 */
+	public MessageGroupExpiryIndex() {
+		this(DEFAULT_RESOLUTION);
+	}
+
+	/**
+	 * Create an index with the provided bucket resolution.
+	 * @param resolution the bucket resolution in milliseconds.
+	 */
+	public MessageGroupExpiryIndex(long resolution) {
+		Assert.isTrue(resolution > 0, "'resolution' must be greater than 0");
+		this.resolution = resolution;
+	}
+
+	/**
+	 * Add the group to the index, or move it to the bucket for the new expiry timestamp.
+	 * A no-op if the group is already in the right bucket.
+	 * @param groupId the group id.
+	 * @param expiryTimestamp the timestamp the group expiry is calculated from.
+	 */
+	public void index(Object groupId, long expiryTimestamp) {
+		Long bucket = expiryTimestamp / this.resolution;
+		Long current = this.groupToBucket.get(groupId);
+		if (bucket.equals(current)) {
+			return;
+		}
+		this.bucketsLock.lock();
+		try {
+			Long previous = this.groupToBucket.put(groupId, bucket);
+			if (previous != null) {
+				removeFromBucket(previous, groupId);
+			}
+			this.buckets.computeIfAbsent(bucket, key -> new HashSet<>()).add(groupId);
+		}
+		finally {
+			this.bucketsLock.unlock();
+		}
+	}
+
+	/**
+	 * Remove the group from the index.
+	 * @param groupId the group id.
+	 */
+	public void remove(Object groupId) {
+		if (this.groupToBucket.containsKey(groupId)) {
+			this.bucketsLock.lock();
+			try {
+				Long bucket = this.groupToBucket.remove(groupId);
+				if (bucket != null) {
+					removeFromBucket(bucket, groupId);
+				}
+			}
+			finally {
+				this.bucketsLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Remove from the index and return the ids of the groups which may be due for expiry
+	 * by the provided threshold: the result contains all the groups of the buckets up to
+	 * and including the one for the threshold.
+	 * @param threshold the expiry threshold timestamp.
+	 * @return the group ids.
+	 */
+	public List<Object> pollDue(long threshold) {
+		long lastBucket = threshold / this.resolution;
+		List<Object> due = new ArrayList<>();
+		this.bucketsLock.lock();
+		try {
+			Map.Entry<Long, Set<Object>> entry = this.buckets.firstEntry();
+			while (entry != null && entry.getKey() <= lastBucket) {
+				this.buckets.pollFirstEntry();
+				for (Object groupId : entry.getValue()) {
+					this.groupToBucket.remove(groupId);
+					due.add(groupId);
+				}
+				entry = this.buckets.firstEntry();
+			}
+		}
+		finally {
+			this.bucketsLock.unlock();
+		}
+		return due;
+	}
+
+	/**
+	 * Return the number of indexed groups.
+	 * @return the number of groups.
+	 */
+	public int size() {
+		return this.groupToBucket.size();
+	}
+
+	/**
+	 * Remove all the groups from the index.
+	 */
+	public void clear() {
+		this.bucketsLock.lock();
+		try {
+			this.buckets.clear();
+			this.groupToBucket.clear();
+		}
+		finally {
+			this.bucketsLock.unlock();
+		}
+	}
+
+	private void removeFromBucket(Long bucket, Object groupId) {
+		Set<Object> groups = this.buckets.get(bucket);
+		if (groups != null && groups.remove(groupId) && groups.isEmpty()) {
+			this.buckets.remove(bucket);
+		}
+	}
+
+}
@@ -23,11 +23,16 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.messaging.Message;
 import org.springframework.util.Assert;
 
 /**
  * Value Object holding metadata about a MessageGroup in the MessageGroupStore.
+ * <p>
+ * Starting with version 5.2.3, the metadata also tracks the sequence size of the group,
+ * so together with the {@link #size()} it is enough for the release decision
+ * without loading the group messages.
  *
  * @author Oleg Zhurakousky
  * @author Gary Russell
@@ -50,6 +55,8 @@ public class MessageGroupMetadata implements Serializable {
 
 	private volatile int lastReleasedMessageSequenceNumber;
 
+	private volatile Integer sequenceSize;
+
 	private MessageGroupMetadata() {
 		//For Jackson deserialization
 	}
@@ -63,6 +70,7 @@ public class MessageGroupMetadata implements Serializable {
 		this.timestamp = messageGroup.getTimestamp();
 		this.lastReleasedMessageSequenceNumber = messageGroup.getLastReleasedMessageSequenceNumber();
 		this.lastModified = messageGroup.getLastModified();
+		this.sequenceSize = messageGroup.getSequenceSize();
 	}
 
 	public void remove(UUID messageId) {
@@ -77,6 +85,13 @@ public class MessageGroupMetadata implements Serializable {
 		return !this.messageIds.contains(messageId) && this.messageIds.add(messageId);
 	}
 
+	boolean add(Message<?> message) {
+		if (this.messageIds.isEmpty()) {
+			this.sequenceSize = new IntegrationMessageHeaderAccessor(message).getSequenceSize();
+		}
+		return add(message.getHeaders().getId());
+	}
+
 	void setLastModified(long lastModified) {
 		this.lastModified = lastModified;
 	}
@@ -89,6 +104,26 @@ public class MessageGroupMetadata implements Serializable {
 		return this.messageIds.size();
 	}
 
+	/**
+	 * Return the sequence size of the group: the
+	 * {@link IntegrationMessageHeaderAccessor#SEQUENCE_SIZE} header of the message
+	 * which has started the group, or 0 when the group is empty.
+	 * @return the sequence size.
+	 * @since 5.2.3
+	 */
+	public int getSequenceSize() {
+		Integer size = this.sequenceSize;
+		return size != null && !this.messageIds.isEmpty() ? size : 0;
+	}
+
+	boolean hasSequenceSize() {
+		return this.sequenceSize != null;
+	}
+
+	void setSequenceSize(int sequenceSize) {
+		this.sequenceSize = sequenceSize;
+	}
+
 	public UUID firstId() {
 		if (this.messageIds.size() > 0) {
 			return this.messageIds.get(0);
@@ -20,6 +20,7 @@ import java.util.AbstractQueue;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
@@ -42,6 +43,7 @@ import org.springframework.util.Assert;
  * @author Oleg Zhurakousky
  * @author Gunnar Hillert
  * @author Gary Russell
+ * @author Artem Bilan
  *
  * @since 2.0
  *
@@ -237,12 +239,17 @@ public class MessageGroupQueue extends AbstractQueue<Message<?>> implements Bloc
 		try {
 			lock.lockInterruptibly();
 			try {
-				Message<?> message = this.messageGroupStore.pollMessageFromGroup(this.groupId);
-				for (int i = 0; i < maxElements && message != null; i++) {
-					list.add(message);
-					message = this.messageGroupStore.pollMessageFromGroup(this.groupId);
+				while (list.size() < maxElements) {
+					List<Message<?>> messages =
+							this.messageGroupStore.pollMessagesFromGroup(this.groupId, maxElements - list.size());
+					if (messages.isEmpty()) {
+						break;
+					}
+					list.addAll(messages);
+				}
+				if (!list.isEmpty()) {
+					this.messageStoreNotFull.signalAll();
 				}
-				this.messageStoreNotFull.signal();
 			}
 			finally {
 				lock.unlock();
@@ -0,0 +1,408 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.integration.codec.Codec;
+import org.springframework.integration.codec.CodecMessageConverter;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link ChannelMessageStore} which keeps messages serialized in direct (off-heap)
+ * {@link ByteBuffer} segments, so a large backlog in a
+ * {@link org.springframework.integration.channel.QueueChannel} does not inflate the heap.
+ * <p>
+ * Messages are encoded with the provided {@link Codec} (via a {@link CodecMessageConverter})
+ * and appended to the current segment; only a segment reference and an offset per message
+ * is kept on heap in the FIFO index of the group. A segment is recycled as soon as all
+ * the messages stored in it are polled, so a long-living message keeps the whole segment
+ * it belongs to allocated. A message which doesn't fit into the {@code segmentSize} is
+ * stored in a dedicated segment.
+ * <p>
+ * The store is not persistent: all the messages are lost when the application is stopped.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public class OffHeapChannelMessageStore implements ChannelMessageStore, DisposableBean {
+
+	/**
+	 * The default segment size - 1 MB.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+
+	private static final int LENGTH_PREFIX = 4;
+
+	private final Lock lock = new ReentrantLock();
+
+	private final Map<Object, MessageIndex> groups = new HashMap<>();
+
+	private final CodecMessageConverter messageConverter;
+
+	private final int segmentSize;
+
+	private MessageGroupFactory messageGroupFactory = new SimpleMessageGroupFactory();
+
+	private long maxMemory = Long.MAX_VALUE;
+
+	private long allocatedMemory;
+
+	private int messageCount;
+
+	@Nullable
+	private Segment current;
+
+	@Nullable
+	private Segment spare;
+
+	/**
+	 * Create a store which encodes messages with the provided {@link Codec}
+	 * into segments of {@link #DEFAULT_SEGMENT_SIZE}.
+	 * @param codec the codec for messages.
+	 */
+	public OffHeapChannelMessageStore(Codec codec) {
+		this(codec, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Create a store which encodes messages with the provided {@link Codec}
+	 * into segments of the provided size.
+	 * @param codec the codec for messages.
+	 * @param segmentSize the size of the off-heap segments in bytes.
+	 */
+	public OffHeapChannelMessageStore(Codec codec, int segmentSize) {
+		Assert.notNull(codec, "'codec' must not be null");
+		Assert.isTrue(segmentSize > LENGTH_PREFIX, "'segmentSize' must be greater than " + LENGTH_PREFIX);
+		this.messageConverter = new CodecMessageConverter(codec);
+		this.segmentSize = segmentSize;
+	}
+
+	/**
+	 * Specify the {@link MessageGroupFactory} to create {@link MessageGroup} object where
+	 * it is necessary.
+	 * Defaults to {@link SimpleMessageGroupFactory}.
+	 * @param messageGroupFactory the {@link MessageGroupFactory} to use.
+	 */
+	public void setMessageGroupFactory(MessageGroupFactory messageGroupFactory) {
+		Assert.notNull(messageGroupFactory, "'messageGroupFactory' must not be null");
+		this.messageGroupFactory = messageGroupFactory;
+	}
+
+	/**
+	 * Set the upper bound for the off-heap memory allocated by this store.
+	 * A message which would make the store exceed this limit is rejected with a
+	 * {@link MessagingException}. Unlimited by default.
+	 * @param maxMemory the max number of bytes to allocate.
+	 */
+	public void setMaxMemory(long maxMemory) {
+		Assert.isTrue(maxMemory > 0, "'maxMemory' must be greater than 0");
+		this.maxMemory = maxMemory;
+	}
+
+	/**
+	 * Return the number of off-heap bytes currently allocated by this store.
+	 * @return the allocated memory.
+	 */
+	@ManagedAttribute
+	public long getAllocatedMemory() {
+		this.lock.lock();
+		try {
+			return this.allocatedMemory;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	@ManagedAttribute
+	public int messageGroupSize(Object groupId) {
+		this.lock.lock();
+		try {
+			MessageIndex index = this.groups.get(groupId);
+			return index == null ? 0 : index.size;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public MessageGroup getMessageGroup(Object groupId) {
+		List<byte[]> encoded = new ArrayList<>();
+		this.lock.lock();
+		try {
+			MessageIndex index = this.groups.get(groupId);
+			if (index != null) {
+				for (int i = 0; i < index.size; i++) {
+					int slot = (index.head + i) & (index.segments.length - 1);
+					encoded.add(read(index.segments[slot], index.offsets[slot]));
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+		List<Message<?>> messages = new ArrayList<>(encoded.size());
+		for (byte[] bytes : encoded) {
+			messages.add(decode(bytes));
+		}
+		return this.messageGroupFactory.create(messages, groupId);
+	}
+
+	/**
+	 * Store the message in the group.
+	 * @return an empty {@link MessageGroup} for the group id: the stored messages are
+	 * not read back on each insert; use {@link #getMessageGroup(Object)} for the content.
+	 */
+	@Override
+	public MessageGroup addMessageToGroup(Object groupId, Message<?> message) {
+		byte[] bytes = (byte[]) this.messageConverter.fromMessage(message, byte[].class);
+		Assert.state(bytes != null, "The codec produced no content");
+		int length = LENGTH_PREFIX + bytes.length;
+		this.lock.lock();
+		try {
+			Segment segment = segmentFor(message, length);
+			int offset = segment.buffer.position();
+			segment.buffer.putInt(bytes.length);
+			segment.buffer.put(bytes);
+			segment.live++;
+			this.groups.computeIfAbsent(groupId, key -> new MessageIndex())
+					.add(segment, offset);
+			this.messageCount++;
+		}
+		finally {
+			this.lock.unlock();
+		}
+		return this.messageGroupFactory.create(groupId);
+	}
+
+	@Override
+	@Nullable
+	public Message<?> pollMessageFromGroup(Object groupId) {
+		byte[] bytes;
+		this.lock.lock();
+		try {
+			MessageIndex index = this.groups.get(groupId);
+			if (index == null || index.size == 0) {
+				return null;
+			}
+			Segment segment = index.segments[index.head];
+			bytes = read(segment, index.offsets[index.head]);
+			index.poll();
+			if (index.size == 0) {
+				this.groups.remove(groupId);
+			}
+			release(segment);
+		}
+		finally {
+			this.lock.unlock();
+		}
+		return decode(bytes);
+	}
+
+	@Override
+	public void removeMessageGroup(Object groupId) {
+		this.lock.lock();
+		try {
+			MessageIndex index = this.groups.remove(groupId);
+			if (index != null) {
+				while (index.size > 0) {
+					Segment segment = index.segments[index.head];
+					index.poll();
+					release(segment);
+				}
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@ManagedAttribute
+	public int getMessageCountForAllMessageGroups() {
+		this.lock.lock();
+		try {
+			return this.messageCount;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@ManagedAttribute
+	public int getMessageGroupCount() {
+		this.lock.lock();
+		try {
+			return this.groups.size();
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		this.lock.lock();
+		try {
+			this.groups.clear();
+			this.messageCount = 0;
+			this.current = null;
+			this.spare = null;
+			this.allocatedMemory = 0;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	private Segment segmentFor(Message<?> message, int length) {
+		Segment segment = this.current;
+		if (segment != null && segment.buffer.remaining() >= length) {
+			return segment;
+		}
+		if (segment != null && segment.live == 0) {
+			recycle(segment);
+		}
+		this.current = null;
+		if (length <= this.segmentSize && this.spare != null) {
+			segment = this.spare;
+			this.spare = null;
+		}
+		else {
+			int capacity = Math.max(this.segmentSize, length);
+			if (this.allocatedMemory + capacity > this.maxMemory) {
+				throw new MessagingException(message, getClass().getSimpleName()
+						+ " was out of capacity (" + this.maxMemory + " bytes)");
+			}
+			segment = new Segment(ByteBuffer.allocateDirect(capacity));
+			this.allocatedMemory += capacity;
+		}
+		if (segment.buffer.capacity() == this.segmentSize) {
+			this.current = segment;
+		}
+		return segment;
+	}
+
+	private void release(Segment segment) {
+		if (--segment.live == 0) {
+			if (segment == this.current) {
+				segment.buffer.clear();
+			}
+			else {
+				recycle(segment);
+			}
+		}
+		this.messageCount--;
+	}
+
+	private void recycle(Segment segment) {
+		if (this.spare == null && segment.buffer.capacity() == this.segmentSize) {
+			segment.buffer.clear();
+			this.spare = segment;
+		}
+		else {
+			this.allocatedMemory -= segment.buffer.capacity();
+		}
+	}
+
+	private Message<?> decode(byte[] bytes) {
+		return this.messageConverter.toMessage(bytes, null);
+	}
+
+	private static byte[] read(Segment segment, int offset) {
+		ByteBuffer buffer = segment.buffer.duplicate();
+		byte[] bytes = new byte[buffer.getInt(offset)];
+		buffer.position(offset + LENGTH_PREFIX);
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	private static final class Segment {
+
+		private final ByteBuffer buffer;
+
+		private int live;
+
+		Segment(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+	}
+
+	/**
+	 * A FIFO ring of segment/offset pairs for the messages in a group.
+	 */
+	private static final class MessageIndex {
+
+		private Segment[] segments = new Segment[8];
+
+		private int[] offsets = new int[8];
+
+		private int head;
+
+		private int size;
+
+		MessageIndex() {
+		}
+
+		void add(Segment segment, int offset) {
+			if (this.size == this.segments.length) {
+				grow();
+			}
+			int tail = (this.head + this.size) & (this.segments.length - 1);
+			this.segments[tail] = segment;
+			this.offsets[tail] = offset;
+			this.size++;
+		}
+
+		void poll() {
+			this.segments[this.head] = null;
+			this.head = (this.head + 1) & (this.segments.length - 1);
+			this.size--;
+		}
+
+		private void grow() {
+			int length = this.segments.length;
+			Segment[] newSegments = new Segment[length << 1];
+			int[] newOffsets = new int[length << 1];
+			for (int i = 0; i < this.size; i++) {
+				int slot = (this.head + i) & (length - 1);
+				newSegments[i] = this.segments[slot];
+				newOffsets[i] = this.offsets[slot];
+			}
+			this.segments = newSegments;
+			this.offsets = newOffsets;
+			this.head = 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+
+/**
+ * A compact {@link java.util.Collection} for the {@link SimpleMessageGroup} messages:
+ * the messages with a {@link IntegrationMessageHeaderAccessor#SEQUENCE_NUMBER} header
+ * are stored in a ring buffer indexed by that sequence number, the rest (and those with
+ * an already occupied sequence slot) are stored in an overflow list.
+ * <p>
+ * The iteration is in the sequence number order, followed by the overflow messages.
+ * The lookup and removal by the sequence number are O(1), which suits the resequencing
+ * and sequence size based aggregations over large groups.
+ * The ring covers the range between the lowest and highest sequence numbers in the
+ * collection, so it doesn't grow for an unbounded sequence as long as the messages are
+ * removed from its head; a message too far ahead of that range goes to the overflow.
+ * The ring is sized according to the {@link IntegrationMessageHeaderAccessor#SEQUENCE_SIZE}
+ * of the first message, when present.
+ * <p>
+ * Not thread-safe: the {@link MessageGroupStore} must guard the group mutations.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+final class SequenceIndexedMessageCollection extends AbstractCollection<Message<?>> {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private static final Message<?>[] EMPTY = new Message<?>[0];
+
+	private Message<?>[] slots = EMPTY;
+
+	private int indexed;
+
+	private int first;
+
+	private int last;
+
+	@Nullable
+	private List<Message<?>> overflow;
+
+	private int modCount;
+
+	@Override
+	public boolean add(Message<?> message) {
+		int sequence = sequenceNumber(message);
+		if (sequence > 0 && ensureCapacity(sequence, message)) {
+			int index = sequence & (this.slots.length - 1);
+			Message<?> existing = this.slots[index];
+			if (message.equals(existing)) {
+				return false;
+			}
+			if (existing == null) {
+				// It might have been put to the overflow before the slot has become available
+				if (this.overflow != null && this.overflow.contains(message)) {
+					return false;
+				}
+				this.slots[index] = message;
+				if (this.indexed++ == 0) {
+					this.first = sequence;
+					this.last = sequence;
+				}
+				else if (sequence < this.first) {
+					this.first = sequence;
+				}
+				else if (sequence > this.last) {
+					this.last = sequence;
+				}
+				this.modCount++;
+				return true;
+			}
+		}
+		if (this.overflow == null) {
+			this.overflow = new ArrayList<>();
+		}
+		else if (this.overflow.contains(message)) {
+			return false;
+		}
+		this.overflow.add(message);
+		this.modCount++;
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object object) {
+		if (!(object instanceof Message)) {
+			return false;
+		}
+		Message<?> message = (Message<?>) object;
+		int sequence = sequenceNumber(message);
+		if (isIndexed(sequence) && message.equals(this.slots[sequence & (this.slots.length - 1)])) {
+			removeSlot(sequence);
+			return true;
+		}
+		if (this.overflow != null && this.overflow.remove(message)) {
+			this.modCount++;
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public boolean contains(Object object) {
+		if (!(object instanceof Message)) {
+			return false;
+		}
+		Message<?> message = (Message<?>) object;
+		int sequence = sequenceNumber(message);
+		if (isIndexed(sequence) && message.equals(this.slots[sequence & (this.slots.length - 1)])) {
+			return true;
+		}
+		return this.overflow != null && this.overflow.contains(message);
+	}
+
+	/**
+	 * Return true if there is a message with the provided sequence number in this collection.
+	 * @param sequence the sequence number.
+	 * @return true if such a message is present.
+	 */
+	boolean containsSequence(int sequence) {
+		if (isIndexed(sequence) && this.slots[sequence & (this.slots.length - 1)] != null) {
+			return true;
+		}
+		if (this.overflow != null) {
+			for (Message<?> message : this.overflow) {
+				if (sequenceNumber(message) == sequence) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return true if all the messages are in the ring buffer, hence the iteration
+	 * is in the order of their unique sequence numbers.
+	 * @return true if there are no overflow messages.
+	 */
+	boolean isFullyIndexed() {
+		return this.overflow == null || this.overflow.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return this.indexed + (this.overflow != null ? this.overflow.size() : 0);
+	}
+
+	@Override
+	public void clear() {
+		this.slots = EMPTY;
+		this.indexed = 0;
+		this.first = 0;
+		this.last = 0;
+		this.overflow = null;
+		this.modCount++;
+	}
+
+	@Override
+	public Iterator<Message<?>> iterator() {
+		return new SequenceIterator();
+	}
+
+	private boolean isIndexed(int sequence) {
+		return this.indexed > 0 && sequence >= this.first && sequence <= this.last;
+	}
+
+	private boolean ensureCapacity(int sequence, Message<?> message) {
+		int length = this.slots.length;
+		long span = 1;
+		if (this.indexed > 0) {
+			span = (long) Math.max(this.last, sequence) - Math.min(this.first, sequence) + 1;
+		}
+		if (span <= length) {
+			return true;
+		}
+		int capacity = Math.max(MIN_CAPACITY, length << 1);
+		if (this.indexed == 0) {
+			capacity = Math.max(capacity, new IntegrationMessageHeaderAccessor(message).getSequenceSize());
+		}
+		if (span > capacity) {
+			// Too sparse for the ring
+			return false;
+		}
+		int newLength = Integer.highestOneBit(capacity);
+		if (newLength < capacity) {
+			newLength <<= 1;
+		}
+		Message<?>[] newSlots = new Message<?>[newLength];
+		if (this.indexed > 0) {
+			for (int i = this.first; i <= this.last; i++) {
+				newSlots[i & (newLength - 1)] = this.slots[i & (length - 1)];
+			}
+		}
+		this.slots = newSlots;
+		return true;
+	}
+
+	private void removeSlot(int sequence) {
+		int mask = this.slots.length - 1;
+		this.slots[sequence & mask] = null;
+		this.indexed--;
+		if (this.indexed == 0) {
+			this.first = 0;
+			this.last = 0;
+		}
+		else if (sequence == this.first) {
+			while (this.slots[this.first & mask] == null) {
+				this.first++;
+			}
+		}
+		else if (sequence == this.last) {
+			while (this.slots[this.last & mask] == null) {
+				this.last--;
+			}
+		}
+		this.modCount++;
+	}
+
+	private static int sequenceNumber(Message<?> message) {
+		Object sequence = message.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER);
+		return sequence instanceof Number ? ((Number) sequence).intValue() : 0;
+	}
+
+	private final class SequenceIterator implements Iterator<Message<?>> {
+
+		private int sequence;
+
+		private int remaining;
+
+		private int expectedModCount;
+
+		private int lastSequence = -1;
+
+		private Iterator<Message<?>> overflowIterator;
+
+		private boolean lastFromOverflow;
+
+		SequenceIterator() {
+			this.sequence = SequenceIndexedMessageCollection.this.first;
+			this.remaining = SequenceIndexedMessageCollection.this.indexed;
+			this.expectedModCount = SequenceIndexedMessageCollection.this.modCount;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (this.remaining > 0) {
+				return true;
+			}
+			List<Message<?>> overflow = SequenceIndexedMessageCollection.this.overflow;
+			if (overflow == null) {
+				return false;
+			}
+			if (this.overflowIterator == null) {
+				this.overflowIterator = overflow.iterator();
+			}
+			return this.overflowIterator.hasNext();
+		}
+
+		@Override
+		public Message<?> next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			if (this.remaining > 0) {
+				Message<?>[] slots = SequenceIndexedMessageCollection.this.slots;
+				int mask = slots.length - 1;
+				while (slots[this.sequence & mask] == null) {
+					this.sequence++;
+				}
+				this.remaining--;
+				this.lastSequence = this.sequence;
+				this.lastFromOverflow = false;
+				return slots[this.sequence++ & mask];
+			}
+			this.lastFromOverflow = true;
+			return this.overflowIterator.next();
+		}
+
+		@Override
+		public void remove() {
+			checkForComodification();
+			if (this.lastFromOverflow) {
+				this.overflowIterator.remove();
+				this.lastFromOverflow = false;
+				SequenceIndexedMessageCollection.this.modCount++;
+			}
+			else {
+				if (this.lastSequence < 0) {
+					throw new IllegalStateException();
+				}
+				removeSlot(this.lastSequence);
+				this.lastSequence = -1;
+			}
+			this.expectedModCount = SequenceIndexedMessageCollection.this.modCount;
+		}
+
+		private void checkForComodification() {
+			if (this.expectedModCount != SequenceIndexedMessageCollection.this.modCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+	}
+
+}
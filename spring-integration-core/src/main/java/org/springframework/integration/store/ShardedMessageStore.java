@@ -0,0 +1,260 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.messaging.Message;
+import org.springframework.util.Assert;
+
+/**
+ * An in-memory {@link MessageGroupStore} which spreads the groups over a number of
+ * independent {@link SimpleMessageStore} shards according to the group id hash.
+ * <p>
+ * Each shard has its own group maps, capacity accounting, expiry index and
+ * {@link DefaultLockRegistry}, so the operations on groups in different shards don't
+ * contend with each other: this lets a single aggregator or resequencer scale across
+ * cores with a high cardinality of correlation keys.
+ * <p>
+ * For large sequenced groups consider a
+ * {@link SimpleMessageGroupFactory.GroupType#SEQUENCE} message group factory,
+ * which stores the group messages in an array indexed by sequence number.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public class ShardedMessageStore extends AbstractMessageGroupStore {
+
+	private final SimpleMessageStore[] shards;
+
+	private final int mask;
+
+	/**
+	 * Create a store with the provided number of shards and unlimited group capacity.
+	 * @param shards the number of shards; rounded up to a power of 2.
+	 */
+	public ShardedMessageStore(int shards) {
+		this(shards, 0);
+	}
+
+	/**
+	 * Create a store with the provided number of shards and group capacity.
+	 * @param shards the number of shards; rounded up to a power of 2.
+	 * @param groupCapacity the capacity of each group.
+	 */
+	public ShardedMessageStore(int shards, int groupCapacity) {
+		this(shards, groupCapacity, 0);
+	}
+
+	/**
+	 * Create a store with the provided number of shards, group capacity and the time
+	 * to wait for an empty slot in a group at capacity.
+	 * @param shards the number of shards; rounded up to a power of 2.
+	 * @param groupCapacity the capacity of each group.
+	 * @param upperBoundTimeout the time to wait if a group is at max capacity.
+	 */
+	public ShardedMessageStore(int shards, int groupCapacity, long upperBoundTimeout) {
+		super(false);
+		Assert.isTrue(shards > 0, "'shards' must be greater than 0");
+		int size = Integer.highestOneBit(shards);
+		if (size < shards) {
+			size <<= 1;
+		}
+		this.shards = new SimpleMessageStore[size];
+		this.mask = size - 1;
+		for (int i = 0; i < size; i++) {
+			this.shards[i] = new SimpleMessageStore(0, groupCapacity, upperBoundTimeout, new DefaultLockRegistry());
+		}
+	}
+
+	/**
+	 * Return the number of shards.
+	 * @return the number of shards.
+	 */
+	public int getShardCount() {
+		return this.shards.length;
+	}
+
+	@Override
+	public void setMessageGroupFactory(MessageGroupFactory messageGroupFactory) {
+		super.setMessageGroupFactory(messageGroupFactory);
+		for (SimpleMessageStore shard : this.shards) {
+			shard.setMessageGroupFactory(messageGroupFactory);
+		}
+	}
+
+	@Override
+	public void setLazyLoadMessageGroups(boolean lazyLoadMessageGroups) {
+		throw new UnsupportedOperationException("The lazy-load isn't supported for in-memory 'ShardedMessageStore'");
+	}
+
+	@Override
+	public void setTimeoutOnIdle(boolean timeoutOnIdle) {
+		super.setTimeoutOnIdle(timeoutOnIdle);
+		for (SimpleMessageStore shard : this.shards) {
+			shard.setTimeoutOnIdle(timeoutOnIdle);
+		}
+	}
+
+	@Override
+	public void registerMessageGroupExpiryCallback(MessageGroupCallback callback) {
+		super.registerMessageGroupExpiryCallback(callback);
+		for (SimpleMessageStore shard : this.shards) {
+			shard.registerMessageGroupExpiryCallback((messageGroupStore, group) -> callback.execute(this, group));
+		}
+	}
+
+	/**
+	 * Expire the due groups in each shard.
+	 * @param timeout the timeout threshold to use
+	 * @return the number of message groups expired
+	 * @see SimpleMessageStore#expireMessageGroups(long)
+	 */
+	@Override
+	@ManagedOperation
+	public int expireMessageGroups(long timeout) {
+		int count = 0;
+		RuntimeException exception = null;
+		for (SimpleMessageStore shard : this.shards) {
+			try {
+				count += shard.expireMessageGroups(timeout);
+			}
+			catch (RuntimeException e) {
+				if (exception == null) {
+					exception = e;
+				}
+			}
+		}
+		if (exception != null) {
+			throw exception;
+		}
+		return count;
+	}
+
+	@Override
+	public MessageGroup getMessageGroup(Object groupId) {
+		return shardFor(groupId).getMessageGroup(groupId);
+	}
+
+	@Override
+	public MessageGroup addMessageToGroup(Object groupId, Message<?> message) {
+		return shardFor(groupId).addMessageToGroup(groupId, message);
+	}
+
+	@Override
+	public void addMessagesToGroup(Object groupId, Message<?>... messages) {
+		shardFor(groupId).addMessagesToGroup(groupId, messages);
+	}
+
+	@Override
+	public void removeMessageGroup(Object groupId) {
+		shardFor(groupId).removeMessageGroup(groupId);
+	}
+
+	@Override
+	public void removeMessagesFromGroup(Object groupId, Collection<Message<?>> messages) {
+		// The messages may be a view of the group itself
+		shardFor(groupId).removeMessagesFromGroup(groupId, new ArrayList<>(messages));
+	}
+
+	/**
+	 * Remove all the messages from the group, keeping the group itself.
+	 * @param groupId the group id.
+	 * @see SimpleMessageStore#clearMessageGroup(Object)
+	 */
+	public void clearMessageGroup(Object groupId) {
+		shardFor(groupId).clearMessageGroup(groupId);
+	}
+
+	@Override
+	public void setLastReleasedSequenceNumberForGroup(Object groupId, int sequenceNumber) {
+		shardFor(groupId).setLastReleasedSequenceNumberForGroup(groupId, sequenceNumber);
+	}
+
+	@Override
+	public void completeGroup(Object groupId) {
+		shardFor(groupId).completeGroup(groupId);
+	}
+
+	@Override
+	public Message<?> pollMessageFromGroup(Object groupId) {
+		return shardFor(groupId).pollMessageFromGroup(groupId);
+	}
+
+	@Override
+	public int messageGroupSize(Object groupId) {
+		return shardFor(groupId).messageGroupSize(groupId);
+	}
+
+	@Override
+	public MessageGroupMetadata getGroupMetadata(Object groupId) {
+		return shardFor(groupId).getGroupMetadata(groupId);
+	}
+
+	@Override
+	public Message<?> getOneMessageFromGroup(Object groupId) {
+		return shardFor(groupId).getOneMessageFromGroup(groupId);
+	}
+
+	@Override
+	public Collection<Message<?>> getMessagesForGroup(Object groupId) {
+		return shardFor(groupId).getMessagesForGroup(groupId);
+	}
+
+	@Override
+	@ManagedAttribute
+	public int getMessageCountForAllMessageGroups() {
+		int count = 0;
+		for (SimpleMessageStore shard : this.shards) {
+			count += shard.getMessageCountForAllMessageGroups();
+		}
+		return count;
+	}
+
+	@Override
+	@ManagedAttribute
+	public int getMessageGroupCount() {
+		int count = 0;
+		for (SimpleMessageStore shard : this.shards) {
+			count += shard.getMessageGroupCount();
+		}
+		return count;
+	}
+
+	@Override
+	public Iterator<MessageGroup> iterator() {
+		List<MessageGroup> groups = new ArrayList<>();
+		for (SimpleMessageStore shard : this.shards) {
+			shard.iterator().forEachRemaining(groups::add);
+		}
+		return groups.iterator();
+	}
+
+	private SimpleMessageStore shardFor(Object groupId) {
+		Assert.notNull(groupId, "'groupId' must not be null");
+		int hash = groupId.hashCode();
+		return this.shards[(hash ^ (hash >>> 16)) & this.mask];
+	}
+
+}
@@ -48,6 +48,8 @@ public class SimpleMessageGroup implements MessageGroup {
 
 	private final Set<Integer> sequences = new HashSet<>();
 
+	private final boolean sequenceIndexed;
+
 	private final long timestamp;
 
 	private volatile int lastReleasedMessageSequence;
@@ -79,6 +81,7 @@ public class SimpleMessageGroup implements MessageGroup {
 
 		Assert.notNull(internalStore, "'internalStore' must not be null");
 		this.messages = internalStore;
+		this.sequenceIndexed = internalStore instanceof SequenceIndexedMessageCollection;
 		this.groupId = groupId;
 		this.timestamp = timestamp;
 		this.complete = complete;
@@ -119,7 +122,9 @@ public class SimpleMessageGroup implements MessageGroup {
 
 	@Override
 	public boolean remove(Message<?> message) {
-		this.sequences.remove(message.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER));
+		if (!this.sequenceIndexed) {
+			this.sequences.remove(message.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER));
+		}
 		return this.messages.remove(message);
 	}
 
@@ -129,8 +134,11 @@ public class SimpleMessageGroup implements MessageGroup {
 	}
 
 	private boolean addMessage(Message<?> message) {
-		Integer sequence = message.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER, Integer.class);
-		this.sequences.add(sequence != null ? sequence : 0);
+		if (!this.sequenceIndexed) {
+			Integer sequence =
+					message.getHeaders().get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER, Integer.class);
+			this.sequences.add(sequence != null ? sequence : 0);
+		}
 		return this.messages.add(message);
 	}
 
@@ -194,9 +202,24 @@ public class SimpleMessageGroup implements MessageGroup {
 	 * @since 4.3.7
 	 */
 	public boolean containsSequence(Integer sequence) {
+		if (this.sequenceIndexed) {
+			return ((SequenceIndexedMessageCollection) this.messages).containsSequence(sequence);
+		}
 		return this.sequences.contains(sequence);
 	}
 
+	/**
+	 * Return true if the messages of this group are iterated in the ascending order of
+	 * their (unique) sequence numbers, which is the case for a
+	 * {@link SimpleMessageGroupFactory.GroupType#SEQUENCE} group without messages with
+	 * missing or duplicate sequence numbers.
+	 * @return true if the messages are ordered by sequence number.
+	 * @since 5.2.3
+	 */
+	public boolean isSequenceOrdered() {
+		return this.sequenceIndexed && ((SequenceIndexedMessageCollection) this.messages).isFullyIndexed();
+	}
+
 	@Override
 	public String toString() {
 		return "SimpleMessageGroup{" +
@@ -122,6 +122,20 @@ public class SimpleMessageGroupFactory implements MessageGroupFactory {
 
 		},
 
+		/**
+		 * An array-backed collection indexed by the message sequence number:
+		 * a compact storage with O(1) sequence lookups for large sequenced groups.
+		 * @since 5.2.3
+		 */
+		SEQUENCE {
+
+			@Override
+			Collection<Message<?>> get() {
+				return new SequenceIndexedMessageCollection();
+			}
+
+		},
+
 		PERSISTENT {
 
 			@Override
@@ -19,6 +19,7 @@ package org.springframework.integration.store;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -28,6 +29,7 @@ import org.springframework.integration.support.locks.DefaultLockRegistry;
 import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.integration.util.UpperBound;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessagingException;
 import org.springframework.util.Assert;
@@ -36,6 +38,9 @@ import org.springframework.util.CollectionUtils;
 /**
  * Map-based in-memory implementation of {@link MessageStore} and {@link MessageGroupStore}.
  * Enforces a maximum capacity for the store.
+ * <p>
+ * The groups are indexed by their expiry timestamp in a {@link MessageGroupExpiryIndex},
+ * so {@link #expireMessageGroups(long)} visits only the groups which are due.
  *
  * @author Iwein Fuld
  * @author Mark Fisher
@@ -63,6 +68,8 @@ public class SimpleMessageStore extends AbstractMessageGroupStore
 
 	private final ConcurrentMap<Object, UpperBound> groupToUpperBound = new ConcurrentHashMap<Object, UpperBound>();
 
+	private final MessageGroupExpiryIndex expiryIndex = new MessageGroupExpiryIndex();
+
 	private final int groupCapacity;
 
 	private final int individualCapacity;
@@ -310,6 +317,7 @@ public class SimpleMessageStore extends AbstractMessageGroupStore
 				}
 
 				group.setLastModified(System.currentTimeMillis());
+				indexForExpiry(group);
 			}
 			finally {
 				if (!unlocked) {
@@ -330,6 +338,7 @@ public class SimpleMessageStore extends AbstractMessageGroupStore
 			lock.lockInterruptibly();
 			try {
 				MessageGroup messageGroup = this.groupIdToMessageGroup.remove(groupId);
+				this.expiryIndex.remove(groupId);
 				if (messageGroup != null) {
 					UpperBound upperBound = this.groupToUpperBound.remove(groupId);
 					Assert.state(upperBound != null, UPPER_BOUND_MUST_NOT_BE_NULL);
@@ -366,6 +375,7 @@ public class SimpleMessageStore extends AbstractMessageGroupStore
 				}
 				if (modified) {
 					group.setLastModified(System.currentTimeMillis());
+					indexForExpiry(group);
 				}
 			}
 			finally {
@@ -378,6 +388,69 @@ public class SimpleMessageStore extends AbstractMessageGroupStore
 		}
 	}
 
+	/**
+	 * Expire the groups which are due according to the expiry index.
+	 * Unlike the super implementation, doesn't iterate all the groups in the store
+	 * and doesn't block concurrent callers: each due group is processed only
+	 * by one of them.
+	 * @param timeout the timeout threshold to use
+	 * @return the number of message groups expired
+	 */
+	@Override
+	@ManagedOperation
+	public int expireMessageGroups(long timeout) {
+		int count = 0;
+		long threshold = System.currentTimeMillis() - timeout;
+		List<Object> dueGroupIds = this.expiryIndex.pollDue(threshold);
+		RuntimeException exception = null;
+		for (Object groupId : dueGroupIds) {
+			MessageGroup group = this.groupIdToMessageGroup.get(groupId);
+			if (group != null) {
+				if (getExpiryTimestamp(group) <= threshold) {
+					count++;
+					try {
+						expire(copy(group));
+					}
+					catch (RuntimeException e) {
+						if (exception == null) {
+							exception = e;
+						}
+					}
+				}
+				reindexForExpiry(groupId);
+			}
+		}
+		if (exception != null) {
+			throw exception;
+		}
+		return count;
+	}
+
+	@Override
+	public void setTimeoutOnIdle(boolean timeoutOnIdle) {
+		super.setTimeoutOnIdle(timeoutOnIdle);
+		this.expiryIndex.clear();
+		for (MessageGroup group : this.groupIdToMessageGroup.values()) {
+			indexForExpiry(group);
+		}
+	}
+
+	private void indexForExpiry(MessageGroup group) {
+		this.expiryIndex.index(group.getGroupId(), getExpiryTimestamp(group));
+	}
+
+	/*
+	 * Put the group (if still present) back to the index after an expiry attempt:
+	 * the callbacks may keep it in the store, e.g. when it has been modified concurrently.
+	 * Not guarded by the group lock since a stale entry only causes an extra due check.
+	 */
+	private void reindexForExpiry(Object groupId) {
+		MessageGroup group = this.groupIdToMessageGroup.get(groupId);
+		if (group != null) {
+			indexForExpiry(group);
+		}
+	}
+
 	@Override
 	public Iterator<MessageGroup> iterator() {
 		return new HashSet<MessageGroup>(this.groupIdToMessageGroup.values()).iterator();
@@ -394,6 +467,7 @@ public class SimpleMessageStore extends AbstractMessageGroupStore
 						"can not be located while attempting to set 'lastReleasedSequenceNumber'");
 				group.setLastReleasedMessageSequenceNumber(sequenceNumber);
 				group.setLastModified(System.currentTimeMillis());
+				indexForExpiry(group);
 			}
 			finally {
 				lock.unlock();
@@ -416,6 +490,7 @@ public class SimpleMessageStore extends AbstractMessageGroupStore
 						"can not be located while attempting to complete the MessageGroup");
 				group.complete();
 				group.setLastModified(System.currentTimeMillis());
+				indexForExpiry(group);
 			}
 			finally {
 				lock.unlock();
@@ -470,6 +545,7 @@ public class SimpleMessageStore extends AbstractMessageGroupStore
 						"can not be located while attempting to complete the MessageGroup");
 				group.clear();
 				group.setLastModified(System.currentTimeMillis());
+				indexForExpiry(group);
 				UpperBound upperBound = this.groupToUpperBound.get(groupId);
 				Assert.state(upperBound != null, UPPER_BOUND_MUST_NOT_BE_NULL);
 				upperBound.release(this.groupCapacity);
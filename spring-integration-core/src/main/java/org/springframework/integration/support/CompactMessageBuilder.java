@@ -0,0 +1,523 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.ErrorMessage;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * A message builder which creates immutable {@link GenericMessage}s with
+ * {@link CompactMessageHeaders}.
+ * <p>
+ * The headers are accumulated in a flat array of name/value pairs which is copied only
+ * on the first modification; when the source message already carries
+ * {@link CompactMessageHeaders} and the headers are not modified, the new message
+ * shares the header array of the source. Messages with more than {@value #MAX_COMPACT_HEADERS}
+ * headers fall back to the regular {@link MessageHeaders}.
+ * <p>
+ * The semantics are the same as for the {@link MessageBuilder}: the
+ * {@link MessageHeaders#ID} and {@link MessageHeaders#TIMESTAMP} are generated for each new
+ * message and the configured {@link #readOnlyHeaders(String...) read only headers}
+ * are not copied from the source message.
+ *
+ * @param <T> the payload type.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ *
+ * @see CompactMessageBuilderFactory
+ */
+public final class CompactMessageBuilder<T> extends AbstractIntegrationMessageBuilder<T> {
+
+	/**
+	 * The maximum number of headers (excluding {@link MessageHeaders#ID} and
+	 * {@link MessageHeaders#TIMESTAMP}) for the {@link CompactMessageHeaders} representation.
+	 */
+	public static final int MAX_COMPACT_HEADERS = 16;
+
+	private static final Log logger = LogFactory.getLog(CompactMessageBuilder.class);
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private final T payload;
+
+	@Nullable
+	private final Message<T> originalMessage;
+
+	private Object[] entries;
+
+	private int length;
+
+	private boolean shared;
+
+	private boolean modified;
+
+	private String[] readOnlyHeaders;
+
+	private CompactMessageBuilder(T payload, @Nullable Message<T> originalMessage) {
+		Assert.notNull(payload, "payload must not be null");
+		this.payload = payload;
+		this.originalMessage = originalMessage;
+		if (originalMessage == null) {
+			this.entries = EMPTY;
+		}
+		else {
+			this.modified = !this.payload.equals(originalMessage.getPayload());
+			MessageHeaders headers = originalMessage.getHeaders();
+			if (headers instanceof CompactMessageHeaders) {
+				this.entries = ((CompactMessageHeaders) headers).getEntries();
+			}
+			else {
+				this.entries = toEntries(headers);
+			}
+		}
+		this.length = this.entries.length;
+		this.shared = true;
+	}
+
+	/**
+	 * Create a builder for a new {@link Message} instance pre-populated with all of the headers copied from the
+	 * provided message. The payload of the provided Message will also be used as the payload for the new message.
+	 * @param message the Message from which the payload and all headers will be copied
+	 * @param <T> The type of the payload.
+	 * @return A CompactMessageBuilder.
+	 */
+	public static <T> CompactMessageBuilder<T> fromMessage(Message<T> message) {
+		Assert.notNull(message, "message must not be null");
+		return new CompactMessageBuilder<>(message.getPayload(), message);
+	}
+
+	/**
+	 * Create a builder for a new {@link Message} instance with the provided payload.
+	 * @param payload the payload for the new message
+	 * @param <T> The type of the payload.
+	 * @return A CompactMessageBuilder.
+	 */
+	public static <T> CompactMessageBuilder<T> withPayload(T payload) {
+		return new CompactMessageBuilder<>(payload, null);
+	}
+
+	@Override
+	public T getPayload() {
+		return this.payload;
+	}
+
+	@Override
+	public Map<String, Object> getHeaders() {
+		Map<String, Object> headers = new HashMap<>();
+		for (int i = 0; i < this.length; i += 2) {
+			headers.put((String) this.entries[i], this.entries[i + 1]);
+		}
+		return headers;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	@Override
+	public <V> V getHeader(String key, Class<V> type) {
+		Object value = get(key);
+		if (value == null) {
+			return null;
+		}
+		if (!type.isAssignableFrom(value.getClass())) {
+			throw new IllegalArgumentException("Incorrect type specified for header '" + key + "'. Expected [" + type
+					+ "] but actual type is [" + value.getClass() + "]");
+		}
+		return (V) value;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setHeader(String headerName, @Nullable Object headerValue) {
+		Assert.isTrue(!isReadOnly(headerName), () -> "'" + headerName + "' header is read-only");
+		verifyType(headerName, headerValue);
+		int index = indexOf(headerName);
+		if (headerValue == null) {
+			if (index >= 0) {
+				remove(index);
+			}
+		}
+		else if (index >= 0) {
+			if (!ObjectUtils.nullSafeEquals(this.entries[index + 1], headerValue)) {
+				copyOnWrite(0);
+				this.entries[index + 1] = headerValue;
+				this.modified = true;
+			}
+		}
+		else {
+			copyOnWrite(2);
+			this.entries[this.length++] = headerName;
+			this.entries[this.length++] = headerValue;
+			this.modified = true;
+		}
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setHeaderIfAbsent(String headerName, Object headerValue) {
+		if (get(headerName) == null) {
+			setHeader(headerName, headerValue);
+		}
+		return this;
+	}
+
+	/**
+	 * Removes all headers provided via array of 'headerPatterns'. As the name suggests the array
+	 * may contain simple matching patterns for header names. Supported pattern styles are:
+	 * "xxx*", "*xxx", "*xxx*" and "xxx*yyy".
+	 * @param headerPatterns The header patterns.
+	 * @return this CompactMessageBuilder.
+	 */
+	@Override
+	public CompactMessageBuilder<T> removeHeaders(String... headerPatterns) {
+		if (!ObjectUtils.isEmpty(headerPatterns)) {
+			for (int i = this.length - 2; i >= 0; i -= 2) {
+				String headerName = (String) this.entries[i];
+				if (PatternMatchUtils.simpleMatch(headerPatterns, headerName) && !isReadOnly(headerName)) {
+					remove(i);
+				}
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> removeHeader(String headerName) {
+		if (StringUtils.hasLength(headerName)) {
+			if (!isReadOnly(headerName)) {
+				int index = indexOf(headerName);
+				if (index >= 0) {
+					remove(index);
+				}
+			}
+			else if (logger.isInfoEnabled()) {
+				logger.info("The header [" + headerName + "] is ignored for removal because it is is readOnly.");
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> copyHeaders(@Nullable Map<String, ?> headersToCopy) {
+		if (headersToCopy != null && !share(headersToCopy)) {
+			for (Map.Entry<String, ?> entry : headersToCopy.entrySet()) {
+				String headerName = entry.getKey();
+				if (!isReadOnly(headerName)) {
+					setHeader(headerName, entry.getValue());
+				}
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> copyHeadersIfAbsent(@Nullable Map<String, ?> headersToCopy) {
+		if (headersToCopy != null && !share(headersToCopy)) {
+			for (Map.Entry<String, ?> entry : headersToCopy.entrySet()) {
+				String headerName = entry.getKey();
+				if (!isReadOnly(headerName)) {
+					setHeaderIfAbsent(headerName, entry.getValue());
+				}
+			}
+		}
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> filterAndCopyHeadersIfAbsent(Map<String, ?> headersToCopy,
+			@Nullable String... headerPatternsToFilter) {
+
+		if (share(headersToCopy)) {
+			removeHeaders(headerPatternsToFilter);
+		}
+		else {
+			super.filterAndCopyHeadersIfAbsent(headersToCopy, headerPatternsToFilter);
+		}
+		return this;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	protected List<List<Object>> getSequenceDetails() {
+		return (List<List<Object>>) get(IntegrationMessageHeaderAccessor.SEQUENCE_DETAILS);
+	}
+
+	@Override
+	@Nullable
+	protected Object getCorrelationId() {
+		return get(IntegrationMessageHeaderAccessor.CORRELATION_ID);
+	}
+
+	@Override
+	protected Object getSequenceNumber() {
+		return get(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER);
+	}
+
+	@Override
+	protected Object getSequenceSize() {
+		return get(IntegrationMessageHeaderAccessor.SEQUENCE_SIZE);
+	}
+
+	/*
+	 * The following overrides (delegating to super) are provided to
+	 * return a CompactMessageBuilder from the fluent API.
+	 */
+	@Override
+	public CompactMessageBuilder<T> pushSequenceDetails(Object correlationId, int sequenceNumber, int sequenceSize) {
+		super.pushSequenceDetails(correlationId, sequenceNumber, sequenceSize);
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> popSequenceDetails() {
+		super.popSequenceDetails();
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setExpirationDate(Long expirationDate) {
+		super.setExpirationDate(expirationDate);
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setExpirationDate(Date expirationDate) {
+		super.setExpirationDate(expirationDate);
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setCorrelationId(Object correlationId) {
+		super.setCorrelationId(correlationId);
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setReplyChannel(MessageChannel replyChannel) {
+		super.setReplyChannel(replyChannel);
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setReplyChannelName(String replyChannelName) {
+		super.setReplyChannelName(replyChannelName);
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setErrorChannel(MessageChannel errorChannel) {
+		super.setErrorChannel(errorChannel);
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setErrorChannelName(String errorChannelName) {
+		super.setErrorChannelName(errorChannelName);
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setSequenceNumber(Integer sequenceNumber) {
+		super.setSequenceNumber(sequenceNumber);
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setSequenceSize(Integer sequenceSize) {
+		super.setSequenceSize(sequenceSize);
+		return this;
+	}
+
+	@Override
+	public CompactMessageBuilder<T> setPriority(Integer priority) {
+		super.setPriority(priority);
+		return this;
+	}
+
+	/**
+	 * Specify a list of headers which should be considered as read only
+	 * and prohibited from being populated in the message.
+	 * @param readOnlyHeaders the list of headers for {@code readOnly} mode.
+	 * Defaults to {@link MessageHeaders#ID} and {@link MessageHeaders#TIMESTAMP}.
+	 * @return the current {@link CompactMessageBuilder}
+	 */
+	public CompactMessageBuilder<T> readOnlyHeaders(String... readOnlyHeaders) {
+		Assert.noNullElements(readOnlyHeaders, "'readOnlyHeaders' must not be contain null items.");
+		this.readOnlyHeaders = readOnlyHeaders != null ? Arrays.copyOf(readOnlyHeaders, readOnlyHeaders.length) : null;
+		if (!ObjectUtils.isEmpty(this.readOnlyHeaders)) {
+			for (String readOnlyHeader : this.readOnlyHeaders) {
+				int index = indexOf(readOnlyHeader);
+				if (index >= 0) {
+					remove(index);
+				}
+			}
+		}
+		return this;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Message<T> build() {
+		if (!this.modified && this.originalMessage != null) {
+			return this.originalMessage;
+		}
+		MessageHeaders headers;
+		if (this.length / 2 > MAX_COMPACT_HEADERS) {
+			headers = new MessageHeaders(getHeaders());
+		}
+		else {
+			if (this.length != this.entries.length) {
+				this.entries = Arrays.copyOf(this.entries, this.length);
+			}
+			this.shared = true;
+			headers = new CompactMessageHeaders(this.entries);
+		}
+		if (this.payload instanceof Throwable) {
+			return (Message<T>) new ErrorMessage((Throwable) this.payload, headers);
+		}
+		return new GenericMessage<>(this.payload, headers);
+	}
+
+	/**
+	 * Share the header array of the provided {@link CompactMessageHeaders}
+	 * if this builder has no headers yet.
+	 * @param headersToCopy the headers to copy.
+	 * @return true if the header array is shared.
+	 */
+	private boolean share(Map<String, ?> headersToCopy) {
+		if (this.length > 0 || !(headersToCopy instanceof CompactMessageHeaders)) {
+			return false;
+		}
+		Object[] entriesToShare = ((CompactMessageHeaders) headersToCopy).getEntries();
+		if (this.readOnlyHeaders != null) {
+			for (String readOnlyHeader : this.readOnlyHeaders) {
+				if (CompactMessageHeaders.valueOf(entriesToShare, readOnlyHeader) != null) {
+					return false;
+				}
+			}
+		}
+		this.entries = entriesToShare;
+		this.length = entriesToShare.length;
+		this.shared = true;
+		this.modified = true;
+		return true;
+	}
+
+	@Nullable
+	private Object get(String headerName) {
+		int index = indexOf(headerName);
+		return index >= 0 ? this.entries[index + 1] : null;
+	}
+
+	private int indexOf(String headerName) {
+		for (int i = 0; i < this.length; i += 2) {
+			if (this.entries[i].equals(headerName)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void remove(int index) {
+		copyOnWrite(0);
+		System.arraycopy(this.entries, index + 2, this.entries, index, this.length - index - 2);
+		this.entries[--this.length] = null;
+		this.entries[--this.length] = null;
+		this.modified = true;
+	}
+
+	private void copyOnWrite(int extra) {
+		int required = this.length + extra;
+		if (this.shared || required > this.entries.length) {
+			int capacity = Math.max(required, this.shared ? this.length + 4 : this.entries.length * 2);
+			this.entries = Arrays.copyOf(this.entries, capacity);
+			this.shared = false;
+		}
+	}
+
+	private boolean isReadOnly(String headerName) {
+		return MessageHeaders.ID.equals(headerName) || MessageHeaders.TIMESTAMP.equals(headerName)
+				|| (this.readOnlyHeaders != null && ObjectUtils.containsElement(this.readOnlyHeaders, headerName));
+	}
+
+	private static void verifyType(String headerName, @Nullable Object headerValue) {
+		if (headerValue != null) {
+			if (MessageHeaders.ERROR_CHANNEL.equals(headerName) || MessageHeaders.REPLY_CHANNEL.equals(headerName)) {
+				Assert.isTrue(headerValue instanceof MessageChannel || headerValue instanceof String,
+						() -> "'" + headerName + "' header value must be a MessageChannel or String");
+			}
+			else if (IntegrationMessageHeaderAccessor.EXPIRATION_DATE.equals(headerName)) {
+				Assert.isTrue(headerValue instanceof Date || headerValue instanceof Long,
+						() -> "The '" + headerName + "' header value must be a Date or Long.");
+			}
+			else if (IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER.equals(headerName)
+					|| IntegrationMessageHeaderAccessor.SEQUENCE_SIZE.equals(headerName)
+					|| IntegrationMessageHeaderAccessor.PRIORITY.equals(headerName)) {
+				Assert.isTrue(headerValue instanceof Number,
+						() -> "The '" + headerName + "' header value must be a Number.");
+			}
+			else if (IntegrationMessageHeaderAccessor.ROUTING_SLIP.equals(headerName)) {
+				Assert.isTrue(headerValue instanceof Map,
+						() -> "The '" + headerName + "' header value must be a Map.");
+			}
+			else if (IntegrationMessageHeaderAccessor.DUPLICATE_MESSAGE.equals(headerName)) {
+				Assert.isTrue(headerValue instanceof Boolean,
+						() -> "The '" + headerName + "' header value must be an Boolean.");
+			}
+		}
+	}
+
+	private static Object[] toEntries(MessageHeaders headers) {
+		int size = headers.size();
+		if (headers.containsKey(MessageHeaders.ID)) {
+			size--;
+		}
+		if (headers.containsKey(MessageHeaders.TIMESTAMP)) {
+			size--;
+		}
+		Object[] entries = new Object[size * 2];
+		int index = 0;
+		for (Map.Entry<String, Object> entry : headers.entrySet()) {
+			String headerName = entry.getKey();
+			if (!MessageHeaders.ID.equals(headerName) && !MessageHeaders.TIMESTAMP.equals(headerName)) {
+				entries[index++] = headerName;
+				entries[index++] = entry.getValue();
+			}
+		}
+		return entries;
+	}
+
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * An immutable {@link MessageHeaders} backed by a flat array of name/value pairs
+ * instead of a {@link java.util.HashMap}.
+ * <p>
+ * The array is never modified after construction, so it is shared as is between
+ * messages derived from each other via the {@link CompactMessageBuilder} when their
+ * headers (other than {@link MessageHeaders#ID} and {@link MessageHeaders#TIMESTAMP})
+ * are not changed. The lookup is a linear scan, which is cheaper than hashing for the
+ * small number of headers this class is intended for.
+ * <p>
+ * Note: the {@link MessageHeaders#equals(Object)} compares the internal maps directly and
+ * the internal map of this class is always empty (the superclass allocates it anyway, but
+ * without a hash table since nothing is put into it), so, for the symmetry, an instance is
+ * equal only to another {@link CompactMessageHeaders} with the same content.
+ * Copy the headers into a {@link Map} to compare them with a regular {@link MessageHeaders}.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ *
+ * @see CompactMessageBuilder
+ */
+public final class CompactMessageHeaders extends MessageHeaders {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private final transient Object[] entries;
+
+	@Nullable
+	private final transient UUID id;
+
+	@Nullable
+	private final transient Long timestamp;
+
+	private transient Set<Map.Entry<String, Object>> entrySet;
+
+	/**
+	 * Create an instance with a generated id and the current timestamp.
+	 * @param entries the array of name/value pairs; not copied, must not be modified by the caller.
+	 */
+	CompactMessageHeaders(Object[] entries) {
+		this(entries, generateId(), System.currentTimeMillis());
+	}
+
+	private CompactMessageHeaders(Object[] entries, @Nullable UUID id, @Nullable Long timestamp) {
+		// The cheapest superclass state: an empty map which never allocates its hash table
+		super(null, ID_VALUE_NONE, -1L);
+		this.entries = entries;
+		this.id = id;
+		this.timestamp = timestamp;
+	}
+
+	Object[] getEntries() {
+		return this.entries;
+	}
+
+	@Override
+	@Nullable
+	public UUID getId() {
+		return this.id;
+	}
+
+	@Override
+	@Nullable
+	public Long getTimestamp() {
+		return this.timestamp;
+	}
+
+	@Override
+	@Nullable
+	public Object getReplyChannel() {
+		return get(REPLY_CHANNEL);
+	}
+
+	@Override
+	@Nullable
+	public Object getErrorChannel() {
+		return get(ERROR_CHANNEL);
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Class<T> type) {
+		Object value = get(key);
+		if (value == null) {
+			return null;
+		}
+		if (!type.isAssignableFrom(value.getClass())) {
+			throw new IllegalArgumentException("Incorrect type specified for header '" +
+					key + "'. Expected [" + type + "] but actual type is [" + value.getClass() + "]");
+		}
+		return (T) value;
+	}
+
+	@Override
+	@Nullable
+	public Object get(Object key) {
+		if (ID.equals(key)) {
+			return this.id;
+		}
+		if (TIMESTAMP.equals(key)) {
+			return this.timestamp;
+		}
+		return valueOf(this.entries, key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public boolean containsValue(Object value) {
+		if (value == null) {
+			return false;
+		}
+		if (value.equals(this.id) || value.equals(this.timestamp)) {
+			return true;
+		}
+		for (int i = 1; i < this.entries.length; i += 2) {
+			if (value.equals(this.entries[i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int size() {
+		return this.entries.length / 2 + (this.id != null ? 1 : 0) + (this.timestamp != null ? 1 : 0);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		if (this.entrySet == null) {
+			this.entrySet = new EntrySet();
+		}
+		return this.entrySet;
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return new AbstractSet<String>() {
+
+			@Override
+			public Iterator<String> iterator() {
+				Iterator<Map.Entry<String, Object>> iterator = entrySet().iterator();
+				return new Iterator<String>() {
+
+					@Override
+					public boolean hasNext() {
+						return iterator.hasNext();
+					}
+
+					@Override
+					public String next() {
+						return iterator.next().getKey();
+					}
+
+				};
+			}
+
+			@Override
+			public boolean contains(Object key) {
+				return containsKey(key);
+			}
+
+			@Override
+			public int size() {
+				return CompactMessageHeaders.this.size();
+			}
+
+		};
+	}
+
+	@Override
+	public Collection<Object> values() {
+		List<Object> values = new ArrayList<>(size());
+		for (Map.Entry<String, Object> entry : entrySet()) {
+			values.add(entry.getValue());
+		}
+		return values;
+	}
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		if (this == other) {
+			return true;
+		}
+		if (!(other instanceof CompactMessageHeaders)) {
+			return false;
+		}
+		CompactMessageHeaders headers = (CompactMessageHeaders) other;
+		return headers.size() == size() && containsAll(this, headers) && containsAll(headers, this);
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 0;
+		for (Map.Entry<String, Object> entry : entrySet()) {
+			hash += entry.hashCode();
+		}
+		return hash;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for (Map.Entry<String, Object> entry : entrySet()) {
+			if (sb.length() > 1) {
+				sb.append(", ");
+			}
+			sb.append(entry.getKey()).append('=').append(entry.getValue());
+		}
+		return sb.append('}').toString();
+	}
+
+	private Object writeReplace() {
+		List<Object> serializable = new ArrayList<>(this.entries.length);
+		for (int i = 0; i < this.entries.length; i += 2) {
+			if (this.entries[i + 1] instanceof Serializable) {
+				serializable.add(this.entries[i]);
+				serializable.add(this.entries[i + 1]);
+			}
+		}
+		return new SerializedForm(serializable.toArray(), this.id, this.timestamp);
+	}
+
+	private static boolean containsAll(Map<String, Object> target, Map<String, Object> source) {
+		for (Map.Entry<String, Object> entry : source.entrySet()) {
+			if (!entry.getValue().equals(target.get(entry.getKey()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Nullable
+	static Object valueOf(Object[] entries, Object key) {
+		for (int i = 0; i < entries.length; i += 2) {
+			if (entries[i].equals(key)) {
+				return entries[i + 1];
+			}
+		}
+		return null;
+	}
+
+	@Nullable
+	private static UUID generateId() {
+		UUID id = getIdGenerator().generateId();
+		return ObjectUtils.nullSafeEquals(id, ID_VALUE_NONE) ? null : id;
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+		EntrySet() {
+		}
+
+		@Override
+		public Iterator<Map.Entry<String, Object>> iterator() {
+			return new Iterator<Map.Entry<String, Object>>() {
+
+				private int index = CompactMessageHeaders.this.id != null ? -2 : -1;
+
+				@Override
+				public boolean hasNext() {
+					if (this.index == -1 && CompactMessageHeaders.this.timestamp == null) {
+						this.index = 0;
+					}
+					return this.index < CompactMessageHeaders.this.entries.length;
+				}
+
+				@Override
+				public Map.Entry<String, Object> next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					Map.Entry<String, Object> entry;
+					if (this.index == -2) {
+						entry = new AbstractMap.SimpleImmutableEntry<>(ID, CompactMessageHeaders.this.id);
+						this.index = -1;
+					}
+					else if (this.index == -1) {
+						entry = new AbstractMap.SimpleImmutableEntry<>(TIMESTAMP, CompactMessageHeaders.this.timestamp);
+						this.index = 0;
+					}
+					else {
+						Object[] entries = CompactMessageHeaders.this.entries;
+						entry = new AbstractMap.SimpleImmutableEntry<>((String) entries[this.index],
+								entries[this.index + 1]);
+						this.index += 2;
+					}
+					return entry;
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return CompactMessageHeaders.this.size();
+		}
+
+	}
+
+	/**
+	 * The serialized form of the {@link CompactMessageHeaders}.
+	 */
+	private static final class SerializedForm implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Object[] entries;
+
+		private final UUID id;
+
+		private final Long timestamp;
+
+		SerializedForm(Object[] entries, @Nullable UUID id, @Nullable Long timestamp) {
+			this.entries = entries;
+			this.id = id;
+			this.timestamp = timestamp;
+		}
+
+		private Object readResolve() {
+			return new CompactMessageHeaders(this.entries != null ? this.entries : EMPTY, this.id, this.timestamp);
+		}
+
+	}
+
+}
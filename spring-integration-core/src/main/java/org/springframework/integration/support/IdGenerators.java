@@ -17,6 +17,7 @@
 package org.springframework.integration.support;
 
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.util.IdGenerator;
@@ -27,6 +28,8 @@ import org.springframework.util.IdGenerator;
  *
  * @author Andy Wilkinson
  * @author Gary Russell
+ * @author Artem Bilan
+ *
  * @since 4.0
  *
  */
@@ -79,4 +82,68 @@ public class IdGenerators {
 
 	}
 
+	/**
+	 * Generates time-ordered (version 7 layout) {@link UUID}s: the most significant 48 bits
+	 * are the Unix epoch milliseconds, followed by the version, 12 random bits, the variant
+	 * and 62 bits of a per-thread monotonic counter.
+	 * <p>
+	 * The random bits and the counter start are drawn from the {@link ThreadLocalRandom}
+	 * once per millisecond per thread; within the same millisecond the counter is
+	 * incremented, so there is no contention between threads and the IDs generated
+	 * by the same thread are strictly increasing, even if the clock goes backwards.
+	 * IDs generated by different threads (or JVMs) are ordered by the millisecond only
+	 * and are made unique by the random bits.
+	 * <p>
+	 * The IDs are much cheaper to generate than {@link UUID#randomUUID()} and, being
+	 * time-ordered, they are also friendlier to B-tree indexes when used as keys.
+	 *
+	 * @since 5.2.3
+	 */
+	public static class TimeOrderedIdGenerator implements IdGenerator {
+
+		private static final long VERSION = 0x7000L;
+
+		private static final long VARIANT = 0x8000_0000_0000_0000L;
+
+		private static final long RANDOM_A_MASK = 0x0fffL;
+
+		/**
+		 * The counter starts in the lower half of its 62 bits, leaving room for
+		 * {@code 2^61} increments per millisecond.
+		 */
+		private static final long COUNTER_START_MASK = 0x1fff_ffff_ffff_ffffL;
+
+		private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+		@Override
+		public UUID generateId() {
+			State current = this.state.get();
+			long now = System.currentTimeMillis();
+			if (now > current.timestamp) {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				current.timestamp = now;
+				current.randomA = random.nextLong() & RANDOM_A_MASK;
+				current.counter = random.nextLong() & COUNTER_START_MASK;
+			}
+			else {
+				current.counter++;
+			}
+			return new UUID((current.timestamp << 16) | VERSION | current.randomA, VARIANT | current.counter);
+		}
+
+		private static final class State {
+
+			private long timestamp = -1;
+
+			private long randomA;
+
+			private long counter;
+
+			State() {
+			}
+
+		}
+
+	}
+
 }
@@ -0,0 +1,353 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.locks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.util.Assert;
+
+/**
+ * A {@link LockRegistry} with a dedicated {@link ReentrantLock} per key.
+ * <p>
+ * Unlike the {@link DefaultLockRegistry}, unrelated keys never share the same lock.
+ * A per-key lock is created on demand and is reference counted by the threads which
+ * hold or wait for it, so it is discarded as soon as the last of them unlocks it:
+ * the registry size is bound by the number of keys in use, not by the number of keys
+ * ever seen.
+ * <p>
+ * The keys are distributed by their hash code between a fixed (power of two) number of
+ * stripes; each stripe guards its own key-to-lock map. The contention statistics are
+ * gathered per stripe and are available via {@link #getStripeStatistics()}.
+ * <p>
+ * The {@link Lock#newCondition()} is not supported.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public final class StripedLockRegistry implements LockRegistry {
+
+	private static final int DEFAULT_STRIPES = 64;
+
+	private final Stripe[] stripes;
+
+	private final int mask;
+
+	/**
+	 * Construct an instance with 64 stripes.
+	 */
+	public StripedLockRegistry() {
+		this(DEFAULT_STRIPES);
+	}
+
+	/**
+	 * Construct an instance with the provided number of stripes;
+	 * the value is rounded up to the next power of two.
+	 * @param stripes the number of stripes.
+	 */
+	public StripedLockRegistry(int stripes) {
+		Assert.isTrue(stripes > 0 && stripes <= (1 << 16), "'stripes' must be in range [1, 65536]");
+		int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+		this.mask = size - 1;
+		this.stripes = new Stripe[size];
+		for (int i = 0; i < size; i++) {
+			this.stripes[i] = new Stripe();
+		}
+	}
+
+	@Override
+	public Lock obtain(Object lockKey) {
+		Assert.notNull(lockKey, "'lockKey' must not be null");
+		return new KeyLock(lockKey, this.stripes[spread(lockKey.hashCode()) & this.mask]);
+	}
+
+	/**
+	 * Return the number of per-key locks currently held or awaited.
+	 * @return the number of locks in use.
+	 */
+	public int getLockCount() {
+		int count = 0;
+		for (Stripe stripe : this.stripes) {
+			count += stripe.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Return a snapshot of the contention statistics for each stripe.
+	 * @return the statistics.
+	 */
+	public List<StripeStatistics> getStripeStatistics() {
+		List<StripeStatistics> statistics = new ArrayList<>(this.stripes.length);
+		for (int i = 0; i < this.stripes.length; i++) {
+			Stripe stripe = this.stripes[i];
+			statistics.add(new StripeStatistics(i, stripe.size(), stripe.acquisitions.sum(),
+					stripe.contentions.sum(), stripe.waitNanos.sum()));
+		}
+		return Collections.unmodifiableList(statistics);
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * The contention statistics snapshot for a stripe.
+	 */
+	public static final class StripeStatistics {
+
+		private final int index;
+
+		private final int lockCount;
+
+		private final long acquisitions;
+
+		private final long contentions;
+
+		private final long waitNanos;
+
+		StripeStatistics(int index, int lockCount, long acquisitions, long contentions, long waitNanos) {
+			this.index = index;
+			this.lockCount = lockCount;
+			this.acquisitions = acquisitions;
+			this.contentions = contentions;
+			this.waitNanos = waitNanos;
+		}
+
+		public int getIndex() {
+			return this.index;
+		}
+
+		/**
+		 * Return the number of per-key locks currently in use in this stripe.
+		 * @return the number of locks.
+		 */
+		public int getLockCount() {
+			return this.lockCount;
+		}
+
+		/**
+		 * Return the total number of successful lock acquisitions in this stripe.
+		 * @return the number of acquisitions.
+		 */
+		public long getAcquisitions() {
+			return this.acquisitions;
+		}
+
+		/**
+		 * Return the number of acquisitions which had to wait for another holder.
+		 * @return the number of contended acquisitions.
+		 */
+		public long getContentions() {
+			return this.contentions;
+		}
+
+		/**
+		 * Return the total time in nanoseconds spent waiting for contended locks.
+		 * @return the wait time.
+		 */
+		public long getWaitNanos() {
+			return this.waitNanos;
+		}
+
+		@Override
+		public String toString() {
+			return "StripeStatistics{index=" + this.index
+					+ ", lockCount=" + this.lockCount
+					+ ", acquisitions=" + this.acquisitions
+					+ ", contentions=" + this.contentions
+					+ ", waitNanos=" + this.waitNanos + '}';
+		}
+
+	}
+
+	/**
+	 * The reference counted lock for a key; the count is guarded by the stripe monitor.
+	 */
+	private static final class CountedLock {
+
+		private final ReentrantLock delegate = new ReentrantLock();
+
+		private int references;
+
+		CountedLock() {
+		}
+
+	}
+
+	/**
+	 * A stripe of the registry: a key-to-lock map and contention counters.
+	 */
+	private static final class Stripe {
+
+		private final Map<Object, CountedLock> locks = new HashMap<>();
+
+		private final LongAdder acquisitions = new LongAdder();
+
+		private final LongAdder contentions = new LongAdder();
+
+		private final LongAdder waitNanos = new LongAdder();
+
+		Stripe() {
+		}
+
+		CountedLock retain(Object key) {
+			synchronized (this.locks) {
+				CountedLock lock = this.locks.computeIfAbsent(key, k -> new CountedLock());
+				lock.references++;
+				return lock;
+			}
+		}
+
+		CountedLock get(Object key) {
+			synchronized (this.locks) {
+				return this.locks.get(key);
+			}
+		}
+
+		void release(Object key, CountedLock lock) {
+			synchronized (this.locks) {
+				if (--lock.references == 0) {
+					this.locks.remove(key, lock);
+				}
+			}
+		}
+
+		int size() {
+			synchronized (this.locks) {
+				return this.locks.size();
+			}
+		}
+
+	}
+
+	private static final class KeyLock implements Lock {
+
+		private final Object key;
+
+		private final Stripe stripe;
+
+		KeyLock(Object key, Stripe stripe) {
+			this.key = key;
+			this.stripe = stripe;
+		}
+
+		@Override
+		public void lock() {
+			CountedLock lock = this.stripe.retain(this.key);
+			if (!lock.delegate.tryLock()) {
+				long start = System.nanoTime();
+				try {
+					lock.delegate.lock();
+				}
+				catch (RuntimeException | Error ex) {
+					this.stripe.release(this.key, lock);
+					throw ex;
+				}
+				contended(start);
+			}
+			this.stripe.acquisitions.increment();
+		}
+
+		@Override
+		public void lockInterruptibly() throws InterruptedException {
+			CountedLock lock = this.stripe.retain(this.key);
+			if (!lock.delegate.tryLock()) {
+				long start = System.nanoTime();
+				try {
+					lock.delegate.lockInterruptibly();
+				}
+				catch (InterruptedException | RuntimeException | Error ex) {
+					this.stripe.release(this.key, lock);
+					throw ex;
+				}
+				contended(start);
+			}
+			this.stripe.acquisitions.increment();
+		}
+
+		@Override
+		public boolean tryLock() {
+			CountedLock lock = this.stripe.retain(this.key);
+			if (lock.delegate.tryLock()) {
+				this.stripe.acquisitions.increment();
+				return true;
+			}
+			this.stripe.release(this.key, lock);
+			return false;
+		}
+
+		@Override
+		public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+			CountedLock lock = this.stripe.retain(this.key);
+			if (!lock.delegate.tryLock()) {
+				long start = System.nanoTime();
+				boolean acquired;
+				try {
+					acquired = lock.delegate.tryLock(time, unit);
+				}
+				catch (InterruptedException | RuntimeException | Error ex) {
+					this.stripe.release(this.key, lock);
+					throw ex;
+				}
+				if (!acquired) {
+					this.stripe.release(this.key, lock);
+					return false;
+				}
+				contended(start);
+			}
+			this.stripe.acquisitions.increment();
+			return true;
+		}
+
+		@Override
+		public void unlock() {
+			CountedLock lock = this.stripe.get(this.key);
+			if (lock == null) {
+				throw new IllegalMonitorStateException("The lock for key '" + this.key + "' is not held");
+			}
+			lock.delegate.unlock();
+			this.stripe.release(this.key, lock);
+		}
+
+		@Override
+		public Condition newCondition() {
+			throw new UnsupportedOperationException("Conditions are not supported");
+		}
+
+		private void contended(long start) {
+			this.stripe.contentions.increment();
+			this.stripe.waitNanos.add(System.nanoTime() - start);
+		}
+
+		@Override
+		public String toString() {
+			return "KeyLock [key=" + this.key + "]";
+		}
+
+	}
+
+}
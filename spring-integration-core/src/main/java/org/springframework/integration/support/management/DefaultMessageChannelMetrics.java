@@ -25,6 +25,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * @author Helena Edelson
  * @author Gary Russell
  * @author Ivan Krizsan
+ * @author Artem Bilan
  *
  * @since 2.0
  */
@@ -37,6 +38,8 @@ public class DefaultMessageChannelMetrics extends AbstractMessageChannelMetrics
 
 	public static final int DEFAULT_MOVING_AVERAGE_WINDOW = 10;
 
+	private static final MetricsContext COUNTS_ONLY_CONTEXT = new DefaultChannelMetricsContext(0);
+
 	protected final ExponentialMovingAverage sendDuration; // NOSONAR final
 
 	protected final ExponentialMovingAverageRate sendErrorRate; // NOSONAR final
@@ -102,13 +105,13 @@ public class DefaultMessageChannelMetrics extends AbstractMessageChannelMetrics
 
 	@Override
 	public MetricsContext beforeSend() {
-		long start = 0;
+		this.sendCount.incrementAndGet();
 		if (isFullStatsEnabled()) {
-			start = System.nanoTime();
+			long start = System.nanoTime();
 			this.sendRate.increment(start);
+			return new DefaultChannelMetricsContext(start);
 		}
-		this.sendCount.incrementAndGet();
-		return new DefaultChannelMetricsContext(start);
+		return COUNTS_ONLY_CONTEXT;
 	}
 
 	@Override
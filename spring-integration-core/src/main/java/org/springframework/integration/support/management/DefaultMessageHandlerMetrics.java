@@ -23,6 +23,7 @@ import java.util.concurrent.atomic.AtomicLong;
  *
  * @author Dave Syer
  * @author Gary Russell
+ * @author Artem Bilan
  * @since 2.0
  */
 @SuppressWarnings("deprecation")
@@ -30,6 +31,7 @@ public class DefaultMessageHandlerMetrics extends AbstractMessageHandlerMetrics
 
 	private static final int DEFAULT_MOVING_AVERAGE_WINDOW = 10;
 
+	private static final MetricsContext COUNTS_ONLY_CONTEXT = new DefaultHandlerMetricsContext(0);
 
 	protected final AtomicLong activeCount = new AtomicLong(); // NOSONAR final
 
@@ -66,13 +68,12 @@ public class DefaultMessageHandlerMetrics extends AbstractMessageHandlerMetrics
 
 	@Override
 	public MetricsContext beforeHandle() {
-		long start = 0;
-		if (isFullStatsEnabled()) {
-			start = System.nanoTime();
-		}
 		this.handleCount.incrementAndGet();
 		this.activeCount.incrementAndGet();
-		return new DefaultHandlerMetricsContext(start);
+		if (isFullStatsEnabled()) {
+			return new DefaultHandlerMetricsContext(System.nanoTime());
+		}
+		return COUNTS_ONLY_CONTEXT;
 	}
 
 	@Override
@@ -25,6 +25,7 @@ import org.springframework.jmx.export.annotation.ManagedOperation;
  * Base interface for Integration managed components.
  *
  * @author Gary Russell
+ * @author Artem Bilan
  * @since 4.2
  *
  */
@@ -36,6 +37,24 @@ public interface IntegrationManagement extends DisposableBean {
 
 	String RECEIVE_COUNTER_NAME = METER_PREFIX + "receive";
 
+	/**
+	 * The name of the timer for the time messages spend in a queue channel.
+	 * @since 5.2.3
+	 */
+	String QUEUE_WAIT_TIMER_NAME = METER_PREFIX + "queue.wait";
+
+	/**
+	 * The name of the timer for the time a handler spends in sending its output downstream.
+	 * @since 5.2.3
+	 */
+	String DOWNSTREAM_TIMER_NAME = METER_PREFIX + "downstream";
+
+	/**
+	 * The name of the timer for the time a correlating handler waits for a message group lock.
+	 * @since 5.2.3
+	 */
+	String LOCK_WAIT_TIMER_NAME = METER_PREFIX + "lock.wait";
+
 	@ManagedAttribute(description = "Use to disable debug logging during normal message flow")
 	void setLoggingEnabled(boolean enabled);
 
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.management.metrics;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link MetricsCaptor} decorator which configures all the timers built via this
+ * captor to publish a percentile histogram, client-side percentiles and service level
+ * objective buckets. Counters and gauges are built by the delegate as is.
+ * <p>
+ * Since the settings are applied to the timer builder, they are accounted only once,
+ * when the timer is registered: there is no additional overhead in the recording
+ * except the one added by the histogram in the metrics implementation itself.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public class HistogramMetricsCaptor implements MetricsCaptor {
+
+	private final MetricsCaptor delegate;
+
+	private double[] percentiles = { };
+
+	private Duration[] serviceLevelObjectives = { };
+
+	private boolean percentileHistogram = true;
+
+	public HistogramMetricsCaptor(MetricsCaptor delegate) {
+		Assert.notNull(delegate, "'delegate' must not be null");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Set the client-side computed percentiles to publish for timers.
+	 * @param percentiles the percentiles, e.g. {@code 0.5, 0.99, 0.999}.
+	 */
+	public void setPercentiles(double... percentiles) {
+		Assert.notNull(percentiles, "'percentiles' must not be null");
+		this.percentiles = Arrays.copyOf(percentiles, percentiles.length);
+	}
+
+	/**
+	 * Set the service level objectives to publish buckets for.
+	 * @param serviceLevelObjectives the objectives.
+	 */
+	public void setServiceLevelObjectives(Duration... serviceLevelObjectives) {
+		Assert.notNull(serviceLevelObjectives, "'serviceLevelObjectives' must not be null");
+		Assert.noNullElements(serviceLevelObjectives, "'serviceLevelObjectives' must not contain null elements");
+		this.serviceLevelObjectives = Arrays.copyOf(serviceLevelObjectives, serviceLevelObjectives.length);
+	}
+
+	/**
+	 * Set to false to not publish a percentile histogram for timers.
+	 * Defaults to true.
+	 * @param percentileHistogram false to not publish a histogram.
+	 */
+	public void setPercentileHistogram(boolean percentileHistogram) {
+		this.percentileHistogram = percentileHistogram;
+	}
+
+	@Override
+	public TimerBuilder timerBuilder(String name) {
+		TimerBuilder builder = this.delegate.timerBuilder(name);
+		if (this.percentileHistogram) {
+			builder.publishPercentileHistogram();
+		}
+		if (this.percentiles.length > 0) {
+			builder.publishPercentiles(this.percentiles);
+		}
+		if (this.serviceLevelObjectives.length > 0) {
+			builder.serviceLevelObjectives(this.serviceLevelObjectives);
+		}
+		return builder;
+	}
+
+	@Override
+	public CounterBuilder counterBuilder(String name) {
+		return this.delegate.counterBuilder(name);
+	}
+
+	@Override
+	public GaugeBuilder gaugeBuilder(String name, @Nullable Object obj, ToDoubleFunction<Object> f) {
+		return this.delegate.gaugeBuilder(name, obj, f);
+	}
+
+	@Override
+	public SampleFacade start() {
+		return this.delegate.start();
+	}
+
+	@Override
+	@Nullable
+	public MeterFacade removeMeter(MeterFacade facade) {
+		return this.delegate.removeMeter(facade);
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.integration.support.management.metrics;
 
+import java.time.Duration;
 import java.util.function.ToDoubleFunction;
 
 import org.springframework.lang.Nullable;
@@ -24,6 +25,7 @@ import org.springframework.lang.Nullable;
  * A metrics facade that delegates to a concrete implementation.
  *
  * @author Gary Russell
+ * @author Artem Bilan
  * @since 5.0.4
  *
  */
@@ -89,6 +91,39 @@ public interface MetricsCaptor {
 		 */
 		TimerBuilder description(String desc);
 
+		/**
+		 * Publish client-side computed percentiles for the timer;
+		 * ignored if not supported by the underlying metrics implementation.
+		 * @param percentiles the percentiles, e.g. {@code 0.5, 0.99, 0.999}.
+		 * @return the builder.
+		 * @since 5.2.3
+		 */
+		default TimerBuilder publishPercentiles(double... percentiles) {
+			return this;
+		}
+
+		/**
+		 * Publish a percentile histogram for the timer, so the percentiles can be
+		 * aggregated on the monitoring system side;
+		 * ignored if not supported by the underlying metrics implementation.
+		 * @return the builder.
+		 * @since 5.2.3
+		 */
+		default TimerBuilder publishPercentileHistogram() {
+			return this;
+		}
+
+		/**
+		 * Publish buckets for the provided service level objectives;
+		 * ignored if not supported by the underlying metrics implementation.
+		 * @param objectives the service level objectives.
+		 * @return the builder.
+		 * @since 5.2.3
+		 */
+		default TimerBuilder serviceLevelObjectives(Duration... objectives) {
+			return this;
+		}
+
 		/**
 		 * Build the timer.
 		 * @return the timer.
@@ -16,6 +16,7 @@
 
 package org.springframework.integration.support.management.micrometer;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import java.util.function.ToDoubleFunction;
 
@@ -142,6 +143,24 @@ public class MicrometerMetricsCaptor implements MetricsCaptor {
 			return this;
 		}
 
+		@Override
+		public MicroTimerBuilder publishPercentiles(double... percentiles) {
+			this.builder.publishPercentiles(percentiles);
+			return this;
+		}
+
+		@Override
+		public MicroTimerBuilder publishPercentileHistogram() {
+			this.builder.publishPercentileHistogram();
+			return this;
+		}
+
+		@Override
+		public MicroTimerBuilder serviceLevelObjectives(Duration... objectives) {
+			this.builder.sla(objectives);
+			return this;
+		}
+
 		@Override
 		public MicroTimer build() {
 			return new MicroTimer(this.builder.register(this.meterRegistry), this.meterRegistry);
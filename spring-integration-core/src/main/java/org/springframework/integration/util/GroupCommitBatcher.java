@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.util.Assert;
+
+/**
+ * Coalesces items added concurrently into batches for a single write (group commit),
+ * e.g. for inserting messages into a store.
+ * <p>
+ * The first caller for a new batch becomes its owner and writes it when it is full, or
+ * when the linger time has elapsed and no other batch is being written; so, while the
+ * target is busy with one batch, the next one accumulates the concurrently added items.
+ * Every caller is blocked until its batch has been written and gets the batch write
+ * exception, if any.
+ *
+ * @param <T> the batch item type.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public class GroupCommitBatcher<T> {
+
+	private final Object monitor = new Object();
+
+	private final int batchSize;
+
+	private final long lingerNanos;
+
+	private final Consumer<List<T>> batchWriter;
+
+	private Batch<T> currentBatch;
+
+	private int batchesInFlight;
+
+	/**
+	 * Create an instance for the provided batch size, linger time and batch writer.
+	 * @param batchSize the maximum number of items in a batch.
+	 * @param linger the time in milliseconds to wait for more items before writing a
+	 * batch which is not full.
+	 * @param batchWriter the {@link Consumer} to write a batch of items.
+	 */
+	public GroupCommitBatcher(int batchSize, long linger, Consumer<List<T>> batchWriter) {
+		Assert.isTrue(batchSize > 0, "'batchSize' must be greater than 0");
+		Assert.notNull(batchWriter, "'batchWriter' must not be null");
+		this.batchSize = batchSize;
+		this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(linger);
+		this.batchWriter = batchWriter;
+	}
+
+	/**
+	 * Add the item to the current batch and block until that batch has been written.
+	 * @param item the item to write.
+	 * @throws RuntimeException the exception from the batch writer, if any.
+	 */
+	public void add(T item) {
+		Batch<T> batch;
+		boolean owner = false;
+		synchronized (this.monitor) {
+			batch = this.currentBatch;
+			if (batch == null) {
+				batch = new Batch<>();
+				this.currentBatch = batch;
+				owner = true;
+			}
+			batch.items.add(item);
+			if (batch.items.size() >= this.batchSize) {
+				this.currentBatch = null;
+				this.monitor.notifyAll();
+			}
+		}
+		if (owner) {
+			write(batch);
+		}
+		batch.await();
+	}
+
+	private void write(Batch<T> batch) {
+		synchronized (this.monitor) {
+			long deadline = System.nanoTime() + this.lingerNanos;
+			while (this.currentBatch == batch) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0 && this.batchesInFlight == 0) {
+					this.currentBatch = null;
+				}
+				else {
+					try {
+						if (remaining > 0) {
+							TimeUnit.NANOSECONDS.timedWait(this.monitor, remaining);
+						}
+						else {
+							this.monitor.wait();
+						}
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						this.currentBatch = null;
+					}
+				}
+			}
+			this.batchesInFlight++;
+		}
+		try {
+			this.batchWriter.accept(batch.items);
+			batch.result.complete(null);
+		}
+		catch (Throwable t) { // NOSONAR
+			batch.result.completeExceptionally(t);
+		}
+		finally {
+			synchronized (this.monitor) {
+				this.batchesInFlight--;
+				this.monitor.notifyAll();
+			}
+		}
+	}
+
+	private static final class Batch<T> {
+
+		private final List<T> items = new ArrayList<>();
+
+		private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+		Batch() {
+		}
+
+		void await() {
+			try {
+				this.result.join();
+			}
+			catch (CompletionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+
+	}
+
+}
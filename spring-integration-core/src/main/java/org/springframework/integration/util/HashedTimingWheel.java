@@ -0,0 +1,270 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * A hashed timing wheel for a large number of delayed tasks with the same precision
+ * requirements, e.g. message delays.
+ * <p>
+ * The tasks are placed into a ring of buckets by their deadline, so scheduling is O(1)
+ * and doesn't contend with other schedulers: new tasks are just offered to a lock-free
+ * queue which is drained into the buckets on each tick. The wheel is advanced by a single
+ * fixed-rate task on the provided {@link TaskScheduler}; all the tasks which are due on
+ * a tick are executed as a batch on that thread, in the order of the buckets.
+ * A task is executed no earlier than its deadline, but up to one tick duration later.
+ * <p>
+ * Exceptions thrown by the tasks are handled by the {@link ErrorHandler} and don't stop
+ * the wheel.
+ * <p>
+ * Each scheduled task is represented by a {@link ScheduledFuture} which can be used as a
+ * cancellation token: a cancelled task is never executed and is purged from its bucket
+ * on the next wheel revolution.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public class HashedTimingWheel {
+
+	/**
+	 * The default number of buckets in the wheel.
+	 */
+	public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+	private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger pendingCount = new AtomicInteger();
+
+	private final long tickDuration;
+
+	private final long tickDurationNanos;
+
+	private final Bucket[] wheel;
+
+	private final int mask;
+
+	private ErrorHandler errorHandler = TaskUtils.LOG_AND_SUPPRESS_ERROR_HANDLER;
+
+	private volatile long startTime;
+
+	private volatile ScheduledFuture<?> ticker;
+
+	private boolean started;
+
+	private long tick;
+
+	/**
+	 * Create a wheel with the provided tick duration and {@link #DEFAULT_TICKS_PER_WHEEL}.
+	 * @param tickDuration the tick duration in milliseconds.
+	 */
+	public HashedTimingWheel(long tickDuration) {
+		this(tickDuration, DEFAULT_TICKS_PER_WHEEL);
+	}
+
+	/**
+	 * Create a wheel with the provided tick duration and number of buckets.
+	 * @param tickDuration the tick duration in milliseconds.
+	 * @param ticksPerWheel the number of buckets; rounded up to the power of 2.
+	 */
+	public HashedTimingWheel(long tickDuration, int ticksPerWheel) {
+		Assert.isTrue(tickDuration > 0, "'tickDuration' must be greater than 0");
+		Assert.isTrue(ticksPerWheel > 0 && ticksPerWheel <= 1 << 30, // NOSONAR magic number
+				"'ticksPerWheel' must be in range 1..2^30");
+		this.tickDuration = tickDuration;
+		this.tickDurationNanos = TimeUnit.MILLISECONDS.toNanos(tickDuration);
+		int buckets = Integer.highestOneBit(ticksPerWheel);
+		if (buckets < ticksPerWheel) {
+			buckets <<= 1;
+		}
+		this.wheel = new Bucket[buckets];
+		for (int i = 0; i < buckets; i++) {
+			this.wheel[i] = new Bucket();
+		}
+		this.mask = buckets - 1;
+	}
+
+	/**
+	 * Set the {@link ErrorHandler} for exceptions thrown by the tasks.
+	 * Defaults to log and suppress.
+	 * @param errorHandler the error handler.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		Assert.notNull(errorHandler, "'errorHandler' must not be null");
+		this.errorHandler = errorHandler;
+	}
+
+	public long getTickDuration() {
+		return this.tickDuration;
+	}
+
+	/**
+	 * Start ticking on the provided scheduler; a no-op if already started.
+	 * @param taskScheduler the scheduler to advance the wheel.
+	 */
+	public synchronized void start(TaskScheduler taskScheduler) {
+		if (this.ticker == null) {
+			if (!this.started) {
+				this.startTime = System.nanoTime();
+				this.started = true;
+			}
+			this.ticker = taskScheduler.scheduleAtFixedRate(this::tick, this.tickDuration);
+		}
+	}
+
+	/**
+	 * Stop ticking; the not expired tasks are kept and executed (if due) on the
+	 * first tick after {@link #start(TaskScheduler) restart}.
+	 */
+	public synchronized void stop() {
+		if (this.ticker != null) {
+			this.ticker.cancel(false);
+			this.ticker = null;
+		}
+	}
+
+	public boolean isRunning() {
+		return this.ticker != null;
+	}
+
+	/**
+	 * Schedule the task for execution after the provided delay.
+	 * @param task the task.
+	 * @param delay the delay in milliseconds; a value not greater than 0 means the next tick.
+	 * @return the future to cancel the task.
+	 */
+	public ScheduledFuture<?> schedule(Runnable task, long delay) {
+		Assert.state(isRunning(), "The timing wheel is not started");
+		long deadline = System.nanoTime() - this.startTime + TimeUnit.MILLISECONDS.toNanos(Math.max(delay, 0));
+		Timeout timeout = new Timeout(task, deadline);
+		this.pendingTimeouts.offer(timeout);
+		this.pendingCount.incrementAndGet();
+		return timeout;
+	}
+
+	/**
+	 * Return the number of tasks in the wheel (including not yet placed into buckets
+	 * and cancelled, but not purged yet).
+	 * @return the number of tasks.
+	 */
+	public int size() {
+		return this.pendingCount.get();
+	}
+
+	private void tick() {
+		long now = System.nanoTime() - this.startTime;
+		List<Timeout> expired = new ArrayList<>();
+		while ((this.tick + 1) * this.tickDurationNanos <= now) {
+			transferPendingTimeouts();
+			this.wheel[(int) (this.tick & this.mask)].expire(now, expired);
+			this.tick++;
+		}
+		for (Timeout timeout : expired) {
+			timeout.run();
+		}
+	}
+
+	private void transferPendingTimeouts() {
+		Timeout timeout;
+		while ((timeout = this.pendingTimeouts.poll()) != null) {
+			long calculated = timeout.deadline / this.tickDurationNanos;
+			timeout.remainingRounds = (calculated - this.tick) / this.wheel.length;
+			// Don't schedule into the past: the overdue tasks go to the current bucket
+			long ticks = Math.max(calculated, this.tick);
+			this.wheel[(int) (ticks & this.mask)].add(timeout);
+		}
+	}
+
+	private final class Bucket {
+
+		private final ArrayDeque<Timeout> timeouts = new ArrayDeque<>();
+
+		Bucket() {
+		}
+
+		void add(Timeout timeout) {
+			this.timeouts.add(timeout);
+		}
+
+		void expire(long now, List<Timeout> expired) {
+			Iterator<Timeout> iterator = this.timeouts.iterator();
+			while (iterator.hasNext()) {
+				Timeout timeout = iterator.next();
+				if (timeout.isCancelled()) {
+					iterator.remove();
+					HashedTimingWheel.this.pendingCount.decrementAndGet();
+				}
+				else if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+					iterator.remove();
+					HashedTimingWheel.this.pendingCount.decrementAndGet();
+					expired.add(timeout);
+				}
+				else if (timeout.remainingRounds > 0) {
+					timeout.remainingRounds--;
+				}
+			}
+		}
+
+	}
+
+	private final class Timeout extends FutureTask<Object> implements ScheduledFuture<Object> {
+
+		private final long deadline;
+
+		private long remainingRounds;
+
+		Timeout(Runnable task, long deadline) {
+			super(task, null);
+			this.deadline = deadline;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.deadline - (System.nanoTime() - HashedTimingWheel.this.startTime),
+					TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+		}
+
+		@Override
+		protected void setException(Throwable t) {
+			super.setException(t);
+			HashedTimingWheel.this.errorHandler.handleError(t);
+		}
+
+	}
+
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded, array-based, lock-free multi-producer/multi-consumer {@link BlockingQueue}.
+ * <p>
+ * Each slot of the ring buffer carries a sequence number which is used by producers and
+ * consumers to claim the slot with a single CAS on the shared tail or head position,
+ * so there is no node allocation per element and no lock hand off between threads.
+ * The blocking operations ({@link #put}, {@link #take} and their timed variants)
+ * retry the non-blocking ones and wait in between according to the configured
+ * {@link WaitStrategy}.
+ * <p>
+ * The capacity is rounded up to the next power of two.
+ * <p>
+ * An arbitrary element {@link #remove(Object) removal} (e.g. for the
+ * {@link org.springframework.integration.channel.QueueChannel#purge} operation) marks
+ * the slot as removed; such a slot is skipped by consumers later on. The removed slots
+ * at the head of the queue are reclaimed immediately; a slot removed from the middle
+ * still occupies the ring buffer until the consumers pass it, so it is not included
+ * into the {@link #size()}, but it is not reported by the {@link #remainingCapacity()}
+ * either.
+ * <p>
+ * The {@link #iterator()} is weakly consistent and works on a snapshot of the queue.
+ *
+ * @param <E> the type of elements held in this queue.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public class LockFreeArrayBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+	private static final Object REMOVED = new Object();
+
+	private static final int PARK_SPINS = 100;
+
+	private static final int PARK_YIELDS = PARK_SPINS + 100;
+
+	private static final long MAX_PARK_NANOS = 1_000_000L;
+
+	private final PaddedAtomicLong head = new PaddedAtomicLong();
+
+	private final PaddedAtomicLong tail = new PaddedAtomicLong();
+
+	private final AtomicInteger removedCount = new AtomicInteger();
+
+	private final int capacity;
+
+	private final int mask;
+
+	private final AtomicLongArray sequences;
+
+	private final AtomicReferenceArray<Object> elements;
+
+	private final WaitStrategy waitStrategy;
+
+	/**
+	 * Create a queue with the provided capacity and {@link WaitStrategy#PARK} for
+	 * blocking operations.
+	 * @param capacity the capacity; rounded up to the next power of two.
+	 */
+	public LockFreeArrayBlockingQueue(int capacity) {
+		this(capacity, WaitStrategy.PARK);
+	}
+
+	/**
+	 * Create a queue with the provided capacity and {@link WaitStrategy} for
+	 * blocking operations.
+	 * @param capacity the capacity; rounded up to the next power of two.
+	 * @param waitStrategy the {@link WaitStrategy} to use.
+	 */
+	public LockFreeArrayBlockingQueue(int capacity, WaitStrategy waitStrategy) {
+		Assert.isTrue(capacity > 0 && capacity <= (1 << 30), "'capacity' must be in range [1, 2^30].");
+		Assert.notNull(waitStrategy, "'waitStrategy' must not be null");
+		this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		this.mask = this.capacity - 1;
+		this.sequences = new AtomicLongArray(this.capacity);
+		for (int i = 0; i < this.capacity; i++) {
+			this.sequences.set(i, i);
+		}
+		this.elements = new AtomicReferenceArray<>(this.capacity);
+		this.waitStrategy = waitStrategy;
+	}
+
+	/**
+	 * Return the actual (power of two) capacity of this queue.
+	 * @return the capacity.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	public WaitStrategy getWaitStrategy() {
+		return this.waitStrategy;
+	}
+
+	@Override
+	public boolean offer(E element) {
+		Assert.notNull(element, "'element' must not be null");
+		long position = this.tail.get();
+		while (true) {
+			int index = (int) position & this.mask;
+			long difference = this.sequences.get(index) - position;
+			if (difference == 0) {
+				if (this.tail.compareAndSet(position, position + 1)) {
+					this.elements.lazySet(index, element);
+					this.sequences.lazySet(index, position + 1);
+					return true;
+				}
+			}
+			else if (difference < 0 && !reclaimRemoved()) {
+				return false;
+			}
+			position = this.tail.get();
+		}
+	}
+
+	@Override
+	public boolean offer(E element, long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		int attempt = 0;
+		while (!offer(element)) {
+			if (System.nanoTime() - deadline >= 0) {
+				return false;
+			}
+			idle(attempt++);
+		}
+		return true;
+	}
+
+	@Override
+	public void put(E element) throws InterruptedException {
+		int attempt = 0;
+		while (!offer(element)) {
+			idle(attempt++);
+		}
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public E poll() {
+		long position = this.head.get();
+		while (true) {
+			int index = (int) position & this.mask;
+			long difference = this.sequences.get(index) - (position + 1);
+			if (difference == 0) {
+				if (this.head.compareAndSet(position, position + 1)) {
+					Object element = this.elements.getAndSet(index, null);
+					this.sequences.lazySet(index, position + this.capacity);
+					if (element != REMOVED) {
+						return (E) element;
+					}
+					this.removedCount.decrementAndGet();
+				}
+			}
+			else if (difference < 0) {
+				return null;
+			}
+			position = this.head.get();
+		}
+	}
+
+	@Override
+	@Nullable
+	public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		int attempt = 0;
+		E element;
+		while ((element = poll()) == null) {
+			if (System.nanoTime() - deadline >= 0) {
+				return null;
+			}
+			idle(attempt++);
+		}
+		return element;
+	}
+
+	@Override
+	public E take() throws InterruptedException {
+		int attempt = 0;
+		E element;
+		while ((element = poll()) == null) {
+			idle(attempt++);
+		}
+		return element;
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public E peek() {
+		long position = this.head.get();
+		long end = this.tail.get();
+		for (; position < end; position++) {
+			int index = (int) position & this.mask;
+			Object element = this.elements.get(index);
+			if (element != null && element != REMOVED && this.sequences.get(index) == position + 1) {
+				return (E) element;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Mark the first slot holding an element equal to the provided object as removed.
+	 * @param object the element to remove.
+	 * @return true if the element has been found and removed.
+	 */
+	@Override
+	public boolean remove(Object object) {
+		if (object == null) {
+			return false;
+		}
+		long position = this.head.get();
+		long end = this.tail.get();
+		for (; position < end; position++) {
+			int index = (int) position & this.mask;
+			Object element = this.elements.get(index);
+			if (element != null && element != REMOVED && object.equals(element)
+					&& this.elements.compareAndSet(index, element, REMOVED)) {
+
+				this.removedCount.incrementAndGet();
+				reclaimRemoved();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Move the head over the removed slots, so they can be reused by producers.
+	 * @return true if at least one slot has been reclaimed.
+	 */
+	private boolean reclaimRemoved() {
+		boolean reclaimed = false;
+		long position = this.head.get();
+		while (true) {
+			int index = (int) position & this.mask;
+			if (this.sequences.get(index) != position + 1 || this.elements.get(index) != REMOVED) {
+				return reclaimed;
+			}
+			// A removed slot can be changed only by the consumer which has claimed it at the head
+			if (this.head.compareAndSet(position, position + 1)) {
+				this.elements.lazySet(index, null);
+				this.sequences.lazySet(index, position + this.capacity);
+				this.removedCount.decrementAndGet();
+				reclaimed = true;
+			}
+			position = this.head.get();
+		}
+	}
+
+	@Override
+	public int size() {
+		while (true) {
+			long headBefore = this.head.get();
+			long currentTail = this.tail.get();
+			if (this.head.get() == headBefore) {
+				long size = currentTail - headBefore - this.removedCount.get();
+				return (int) Math.max(0, Math.min(size, this.capacity));
+			}
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * Return the number of free slots in the ring buffer.
+	 * The slots of removed, but not reclaimed yet elements are not free.
+	 * @return the remaining capacity.
+	 */
+	@Override
+	public int remainingCapacity() {
+		while (true) {
+			long headBefore = this.head.get();
+			long currentTail = this.tail.get();
+			if (this.head.get() == headBefore) {
+				long occupied = currentTail - headBefore;
+				return (int) Math.max(0, Math.min(this.capacity - occupied, this.capacity));
+			}
+		}
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> collection) {
+		return drainTo(collection, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> collection, int maxElements) {
+		Assert.notNull(collection, "'collection' must not be null");
+		Assert.isTrue(collection != this, "Cannot drain a queue to itself");
+		int drained = 0;
+		E element;
+		while (drained < maxElements && (element = poll()) != null) {
+			collection.add(element);
+			drained++;
+		}
+		return drained;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Iterator<E> iterator() {
+		List<E> snapshot = new ArrayList<>();
+		long position = this.head.get();
+		long end = this.tail.get();
+		for (; position < end; position++) {
+			int index = (int) position & this.mask;
+			Object element = this.elements.get(index);
+			if (element != null && element != REMOVED) {
+				snapshot.add((E) element);
+			}
+		}
+		Iterator<E> iterator = snapshot.iterator();
+		return new Iterator<E>() {
+
+			private E current;
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public E next() {
+				this.current = iterator.next();
+				return this.current;
+			}
+
+			@Override
+			public void remove() {
+				Assert.state(this.current != null, "'next()' has not been called");
+				LockFreeArrayBlockingQueue.this.remove(this.current);
+				this.current = null;
+			}
+
+		};
+	}
+
+	private void idle(int attempt) throws InterruptedException {
+		if (Thread.interrupted()) {
+			throw new InterruptedException();
+		}
+		this.waitStrategy.idle(attempt);
+	}
+
+	/**
+	 * The strategy for a thread to wait in between attempts of the blocking operations.
+	 */
+	public enum WaitStrategy {
+
+		/**
+		 * Busy spin; the lowest latency at the cost of a fully occupied CPU core
+		 * per waiting thread.
+		 */
+		SPIN {
+
+			@Override
+			void idle(int attempt) {
+				// busy spin
+			}
+
+		},
+
+		/**
+		 * Yield the CPU to other threads in between attempts.
+		 */
+		YIELD {
+
+			@Override
+			void idle(int attempt) {
+				Thread.yield();
+			}
+
+		},
+
+		/**
+		 * Spin and yield for a while and then park the thread with an exponential backoff
+		 * up to {@code 1} millisecond.
+		 */
+		PARK {
+
+			@Override
+			void idle(int attempt) {
+				if (attempt < PARK_SPINS) {
+					return;
+				}
+				if (attempt < PARK_YIELDS) {
+					Thread.yield();
+				}
+				else {
+					LockSupport.parkNanos(Math.min(1000L << Math.min(attempt - PARK_YIELDS, 10), MAX_PARK_NANOS));
+				}
+			}
+
+		};
+
+		abstract void idle(int attempt);
+
+	}
+
+	/**
+	 * An {@link AtomicLong} with padding to avoid false sharing of the head and tail
+	 * positions which are updated by different threads.
+	 */
+	@SuppressWarnings("serial")
+	private static final class PaddedAtomicLong extends AtomicLong {
+
+		long p1; // NOSONAR padding
+
+		long p2; // NOSONAR padding
+
+		long p3; // NOSONAR padding
+
+		long p4; // NOSONAR padding
+
+		long p5; // NOSONAR padding
+
+		long p6; // NOSONAR padding
+
+		long p7; // NOSONAR padding
+
+	}
+
+}
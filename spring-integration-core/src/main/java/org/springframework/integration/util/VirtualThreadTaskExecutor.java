@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * A {@link TaskExecutor} which runs each task on a new virtual thread when the
+ * JVM supports them (Java 21 and later), otherwise falls back to a cached pool of
+ * platform threads.
+ * <p>
+ * Intended for endpoints which spend most of their time blocked on I/O (e.g. JDBC
+ * pollers, TCP connections, remote file sessions): with virtual threads there is no
+ * need to size a thread pool for the number of concurrently blocked tasks.
+ * Since this project is compiled against Java 8, the virtual threads API is
+ * accessed reflectively.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+public class VirtualThreadTaskExecutor implements TaskExecutor, DisposableBean {
+
+	private static final String DEFAULT_THREAD_NAME_PREFIX = "virtual-";
+
+	@Nullable
+	private static final Method OF_VIRTUAL_METHOD = ReflectionUtils.findMethod(Thread.class, "ofVirtual");
+
+	@Nullable
+	private static final Method NEW_THREAD_PER_TASK_EXECUTOR_METHOD =
+			ReflectionUtils.findMethod(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+	private static final boolean VIRTUAL_THREADS_SUPPORTED =
+			NEW_THREAD_PER_TASK_EXECUTOR_METHOD != null && virtualThreadFactory(DEFAULT_THREAD_NAME_PREFIX) != null;
+
+	private final ExecutorService executorService;
+
+	/**
+	 * Create an instance with the default thread name prefix.
+	 */
+	public VirtualThreadTaskExecutor() {
+		this(DEFAULT_THREAD_NAME_PREFIX);
+	}
+
+	/**
+	 * Create an instance with the provided thread name prefix.
+	 * @param threadNamePrefix the prefix for the names of the created threads.
+	 */
+	public VirtualThreadTaskExecutor(String threadNamePrefix) {
+		this.executorService = newExecutorService(threadNamePrefix);
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		this.executorService.execute(task);
+	}
+
+	/**
+	 * Return true if this executor runs tasks on virtual threads.
+	 * @return true if virtual threads are used.
+	 */
+	public boolean isVirtual() {
+		return VIRTUAL_THREADS_SUPPORTED;
+	}
+
+	@Override
+	public void destroy() {
+		this.executorService.shutdown();
+	}
+
+	/**
+	 * Return true if the current JVM supports virtual threads.
+	 * @return true if virtual threads are supported.
+	 */
+	public static boolean isVirtualThreadsSupported() {
+		return VIRTUAL_THREADS_SUPPORTED;
+	}
+
+	/**
+	 * Create an {@link ExecutorService} starting a new virtual thread for each task,
+	 * or an {@link Executors#newCachedThreadPool(ThreadFactory)} if virtual threads
+	 * are not supported by the current JVM. The caller is responsible for shutting
+	 * the returned service down.
+	 * @param threadNamePrefix the prefix for the names of the created threads.
+	 * @return the executor service.
+	 */
+	public static ExecutorService newExecutorService(String threadNamePrefix) {
+		Assert.hasText(threadNamePrefix, "'threadNamePrefix' must not be empty");
+		if (VIRTUAL_THREADS_SUPPORTED) {
+			ThreadFactory threadFactory = virtualThreadFactory(threadNamePrefix);
+			if (threadFactory != null) {
+				return (ExecutorService) ReflectionUtils.invokeMethod(NEW_THREAD_PER_TASK_EXECUTOR_METHOD, null,
+						threadFactory);
+			}
+		}
+		return Executors.newCachedThreadPool(new CustomizableThreadFactory(threadNamePrefix));
+	}
+
+	@Nullable
+	private static ThreadFactory virtualThreadFactory(String threadNamePrefix) {
+		if (OF_VIRTUAL_METHOD == null) {
+			return null;
+		}
+		try {
+			Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			Object builder = OF_VIRTUAL_METHOD.invoke(null);
+			builder = builderType.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+			return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+		}
+		catch (Exception | LinkageError ex) {
+			// E.g. virtual threads are a preview feature on Java 19 and 20
+			return null;
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.integration.aggregator;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.mock;
 
 import java.util.ArrayList;
@@ -26,6 +27,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.logging.Log;
@@ -35,8 +37,10 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.integration.channel.DirectChannel;
 import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.expression.ValueExpression;
 import org.springframework.integration.handler.AbstractMessageHandler;
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.store.SimpleMessageGroupFactory;
@@ -44,12 +48,14 @@ import org.springframework.integration.store.SimpleMessageStore;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.integration.test.util.TestUtils;
+import org.springframework.integration.util.HashedTimingWheel;
 import org.springframework.integration.util.UUIDConverter;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHandlingException;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.GenericMessage;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.util.StopWatch;
 
 /**
@@ -290,6 +296,102 @@ public class AggregatorTests {
 		assertThat(105).isEqualTo(reply.getPayload());
 	}
 
+	@Test
+	public void testIncrementalAggregation() {
+		AccumulatingMessageGroupProcessor<Integer> processor =
+				new AccumulatingMessageGroupProcessor<>(() -> 0, (sum, m) -> sum + (Integer) m.getPayload());
+		processor.setFinisher(sum -> "sum: " + sum);
+		this.aggregator.setOutputProcessor(processor);
+		QueueChannel replyChannel = new QueueChannel();
+		for (int i = 1; i < 100; i++) {
+			this.aggregator.handleMessage(createMessage(i, "ABC", 100, i, replyChannel, null));
+			MessageGroup group = this.store.getMessageGroup("ABC");
+			assertThat(group.size()).isEqualTo(1);
+			assertThat(group.getOne().getPayload()).isEqualTo(i * (i + 1) / 2);
+		}
+		assertThat(replyChannel.receive(0)).isNull();
+
+		this.aggregator.handleMessage(createMessage(100, "ABC", 100, 100, replyChannel, null));
+
+		Message<?> reply = replyChannel.receive(10000);
+		assertThat(reply).isNotNull();
+		assertThat(reply.getPayload()).isEqualTo("sum: 5050");
+		assertThat(reply.getHeaders())
+				.doesNotContainKey(AccumulatingMessageGroupProcessor.ACCUMULATED_SIZE)
+				.doesNotContainKey(IntegrationMessageHeaderAccessor.SEQUENCE_NUMBER);
+		assertThat(this.store.getMessageGroup("ABC").size()).isEqualTo(0);
+	}
+
+	@Test
+	public void testIncrementalAggregationPartialResultOnTimeout() {
+		this.aggregator.setOutputProcessor(
+				new AccumulatingMessageGroupProcessor<>(() -> 1, (product, m) -> product * (Integer) m.getPayload()));
+		this.aggregator.setSendPartialResultOnExpiry(true);
+		QueueChannel replyChannel = new QueueChannel();
+		this.aggregator.handleMessage(createMessage(3, "ABC", 3, 1, replyChannel, null));
+		this.aggregator.handleMessage(createMessage(5, "ABC", 3, 2, replyChannel, null));
+		this.store.expireMessageGroups(-10000);
+		Message<?> reply = replyChannel.receive(1000);
+		assertThat(reply).isNotNull();
+		assertThat(reply.getPayload()).isEqualTo(15);
+		assertThat(this.expiryEvents).hasSize(1);
+		assertThat(this.expiryEvents.get(0).isDiscarded()).isFalse();
+	}
+
+	@Test
+	public void testIncrementalAggregationStateIsKeptOnStoreFailure() {
+		AtomicBoolean fail = new AtomicBoolean();
+		SimpleMessageStore failingStore = new SimpleMessageStore() {
+
+			@Override
+			public void addMessagesToGroup(Object groupId, Message<?>... messages) {
+				if (fail.get()) {
+					throw new IllegalStateException("store failure");
+				}
+				super.addMessagesToGroup(groupId, messages);
+			}
+
+		};
+		AggregatingMessageHandler handler =
+				new AggregatingMessageHandler(
+						new AccumulatingMessageGroupProcessor<>(() -> 0, (sum, m) -> sum + (Integer) m.getPayload()),
+						failingStore);
+		handler.setBeanFactory(mock(BeanFactory.class));
+		handler.afterPropertiesSet();
+		QueueChannel replyChannel = new QueueChannel();
+		handler.handleMessage(createMessage(3, "ABC", 3, 1, replyChannel, null));
+		fail.set(true);
+		assertThatExceptionOfType(MessageHandlingException.class)
+				.isThrownBy(() -> handler.handleMessage(createMessage(5, "ABC", 3, 2, replyChannel, null)));
+		MessageGroup group = failingStore.getMessageGroup("ABC");
+		assertThat(group.size()).isEqualTo(1);
+		assertThat(group.getOne().getPayload()).isEqualTo(3);
+
+		fail.set(false);
+		handler.handleMessage(createMessage(5, "ABC", 3, 2, replyChannel, null));
+		handler.handleMessage(createMessage(7, "ABC", 3, 3, replyChannel, null));
+		Message<?> reply = replyChannel.receive(10000);
+		assertThat(reply).isNotNull();
+		assertThat(reply.getPayload()).isEqualTo(15);
+	}
+
+	@Test
+	public void testIncrementalAggregationStateIsDiscardedOnTimeout() {
+		this.aggregator.setOutputProcessor(
+				new AccumulatingMessageGroupProcessor<>(() -> 0, (sum, m) -> sum + (Integer) m.getPayload()));
+		QueueChannel discardChannel = new QueueChannel();
+		this.aggregator.setDiscardChannel(discardChannel);
+		QueueChannel replyChannel = new QueueChannel();
+		this.aggregator.handleMessage(createMessage(3, "ABC", 3, 1, replyChannel, null));
+		this.aggregator.handleMessage(createMessage(5, "ABC", 3, 2, replyChannel, null));
+		this.store.expireMessageGroups(-10000);
+		Message<?> discarded = discardChannel.receive(1000);
+		assertThat(discarded).isNotNull();
+		assertThat(discarded.getPayload()).isEqualTo(8);
+		assertThat(discarded.getHeaders()).containsEntry(AccumulatingMessageGroupProcessor.ACCUMULATED_SIZE, 2);
+		assertThat(discardChannel.receive(0)).isNull();
+	}
+
 	@Test
 	public void testShouldNotSendPartialResultOnTimeoutByDefault() {
 		QueueChannel discardChannel = new QueueChannel();
@@ -548,6 +650,40 @@ public class AggregatorTests {
 		assertThat((reply.getPayload())).isEqualTo(105);
 	}
 
+	@Test
+	public void testGroupTimeoutWithTimingWheel() {
+		AggregatingMessageHandler handler = new AggregatingMessageHandler(new MultiplyingProcessor(), this.store);
+		handler.setBeanFactory(mock(BeanFactory.class));
+		handler.setGroupTimeoutExpression(new ValueExpression<>(100L));
+		handler.setSendPartialResultOnExpiry(true);
+		handler.setTimingWheelTickDuration(10);
+		ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+		taskScheduler.afterPropertiesSet();
+		handler.setTaskScheduler(taskScheduler);
+		handler.afterPropertiesSet();
+
+		QueueChannel replyChannel = new QueueChannel();
+		handler.handleMessage(createMessage(3, "ABC", 2, 1, replyChannel, null));
+		handler.handleMessage(createMessage(5, "DEF", 2, 1, replyChannel, null));
+		HashedTimingWheel timingWheel = TestUtils.getPropertyValue(handler, "timingWheel", HashedTimingWheel.class);
+		assertThat(timingWheel.isRunning()).isTrue();
+		assertThat(handler.getExpireGroupScheduledFutures()).hasSize(2);
+
+		handler.handleMessage(createMessage(7, "DEF", 2, 2, replyChannel, null));
+		Message<?> reply = replyChannel.receive(10000);
+		assertThat(reply).isNotNull();
+		assertThat(reply.getPayload()).isEqualTo(35);
+
+		reply = replyChannel.receive(10000);
+		assertThat(reply).isNotNull();
+		assertThat(reply.getPayload()).isEqualTo(3);
+		assertThat(handler.getExpireGroupScheduledFutures()).isEmpty();
+
+		handler.destroy();
+		assertThat(timingWheel.isRunning()).isFalse();
+		taskScheduler.destroy();
+	}
+
 
 	private static Message<?> createMessage(Object payload, Object correlationId, int sequenceSize, int sequenceNumber,
 			MessageChannel replyChannel, String predefinedId) {
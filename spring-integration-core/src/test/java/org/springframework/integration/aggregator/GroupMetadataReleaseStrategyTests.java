@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.aggregator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.store.AbstractKeyValueMessageStore;
+import org.springframework.integration.store.MessageGroupMetadata;
+import org.springframework.integration.store.SimpleMessageGroup;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+class GroupMetadataReleaseStrategyTests {
+
+	@Test
+	void testStrategiesOnMetadata() {
+		SimpleMessageGroup group = new SimpleMessageGroup("FOO");
+		group.add(MessageBuilder.withPayload(1).setSequenceSize(2).build());
+		MessageGroupMetadata metadata = new MessageGroupMetadata(group);
+		assertThat(metadata.getSequenceSize()).isEqualTo(2);
+		assertThat(new SimpleSequenceSizeReleaseStrategy().canRelease(metadata)).isFalse();
+		assertThat(new MessageCountReleaseStrategy(1).canRelease(metadata)).isTrue();
+
+		group.add(MessageBuilder.withPayload(2).setSequenceSize(2).build());
+		metadata = new MessageGroupMetadata(group);
+		assertThat(new SimpleSequenceSizeReleaseStrategy().canRelease(metadata)).isTrue();
+		assertThat(new MessageCountReleaseStrategy(3).canRelease(metadata)).isFalse();
+
+		metadata = new MessageGroupMetadata(new SimpleMessageGroup("FOO"));
+		assertThat(metadata.getSequenceSize()).isEqualTo(0);
+		assertThat(new SimpleSequenceSizeReleaseStrategy().canRelease(metadata)).isTrue();
+	}
+
+	@Test
+	void testGroupMessagesAreNotLoadedUntilRelease() {
+		InMemoryKeyValueMessageStore store = spy(new InMemoryKeyValueMessageStore());
+		AggregatingMessageHandler handler =
+				new AggregatingMessageHandler(new DefaultAggregatingMessageGroupProcessor(), store);
+		QueueChannel outputChannel = new QueueChannel();
+		handler.setOutputChannel(outputChannel);
+		handler.setBeanFactory(mock(BeanFactory.class));
+		handler.afterPropertiesSet();
+
+		for (int i = 1; i < 10; i++) {
+			handler.handleMessage(MessageBuilder.withPayload(i)
+					.setCorrelationId("FOO")
+					.setSequenceNumber(i)
+					.setSequenceSize(10)
+					.build());
+		}
+
+		assertThat(outputChannel.receive(0)).isNull();
+		assertThat(store.getGroupMetadata("FOO").size()).isEqualTo(9);
+		assertThat(store.getGroupMetadata("FOO").getSequenceSize()).isEqualTo(10);
+		verify(store, never()).getMessagesForGroup(any());
+		verify(store, never()).getOneMessageFromGroup(any());
+		verify(store, never()).messageGroupSize(any());
+
+		handler.handleMessage(MessageBuilder.withPayload(10)
+				.setCorrelationId("FOO")
+				.setSequenceNumber(10)
+				.setSequenceSize(10)
+				.build());
+
+		Message<?> result = outputChannel.receive(0);
+		assertThat(result).isNotNull();
+		assertThat((Collection<?>) result.getPayload()).hasSize(10);
+		verify(store, times(1)).getMessagesForGroup(any());
+		verify(store, never()).getOneMessageFromGroup(any());
+	}
+
+	static class InMemoryKeyValueMessageStore extends AbstractKeyValueMessageStore {
+
+		private final Map<Object, byte[]> data = new ConcurrentHashMap<>();
+
+		@Override
+		protected Object doRetrieve(Object id) {
+			byte[] bytes = this.data.get(id);
+			return bytes != null ? SerializationUtils.deserialize(bytes) : null;
+		}
+
+		@Override
+		protected void doStore(Object id, Object objectToStore) {
+			this.data.put(id, SerializationUtils.serialize(objectToStore));
+		}
+
+		@Override
+		protected void doStoreIfAbsent(Object id, Object objectToStore) {
+			this.data.putIfAbsent(id, SerializationUtils.serialize(objectToStore));
+		}
+
+		@Override
+		protected Object doRemove(Object id) {
+			byte[] bytes = this.data.remove(id);
+			return bytes != null ? SerializationUtils.deserialize(bytes) : null;
+		}
+
+		@Override
+		protected void doRemoveAll(Collection<Object> ids) {
+			ids.forEach(this.data::remove);
+		}
+
+		@Override
+		protected Collection<?> doListKeys(String keyPattern) {
+			String prefix = keyPattern.replace("*", "");
+			List<Object> keys = new ArrayList<>();
+			for (Object key : this.data.keySet()) {
+				if (key.toString().startsWith(prefix)) {
+					keys.add(key);
+				}
+			}
+			return keys;
+		}
+
+	}
+
+}
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.mock;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -32,6 +33,7 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.integration.IntegrationMessageHeaderAccessor;
 import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.integration.store.SimpleMessageGroupFactory;
 import org.springframework.integration.store.SimpleMessageStore;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.Message;
@@ -399,6 +401,54 @@ public class ResequencerTests {
 		assertThat(out3).isNotNull();
 	}
 
+	@Test
+	public void testReorderWindowReleaseOnSequenceIndexedGroups() {
+		SimpleMessageStore messageStore = new SimpleMessageStore();
+		messageStore.setMessageGroupFactory(new SimpleMessageGroupFactory(SimpleMessageGroupFactory.GroupType.SEQUENCE));
+		this.resequencer = new ResequencingMessageHandler(this.processor, messageStore);
+		this.resequencer.setReleasePartialSequences(true);
+		this.resequencer.setMaxReorderWindow(3);
+		this.resequencer.setReorderWindowOverflowPolicy(ResequencingMessageHandler.ReorderWindowOverflowPolicy.RELEASE);
+		QueueChannel replyChannel = new QueueChannel();
+		this.resequencer.setOutputChannel(replyChannel);
+		this.resequencer.setBeanFactory(mock(BeanFactory.class));
+		this.resequencer.afterPropertiesSet();
+
+		for (int sequence : new int[] { 1, 3, 4, 7, 5, 6 }) {
+			this.resequencer.handleMessage(createMessage("" + sequence, "A", 0, sequence, null));
+		}
+		List<Object> payloads = new ArrayList<>();
+		Message<?> out;
+		while ((out = replyChannel.receive(0)) != null) {
+			payloads.add(out.getPayload());
+		}
+		assertThat(payloads).containsExactly("1", "3", "4", "5", "6", "7");
+		assertThat(messageStore.messageGroupSize("A")).isEqualTo(0);
+	}
+
+	@Test
+	public void testReorderWindowDiscard() {
+		this.resequencer = new ResequencingMessageHandler(this.processor, this.store);
+		this.resequencer.setReleasePartialSequences(true);
+		this.resequencer.setMaxReorderWindow(2);
+		QueueChannel replyChannel = new QueueChannel();
+		this.resequencer.setOutputChannel(replyChannel);
+		QueueChannel discardChannel = new QueueChannel();
+		this.resequencer.setDiscardChannel(discardChannel);
+		this.resequencer.setBeanFactory(mock(BeanFactory.class));
+		this.resequencer.afterPropertiesSet();
+
+		this.resequencer.handleMessage(createMessage("1", "A", 0, 1, null));
+		this.resequencer.handleMessage(createMessage("5", "A", 0, 5, null));
+		this.resequencer.handleMessage(createMessage("3", "A", 0, 3, null));
+		this.resequencer.handleMessage(createMessage("2", "A", 0, 2, null));
+		assertThat(replyChannel.receive(0).getPayload()).isEqualTo("1");
+		assertThat(replyChannel.receive(0).getPayload()).isEqualTo("2");
+		assertThat(replyChannel.receive(0).getPayload()).isEqualTo("3");
+		assertThat(discardChannel.receive(0).getPayload()).isEqualTo("5");
+		assertThat(discardChannel.receive(0)).isNull();
+	}
+
 	private static Message<?> createMessage(String payload, Object correlationId, int sequenceSize, int sequenceNumber,
 			MessageChannel replyChannel) {
 		return MessageBuilder.withPayload(payload).setCorrelationId(correlationId).setSequenceSize(sequenceSize)
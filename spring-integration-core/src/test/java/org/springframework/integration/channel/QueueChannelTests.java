@@ -36,6 +36,8 @@ import org.junit.rules.TemporaryFolder;
 import org.springframework.integration.selector.UnexpiredMessageSelector;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.GenericMessage;
 
 /**
@@ -289,6 +291,37 @@ public class QueueChannelTests {
 	@Rule
 	public final TemporaryFolder tempFolder = new TemporaryFolder();
 
+	@Test
+	public void testBatchReceive() {
+		QueueChannel channel = new QueueChannel(5);
+		for (int i = 0; i < 5; i++) {
+			channel.send(new GenericMessage<>(i));
+		}
+		List<Message<?>> messages = channel.receive(3, 0);
+		assertThat(messages).extracting(Message::getPayload).containsExactly(0, 1, 2);
+		assertThat(channel.getRemainingCapacity()).isEqualTo(3);
+		messages = channel.receive(3, 0);
+		assertThat(messages).extracting(Message::getPayload).containsExactly(3, 4);
+		assertThat(channel.receive(3, 10)).isEmpty();
+		assertThat(channel.getReceiveCount()).isEqualTo(0);
+
+		channel.setCountsEnabled(true);
+		channel.addInterceptor(new ChannelInterceptor() {
+
+			@Override
+			public Message<?> postReceive(Message<?> message, MessageChannel channel) {
+				return MessageBuilder.fromMessage(message).setHeader("intercepted", true).build();
+			}
+
+		});
+		channel.send(new GenericMessage<>("foo"));
+		channel.send(new GenericMessage<>("bar"));
+		messages = channel.receive(3, 0);
+		assertThat(messages).hasSize(2);
+		assertThat(messages.get(1).getHeaders()).containsEntry("intercepted", true);
+		assertThat(channel.getReceiveCount()).isEqualTo(2);
+	}
+
 	/*TODO: No Reactor Chronicle artifact
 	@Test
 	public void testReactorPersistentQueue() throws InterruptedException, IOException {
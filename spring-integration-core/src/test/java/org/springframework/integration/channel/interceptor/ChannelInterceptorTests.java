@@ -177,6 +177,25 @@ public class ChannelInterceptorTests {
 		assertThat(interceptor2.wasAfterCompletionInvoked()).isFalse();
 	}
 
+	@Test
+	public void afterCompletionInReverseOrderWhenPreSendReturnsNull() {
+		List<String> invocations = new ArrayList<>();
+		this.channel.addInterceptor(new RecordingInterceptor("first", invocations, true));
+		this.channel.addInterceptor(new RecordingInterceptor("second", invocations, true));
+		this.channel.addInterceptor(new RecordingInterceptor("third", invocations, false));
+		assertThat(this.channel.send(new GenericMessage<>("test"))).isFalse();
+		assertThat(invocations).containsExactly("first.preSend", "second.preSend", "third.preSend",
+				"second.afterSendCompletion", "first.afterSendCompletion");
+
+		invocations.clear();
+		this.channel.removeInterceptor(2);
+		this.channel.addInterceptor(0, new RecordingInterceptor("zero", invocations, true));
+		assertThat(this.channel.send(new GenericMessage<>("test"))).isTrue();
+		assertThat(invocations).containsExactly("zero.preSend", "first.preSend", "second.preSend",
+				"zero.postSend", "first.postSend", "second.postSend",
+				"second.afterSendCompletion", "first.afterSendCompletion", "zero.afterSendCompletion");
+	}
+
 	@Test
 	public void testPreReceiveInterceptorReturnsTrue() {
 		PreReceiveReturnsTrueInterceptor interceptor = new PreReceiveReturnsTrueInterceptor();
@@ -322,6 +341,38 @@ public class ChannelInterceptorTests {
 	}
 
 
+	private static class RecordingInterceptor implements ChannelInterceptor {
+
+		private final String name;
+
+		private final List<String> invocations;
+
+		private final boolean proceed;
+
+		RecordingInterceptor(String name, List<String> invocations, boolean proceed) {
+			this.name = name;
+			this.invocations = invocations;
+			this.proceed = proceed;
+		}
+
+		@Override
+		public Message<?> preSend(Message<?> message, MessageChannel channel) {
+			this.invocations.add(this.name + ".preSend");
+			return this.proceed ? message : null;
+		}
+
+		@Override
+		public void postSend(Message<?> message, MessageChannel channel, boolean sent) {
+			this.invocations.add(this.name + ".postSend");
+		}
+
+		@Override
+		public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+			this.invocations.add(this.name + ".afterSendCompletion");
+		}
+
+	}
+
 	private static class PreSendReturnsNullInterceptor implements ChannelInterceptor {
 
 		private static AtomicInteger counter = new AtomicInteger();
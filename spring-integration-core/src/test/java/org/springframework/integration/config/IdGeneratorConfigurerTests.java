@@ -19,7 +19,12 @@ package org.springframework.integration.config;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
 
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Test;
@@ -29,12 +34,15 @@ import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.integration.support.IdGenerators.JdkIdGenerator;
 import org.springframework.integration.support.IdGenerators.SimpleIncrementingIdGenerator;
+import org.springframework.integration.support.IdGenerators.TimeOrderedIdGenerator;
 import org.springframework.integration.test.util.TestUtils;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.util.IdGenerator;
 
 /**
  * @author Gary Russell
+ * @author Artem Bilan
+ *
  * @since 3.0
  *
  */
@@ -201,6 +209,41 @@ public class IdGeneratorConfigurerTests {
 		context.close();
 	}
 
+	@Test
+	public void testTimeOrdered() throws Exception {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.registerBeanDefinition("bfpp", new RootBeanDefinition(DefaultConfiguringBeanFactoryPostProcessor.class));
+		context.registerBeanDefinition("foo", new RootBeanDefinition(TimeOrderedIdGenerator.class));
+		context.refresh();
+		long start = System.currentTimeMillis();
+		UUID previous = new MessageHeaders(null).getId();
+		assertThat(previous.version()).isEqualTo(7);
+		assertThat(previous.variant()).isEqualTo(2);
+		assertThat(previous.getMostSignificantBits() >>> 16).isBetween(start - 1000, System.currentTimeMillis());
+		for (int i = 0; i < 10_000; i++) {
+			UUID id = new MessageHeaders(null).getId();
+			assertThat(id).isGreaterThan(previous);
+			assertThat(id.toString()).isGreaterThan(previous.toString());
+			previous = id;
+		}
+
+		Set<UUID> ids = ConcurrentHashMap.newKeySet();
+		IdGenerator idGenerator = context.getBean(IdGenerator.class);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int i = 0; i < 4; i++) {
+			executor.execute(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					ids.add(idGenerator.generateId());
+				}
+			});
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(ids).hasSize(40_000);
+
+		context.close();
+	}
+
 	public static class MyIdGenerator implements IdGenerator {
 
 		@Override
@@ -17,8 +17,12 @@
 package org.springframework.integration.endpoint;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.mock;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
@@ -28,10 +32,18 @@ import org.mockito.Mockito;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.integration.MessageRejectedException;
+import org.springframework.integration.channel.MessagePublishingErrorHandler;
+import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.support.MessagingExceptionWrapper;
 import org.springframework.integration.test.util.OnlyOnceTrigger;
+import org.springframework.integration.transaction.DefaultTransactionSynchronizationFactory;
+import org.springframework.integration.transaction.IntegrationResourceHolder;
+import org.springframework.integration.transaction.PseudoTransactionManager;
+import org.springframework.integration.transaction.TransactionInterceptorBuilder;
+import org.springframework.integration.transaction.TransactionSynchronizationProcessor;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.PollableChannel;
 import org.springframework.messaging.support.GenericMessage;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
@@ -169,6 +181,112 @@ public class PollingConsumerEndpointTests {
 		assertThat(this.consumer.counter.get()).isEqualTo(1);
 	}
 
+	@Test
+	public void batchReceive() throws Throwable {
+		QueueChannel channel = new QueueChannel();
+		channel.send(this.message);
+		channel.send(this.badMessage);
+		channel.send(this.message);
+		channel.send(this.message);
+		channel.send(this.message);
+		this.endpoint = new PollingConsumer(channel, this.consumer);
+		this.endpoint.setErrorHandler(this.errorHandler);
+		this.endpoint.setTaskScheduler(this.taskScheduler);
+		this.endpoint.setTrigger(this.trigger);
+		this.endpoint.setBeanFactory(mock(BeanFactory.class));
+		this.endpoint.setReceiveTimeout(0);
+		this.endpoint.setReceiveBatchSize(3);
+		this.endpoint.setMaxMessagesPerPoll(1);
+		this.endpoint.afterPropertiesSet();
+		this.endpoint.start();
+		this.trigger.await();
+		this.endpoint.stop();
+		assertThat(this.consumer.counter.get()).isEqualTo(3);
+		assertThat(channel.getQueueSize()).isEqualTo(2);
+		assertThat(this.errorHandler.lastError).isInstanceOf(MessagingException.class);
+		assertThat(((MessagingException) this.errorHandler.lastError).getFailedMessage()).isSameAs(this.badMessage);
+		assertThatExceptionOfType(MessageRejectedException.class)
+				.isThrownBy(this.errorHandler::throwLastErrorIfAvailable);
+	}
+
+	@Test
+	public void batchReceivePublishesEachFailureToErrorChannel() {
+		QueueChannel channel = new QueueChannel();
+		Message<String> firstBadMessage = new GenericMessage<>("bad");
+		Message<String> secondBadMessage = new GenericMessage<>("bad");
+		channel.send(this.message);
+		channel.send(firstBadMessage);
+		channel.send(this.message);
+		channel.send(secondBadMessage);
+		QueueChannel errorChannel = new QueueChannel();
+		MessagePublishingErrorHandler errorHandler = new MessagePublishingErrorHandler();
+		errorHandler.setDefaultErrorChannel(errorChannel);
+		this.endpoint = new PollingConsumer(channel, this.consumer);
+		this.endpoint.setErrorHandler(errorHandler);
+		this.endpoint.setTaskScheduler(this.taskScheduler);
+		this.endpoint.setTrigger(this.trigger);
+		this.endpoint.setBeanFactory(mock(BeanFactory.class));
+		this.endpoint.setReceiveTimeout(0);
+		this.endpoint.setReceiveBatchSize(4);
+		this.endpoint.setMaxMessagesPerPoll(1);
+		this.endpoint.afterPropertiesSet();
+		this.endpoint.start();
+		this.trigger.await();
+		this.endpoint.stop();
+		assertThat(this.consumer.counter.get()).isEqualTo(4);
+		List<Message<?>> failedMessages = new ArrayList<>();
+		Message<?> errorMessage;
+		while ((errorMessage = errorChannel.receive(0)) != null) {
+			failedMessages.add(((MessagingException) errorMessage.getPayload()).getFailedMessage());
+		}
+		assertThat(failedMessages).containsExactly(firstBadMessage, secondBadMessage);
+	}
+
+	@Test
+	public void batchReceiveExposesFailedMessageToTransactionSynchronization() {
+		QueueChannel channel = new QueueChannel();
+		channel.send(this.message);
+		channel.send(this.badMessage);
+		channel.send(this.message);
+		List<Object> synchronizedPayloads = new ArrayList<>();
+		this.endpoint = new PollingConsumer(channel, this.consumer);
+		this.endpoint.setErrorHandler(this.errorHandler);
+		this.endpoint.setTaskScheduler(this.taskScheduler);
+		this.endpoint.setTrigger(this.trigger);
+		this.endpoint.setBeanFactory(mock(BeanFactory.class));
+		this.endpoint.setReceiveTimeout(0);
+		this.endpoint.setReceiveBatchSize(3);
+		this.endpoint.setMaxMessagesPerPoll(1);
+		this.endpoint.setAdviceChain(Collections.singletonList(
+				new TransactionInterceptorBuilder()
+						.transactionManager(new PseudoTransactionManager())
+						.build()));
+		this.endpoint.setTransactionSynchronizationFactory(
+				new DefaultTransactionSynchronizationFactory(new TransactionSynchronizationProcessor() {
+
+					@Override
+					public void processBeforeCommit(IntegrationResourceHolder holder) {
+					}
+
+					@Override
+					public void processAfterCommit(IntegrationResourceHolder holder) {
+					}
+
+					@Override
+					public void processAfterRollback(IntegrationResourceHolder holder) {
+						synchronizedPayloads.add(holder.getMessage().getPayload());
+					}
+
+				}));
+		this.endpoint.afterPropertiesSet();
+		this.endpoint.start();
+		this.trigger.await();
+		this.endpoint.stop();
+		assertThat(this.consumer.counter.get()).isEqualTo(3);
+		assertThat(synchronizedPayloads).containsExactly("bad");
+		assertThat(((MessagingException) this.errorHandler.lastError).getFailedMessage()).isSameAs(this.badMessage);
+	}
+
 
 	private static class TestConsumer implements MessageHandler {
 
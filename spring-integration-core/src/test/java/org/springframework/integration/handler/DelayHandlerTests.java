@@ -20,10 +20,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -46,10 +51,13 @@ import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.integration.store.MessageGroup;
 import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.integration.store.MessageStore;
+import org.springframework.integration.store.SimpleMessageGroup;
 import org.springframework.integration.store.SimpleMessageStore;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.integration.test.util.TestUtils;
 import org.springframework.integration.test.util.TestUtils.TestApplicationContext;
+import org.springframework.integration.util.HashedTimingWheel;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.MessageHandler;
@@ -449,6 +457,81 @@ public class DelayHandlerTests {
 		assertThat(messageGroupStore.messageGroupSize(DELAYER_MESSAGE_GROUP_ID)).isEqualTo(0);
 	}
 
+	@Test
+	public void delayWithTimingWheel() {
+		this.delayHandler.setDefaultDelay(50);
+		this.delayHandler.setTimingWheelTickDuration(10);
+		startDelayerHandler();
+		Message<?> message = MessageBuilder.withPayload("test").build();
+		this.input.send(message);
+		waitForLatch(10000);
+		assertThat(this.resultHandler.lastMessage.getPayload()).isSameAs(message.getPayload());
+		assertThat(this.resultHandler.lastThread).isNotSameAs(Thread.currentThread());
+		HashedTimingWheel timingWheel = TestUtils.getPropertyValue(this.delayHandler, "timingWheel",
+				HashedTimingWheel.class);
+		assertThat(timingWheel.isRunning()).isTrue();
+		assertThat(timingWheel.size()).isEqualTo(0);
+		this.delayHandler.destroy();
+		assertThat(timingWheel.isRunning()).isFalse();
+	}
+
+	@Test
+	public void testReschedulePersistedMessagesIntoTimingWheel() {
+		MessageGroupStore messageGroupStore = new SimpleMessageStore();
+		Message<?> original = new GenericMessage<>("test");
+		messageGroupStore.addMessagesToGroup(DELAYER_MESSAGE_GROUP_ID,
+				new GenericMessage<>(
+						new DelayHandler.DelayedMessageWrapper(original, System.currentTimeMillis() - 1000)));
+		this.delayHandler.setDefaultDelay(500);
+		this.delayHandler.setTimingWheelTickDuration(10);
+		this.delayHandler.setMessageStore(messageGroupStore);
+		startDelayerHandler();
+		waitForLatch(10000);
+		assertThat(this.resultHandler.lastMessage.getPayload()).isSameAs(original.getPayload());
+		assertThat(messageGroupStore.messageGroupSize(DELAYER_MESSAGE_GROUP_ID)).isEqualTo(0);
+		this.delayHandler.destroy();
+	}
+
+	@Test
+	public void testStoreBatching() {
+		MessageGroupStore messageGroupStore =
+				Mockito.mock(MessageGroupStore.class, Mockito.withSettings().extraInterfaces(MessageStore.class));
+		Mockito.when(messageGroupStore.getMessageGroup(DELAYER_MESSAGE_GROUP_ID))
+				.thenReturn(new SimpleMessageGroup(DELAYER_MESSAGE_GROUP_ID));
+		List<Integer> addBatches = new CopyOnWriteArrayList<>();
+		Mockito.doAnswer(invocation -> addBatches.add(invocation.getArguments().length - 1))
+				.when(messageGroupStore)
+				.addMessagesToGroup(Mockito.eq(DELAYER_MESSAGE_GROUP_ID), Mockito.any());
+		List<Integer> removeBatches = new CopyOnWriteArrayList<>();
+		Mockito.doAnswer(invocation -> removeBatches.add(invocation.<Collection<?>>getArgument(1).size()))
+				.when(messageGroupStore)
+				.removeMessagesFromGroup(Mockito.eq(DELAYER_MESSAGE_GROUP_ID), Mockito.anyCollection());
+		QueueChannel results = new QueueChannel();
+		this.delayHandler.setOutputChannel(results);
+		this.delayHandler.setDefaultDelay(10);
+		this.delayHandler.setMessageStore(messageGroupStore);
+		this.delayHandler.setStoreBatchSize(5);
+		this.delayHandler.setStoreBatchLinger(10_000);
+		startDelayerHandler();
+
+		ExecutorService executor = Executors.newFixedThreadPool(5);
+		for (int i = 0; i < 5; i++) {
+			int payload = i;
+			executor.execute(() -> this.input.send(new GenericMessage<>(payload)));
+		}
+		for (int i = 0; i < 5; i++) {
+			assertThat(results.receive(10000)).isNotNull();
+		}
+		executor.shutdown();
+
+		assertThat(addBatches).containsExactly(5);
+		Mockito.verify(messageGroupStore, Mockito.timeout(10000))
+				.removeMessagesFromGroup(Mockito.eq(DELAYER_MESSAGE_GROUP_ID), Mockito.anyCollection());
+		assertThat(removeBatches).containsExactly(5);
+		Mockito.verify(messageGroupStore, Mockito.never()).addMessageToGroup(Mockito.any(), Mockito.any());
+		this.delayHandler.destroy();
+	}
+
 	@Test //INT-1132
 	// Can happen in the parent-child context e.g. Spring-MVC applications
 	public void testDoubleOnApplicationEvent() {
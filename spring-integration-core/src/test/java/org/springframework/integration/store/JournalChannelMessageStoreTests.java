@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.integration.channel.PriorityChannel;
+import org.springframework.integration.codec.kryo.MessageCodec;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+class JournalChannelMessageStoreTests {
+
+	@TempDir
+	File journalDir;
+
+	@Test
+	void testRecoveryAfterRestart() {
+		JournalChannelMessageStore store = createStore(false);
+		for (int i = 0; i < 100; i++) {
+			store.addMessageToGroup("foo", new GenericMessage<>("foo" + i));
+		}
+		assertThat(store.addMessageToGroup("bar", new GenericMessage<>("bar")).getGroupId()).isEqualTo("bar");
+		for (int i = 0; i < 50; i++) {
+			assertThat(store.pollMessageFromGroup("foo").getPayload()).isEqualTo("foo" + i);
+		}
+		assertThat(store.getSegmentCount()).isGreaterThan(1);
+		store.destroy();
+
+		store = createStore(false);
+		assertThat(store.messageGroupSize("foo")).isEqualTo(50);
+		assertThat(store.getMessageCountForAllMessageGroups()).isEqualTo(51);
+		assertThat(store.getMessageGroup("bar").getOne().getPayload()).isEqualTo("bar");
+		for (int i = 50; i < 100; i++) {
+			assertThat(store.pollMessageFromGroup("foo").getPayload()).isEqualTo("foo" + i);
+		}
+		assertThat(store.pollMessageFromGroup("foo")).isNull();
+		store.removeMessageGroup("bar");
+		assertThat(store.getMessageGroupCount()).isEqualTo(0);
+		store.destroy();
+
+		store = createStore(false);
+		assertThat(store.getMessageCountForAllMessageGroups()).isEqualTo(0);
+		assertThat(store.getSegmentCount()).isEqualTo(1);
+		store.destroy();
+	}
+
+	@Test
+	void testCompaction() {
+		JournalChannelMessageStore store = createStore(false);
+		for (int i = 0; i < 100; i++) {
+			store.addMessageToGroup(i % 2 == 0 ? "even" : "odd", new GenericMessage<>(i));
+		}
+		store.removeMessageGroup("odd");
+		store.setCompactionThreshold(1);
+		int segments = store.getSegmentCount();
+		assertThat(store.compact()).isGreaterThan(0);
+		assertThat(store.getSegmentCount()).isLessThan(segments);
+		store.destroy();
+
+		store = createStore(false);
+		assertThat(store.messageGroupSize("even")).isEqualTo(50);
+		for (int i = 0; i < 100; i += 2) {
+			assertThat(store.pollMessageFromGroup("even").getPayload()).isEqualTo(i);
+		}
+		store.destroy();
+	}
+
+	@Test
+	void testCompactedSegmentIsNotRestoredWhenNotDeleted() throws Exception {
+		JournalChannelMessageStore store = createStore(false);
+		for (int i = 0; i < 100; i++) {
+			store.addMessageToGroup(i % 2 == 0 ? "even" : "odd", new GenericMessage<>(i));
+		}
+		store.removeMessageGroup("odd");
+		store.setCompactionThreshold(1);
+		File[] segments = this.journalDir.listFiles();
+		Arrays.sort(segments);
+		File sparse = segments[0];
+		Path leftover = new File(this.journalDir, "leftover").toPath();
+		Files.createLink(leftover, sparse.toPath());
+		assertThat(store.compact()).isGreaterThan(0);
+		assertThat(sparse).doesNotExist();
+		store.destroy();
+
+		// As if the segment file could not be deleted
+		Files.move(leftover, sparse.toPath());
+		store = createStore(false);
+		assertThat(sparse).doesNotExist();
+		assertThat(store.messageGroupSize("even")).isEqualTo(50);
+		store.destroy();
+	}
+
+	@Test
+	void testTornRecordIsIgnored() throws Exception {
+		JournalChannelMessageStore store = createStore(false);
+		store.addMessageToGroup("foo", new GenericMessage<>("foo"));
+		store.addMessageToGroup("foo", new GenericMessage<>("bar"));
+		store.destroy();
+
+		File[] segments = this.journalDir.listFiles();
+		Arrays.sort(segments);
+		Path lastSegment = segments[segments.length - 1].toPath();
+		byte[] content = Files.readAllBytes(lastSegment);
+		int last = content.length - 1;
+		while (content[last] == 0) {
+			last--;
+		}
+		content[last] ^= 0xFF;
+		Files.write(lastSegment, content);
+
+		store = createStore(false);
+		assertThat(store.messageGroupSize("foo")).isEqualTo(1);
+		assertThat(store.pollMessageFromGroup("foo").getPayload()).isEqualTo("foo");
+		store.destroy();
+	}
+
+	@Test
+	void testPriorityChannel() {
+		JournalChannelMessageStore store = createStore(true);
+		PriorityChannel channel = new PriorityChannel(store, "priorityQueue");
+		channel.send(new GenericMessage<>("none"));
+		channel.send(MessageBuilder.withPayload("low").setPriority(1).build());
+		channel.send(MessageBuilder.withPayload("high").setPriority(5).build());
+		channel.send(MessageBuilder.withPayload("low2").setPriority(1).build());
+		store.destroy();
+
+		store = createStore(true);
+		channel = new PriorityChannel(store, "priorityQueue");
+		assertThat(channel.getQueueSize()).isEqualTo(4);
+		String[] expected = { "high", "low", "low2", "none" };
+		for (String payload : expected) {
+			Message<?> message = channel.receive(0);
+			assertThat(message.getPayload()).isEqualTo(payload);
+		}
+		store.destroy();
+	}
+
+	private JournalChannelMessageStore createStore(boolean priority) {
+		JournalChannelMessageStore store = new JournalChannelMessageStore(this.journalDir, new MessageCodec());
+		store.setSegmentSize(1024);
+		store.setPriorityEnabled(priority);
+		store.afterPropertiesSet();
+		return store;
+	}
+
+}
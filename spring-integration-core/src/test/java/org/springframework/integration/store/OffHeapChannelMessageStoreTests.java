@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.codec.kryo.MessageCodec;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+class OffHeapChannelMessageStoreTests {
+
+	@Test
+	void testFifoAndSegmentRecycling() {
+		OffHeapChannelMessageStore store = new OffHeapChannelMessageStore(new MessageCodec(), 256);
+		for (int i = 0; i < 100; i++) {
+			store.addMessageToGroup("foo", new GenericMessage<>("foo" + i));
+		}
+		assertThat(store.addMessageToGroup("bar", new GenericMessage<>("bar")).getGroupId()).isEqualTo("bar");
+		assertThat(store.messageGroupSize("foo")).isEqualTo(100);
+		assertThat(store.getMessageGroupCount()).isEqualTo(2);
+		assertThat(store.getMessageCountForAllMessageGroups()).isEqualTo(101);
+		long allocated = store.getAllocatedMemory();
+		assertThat(allocated).isGreaterThan(256);
+
+		MessageGroup group = store.getMessageGroup("foo");
+		assertThat(group.size()).isEqualTo(100);
+		assertThat(group.getOne().getPayload()).isEqualTo("foo0");
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(store.pollMessageFromGroup("foo").getPayload()).isEqualTo("foo" + i);
+		}
+		assertThat(store.pollMessageFromGroup("foo")).isNull();
+		assertThat(store.getAllocatedMemory()).isLessThan(allocated);
+
+		store.removeMessageGroup("bar");
+		assertThat(store.getMessageGroupCount()).isEqualTo(0);
+		assertThat(store.getMessageCountForAllMessageGroups()).isEqualTo(0);
+		assertThat(store.getAllocatedMemory()).isLessThanOrEqualTo(512);
+	}
+
+	@Test
+	void testLargeMessageAndMaxMemory() {
+		OffHeapChannelMessageStore store = new OffHeapChannelMessageStore(new MessageCodec(), 128);
+		store.setMaxMemory(4096);
+		Message<byte[]> large = new GenericMessage<>(new byte[1024]);
+		store.addMessageToGroup("foo", large);
+		assertThat(store.getAllocatedMemory()).isGreaterThan(1024);
+		Message<?> polled = store.pollMessageFromGroup("foo");
+		assertThat(polled.getPayload()).isEqualTo(large.getPayload());
+		assertThat(polled.getHeaders().getId()).isEqualTo(large.getHeaders().getId());
+		assertThat(store.getAllocatedMemory()).isEqualTo(0);
+
+		assertThatExceptionOfType(MessagingException.class)
+				.isThrownBy(() -> store.addMessageToGroup("foo", new GenericMessage<>(new byte[8192])));
+	}
+
+	@Test
+	void testQueueChannel() {
+		OffHeapChannelMessageStore store = new OffHeapChannelMessageStore(new MessageCodec(), 1024);
+		QueueChannel channel = new QueueChannel(new MessageGroupQueue(store, "queue"));
+		for (int i = 0; i < 1000; i++) {
+			channel.send(new GenericMessage<>(i));
+		}
+		assertThat(channel.getQueueSize()).isEqualTo(1000);
+		for (int i = 0; i < 1000; i++) {
+			assertThat(channel.receive(0).getPayload()).isEqualTo(i);
+		}
+		assertThat(channel.receive(0)).isNull();
+		store.destroy();
+	}
+
+}
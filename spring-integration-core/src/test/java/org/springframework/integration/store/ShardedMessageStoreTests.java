@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.test.util.TestUtils;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+class ShardedMessageStoreTests {
+
+	@Test
+	void testGroupsAreSpreadOverShards() {
+		ShardedMessageStore store = new ShardedMessageStore(3);
+		assertThat(store.getShardCount()).isEqualTo(4);
+		for (int i = 0; i < 100; i++) {
+			store.addMessageToGroup("group" + i, new GenericMessage<>(i));
+			store.addMessageToGroup("group" + i, new GenericMessage<>(i));
+		}
+		assertThat(store.getMessageGroupCount()).isEqualTo(100);
+		assertThat(store.getMessageCountForAllMessageGroups()).isEqualTo(200);
+		assertThat(store.messageGroupSize("group42")).isEqualTo(2);
+		assertThat(store.getMessageGroup("group42").getOne().getPayload()).isEqualTo(42);
+
+		SimpleMessageStore[] shards = TestUtils.getPropertyValue(store, "shards", SimpleMessageStore[].class);
+		for (SimpleMessageStore shard : shards) {
+			assertThat(shard.getMessageGroupCount()).isGreaterThan(0);
+		}
+
+		MessageGroup group = store.getMessageGroup("group42");
+		store.removeMessagesFromGroup("group42", group.getMessages());
+		assertThat(store.messageGroupSize("group42")).isEqualTo(0);
+
+		store.removeMessageGroup("group42");
+		assertThat(store.getMessageGroupCount()).isEqualTo(99);
+
+		List<Object> groupIds = new ArrayList<>();
+		store.forEach(messageGroup -> groupIds.add(messageGroup.getGroupId()));
+		assertThat(groupIds).hasSize(99).doesNotContain("group42");
+	}
+
+	@Test
+	void testGroupCapacity() {
+		ShardedMessageStore store = new ShardedMessageStore(2, 1);
+		store.addMessageToGroup("foo", new GenericMessage<>("foo"));
+		assertThatExceptionOfType(MessagingException.class)
+				.isThrownBy(() -> store.addMessageToGroup("foo", new GenericMessage<>("bar")));
+		store.addMessageToGroup("bar", new GenericMessage<>("bar"));
+		store.clearMessageGroup("foo");
+		store.addMessageToGroup("foo", new GenericMessage<>("baz"));
+		assertThat(store.getMessageGroup("foo").getOne().getPayload()).isEqualTo("baz");
+	}
+
+	@Test
+	void testExpiryAcrossShards() {
+		ShardedMessageStore store = new ShardedMessageStore(4);
+		List<Object> expired = new ArrayList<>();
+		store.registerMessageGroupExpiryCallback((messageGroupStore, group) -> {
+			assertThat(messageGroupStore).isSameAs(store);
+			expired.add(group.getGroupId());
+			messageGroupStore.removeMessageGroup(group.getGroupId());
+		});
+		for (int i = 0; i < 20; i++) {
+			store.addMessageToGroup(i, new GenericMessage<>(i));
+		}
+		assertThat(store.expireMessageGroups(10000)).isEqualTo(0);
+		assertThat(store.expireMessageGroups(-10000)).isEqualTo(20);
+		assertThat(expired).hasSize(20);
+		assertThat(store.getMessageGroupCount()).isEqualTo(0);
+	}
+
+	@Test
+	void testConcurrentGroups() throws InterruptedException {
+		ShardedMessageStore store = new ShardedMessageStore(8);
+		store.setMessageGroupFactory(new SimpleMessageGroupFactory(SimpleMessageGroupFactory.GroupType.SEQUENCE));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		CountDownLatch latch = new CountDownLatch(4);
+		for (int t = 0; t < 4; t++) {
+			executor.execute(() -> {
+				for (int i = 0; i < 1000; i++) {
+					Message<?> message = new GenericMessage<>(i);
+					store.addMessageToGroup(i % 100, message);
+				}
+				latch.countDown();
+			});
+		}
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+		assertThat(store.getMessageGroupCount()).isEqualTo(100);
+		assertThat(store.getMessageCountForAllMessageGroups()).isEqualTo(4000);
+	}
+
+}
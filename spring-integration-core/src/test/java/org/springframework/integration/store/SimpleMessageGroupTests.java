@@ -97,6 +97,36 @@ public class SimpleMessageGroupTests {
 		assertThat(grp.getMessages().size()).isEqualTo(2);
 	}
 
+	@Test
+	public void testSequenceIndexedGroup() {
+		MessageGroup group = new SimpleMessageGroupFactory(SimpleMessageGroupFactory.GroupType.SEQUENCE)
+				.create(this.key);
+		Message<?> message3 = MessageBuilder.withPayload("3").setSequenceNumber(3).setSequenceSize(3).build();
+		Message<?> message1 = MessageBuilder.withPayload("1").setSequenceNumber(1).setSequenceSize(3).build();
+		Message<?> duplicate1 = MessageBuilder.fromMessage(message1).setHeader("foo", "bar").build();
+		Message<?> noSequence = MessageBuilder.withPayload("none").build();
+		group.add(message3);
+		group.add(message1);
+		group.add(duplicate1);
+		group.add(noSequence);
+		group.add(message3);
+		assertThat(group.size()).isEqualTo(4);
+		assertThat(group.getMessages()).containsExactly(message1, message3, duplicate1, noSequence);
+		assertThat(group.getOne()).isSameAs(message1);
+		assertThat(((SimpleMessageGroup) group).containsSequence(3)).isTrue();
+		assertThat(((SimpleMessageGroup) group).containsSequence(2)).isFalse();
+
+		assertThat(group.remove(message1)).isTrue();
+		assertThat(((SimpleMessageGroup) group).containsSequence(1)).isTrue();
+		assertThat(group.remove(duplicate1)).isTrue();
+		assertThat(((SimpleMessageGroup) group).containsSequence(1)).isFalse();
+		assertThat(group.getMessages()).containsExactly(message3, noSequence);
+
+		group.clear();
+		assertThat(group.size()).isEqualTo(0);
+		assertThat(group.getOne()).isNull();
+	}
+
 	@Test
 	// This test used to take 2 min and half to run; now ~200 milliseconds.
 	public void testPerformance_INT3846() {
@@ -32,6 +32,7 @@ import org.junit.Test;
 
 import org.springframework.integration.store.MessageGroupStore.MessageGroupCallback;
 import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.test.util.TestUtils;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.support.GenericMessage;
@@ -277,6 +278,47 @@ public class SimpleMessageStoreTests {
 
 	}
 
+	@Test
+	public void shouldVisitOnlyDueGroupsOnExpiry() {
+		SimpleMessageStore store = new SimpleMessageStore();
+		List<Object> expired = new ArrayList<>();
+		store.registerMessageGroupExpiryCallback((messageGroupStore, group) -> {
+			expired.add(group.getGroupId());
+			if (!"keep".equals(group.getGroupId())) {
+				messageGroupStore.removeMessageGroup(group.getGroupId());
+			}
+		});
+		store.addMessagesToGroup("foo", new GenericMessage<>("foo"));
+		store.addMessagesToGroup("keep", new GenericMessage<>("keep"));
+		MessageGroupExpiryIndex expiryIndex =
+				TestUtils.getPropertyValue(store, "expiryIndex", MessageGroupExpiryIndex.class);
+		assertThat(expiryIndex.size()).isEqualTo(2);
+
+		assertThat(store.expireMessageGroups(10000)).isEqualTo(0);
+		assertThat(expired).isEmpty();
+		assertThat(expiryIndex.size()).isEqualTo(2);
+
+		assertThat(store.expireMessageGroups(-10000)).isEqualTo(2);
+		assertThat(expired).containsExactlyInAnyOrder("foo", "keep");
+		assertThat(expiryIndex.size()).isEqualTo(1);
+
+		store.removeMessageGroup("keep");
+		assertThat(expiryIndex.size()).isEqualTo(0);
+		assertThat(store.expireMessageGroups(-10000)).isEqualTo(0);
+	}
+
+	@Test
+	public void shouldReindexGroupsOnTimeoutOnIdleChange() {
+		SimpleMessageStore store = new SimpleMessageStore();
+		store.addMessagesToGroup("foo", new GenericMessage<>("foo"));
+		MessageGroup group = store.getMessageGroup("foo");
+		group.setLastModified(group.getTimestamp() + 60000);
+		store.setTimeoutOnIdle(true);
+		assertThat(store.expireMessageGroups(0)).isEqualTo(0);
+		store.setTimeoutOnIdle(false);
+		assertThat(store.expireMessageGroups(0)).isEqualTo(1);
+	}
+
 	@Test
 	public void testAddAndRemoveMessagesFromMessageGroup() throws Exception {
 		SimpleMessageStore messageStore = new SimpleMessageStore();
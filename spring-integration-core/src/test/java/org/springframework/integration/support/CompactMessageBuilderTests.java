@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.channel.NullChannel;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+class CompactMessageBuilderTests {
+
+	@Test
+	void testHeadersAreSharedWhenNotModified() {
+		Message<String> message = CompactMessageBuilder.withPayload("foo")
+				.setHeader("foo", "bar")
+				.setCorrelationId("baz")
+				.build();
+		assertThat(message.getHeaders()).isInstanceOf(CompactMessageHeaders.class);
+		assertThat(message.getHeaders().getId()).isNotNull();
+		assertThat(message.getHeaders().getTimestamp()).isNotNull();
+		assertThat(message.getHeaders()).containsEntry("foo", "bar");
+		assertThat(message.getHeaders()).hasSize(4);
+
+		assertThat(CompactMessageBuilder.fromMessage(message).build()).isSameAs(message);
+
+		Message<String> other = CompactMessageBuilder.fromMessage(message).setHeader("foo", "bar").build();
+		assertThat(other).isSameAs(message);
+
+		String equalValue = new StringBuilder("ba").append('r').toString();
+		other = CompactMessageBuilder.fromMessage(message).setHeader("foo", equalValue).build();
+		assertThat(other).isSameAs(message);
+
+		Message<Integer> derived = CompactMessageBuilder.withPayload(1).copyHeaders(message.getHeaders()).build();
+		Message<Integer> next = CompactMessageBuilder.fromMessage(derived).setPriority(5).build();
+		Message<String> transformed = CompactMessageBuilder.withPayload("bar").copyHeadersIfAbsent(derived.getHeaders())
+				.build();
+		Message<String> sameHeaders = CompactMessageBuilder.fromMessage(transformed).build();
+		assertThat(sameHeaders).isSameAs(transformed);
+
+		CompactMessageHeaders nextHeaders = (CompactMessageHeaders) next.getHeaders();
+		assertThat(nextHeaders.getId()).isNotEqualTo(derived.getHeaders().getId());
+		assertThat(nextHeaders).containsEntry(IntegrationMessageHeaderAccessor.PRIORITY, 5);
+		assertThat(new IntegrationMessageHeaderAccessor(next).getCorrelationId()).isEqualTo("baz");
+		assertThat(derived.getHeaders()).doesNotContainKey(IntegrationMessageHeaderAccessor.PRIORITY);
+
+		Message<String> payloadChanged = CompactMessageBuilder.withPayload("qux")
+				.copyHeaders(message.getHeaders())
+				.build();
+		assertThat(((CompactMessageHeaders) payloadChanged.getHeaders()).getEntries())
+				.isSameAs(((CompactMessageHeaders) message.getHeaders()).getEntries());
+	}
+
+	@Test
+	void testSetAndRemoveHeaders() {
+		Message<String> message = CompactMessageBuilder.withPayload("foo")
+				.setHeader("foo1", "bar")
+				.setHeader("foo2", "bar")
+				.setHeader("baz", "qux")
+				.build();
+		Message<String> removed = CompactMessageBuilder.fromMessage(message)
+				.removeHeaders("foo*")
+				.removeHeader(MessageHeaders.ID)
+				.build();
+		assertThat(removed.getHeaders()).containsOnlyKeys(MessageHeaders.ID, MessageHeaders.TIMESTAMP, "baz");
+		assertThat(message.getHeaders()).containsKeys("foo1", "foo2", "baz");
+
+		Message<String> nulled = CompactMessageBuilder.fromMessage(removed).setHeader("baz", null).build();
+		assertThat(nulled.getHeaders()).containsOnlyKeys(MessageHeaders.ID, MessageHeaders.TIMESTAMP);
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> CompactMessageBuilder.withPayload("foo").setHeader(MessageHeaders.ID, "bar"));
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> CompactMessageBuilder.withPayload("foo").setHeader(MessageHeaders.REPLY_CHANNEL, 1));
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> CompactMessageBuilder.withPayload("foo")
+						.setHeader(IntegrationMessageHeaderAccessor.SEQUENCE_SIZE, "1"));
+	}
+
+	@Test
+	void testSequenceDetails() {
+		Message<String> message = CompactMessageBuilder.withPayload("foo")
+				.pushSequenceDetails("foo", 1, 2)
+				.pushSequenceDetails("bar", 3, 4)
+				.build();
+		IntegrationMessageHeaderAccessor accessor = new IntegrationMessageHeaderAccessor(message);
+		assertThat(accessor.getCorrelationId()).isEqualTo("bar");
+		assertThat(accessor.getSequenceNumber()).isEqualTo(3);
+		Message<String> popped = CompactMessageBuilder.fromMessage(message).popSequenceDetails().build();
+		accessor = new IntegrationMessageHeaderAccessor(popped);
+		assertThat(accessor.getCorrelationId()).isEqualTo("foo");
+		assertThat(accessor.getSequenceSize()).isEqualTo(2);
+		assertThat(popped.getHeaders()).doesNotContainKey(IntegrationMessageHeaderAccessor.SEQUENCE_DETAILS);
+	}
+
+	@Test
+	void testReadOnlyHeaders() {
+		Message<String> message = MessageBuilder.withPayload("foo")
+				.setHeader("foo", "bar")
+				.setHeader("baz", "qux")
+				.build();
+		CompactMessageBuilderFactory factory = new CompactMessageBuilderFactory();
+		factory.setReadOnlyHeaders("foo");
+		Message<String> copy = factory.fromMessage(message).build();
+		assertThat(copy).isNotSameAs(message);
+		assertThat(copy.getHeaders()).doesNotContainKey("foo").containsEntry("baz", "qux");
+		Message<String> another = factory.withPayload("bar").copyHeaders(message.getHeaders()).build();
+		assertThat(another.getHeaders()).doesNotContainKey("foo").containsEntry("baz", "qux");
+	}
+
+	@Test
+	void testEqualityAndSerialization() {
+		Message<String> message = CompactMessageBuilder.withPayload("foo")
+				.setHeader("foo", "bar")
+				.setReplyChannel(new NullChannel())
+				.build();
+		MessageHeaders headers = message.getHeaders();
+		Map<String, Object> map = new HashMap<>(headers);
+		assertThat(map).hasSize(4);
+		assertThat(headers.hashCode()).isEqualTo(map.hashCode());
+		assertThat(headers.getReplyChannel()).isInstanceOf(NullChannel.class);
+		assertThat(headers.keySet()).containsExactlyInAnyOrderElementsOf(map.keySet());
+		assertThat(headers.values()).containsExactlyInAnyOrderElementsOf(map.values());
+
+		@SuppressWarnings("unchecked")
+		Message<String> deserialized = (Message<String>) SerializationUtils.deserialize(
+				SerializationUtils.serialize(message));
+		assertThat(deserialized.getHeaders()).isInstanceOf(CompactMessageHeaders.class);
+		assertThat(deserialized.getHeaders().getId()).isEqualTo(headers.getId());
+		assertThat(deserialized.getHeaders().getTimestamp()).isEqualTo(headers.getTimestamp());
+		assertThat(deserialized.getHeaders()).containsEntry("foo", "bar");
+		assertThat(deserialized.getHeaders()).doesNotContainKey(MessageHeaders.REPLY_CHANNEL);
+	}
+
+	@Test
+	void testEqualityIsSymmetric() {
+		Message<String> message = CompactMessageBuilder.withPayload("foo")
+				.setHeader("foo", "bar")
+				.build();
+		MessageHeaders headers = message.getHeaders();
+		@SuppressWarnings("unchecked")
+		MessageHeaders sameContent = ((Message<String>) SerializationUtils.deserialize(
+				SerializationUtils.serialize(message))).getHeaders();
+		assertThat(sameContent).isNotSameAs(headers);
+		assertThat(headers).isEqualTo(sameContent);
+		assertThat(sameContent).isEqualTo(headers);
+		assertThat(sameContent.hashCode()).isEqualTo(headers.hashCode());
+
+		MessageHeaders regular = new MutableMessageHeaders(new HashMap<>(headers));
+		assertThat(headers).isNotEqualTo(regular);
+		assertThat(regular).isNotEqualTo(headers);
+	}
+
+	@Test
+	void testFallbackForManyHeaders() {
+		Map<String, Object> headers = new HashMap<>();
+		for (int i = 0; i <= CompactMessageBuilder.MAX_COMPACT_HEADERS; i++) {
+			headers.put("header" + i, i);
+		}
+		Message<String> message = CompactMessageBuilder.withPayload("foo").copyHeaders(headers).build();
+		assertThat(message.getHeaders()).isNotInstanceOf(CompactMessageHeaders.class);
+		assertThat(message.getHeaders()).containsAllEntriesOf(headers);
+		assertThat(message.getHeaders().getId()).isNotNull();
+
+		Message<String> compact = CompactMessageBuilder.fromMessage(message).removeHeader("header0").build();
+		assertThat(compact.getHeaders()).isInstanceOf(CompactMessageHeaders.class);
+		assertThat(compact.getHeaders()).hasSize(CompactMessageBuilder.MAX_COMPACT_HEADERS + 2);
+		assertThat(new GenericMessage<>("foo", compact.getHeaders()).getHeaders()).containsEntry("header1", 1);
+	}
+
+}
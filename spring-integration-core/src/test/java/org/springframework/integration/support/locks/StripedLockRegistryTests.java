@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.support.locks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+class StripedLockRegistryTests {
+
+	@Test
+	void testLocksAreReleasedWhenUnused() {
+		StripedLockRegistry registry = new StripedLockRegistry(3);
+		assertThat(registry.getStripeStatistics()).hasSize(4);
+		Lock lock = registry.obtain("foo");
+		lock.lock();
+		lock.lock();
+		assertThat(registry.getLockCount()).isEqualTo(1);
+		lock.unlock();
+		assertThat(registry.getLockCount()).isEqualTo(1);
+		lock.unlock();
+		assertThat(registry.getLockCount()).isEqualTo(0);
+		assertThatExceptionOfType(IllegalMonitorStateException.class)
+				.isThrownBy(lock::unlock);
+	}
+
+	@Test
+	void testUnrelatedKeysDoNotCollide() throws Exception {
+		StripedLockRegistry registry = new StripedLockRegistry(1);
+		Lock foo = registry.obtain("foo");
+		foo.lock();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			assertThat(executor.submit(() -> {
+				Lock bar = registry.obtain("bar");
+				boolean locked = bar.tryLock();
+				bar.unlock();
+				return locked && !registry.obtain("foo").tryLock();
+			}).get(10, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			foo.unlock();
+			executor.shutdownNow();
+		}
+		assertThat(registry.getLockCount()).isEqualTo(0);
+	}
+
+	@Test
+	void testContentionStatistics() throws Exception {
+		StripedLockRegistry registry = new StripedLockRegistry(1);
+		Lock lock = registry.obtain("foo");
+		lock.lock();
+		CountDownLatch waiting = new CountDownLatch(1);
+		AtomicBoolean acquired = new AtomicBoolean();
+		Thread thread = new Thread(() -> {
+			Lock other = registry.obtain("foo");
+			waiting.countDown();
+			other.lock();
+			acquired.set(true);
+			other.unlock();
+		});
+		thread.start();
+		assertThat(waiting.await(10, TimeUnit.SECONDS)).isTrue();
+		Thread.sleep(50);
+		assertThat(acquired.get()).isFalse();
+		lock.unlock();
+		thread.join(10_000);
+		assertThat(acquired.get()).isTrue();
+		StripedLockRegistry.StripeStatistics statistics = registry.getStripeStatistics().get(0);
+		assertThat(statistics.getAcquisitions()).isEqualTo(2);
+		assertThat(statistics.getContentions()).isEqualTo(1);
+		assertThat(statistics.getWaitNanos()).isGreaterThan(0);
+		assertThat(statistics.getLockCount()).isEqualTo(0);
+	}
+
+	@Test
+	void testConditionsAreNotSupported() {
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> new StripedLockRegistry().obtain("foo").newCondition());
+	}
+
+}
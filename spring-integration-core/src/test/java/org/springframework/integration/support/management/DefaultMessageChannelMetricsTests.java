@@ -17,12 +17,16 @@
 package org.springframework.integration.support.management;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import org.junit.Test;
 
 import org.springframework.integration.channel.QueueChannel;
 import org.springframework.integration.support.MessageBuilder;
 import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.support.ChannelInterceptor;
 
 /**
  * @author Ivan Krizsan
@@ -68,4 +72,64 @@ public class DefaultMessageChannelMetricsTests {
 				.isEqualTo(MESSAGE_COUNT / 2);
 	}
 
+	@Test
+	public void noMetricsWithCountsDisabledTest() {
+		QueueChannel theMessageChannel = new QueueChannel(MESSAGE_COUNT / 2);
+		theMessageChannel.setCountsEnabled(false);
+
+		for (int i = 0; i < MESSAGE_COUNT; i++) {
+			theMessageChannel.send(MessageBuilder.withPayload(Integer.toString(i)).build(), SEND_TIMEOUT);
+		}
+
+		assertThat(theMessageChannel.getSendCount()).isEqualTo(0);
+		assertThat(theMessageChannel.getSendErrorCount()).isEqualTo(0);
+		assertThat(theMessageChannel.getQueueSize()).isEqualTo(MESSAGE_COUNT / 2);
+	}
+
+	@Test
+	public void preSendFailuresAreCountedAsSendErrorsTest() {
+		QueueChannel theMessageChannel = new QueueChannel();
+		theMessageChannel.setCountsEnabled(true);
+		theMessageChannel.setDatatypes(Integer.class);
+		theMessageChannel.addInterceptor(new ChannelInterceptor() {
+
+			@Override
+			public Message<?> preSend(Message<?> message, MessageChannel channel) {
+				if (message.getPayload().equals(0)) {
+					throw new IllegalStateException("intentional");
+				}
+				return message;
+			}
+
+		});
+
+		assertThatExceptionOfType(MessageDeliveryException.class)
+				.isThrownBy(() -> theMessageChannel.send(MessageBuilder.withPayload("foo").build(), SEND_TIMEOUT));
+		assertThatExceptionOfType(MessageDeliveryException.class)
+				.isThrownBy(() -> theMessageChannel.send(MessageBuilder.withPayload(0).build(), SEND_TIMEOUT));
+		assertThat(theMessageChannel.send(MessageBuilder.withPayload(1).build(), SEND_TIMEOUT)).isTrue();
+
+		assertThat(theMessageChannel.getSendCount()).isEqualTo(1);
+		assertThat(theMessageChannel.getSendErrorCount()).isEqualTo(2);
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void contextIsNotAllocatedWithoutFullStatsTest() {
+		DefaultMessageChannelMetrics channelMetrics = new DefaultMessageChannelMetrics("channel");
+		assertThat(channelMetrics.beforeSend()).isSameAs(channelMetrics.beforeSend());
+		channelMetrics.setFullStatsEnabled(true);
+		assertThat(channelMetrics.beforeSend()).isNotSameAs(channelMetrics.beforeSend());
+		assertThat(channelMetrics.getSendCount()).isEqualTo(4);
+
+		DefaultMessageHandlerMetrics handlerMetrics = new DefaultMessageHandlerMetrics("handler");
+		MetricsContext context = handlerMetrics.beforeHandle();
+		assertThat(handlerMetrics.beforeHandle()).isSameAs(context);
+		handlerMetrics.afterHandle(context, true);
+		handlerMetrics.afterHandle(context, false);
+		assertThat(handlerMetrics.getHandleCount()).isEqualTo(2);
+		assertThat(handlerMetrics.getErrorCount()).isEqualTo(1);
+		assertThat(handlerMetrics.getActiveCount()).isEqualTo(0);
+	}
+
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.integration.support.management.micrometer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.aggregator.AggregatingMessageHandler;
+import org.springframework.integration.aggregator.DefaultAggregatingMessageGroupProcessor;
+import org.springframework.integration.channel.PriorityChannel;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.config.EnableIntegration;
+import org.springframework.integration.config.EnableIntegrationManagement;
+import org.springframework.integration.handler.BridgeHandler;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.integration.support.management.IntegrationManagement;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+@SpringJUnitConfig
+class MicrometerLatencyMetricsTests {
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private QueueChannel queue;
+
+	@Autowired
+	private PriorityChannel priority;
+
+	@Autowired
+	private QueueChannel excludedQueue;
+
+	@Autowired
+	private QueueChannel output;
+
+	@Autowired
+	private BridgeHandler bridge;
+
+	@Autowired
+	private AggregatingMessageHandler aggregator;
+
+	@Test
+	void testQueueWaitTime() {
+		Message<String> message = new GenericMessage<>("foo");
+		this.queue.send(message);
+		assertThat(this.queue.receive(0)).isSameAs(message);
+		this.priority.send(message);
+		assertThat(this.priority.receive(0)).isSameAs(message);
+		this.excludedQueue.send(message);
+		assertThat(this.excludedQueue.receive(0)).isSameAs(message);
+
+		assertThat(this.meterRegistry.get(IntegrationManagement.QUEUE_WAIT_TIMER_NAME)
+				.tag("name", "queue")
+				.timer().count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get(IntegrationManagement.QUEUE_WAIT_TIMER_NAME)
+				.tag("name", "priority")
+				.timer().count()).isEqualTo(1);
+		assertThat(this.meterRegistry.find(IntegrationManagement.QUEUE_WAIT_TIMER_NAME)
+				.tag("name", "excludedQueue")
+				.timer()).isNull();
+		assertThat(this.excludedQueue.isQueueWaitTimeEnabled()).isFalse();
+
+		this.queue.send(message);
+		assertThat(this.queue.clear()).containsExactly(message);
+	}
+
+	@Test
+	void testHistogramsAndDownstreamTime() {
+		Message<String> message = new GenericMessage<>("foo");
+		this.bridge.handleMessage(message);
+		assertThat(this.output.receive(0)).isNotNull();
+		this.excludedQueue.send(message);
+
+		assertThat(this.meterRegistry.get(IntegrationManagement.DOWNSTREAM_TIMER_NAME)
+				.tag("name", "bridge")
+				.timer().count()).isEqualTo(1);
+
+		Timer sendTimer = this.meterRegistry.get(IntegrationManagement.SEND_TIMER_NAME)
+				.tag("name", "bridge")
+				.timer();
+		HistogramSnapshot snapshot = sendTimer.takeSnapshot();
+		assertThat(snapshot.percentileValues()).hasSize(2);
+		assertThat(Arrays.stream(snapshot.histogramCounts())
+				.anyMatch(count -> count.bucket(TimeUnit.MILLISECONDS) == 100)).isTrue();
+
+		Timer excludedTimer = this.meterRegistry.get(IntegrationManagement.SEND_TIMER_NAME)
+				.tag("name", "excludedQueue")
+				.tag("result", "success")
+				.timer();
+		assertThat(excludedTimer.takeSnapshot().histogramCounts()).isEmpty();
+	}
+
+	@Test
+	void testLockWaitTime() {
+		this.aggregator.handleMessage(MessageBuilder.withPayload("foo").setCorrelationId("bar").build());
+		assertThat(this.output.receive(0)).isNotNull();
+
+		assertThat(this.meterRegistry.get(IntegrationManagement.LOCK_WAIT_TIMER_NAME)
+				.tag("name", "aggregator")
+				.timer().count()).isEqualTo(1);
+	}
+
+	@Configuration
+	@EnableIntegration
+	@EnableIntegrationManagement(latencyEnabled = { "!excluded*", "*" }, latencyPercentiles = "0.5, 0.99",
+			latencyServiceLevelObjectives = "PT0.1S")
+	public static class Config {
+
+		@Bean
+		public MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		public QueueChannel queue() {
+			return new QueueChannel();
+		}
+
+		@Bean
+		public PriorityChannel priority() {
+			return new PriorityChannel();
+		}
+
+		@Bean
+		public QueueChannel excludedQueue() {
+			return new QueueChannel();
+		}
+
+		@Bean
+		public QueueChannel output() {
+			return new QueueChannel();
+		}
+
+		@Bean
+		public BridgeHandler bridge() {
+			BridgeHandler bridgeHandler = new BridgeHandler();
+			bridgeHandler.setOutputChannel(output());
+			return bridgeHandler;
+		}
+
+		@Bean
+		public AggregatingMessageHandler aggregator() {
+			AggregatingMessageHandler aggregator =
+					new AggregatingMessageHandler(new DefaultAggregatingMessageGroupProcessor());
+			aggregator.setOutputChannel(output());
+			return aggregator;
+		}
+
+	}
+
+}
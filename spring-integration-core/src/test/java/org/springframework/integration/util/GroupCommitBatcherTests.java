@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+class GroupCommitBatcherTests {
+
+	@Test
+	void testSingleItemIsWrittenWithoutLinger() {
+		List<List<Integer>> batches = new ArrayList<>();
+		GroupCommitBatcher<Integer> batcher = new GroupCommitBatcher<>(10, 0, batches::add);
+		batcher.add(1);
+		batcher.add(2);
+		assertThat(batches).containsExactly(Collections.singletonList(1), Collections.singletonList(2));
+	}
+
+	@Test
+	void testConcurrentItemsAreCoalesced() throws Exception {
+		List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+		GroupCommitBatcher<Integer> batcher = new GroupCommitBatcher<>(5, 10_000, batches::add);
+		ExecutorService executor = Executors.newFixedThreadPool(5);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			int item = i;
+			futures.add(executor.submit(() -> batcher.add(item)));
+		}
+		for (Future<?> future : futures) {
+			future.get(10, TimeUnit.SECONDS);
+		}
+		executor.shutdownNow();
+		assertThat(batches).hasSize(1);
+		assertThat(batches.get(0)).containsExactlyInAnyOrder(0, 1, 2, 3, 4);
+	}
+
+	@Test
+	void testWriteFailureIsPropagatedToCaller() {
+		GroupCommitBatcher<Integer> batcher = new GroupCommitBatcher<>(10, 0, items -> {
+			throw new IllegalStateException("write failed");
+		});
+		assertThatIllegalStateException()
+				.isThrownBy(() -> batcher.add(1))
+				.withMessage("write failed");
+	}
+
+}
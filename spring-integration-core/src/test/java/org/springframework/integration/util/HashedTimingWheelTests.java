@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * The wheel is advanced by invoking its tick task directly, so only the elapsed time,
+ * not the scheduler, drives the expiration.
+ *
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+class HashedTimingWheelTests {
+
+	@Test
+	void testNotStartedWheelRejectsTasks() {
+		HashedTimingWheel wheel = new HashedTimingWheel(10);
+		assertThatIllegalStateException()
+				.isThrownBy(() -> wheel.schedule(() -> { }, 10))
+				.withMessage("The timing wheel is not started");
+	}
+
+	@Test
+	void testDelayLongerThanWheelTurnWaitsForRemainingRounds() throws InterruptedException {
+		// 4 buckets of 10 millis: a 500 millis delay is twelve full turns and a half
+		HashedTimingWheel wheel = new HashedTimingWheel(10, 4);
+		Runnable tick = start(wheel);
+		AtomicInteger executions = new AtomicInteger();
+		ScheduledFuture<?> future = wheel.schedule(executions::incrementAndGet, 500);
+
+		Thread.sleep(50);
+		tick.run();
+		assertThat(executions.get()).isEqualTo(0);
+		assertThat(future.isDone()).isFalse();
+		assertThat(wheel.size()).isEqualTo(1);
+
+		Thread.sleep(500);
+		tick.run();
+		assertThat(executions.get()).isEqualTo(1);
+		assertThat(future.isDone()).isTrue();
+		assertThat(wheel.size()).isEqualTo(0);
+	}
+
+	@Test
+	void testCancelledTaskIsPurged() throws InterruptedException {
+		HashedTimingWheel wheel = new HashedTimingWheel(10, 4);
+		Runnable tick = start(wheel);
+		AtomicInteger executions = new AtomicInteger();
+		ScheduledFuture<?> future = wheel.schedule(executions::incrementAndGet, 20);
+		assertThat(future.cancel(false)).isTrue();
+		assertThat(wheel.size()).isEqualTo(1);
+
+		Thread.sleep(50);
+		tick.run();
+		assertThat(executions.get()).isEqualTo(0);
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(wheel.size()).isEqualTo(0);
+	}
+
+	@Test
+	void testOverdueTasksRunOnNextTick() throws InterruptedException {
+		HashedTimingWheel wheel = new HashedTimingWheel(10, 4);
+		Runnable tick = start(wheel);
+		Thread.sleep(20);
+		tick.run();
+
+		List<String> executions = new ArrayList<>();
+		wheel.schedule(() -> executions.add("negative"), -100);
+		wheel.schedule(() -> executions.add("zero"), 0);
+		wheel.schedule(() -> executions.add("short"), 10);
+		assertThat(executions).isEmpty();
+
+		// The ticks are late for more than a wheel turn; all the tasks are overdue
+		Thread.sleep(100);
+		tick.run();
+		assertThat(executions).containsExactly("negative", "zero", "short");
+		assertThat(wheel.size()).isEqualTo(0);
+	}
+
+	@Test
+	void testTaskExceptionIsPropagatedToErrorHandler() throws InterruptedException {
+		HashedTimingWheel wheel = new HashedTimingWheel(10, 4);
+		List<Throwable> errors = new ArrayList<>();
+		wheel.setErrorHandler(errors::add);
+		Runnable tick = start(wheel);
+		ScheduledFuture<?> failed =
+				wheel.schedule(() -> {
+					throw new IllegalStateException("task failed");
+				}, 10);
+		AtomicInteger executions = new AtomicInteger();
+		ScheduledFuture<?> next = wheel.schedule(executions::incrementAndGet, 10);
+
+		Thread.sleep(50);
+		tick.run();
+		assertThat(errors).hasSize(1);
+		assertThat(errors.get(0))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("task failed");
+		assertThatExceptionOfType(ExecutionException.class)
+				.isThrownBy(() -> failed.get(10, TimeUnit.SECONDS))
+				.withCauseInstanceOf(IllegalStateException.class);
+		assertThat(executions.get()).isEqualTo(1);
+		assertThat(next.isDone()).isTrue();
+	}
+
+	private static Runnable start(HashedTimingWheel wheel) {
+		TaskScheduler taskScheduler = mock(TaskScheduler.class);
+		willReturn(mock(ScheduledFuture.class))
+				.given(taskScheduler)
+				.scheduleAtFixedRate(any(Runnable.class), anyLong());
+		wheel.start(taskScheduler);
+		ArgumentCaptor<Runnable> tickCaptor = ArgumentCaptor.forClass(Runnable.class);
+		verify(taskScheduler).scheduleAtFixedRate(tickCaptor.capture(), anyLong());
+		assertThat(wheel.isRunning()).isTrue();
+		return tickCaptor.getValue();
+	}
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.GenericMessage;
+
+/**
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+class LockFreeArrayBlockingQueueTests {
+
+	@Test
+	void testCapacityAndOrdering() throws InterruptedException {
+		LockFreeArrayBlockingQueue<Integer> queue = new LockFreeArrayBlockingQueue<>(3);
+		assertThat(queue.getCapacity()).isEqualTo(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(queue.offer(i)).isTrue();
+		}
+		assertThat(queue.offer(4)).isFalse();
+		assertThat(queue.offer(4, 10, TimeUnit.MILLISECONDS)).isFalse();
+		assertThat(queue.size()).isEqualTo(4);
+		assertThat(queue.remainingCapacity()).isEqualTo(0);
+		assertThat(queue.peek()).isEqualTo(0);
+		for (int i = 0; i < 4; i++) {
+			assertThat(queue.poll()).isEqualTo(i);
+		}
+		assertThat(queue.poll()).isNull();
+		assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(queue.isEmpty()).isTrue();
+	}
+
+	@Test
+	void testRemoveAndDrain() {
+		LockFreeArrayBlockingQueue<String> queue = new LockFreeArrayBlockingQueue<>(8);
+		queue.add("a");
+		queue.add("b");
+		queue.add("c");
+		assertThat(queue.remove("b")).isTrue();
+		assertThat(queue.remove("b")).isFalse();
+		assertThat(queue.size()).isEqualTo(2);
+		assertThat(queue).containsExactly("a", "c");
+		List<String> drained = new ArrayList<>();
+		assertThat(queue.drainTo(drained)).isEqualTo(2);
+		assertThat(drained).containsExactly("a", "c");
+		assertThat(queue.size()).isEqualTo(0);
+	}
+
+	@Test
+	void testPurgeFullQueueAndSend() {
+		QueueChannel channel = new QueueChannel(new LockFreeArrayBlockingQueue<>(4));
+		for (int i = 0; i < 4; i++) {
+			assertThat(channel.send(new GenericMessage<>(i), 0)).isTrue();
+		}
+		assertThat(channel.send(new GenericMessage<>(4), 0)).isFalse();
+		assertThat(channel.getRemainingCapacity()).isEqualTo(0);
+
+		assertThat(channel.purge(message -> (Integer) message.getPayload() > 1)).hasSize(2);
+		assertThat(channel.getQueueSize()).isEqualTo(2);
+		assertThat(channel.getRemainingCapacity()).isEqualTo(2);
+		assertThat(channel.send(new GenericMessage<>(4), 0)).isTrue();
+		assertThat(channel.send(new GenericMessage<>(5), 0)).isTrue();
+		assertThat(channel.getRemainingCapacity()).isEqualTo(0);
+
+		assertThat(channel.purge(message -> (Integer) message.getPayload() != 4)).hasSize(1);
+		assertThat(channel.getQueueSize()).isEqualTo(3);
+		assertThat(channel.getRemainingCapacity()).isEqualTo(0);
+		assertThat(channel.send(new GenericMessage<>(6), 0)).isFalse();
+
+		assertThat(channel.receive(0).getPayload()).isEqualTo(2);
+		assertThat(channel.receive(0).getPayload()).isEqualTo(3);
+		assertThat(channel.getRemainingCapacity()).isEqualTo(2);
+		assertThat(channel.send(new GenericMessage<>(6), 0)).isTrue();
+		assertThat(channel.send(new GenericMessage<>(7), 0)).isTrue();
+		assertThat(channel.send(new GenericMessage<>(8), 0)).isTrue();
+		assertThat(channel.getRemainingCapacity()).isEqualTo(0);
+		assertThat(channel.clear()).extracting(Message::getPayload).containsExactly(5, 6, 7, 8);
+	}
+
+	@Test
+	void testConcurrentProducersAndConsumers() throws InterruptedException {
+		for (LockFreeArrayBlockingQueue.WaitStrategy waitStrategy : LockFreeArrayBlockingQueue.WaitStrategy.values()) {
+			LockFreeArrayBlockingQueue<Integer> queue = new LockFreeArrayBlockingQueue<>(16, waitStrategy);
+			int producers = 4;
+			int perProducer = 10_000;
+			Set<Integer> received = ConcurrentHashMap.newKeySet();
+			CountDownLatch latch = new CountDownLatch(producers * perProducer);
+			ExecutorService executor = Executors.newCachedThreadPool();
+			for (int i = 0; i < producers; i++) {
+				int producer = i;
+				executor.execute(() -> {
+					try {
+						for (int j = 0; j < perProducer; j++) {
+							queue.put(producer * perProducer + j);
+						}
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+				executor.execute(() -> {
+					try {
+						while (!Thread.currentThread().isInterrupted()) {
+							received.add(queue.take());
+							latch.countDown();
+						}
+					}
+					catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				});
+			}
+			assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+			assertThat(received).hasSize(producers * perProducer);
+			executor.shutdownNow();
+			assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		}
+	}
+
+	@Test
+	void testQueueChannelOperations() {
+		QueueChannel channel = new QueueChannel(new LockFreeArrayBlockingQueue<>(4));
+		assertThat(channel.send(new GenericMessage<>("foo"), 0)).isTrue();
+		assertThat(channel.send(MessageBuilder.withPayload("bar").setHeader("purge", true).build(), 0)).isTrue();
+		assertThat(channel.send(new GenericMessage<>("baz"), 0)).isTrue();
+		assertThat(channel.getQueueSize()).isEqualTo(3);
+		assertThat(channel.getRemainingCapacity()).isEqualTo(1);
+		List<Message<?>> purged = channel.purge(message -> !message.getHeaders().containsKey("purge"));
+		assertThat(purged).hasSize(1);
+		assertThat(purged.get(0).getPayload()).isEqualTo("bar");
+		Message<?> received = channel.receive(0);
+		assertThat(received).isNotNull();
+		assertThat(received.getPayload()).isEqualTo("foo");
+		assertThat(channel.clear()).hasSize(1);
+		assertThat(channel.receive(10)).isNull();
+	}
+
+}
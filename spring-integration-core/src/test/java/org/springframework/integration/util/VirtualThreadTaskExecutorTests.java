@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.integration.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Artem Bilan
+ *
+ * @since 5.2.3
+ */
+class VirtualThreadTaskExecutorTests {
+
+	@Test
+	void testTasksAreExecutedOnNewThreads() throws InterruptedException {
+		VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("test-");
+		assertThat(executor.isVirtual()).isEqualTo(VirtualThreadTaskExecutor.isVirtualThreadsSupported());
+		AtomicReference<Thread> thread = new AtomicReference<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		executor.execute(() -> {
+			thread.set(Thread.currentThread());
+			latch.countDown();
+		});
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(thread.get()).isNotSameAs(Thread.currentThread());
+		assertThat(thread.get().getName()).startsWith("test-");
+		executor.destroy();
+		assertThatExceptionOfType(RuntimeException.class)
+				.isThrownBy(() -> executor.execute(() -> { }));
+	}
+
+}
@@ -129,6 +129,17 @@ public abstract class AbstractConnectionFactorySpec
 		return _this();
 	}
 
+	/**
+	 * @param virtualThreads true to use virtual threads if a task executor is not provided.
+	 * @return the spec.
+	 * @since 5.2.3
+	 * @see AbstractConnectionFactory#setVirtualThreads(boolean)
+	 */
+	public S virtualThreads(boolean virtualThreads) {
+		this.target.setVirtualThreads(virtualThreads);
+		return _this();
+	}
+
 	/**
 	 * @param deserializer the deserializer.
 	 * @return the spec.
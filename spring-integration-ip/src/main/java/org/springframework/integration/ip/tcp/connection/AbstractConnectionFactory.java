@@ -49,6 +49,7 @@ import org.springframework.core.serializer.Deserializer;
 import org.springframework.core.serializer.Serializer;
 import org.springframework.integration.context.IntegrationObjectSupport;
 import org.springframework.integration.ip.tcp.serializer.ByteArrayCrLfSerializer;
+import org.springframework.integration.util.VirtualThreadTaskExecutor;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.MessagingException;
 import org.springframework.util.Assert;
@@ -105,6 +106,8 @@ public abstract class AbstractConnectionFactory extends IntegrationObjectSupport
 
 	private boolean privateExecutor;
 
+	private boolean virtualThreads;
+
 	private Deserializer<?> deserializer = new ByteArrayCrLfSerializer();
 
 	private boolean deserializerSet;
@@ -383,6 +386,19 @@ public abstract class AbstractConnectionFactory extends IntegrationObjectSupport
 		this.taskExecutor = taskExecutor;
 	}
 
+	/**
+	 * Set to true to run the connections on virtual threads when a
+	 * {@link #setTaskExecutor(Executor) taskExecutor} is not provided.
+	 * Falls back to the default cached thread pool if the JVM does not
+	 * support virtual threads.
+	 * @param virtualThreads true to use virtual threads.
+	 * @since 5.2.3
+	 * @see VirtualThreadTaskExecutor
+	 */
+	public void setVirtualThreads(boolean virtualThreads) {
+		this.virtualThreads = virtualThreads;
+	}
+
 	/**
 	 *
 	 * @param deserializer the deserializer to set
@@ -534,7 +550,14 @@ public abstract class AbstractConnectionFactory extends IntegrationObjectSupport
 		synchronized (this.lifecycleMonitor) {
 			if (this.taskExecutor == null) {
 				this.privateExecutor = true;
-				this.taskExecutor = Executors.newCachedThreadPool();
+				if (this.virtualThreads) {
+					String name = getComponentName();
+					this.taskExecutor =
+							VirtualThreadTaskExecutor.newExecutorService((name != null ? name : "tcp") + "-");
+				}
+				else {
+					this.taskExecutor = Executors.newCachedThreadPool();
+				}
 			}
 			return this.taskExecutor;
 		}
@@ -20,6 +20,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.net.ssl.SSLSession;
 
@@ -35,6 +37,8 @@ import org.springframework.util.Assert;
  * that can iterate over a connection from each factory until the write
  * succeeds or the list is exhausted.
  * @author Gary Russell
+ * @author Artem Bilan
+ *
  * @since 2.2
  *
  */
@@ -160,6 +164,8 @@ public class FailoverClientConnectionFactory extends AbstractClientConnectionFac
 
 		private final AtomicLong epoch = new AtomicLong();
 
+		private final Lock lock = new ReentrantLock();
+
 		private FailoverTcpConnection(List<AbstractClientConnectionFactory> factories) throws InterruptedException {
 			this.connectionFactories = factories;
 			this.factoryIterator = factories.iterator();
@@ -179,7 +185,17 @@ public class FailoverClientConnectionFactory extends AbstractClientConnectionFac
 		 * factories are down.
 		 * @throws InterruptedException if interrupted.
 		 */
-		private synchronized void findAConnection() throws InterruptedException {
+		private void findAConnection() throws InterruptedException {
+			this.lock.lock();
+			try {
+				doFindAConnection();
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private void doFindAConnection() throws InterruptedException {
 			boolean success = false;
 			AbstractClientConnectionFactory lastFactoryToTry = this.currentFactory;
 			AbstractClientConnectionFactory nextFactory = null;
@@ -237,7 +253,17 @@ public class FailoverClientConnectionFactory extends AbstractClientConnectionFac
 		 * If send fails on a connection from every factory, we give up.
 		 */
 		@Override
-		public synchronized void send(Message<?> message) {
+		public void send(Message<?> message) {
+			this.lock.lock();
+			try {
+				doSend(message);
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private void doSend(Message<?> message) {
 			boolean success = false;
 			AbstractClientConnectionFactory lastFactoryToTry = this.currentFactory;
 			AbstractClientConnectionFactory lastFactoryTried = null;
@@ -24,6 +24,8 @@ import java.io.UncheckedIOException;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import javax.net.ssl.SSLSession;
@@ -42,6 +44,8 @@ import org.springframework.util.Assert;
  * A TcpConnection that uses and underlying {@link Socket}.
  *
  * @author Gary Russell
+ * @author Artem Bilan
+ *
  * @since 2.0
  *
  */
@@ -49,6 +53,8 @@ public class TcpNetConnection extends TcpConnectionSupport implements Scheduling
 
 	private final Socket socket;
 
+	private final Lock sendLock = new ReentrantLock();
+
 	private volatile OutputStream socketOutputStream;
 
 	private volatile long lastRead = System.currentTimeMillis();
@@ -98,8 +104,18 @@ public class TcpNetConnection extends TcpConnectionSupport implements Scheduling
 	}
 
 	@Override
+	public void send(Message<?> message) {
+		this.sendLock.lock();
+		try {
+			doSend(message);
+		}
+		finally {
+			this.sendLock.unlock();
+		}
+	}
+
 	@SuppressWarnings("unchecked")
-	public synchronized void send(Message<?> message) {
+	private void doSend(Message<?> message) {
 		try {
 			if (this.socketOutputStream == null) {
 				int writeBufferSize = this.socket.getSendBufferSize();
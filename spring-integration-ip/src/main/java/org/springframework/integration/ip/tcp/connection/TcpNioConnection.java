@@ -36,6 +36,8 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.net.ssl.SSLSession;
 
@@ -53,6 +55,8 @@ import org.springframework.util.Assert;
  *
  * @author Gary Russell
  * @author John Anderson
+ * @author Artem Bilan
+ *
  * @since 2.0
  *
  */
@@ -74,6 +78,10 @@ public class TcpNioConnection extends TcpConnectionSupport {
 
 	private final AtomicInteger executionControl = new AtomicInteger();
 
+	private final Lock sendLock = new ReentrantLock();
+
+	private final Lock convertLock = new ReentrantLock();
+
 	private boolean usingDirectBuffers;
 
 	private long pipeTimeout = DEFAULT_PIPE_TIMEOUT;
@@ -146,7 +154,8 @@ public class TcpNioConnection extends TcpConnectionSupport {
 	@Override
 	@SuppressWarnings("unchecked")
 	public void send(Message<?> message) {
-		synchronized (this.socketChannel) {
+		this.sendLock.lock();
+		try {
 			try {
 				if (this.bufferedOutputStream == null) {
 					int writeBufferSize = this.socketChannel.socket().getSendBufferSize();
@@ -169,6 +178,9 @@ public class TcpNioConnection extends TcpConnectionSupport {
 				logger.debug(getConnectionId() + " Message sent " + message);
 			}
 		}
+		finally {
+			this.sendLock.unlock();
+		}
 	}
 
 	@Override
@@ -337,12 +349,23 @@ public class TcpNioConnection extends TcpConnectionSupport {
 
 	/**
 	 * Blocks until a complete message has been assembled.
-	 * Synchronized to avoid concurrency.
+	 * Guarded by a lock to avoid concurrency.
 	 * @return The Message or null if no data is available.
 	 * @throws IOException an IO exception
 	 */
 	@Nullable
-	private synchronized Message<?> convert() throws IOException {
+	private Message<?> convert() throws IOException {
+		this.convertLock.lock();
+		try {
+			return doConvert();
+		}
+		finally {
+			this.convertLock.unlock();
+		}
+	}
+
+	@Nullable
+	private Message<?> doConvert() throws IOException {
 		if (logger.isTraceEnabled()) {
 			logger.trace(getConnectionId() + " checking data avail (convert): " + this.channelInputStream.available() +
 					" pending: " + (this.writingToPipe));
@@ -600,6 +623,8 @@ public class TcpNioConnection extends TcpConnectionSupport {
 	 */
 	class ChannelOutputStream extends OutputStream {
 
+		private final Lock writeLock = new ReentrantLock();
+
 		private Selector selector;
 
 		private int soTimeout;
@@ -633,7 +658,26 @@ public class TcpNioConnection extends TcpConnectionSupport {
 			doWrite(buffer);
 		}
 
-		protected synchronized void doWrite(ByteBuffer buffer) throws IOException {
+		/**
+		 * Return the lock guarding the writes to this stream.
+		 * @return the lock.
+		 * @since 5.2.3
+		 */
+		protected Lock getWriteLock() {
+			return this.writeLock;
+		}
+
+		protected void doWrite(ByteBuffer buffer) throws IOException {
+			this.writeLock.lock();
+			try {
+				writeToChannel(buffer);
+			}
+			finally {
+				this.writeLock.unlock();
+			}
+		}
+
+		private void writeToChannel(ByteBuffer buffer) throws IOException {
 			if (logger.isDebugEnabled()) {
 				logger.debug(getConnectionId() + " writing " + buffer.remaining());
 			}
@@ -681,6 +725,8 @@ public class TcpNioConnection extends TcpConnectionSupport {
 
 		private volatile boolean isClosed;
 
+		private final Lock readLock = new ReentrantLock();
+
 		@Override
 		public int read(byte[] b, int off, int len) throws IOException {
 			Assert.notNull(b, "byte[] cannot be null");
@@ -709,7 +755,17 @@ public class TcpNioConnection extends TcpConnectionSupport {
 		}
 
 		@Override
-		public synchronized int read() throws IOException {
+		public int read() throws IOException {
+			this.readLock.lock();
+			try {
+				return readByte();
+			}
+			finally {
+				this.readLock.unlock();
+			}
+		}
+
+		private int readByte() throws IOException {
 			if (this.isClosed && this.available.get() == 0) {
 				if (TcpNioConnection.this.timedOut) {
 					throw new SocketTimeoutException("Connection has timed out");
@@ -22,6 +22,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLEngineResult;
@@ -331,8 +332,10 @@ public class TcpNioSSLConnection extends TcpNioConnection {
 		 * and multiple writes will be necessary.
 		 */
 		@Override
-		protected synchronized void doWrite(ByteBuffer plainText)
+		protected void doWrite(ByteBuffer plainText)
 				throws IOException {
+			Lock writeLock = getWriteLock();
+			writeLock.lock();
 			try {
 				TcpNioSSLConnection.this.writerActive = true;
 				int remaining = plainText.remaining();
@@ -358,6 +361,7 @@ public class TcpNioSSLConnection extends TcpNioConnection {
 			}
 			finally {
 				TcpNioSSLConnection.this.writerActive = false;
+				writeLock.unlock();
 			}
 		}
 
@@ -20,12 +20,21 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.acks.AcknowledgmentCallback;
+import org.springframework.integration.context.IntegrationContextUtils;
 import org.springframework.integration.endpoint.AbstractMessageSource;
+import org.springframework.integration.metadata.MetadataStore;
+import org.springframework.integration.metadata.SimpleMetadataStore;
+import org.springframework.integration.support.AbstractIntegrationMessageBuilder;
 import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -39,12 +48,23 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
 /**
  * A polling channel adapter that creates messages from the payload returned by
  * executing a select query. Optionally an update can be executed after the
  * select in order to update processed rows.
+ * <p>
+ * Alternatively to the update, the adapter can page through the table with a keyset:
+ * the value of the {@link #setKeysetColumn(String) keysetColumn} from the last read row
+ * is stored in the {@link MetadataStore} and provided as a {@code :lastKey} parameter
+ * for the next poll, e.g. {@code select * from item where id > :lastKey order by id}.
+ * Together with the {@link #setMaxRows(int) maxRows} and {@link #setFetchSize(int) fetchSize}
+ * the table is read in fixed-size chunks with bounded memory and short transactions.
+ * The key is advanced only when the message is acknowledged (see
+ * {@link IntegrationMessageHeaderAccessor#ACKNOWLEDGMENT_CALLBACK}).
  *
  * @author Jonas Partner
  * @author Dave Syer
@@ -54,6 +74,13 @@ import org.springframework.util.Assert;
  */
 public class JdbcPollingChannelAdapter extends AbstractMessageSource<Object> {
 
+	/**
+	 * The name of the select query parameter for the last read key in the keyset
+	 * pagination mode.
+	 * @since 5.2.3
+	 */
+	public static final String KEYSET_PARAMETER_NAME = "lastKey";
+
 	private final NamedParameterJdbcOperations jdbcOperations;
 
 	private RowMapper<?> rowMapper;
@@ -62,12 +89,26 @@ public class JdbcPollingChannelAdapter extends AbstractMessageSource<Object> {
 
 	private boolean updatePerRow = false;
 
+	private boolean batchUpdatePerRow = false;
+
 	private SqlParameterSourceFactory sqlParameterSourceFactory = new ExpressionEvaluatingSqlParameterSourceFactory();
 
 	private boolean sqlParameterSourceFactorySet;
 
 	private int maxRows = 0;
 
+	private int fetchSize = 0;
+
+	private String keysetColumn;
+
+	private Object keysetInitialValue;
+
+	private MetadataStore metadataStore;
+
+	private String metadataKey;
+
+	private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
 	private volatile String selectQuery;
 
 	private volatile String updateSql;
@@ -99,7 +140,7 @@ public class JdbcPollingChannelAdapter extends AbstractMessageSource<Object> {
 						super.getPreparedStatementCreator(sql, paramSource, customizer);
 
 				return new PreparedStatementCreatorWithMaxRows(preparedStatementCreator,
-						JdbcPollingChannelAdapter.this.maxRows);
+						JdbcPollingChannelAdapter.this.maxRows, JdbcPollingChannelAdapter.this.fetchSize);
 			}
 
 		};
@@ -133,6 +174,21 @@ public class JdbcPollingChannelAdapter extends AbstractMessageSource<Object> {
 		this.updatePerRow = updatePerRow;
 	}
 
+	/**
+	 * Execute the {@link #setUpdatePerRow(boolean) per row} updates as a single JDBC batch
+	 * instead of a statement per row. A failure is reported as a
+	 * {@link org.springframework.dao.DataAccessException} with a
+	 * {@link java.sql.BatchUpdateException} cause and, depending on the JDBC driver, some
+	 * rows may have been updated by then; so the poller should be transactional.
+	 * The updates must not depend on each other.
+	 * Defaults to {@code false}.
+	 * @param batchUpdatePerRow true to execute per row updates in a batch.
+	 * @since 5.2.3
+	 */
+	public void setBatchUpdatePerRow(boolean batchUpdatePerRow) {
+		this.batchUpdatePerRow = batchUpdatePerRow;
+	}
+
 	public void setUpdateSqlParameterSourceFactory(SqlParameterSourceFactory sqlParameterSourceFactory) {
 		Assert.notNull(sqlParameterSourceFactory, "'sqlParameterSourceFactory' must be null.");
 		this.sqlParameterSourceFactory = sqlParameterSourceFactory;
@@ -168,6 +224,75 @@ public class JdbcPollingChannelAdapter extends AbstractMessageSource<Object> {
 		this.maxRows = maxRows;
 	}
 
+	/**
+	 * Set the fetch size for the select query, so the rows are read from the database
+	 * cursor in chunks of this size instead of loading the whole result at once
+	 * (if supported by the JDBC driver; e.g. PostgreSQL requires a transaction for that).
+	 * Default is zero - the driver default.
+	 * @param fetchSize the fetch size.
+	 * @since 5.2.3
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Enable the keyset pagination: the value of this column from the last row read
+	 * by a poll is stored in the {@link #setMetadataStore(MetadataStore) metadata store}
+	 * and provided as a {@value #KEYSET_PARAMETER_NAME} parameter for the next select.
+	 * The select query must be ordered by this column and filter on it, e.g.
+	 * {@code select * from item where id > :lastKey order by id}.
+	 * Requires a {@link #setKeysetInitialValue(Object) keysetInitialValue}.
+	 * @param keysetColumn the key column name in the result set.
+	 * @since 5.2.3
+	 */
+	public void setKeysetColumn(String keysetColumn) {
+		Assert.hasText(keysetColumn, "'keysetColumn' must not be empty");
+		this.keysetColumn = keysetColumn;
+	}
+
+	/**
+	 * Set the {@value #KEYSET_PARAMETER_NAME} parameter value for the first poll, when
+	 * there is no key in the metadata store yet. The stored keys are converted to
+	 * the type of this value.
+	 * @param keysetInitialValue the initial key value.
+	 * @since 5.2.3
+	 * @see #setKeysetColumn(String)
+	 */
+	public void setKeysetInitialValue(Object keysetInitialValue) {
+		Assert.notNull(keysetInitialValue, "'keysetInitialValue' must not be null");
+		this.keysetInitialValue = keysetInitialValue;
+	}
+
+	/**
+	 * Set the {@link MetadataStore} for the last read key in the keyset pagination mode.
+	 * Defaults to the {@value IntegrationContextUtils#METADATA_STORE_BEAN_NAME} bean, if any,
+	 * or a {@link SimpleMetadataStore}, which loses the position on restart; so a persistent
+	 * store (e.g. {@link org.springframework.integration.jdbc.metadata.JdbcMetadataStore})
+	 * is recommended.
+	 * The key is stored only when the message is accepted via its
+	 * {@link AcknowledgmentCallback} (the {@code SourcePollingChannelAdapter} does that when
+	 * the downstream flow succeeds) and, with a transactional poller, after the transaction
+	 * commit. So, the rows of a failed poll are polled again (at-least-once).
+	 * @param metadataStore the metadata store.
+	 * @since 5.2.3
+	 */
+	public void setMetadataStore(MetadataStore metadataStore) {
+		Assert.notNull(metadataStore, "'metadataStore' must not be null");
+		this.metadataStore = metadataStore;
+	}
+
+	/**
+	 * Set the key for the last read key in the {@link MetadataStore}.
+	 * Defaults to the component name.
+	 * @param metadataKey the metadata key.
+	 * @since 5.2.3
+	 */
+	public void setMetadataKey(String metadataKey) {
+		Assert.hasText(metadataKey, "'metadataKey' must not be empty");
+		this.metadataKey = metadataKey;
+	}
+
 	@Override
 	protected void onInit() {
 		BeanFactory beanFactory = getBeanFactory();
@@ -175,6 +300,23 @@ public class JdbcPollingChannelAdapter extends AbstractMessageSource<Object> {
 			((ExpressionEvaluatingSqlParameterSourceFactory) this.sqlParameterSourceFactory)
 					.setBeanFactory(beanFactory);
 		}
+		if (this.keysetColumn != null) {
+			Assert.state(this.keysetInitialValue != null,
+					"The 'keysetInitialValue' must be provided for the keyset pagination");
+			if (this.metadataStore == null) {
+				if (beanFactory != null) {
+					this.metadataStore = IntegrationContextUtils.getMetadataStore(beanFactory);
+				}
+				if (this.metadataStore == null) {
+					this.metadataStore = new SimpleMetadataStore();
+				}
+			}
+			if (this.metadataKey == null) {
+				this.metadataKey = getComponentName();
+			}
+			Assert.state(this.metadataKey != null,
+					"The 'metadataKey' must be provided for the keyset pagination when no component name");
+		}
 	}
 
 	@Override
@@ -189,21 +331,63 @@ public class JdbcPollingChannelAdapter extends AbstractMessageSource<Object> {
 	 */
 	@Override
 	protected Object doReceive() {
+		if (this.keysetColumn != null) {
+			return doKeysetPoll();
+		}
 		List<?> payload = doPoll(this.sqlQueryParameterSource);
 		if (payload.size() < 1) {
 			payload = null;
 		}
-		if (payload != null && this.updateSql != null) {
+		if (payload != null) {
+			executeUpdateIfAny(payload);
+		}
+		return payload;
+	}
+
+	private void executeUpdateIfAny(List<?> payload) {
+		if (this.updateSql != null) {
 			if (this.updatePerRow) {
-				for (Object row : payload) {
-					executeUpdateQuery(row);
+				if (this.batchUpdatePerRow) {
+					executeBatchUpdateQuery(payload);
+				}
+				else {
+					for (Object row : payload) {
+						executeUpdateQuery(row);
+					}
 				}
 			}
 			else {
 				executeUpdateQuery(payload);
 			}
 		}
-		return payload;
+	}
+
+	@Nullable
+	private AbstractIntegrationMessageBuilder<?> doKeysetPoll() {
+		Object lastKey = this.keysetInitialValue;
+		String storedKey = this.metadataStore.get(this.metadataKey);
+		if (storedKey != null) {
+			lastKey = this.conversionService.convert(storedKey, this.keysetInitialValue.getClass());
+		}
+		AtomicReference<Object> nextKey = new AtomicReference<>();
+		RowMapper<?> keysetRowMapper =
+				(rs, rowNum) -> {
+					nextKey.set(rs.getObject(this.keysetColumn));
+					return this.rowMapper.mapRow(rs, rowNum);
+				};
+		List<?> rows =
+				this.jdbcOperations.query(this.selectQuery,
+						new KeysetSqlParameterSource(this.sqlQueryParameterSource, lastKey), keysetRowMapper);
+		if (rows.isEmpty()) {
+			return null;
+		}
+		Object key = nextKey.get();
+		Assert.state(key != null, () -> "The '" + this.keysetColumn + "' must not be null in the last polled row");
+		executeUpdateIfAny(rows);
+		return getMessageBuilderFactory()
+				.withPayload(rows)
+				.setHeader(IntegrationMessageHeaderAccessor.ACKNOWLEDGMENT_CALLBACK,
+						new KeysetAcknowledgmentCallback(key.toString()));
 	}
 
 	protected List<?> doPoll(@Nullable SqlParameterSource sqlQueryParameterSource) {
@@ -219,6 +403,14 @@ public class JdbcPollingChannelAdapter extends AbstractMessageSource<Object> {
 		this.jdbcOperations.update(this.updateSql, this.sqlParameterSourceFactory.createParameterSource(obj));
 	}
 
+	private void executeBatchUpdateQuery(List<?> rows) {
+		SqlParameterSource[] parameterSources = new SqlParameterSource[rows.size()];
+		for (int i = 0; i < parameterSources.length; i++) {
+			parameterSources[i] = this.sqlParameterSourceFactory.createParameterSource(rows.get(i));
+		}
+		this.jdbcOperations.batchUpdate(this.updateSql, parameterSources);
+	}
+
 	private static final class PreparedStatementCreatorWithMaxRows
 			implements PreparedStatementCreator, PreparedStatementSetter, SqlProvider, ParameterDisposer {
 
@@ -226,15 +418,21 @@ public class JdbcPollingChannelAdapter extends AbstractMessageSource<Object> {
 
 		private final int maxRows;
 
-		private PreparedStatementCreatorWithMaxRows(PreparedStatementCreator delegate, int maxRows) {
+		private final int fetchSize;
+
+		private PreparedStatementCreatorWithMaxRows(PreparedStatementCreator delegate, int maxRows, int fetchSize) {
 			this.delegate = delegate;
 			this.maxRows = maxRows;
+			this.fetchSize = fetchSize;
 		}
 
 		@Override
 		public PreparedStatement createPreparedStatement(Connection con) throws SQLException {
 			PreparedStatement preparedStatement = this.delegate.createPreparedStatement(con);
 			preparedStatement.setMaxRows(this.maxRows); // We can't mutate provided JdbOperations for this option
+			if (this.fetchSize > 0) {
+				preparedStatement.setFetchSize(this.fetchSize);
+			}
 			return preparedStatement;
 		}
 
@@ -264,4 +462,99 @@ public class JdbcPollingChannelAdapter extends AbstractMessageSource<Object> {
 
 	}
 
+	/**
+	 * Store the last read key when the polled rows are accepted;
+	 * after the transaction commit, if any.
+	 */
+	private final class KeysetAcknowledgmentCallback implements AcknowledgmentCallback {
+
+		private final String lastKey;
+
+		private volatile boolean acknowledged;
+
+		KeysetAcknowledgmentCallback(String lastKey) {
+			this.lastKey = lastKey;
+		}
+
+		@Override
+		public void acknowledge(Status status) {
+			this.acknowledged = true;
+			if (Status.ACCEPT.equals(status)) {
+				if (TransactionSynchronizationManager.isSynchronizationActive()) {
+					TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+						@Override
+						public void afterCommit() {
+							storeLastKey();
+						}
+
+					});
+				}
+				else {
+					storeLastKey();
+				}
+			}
+			// Otherwise the key is not advanced, so the same rows are polled again
+		}
+
+		private void storeLastKey() {
+			JdbcPollingChannelAdapter.this.metadataStore.put(JdbcPollingChannelAdapter.this.metadataKey,
+					this.lastKey);
+		}
+
+		@Override
+		public boolean isAcknowledged() {
+			return this.acknowledged;
+		}
+
+	}
+
+	private static final class KeysetSqlParameterSource implements SqlParameterSource {
+
+		private final SqlParameterSource delegate;
+
+		private final Object lastKey;
+
+		KeysetSqlParameterSource(@Nullable SqlParameterSource delegate, Object lastKey) {
+			this.delegate = delegate;
+			this.lastKey = lastKey;
+		}
+
+		@Override
+		public boolean hasValue(String paramName) {
+			return KEYSET_PARAMETER_NAME.equals(paramName)
+					|| (this.delegate != null && this.delegate.hasValue(paramName));
+		}
+
+		@Override
+		@Nullable
+		public Object getValue(String paramName) throws IllegalArgumentException {
+			if (KEYSET_PARAMETER_NAME.equals(paramName)) {
+				return this.lastKey;
+			}
+			else if (this.delegate != null) {
+				return this.delegate.getValue(paramName);
+			}
+			throw new IllegalArgumentException("No value registered for key '" + paramName + "'");
+		}
+
+		@Override
+		public int getSqlType(String paramName) {
+			if (!KEYSET_PARAMETER_NAME.equals(paramName) && this.delegate != null) {
+				return this.delegate.getSqlType(paramName);
+			}
+			return TYPE_UNKNOWN;
+		}
+
+		@Override
+		@Nullable
+		public String getTypeName(String paramName) {
+			if (!KEYSET_PARAMETER_NAME.equals(paramName) && this.delegate != null) {
+				return this.delegate.getTypeName(paramName);
+			}
+			return null;
+		}
+
+	}
+
 }
@@ -16,7 +16,10 @@
 
 package org.springframework.integration.jdbc.lock;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.UUID;
 
 import javax.sql.DataSource;
@@ -167,6 +170,24 @@ public class DefaultLockRepository implements LockRepository, InitializingBean {
 		}
 	}
 
+	/**
+	 * Renew the time-to-live of the provided locks in a single batch of updates.
+	 * The locks which are not held by this client anymore are not affected.
+	 * @param locks the locks to renew.
+	 * @since 5.2.3
+	 */
+	@Override
+	public void renew(Collection<String> locks) {
+		if (!locks.isEmpty()) {
+			Date now = new Date();
+			List<Object[]> args = new ArrayList<>(locks.size());
+			for (String lock : locks) {
+				args.add(new Object[] { now, this.region, lock, this.id });
+			}
+			this.template.batchUpdate(this.updateQuery, args);
+		}
+	}
+
 	@Override
 	public boolean isAcquired(String lock) {
 		deleteExpired(lock);
@@ -17,7 +17,9 @@
 package org.springframework.integration.jdbc.lock;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
@@ -40,6 +42,13 @@ import org.springframework.util.Assert;
  * {@link org.springframework.integration.support.locks.DefaultLockRegistry}, but the
  * locks taken will be global, as long as the underlying database supports the
  * "serializable" isolation level in its transactions.
+ * <p>
+ * The threads of this process competing for the same lock are parked on an in-JVM
+ * {@link ReentrantLock}, so the lock is handed over between them without waiting for
+ * the {@link #setIdleBetweenTries(Duration) idle interval}, and only the one which is
+ * first in line probes the database for the lock held by other processes.
+ * The locks held for longer than the {@link LockRepository} time-to-live should be
+ * renewed periodically via {@link #renewLocks()}.
  *
  * @author Dave Syer
  * @author Artem Bilan
@@ -86,6 +95,24 @@ public class JdbcLockRegistry implements ExpirableLockRegistry {
 		return input == null ? null : UUIDConverter.getUUID(input).toString();
 	}
 
+	/**
+	 * Renew the time-to-live of all the locks currently held in this process
+	 * with a single {@link LockRepository#renew(java.util.Collection)} call.
+	 * Is supposed to be called periodically, more often than the time-to-live expires.
+	 * @since 5.2.3
+	 */
+	public void renewLocks() {
+		List<String> held = new ArrayList<>();
+		for (JdbcLock lock : this.locks.values()) {
+			if (lock.isLocked()) {
+				held.add(lock.path);
+			}
+		}
+		if (!held.isEmpty()) {
+			this.client.renew(held);
+		}
+	}
+
 	@Override
 	public void expireUnusedOlderThan(long age) {
 		Iterator<Entry<String, JdbcLock>> iterator = this.locks.entrySet().iterator();
@@ -252,8 +279,13 @@ public class JdbcLockRegistry implements ExpirableLockRegistry {
 			throw new UnsupportedOperationException("Conditions are not supported");
 		}
 
+		boolean isLocked() {
+			return this.delegate.isLocked();
+		}
+
 		public boolean isAcquiredInThisProcess() {
-			return this.mutex.isAcquired(this.path);
+			// The record is deleted on unlock, so no need to probe the database for not locked ones
+			return this.delegate.isLocked() && this.mutex.isAcquired(this.path);
 		}
 
 	}
@@ -17,6 +17,7 @@
 package org.springframework.integration.jdbc.lock;
 
 import java.io.Closeable;
+import java.util.Collection;
 
 /**
  * Encapsulation of the SQL shunting that is needed for locks. A {@link JdbcLockRegistry}
@@ -24,6 +25,8 @@ import java.io.Closeable;
  * has to be declared as a bean.
  *
  * @author Dave Syer
+ * @author Artem Bilan
+ *
  * @since 4.3
  */
 public interface LockRepository extends Closeable {
@@ -34,6 +37,18 @@ public interface LockRepository extends Closeable {
 
 	boolean acquire(String lock);
 
+	/**
+	 * Renew the time-to-live of the provided locks held by this client.
+	 * The default implementation just re-acquires them one by one.
+	 * @param locks the locks to renew.
+	 * @since 5.2.3
+	 */
+	default void renew(Collection<String> locks) {
+		for (String lock : locks) {
+			acquire(lock);
+		}
+	}
+
 	@Override
 	void close();
 
@@ -16,13 +16,17 @@
 
 package org.springframework.integration.jdbc.store;
 
+import java.sql.PreparedStatement;
 import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -46,16 +50,27 @@ import org.springframework.integration.store.MessageGroupFactory;
 import org.springframework.integration.store.PriorityCapableChannelMessageStore;
 import org.springframework.integration.store.SimpleMessageGroupFactory;
 import org.springframework.integration.support.converter.WhiteListDeserializingConverter;
+import org.springframework.integration.util.GroupCommitBatcher;
 import org.springframework.integration.util.UUIDConverter;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.jdbc.support.lob.DefaultLobHandler;
 import org.springframework.jdbc.support.lob.LobHandler;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.jmx.export.annotation.ManagedMetric;
 import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.lang.Nullable;
 import org.springframework.messaging.Message;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -111,6 +126,12 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 		POLL_WITH_EXCLUSIONS,
 		PRIORITY,
 		PRIORITY_WITH_EXCLUSIONS,
+		POLL_BATCH,
+		PRIORITY_BATCH,
+		POLL_UNCLAIMED,
+		PRIORITY_UNCLAIMED,
+		CLAIM_MESSAGE,
+		RELEASE_CLAIM,
 		DELETE_MESSAGE
 	}
 
@@ -145,6 +166,8 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 
 	private JdbcTemplate jdbcTemplate;
 
+	private JdbcTemplate batchJdbcTemplate;
+
 	private WhiteListDeserializingConverter deserializer;
 
 	private SerializingConverter serializer;
@@ -163,6 +186,18 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 
 	private boolean priorityEnabled;
 
+	private long leaseDuration;
+
+	private PlatformTransactionManager claimTransactionManager;
+
+	private TransactionTemplate claimTransactionTemplate;
+
+	private final Map<Object, GroupCommitBatcher<Message<?>>> insertBatchers = new ConcurrentHashMap<>();
+
+	private int insertBatchSize = 1;
+
+	private long insertBatchLinger;
+
 	/**
 	 * Convenient constructor for configuration use.
 	 */
@@ -354,6 +389,81 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 		this.usingIdCache = usingIdCache;
 	}
 
+	/**
+	 * Claim polled messages with a lease in the {@code LEASE_EXPIRY} column - an
+	 * alternative to keeping the in-flight message ids in memory
+	 * (see {@link #setUsingIdCache(boolean)}) for MVCC databases.
+	 * <p>When a message is polled within a transaction, it is claimed first in a
+	 * separate short transaction: its {@code LEASE_EXPIRY} is set to the current time
+	 * plus this duration, only if it is not claimed yet or the existing lease has
+	 * expired. So, concurrent transactional pollers (in this and other applications)
+	 * exclude the in-flight messages with a database predicate, don't wait for the
+	 * rows locked by each other and don't share any in-memory state.
+	 * <p>The message is then deleted within the polling transaction, as usual.
+	 * If that transaction is rolled back, the claim is released immediately;
+	 * if the application crashes, the message can be polled again after the lease
+	 * expires. Therefore, the lease must be longer than the polling transaction.
+	 * <p>Requires the {@code LEASE_EXPIRY} column (see the {@code schema-*.sql}
+	 * scripts) and a {@link ChannelMessageStoreQueryProvider} with the
+	 * {@link ChannelMessageStoreQueryProvider#getPollFromGroupUnclaimedQuery()} support.
+	 * The claim transaction requires a database which doesn't block readers on the rows
+	 * modified by other transactions (MVCC), when several messages are polled in the
+	 * same transaction.
+	 * Messages polled without a transaction are not claimed.
+	 * @param leaseDuration the lease duration; must be greater than zero.
+	 * @since 5.2.3
+	 * @see #setClaimTransactionManager(PlatformTransactionManager)
+	 */
+	public void setLeaseDuration(Duration leaseDuration) {
+		Assert.notNull(leaseDuration, "'leaseDuration' must not be null");
+		Assert.isTrue(!leaseDuration.isNegative() && !leaseDuration.isZero(), "'leaseDuration' must be positive");
+		this.leaseDuration = leaseDuration.toMillis();
+	}
+
+	/**
+	 * Set the {@link PlatformTransactionManager} for the claim transactions when the
+	 * {@link #setLeaseDuration(Duration) leaseDuration} is set.
+	 * The claim is performed with the {@link TransactionDefinition#PROPAGATION_REQUIRES_NEW}.
+	 * Defaults to a {@link DataSourceTransactionManager} for the {@link DataSource}
+	 * of this store.
+	 * @param claimTransactionManager the transaction manager to use.
+	 * @since 5.2.3
+	 */
+	public void setClaimTransactionManager(PlatformTransactionManager claimTransactionManager) {
+		Assert.notNull(claimTransactionManager, "'claimTransactionManager' must not be null");
+		this.claimTransactionManager = claimTransactionManager;
+	}
+
+	/**
+	 * Set the maximum number of concurrent {@link #addMessageToGroup(Object, Message)}
+	 * calls for the same group to coalesce into a single JDBC batch (group commit).
+	 * Each caller is blocked until the batch with its message is written, so the
+	 * durability guarantees for the message channel {@code send()} are the same as with
+	 * individual inserts. The batching is applied only for calls outside of a
+	 * transaction. Defaults to 1 - no batching.
+	 * @param insertBatchSize the batch size.
+	 * @since 5.2.3
+	 * @see #setInsertBatchLinger(long)
+	 */
+	public void setInsertBatchSize(int insertBatchSize) {
+		Assert.isTrue(insertBatchSize > 0, "'insertBatchSize' must be greater than 0");
+		this.insertBatchSize = insertBatchSize;
+	}
+
+	/**
+	 * Set the maximum time in milliseconds to wait for more concurrent inserts before
+	 * writing a batch which is not full. The batch is not written before the previous
+	 * one for the same group is completed anyway.
+	 * Defaults to 0 - write immediately if the database is idle.
+	 * @param insertBatchLinger the linger time.
+	 * @since 5.2.3
+	 * @see #setInsertBatchSize(int)
+	 */
+	public void setInsertBatchLinger(long insertBatchLinger) {
+		Assert.isTrue(insertBatchLinger >= 0, "'insertBatchLinger' must not be negative");
+		this.insertBatchLinger = insertBatchLinger;
+	}
+
 	public void setPriorityEnabled(boolean priorityEnabled) {
 		this.priorityEnabled = priorityEnabled;
 	}
@@ -410,6 +520,24 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 					this.lobHandler);
 		}
 		this.jdbcTemplate.afterPropertiesSet();
+
+		// The main template is limited to a single row; the batch one is limited per statement
+		this.batchJdbcTemplate = new JdbcTemplate(this.jdbcTemplate.getDataSource());
+		this.batchJdbcTemplate.setExceptionTranslator(this.jdbcTemplate.getExceptionTranslator());
+		this.batchJdbcTemplate.setQueryTimeout(this.jdbcTemplate.getQueryTimeout());
+
+		if (this.leaseDuration > 0) {
+			Assert.state(!this.usingIdCache, "The 'usingIdCache' and 'leaseDuration' are mutually exclusive");
+			Assert.state(this.channelMessageStoreQueryProvider.getPollFromGroupUnclaimedQuery() != null,
+					() -> "The " + this.channelMessageStoreQueryProvider + " doesn't support messages claiming");
+			if (this.claimTransactionManager == null) {
+				DataSource dataSource = this.jdbcTemplate.getDataSource();
+				Assert.state(dataSource != null, "A 'claimTransactionManager' must be provided");
+				this.claimTransactionManager = new DataSourceTransactionManager(dataSource);
+			}
+			this.claimTransactionTemplate = new TransactionTemplate(this.claimTransactionManager);
+			this.claimTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		}
 	}
 
 	/**
@@ -421,6 +549,19 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 	 */
 	@Override
 	public MessageGroup addMessageToGroup(Object groupId, final Message<?> message) {
+		if (this.insertBatchSize > 1 && !TransactionSynchronizationManager.isActualTransactionActive()) {
+			this.insertBatchers.computeIfAbsent(groupId,
+					key -> new GroupCommitBatcher<>(this.insertBatchSize, this.insertBatchLinger,
+							messages -> doInsertMessages(key, messages)))
+					.add(message);
+		}
+		else {
+			doInsertMessage(groupId, message);
+		}
+		return getMessageGroup(groupId);
+	}
+
+	private void doInsertMessage(Object groupId, Message<?> message) {
 		try {
 			this.jdbcTemplate.update(getQuery(Query.CREATE_MESSAGE,
 						() -> this.channelMessageStoreQueryProvider.getCreateMessageQuery()),
@@ -433,7 +574,22 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 				logger.debug("The Message with id [" + messageId + "] already exists.\nIgnoring INSERT...");
 			}
 		}
-		return getMessageGroup(groupId);
+	}
+
+	private void doInsertMessages(Object groupId, List<Message<?>> messages) {
+		try {
+			this.jdbcTemplate.batchUpdate(getQuery(Query.CREATE_MESSAGE,
+						() -> this.channelMessageStoreQueryProvider.getCreateMessageQuery()),
+					messages, messages.size(),
+					(ps, message) -> this.preparedStatementSetter.setValues(ps, message, groupId, this.region,
+							this.priorityEnabled));
+		}
+		catch (@SuppressWarnings("unused") DuplicateKeyException e) {
+			// Some drivers apply a part of the batch: insert one by one, skipping existing
+			for (Message<?> message : messages) {
+				doInsertMessage(groupId, message);
+			}
+		}
 	}
 
 	/**
@@ -497,6 +653,7 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 
 	@Override
 	public void removeMessageGroup(Object groupId) {
+		this.insertBatchers.remove(groupId);
 		this.jdbcTemplate.update(
 				this.getQuery(Query.DELETE_GROUP,
 						() -> this.channelMessageStoreQueryProvider.getDeleteMessageGroupQuery()),
@@ -511,7 +668,7 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 	public Message<?> pollMessageFromGroup(Object groupId) {
 
 		final String key = getKey(groupId);
-		final Message<?> polledMessage = this.doPollForMessage(key);
+		final Message<?> polledMessage = isClaimRequired() ? doClaimMessage(key) : this.doPollForMessage(key);
 
 		if (polledMessage != null) {
 			if (!this.doRemoveMessageFromGroup(groupId, polledMessage)) {
@@ -598,6 +755,165 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 		return null;
 	}
 
+	/**
+	 * Poll up to {@code maxMessages} oldest messages for the given group id with a single
+	 * query provided by the
+	 * {@link ChannelMessageStoreQueryProvider#getPollMessagesFromGroupQuery()}
+	 * (or {@link ChannelMessageStoreQueryProvider#getPriorityPollMessagesFromGroupQuery()})
+	 * and remove them with a single batch of deletes.
+	 * When the query provider doesn't support it, {@link #setUsingIdCache(boolean)
+	 * usingIdCache} is true, or the messages are claimed with a
+	 * {@link #setLeaseDuration(Duration) lease}, they are polled one by one.
+	 * The messages which have been removed concurrently by other pollers are skipped.
+	 * @since 5.2.3
+	 */
+	@Override
+	public List<Message<?>> pollMessagesFromGroup(Object groupId, int maxMessages) {
+		String query = null;
+		if (!this.usingIdCache && !isClaimRequired()) {
+			if (this.priorityEnabled) {
+				query = getQuery(Query.PRIORITY_BATCH,
+						() -> this.channelMessageStoreQueryProvider.getPriorityPollMessagesFromGroupQuery());
+			}
+			else {
+				query = getQuery(Query.POLL_BATCH,
+						() -> this.channelMessageStoreQueryProvider.getPollMessagesFromGroupQuery());
+			}
+		}
+		if (query == null) {
+			return PriorityCapableChannelMessageStore.super.pollMessagesFromGroup(groupId, maxMessages);
+		}
+
+		final String key = getKey(groupId);
+		final MapSqlParameterSource parameters = new MapSqlParameterSource();
+		parameters.addValue("region", this.region);
+		parameters.addValue("group_key", key);
+		parameters.addValue("max_rows", maxMessages);
+
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(query);
+		String sql = NamedParameterUtils.substituteNamedParameters(parsedSql, parameters);
+		Object[] args = NamedParameterUtils.buildValueArray(parsedSql, parameters, null);
+
+		List<Message<?>> messages =
+				this.batchJdbcTemplate.query(
+						connection -> {
+							PreparedStatement preparedStatement = connection.prepareStatement(sql);
+							// Not all the queries can limit the rows together with the locking
+							preparedStatement.setFetchSize(maxMessages);
+							preparedStatement.setMaxRows(maxMessages);
+							return preparedStatement;
+						},
+						new ArgumentPreparedStatementSetter(args),
+						rs -> {
+							List<Message<?>> rows = new ArrayList<>();
+							while (rows.size() < maxMessages && rs.next()) {
+								rows.add(this.messageRowMapper.mapRow(rs, rows.size()));
+							}
+							return rows;
+						});
+
+		if (messages == null || messages.isEmpty()) {
+			return new ArrayList<>();
+		}
+
+		List<Object[]> batchArgs = new ArrayList<>(messages.size());
+		for (Message<?> message : messages) {
+			batchArgs.add(new Object[] { getKey(message.getHeaders().getId()), key, this.region });
+		}
+		int[] updated = this.jdbcTemplate.batchUpdate(
+				getQuery(Query.DELETE_MESSAGE, () -> this.channelMessageStoreQueryProvider.getDeleteMessageQuery()),
+				batchArgs,
+				new int[] { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR });
+
+		List<Message<?>> polledMessages = new ArrayList<>(messages.size());
+		for (int i = 0; i < messages.size(); i++) {
+			Message<?> message = messages.get(i);
+			if (updated[i] != 0) {
+				polledMessages.add(message);
+			}
+			else if (logger.isWarnEnabled()) {
+				logger.warn(String.format("Message with id '%s' was not deleted.", message.getHeaders().getId()));
+			}
+		}
+		return polledMessages;
+	}
+
+	private boolean isClaimRequired() {
+		return this.leaseDuration > 0 && TransactionSynchronizationManager.isActualTransactionActive();
+	}
+
+	/**
+	 * Find the oldest not claimed message and claim it in a new transaction,
+	 * so other pollers see the claim before the current transaction is completed.
+	 * Retried while the found candidates have been claimed concurrently.
+	 * The claim is released when the current transaction is not committed.
+	 */
+	@Nullable
+	private Message<?> doClaimMessage(String groupIdKey) {
+		String query;
+		if (this.priorityEnabled) {
+			query = getQuery(Query.PRIORITY_UNCLAIMED,
+					() -> this.channelMessageStoreQueryProvider.getPriorityPollFromGroupUnclaimedQuery());
+		}
+		else {
+			query = getQuery(Query.POLL_UNCLAIMED,
+					() -> this.channelMessageStoreQueryProvider.getPollFromGroupUnclaimedQuery());
+		}
+		String claimQuery =
+				getQuery(Query.CLAIM_MESSAGE, () -> this.channelMessageStoreQueryProvider.getClaimMessageQuery());
+
+		NamedParameterJdbcTemplate namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
+		AtomicReference<Message<?>> candidate = new AtomicReference<>();
+		while (true) {
+			Boolean claimed = this.claimTransactionTemplate.execute(status -> {
+				long now = System.currentTimeMillis();
+				MapSqlParameterSource parameters = new MapSqlParameterSource();
+				parameters.addValue("region", this.region);
+				parameters.addValue("group_key", groupIdKey);
+				parameters.addValue("now", now);
+				List<Message<?>> messages = namedParameterJdbcTemplate.query(query, parameters, this.messageRowMapper);
+				if (messages.isEmpty()) {
+					return null;
+				}
+				Message<?> message = messages.get(0);
+				candidate.set(message);
+				return this.jdbcTemplate.update(claimQuery,
+						new Object[] { now + this.leaseDuration, getKey(message.getHeaders().getId()), groupIdKey,
+								this.region, now },
+						new int[] { Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BIGINT }) > 0;
+			});
+
+			if (claimed == null) {
+				return null;
+			}
+			else if (claimed) {
+				Message<?> message = candidate.get();
+				TransactionSynchronizationManager.registerSynchronization(
+						new ClaimReleasingSynchronization(getKey(message.getHeaders().getId()), groupIdKey));
+				return message;
+			}
+			else if (logger.isDebugEnabled()) {
+				logger.debug(String.format("Message with id '%s' has been claimed concurrently.",
+						candidate.get().getHeaders().getId()));
+			}
+		}
+	}
+
+	private void releaseClaim(String messageIdKey, String groupIdKey) {
+		try {
+			this.claimTransactionTemplate.execute(status ->
+					this.jdbcTemplate.update(
+							getQuery(Query.RELEASE_CLAIM,
+									() -> this.channelMessageStoreQueryProvider.getReleaseMessageClaimQuery()),
+							new Object[] { messageIdKey, groupIdKey, this.region },
+							new int[] { Types.VARCHAR, Types.VARCHAR, Types.VARCHAR }));
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to release a claim for message with id '" + messageIdKey
+					+ "'; it will be available for polling after the lease expiry.", ex);
+		}
+	}
+
 	private boolean doRemoveMessageFromGroup(Object groupId, Message<?> messageToRemove) {
 		final UUID id = messageToRemove.getHeaders().getId();
 
@@ -649,4 +965,24 @@ public class JdbcChannelMessageStore implements PriorityCapableChannelMessageSto
 		return this.idCache.size();
 	}
 
+	private final class ClaimReleasingSynchronization extends TransactionSynchronizationAdapter {
+
+		private final String messageIdKey;
+
+		private final String groupIdKey;
+
+		ClaimReleasingSynchronization(String messageIdKey, String groupIdKey) {
+			this.messageIdKey = messageIdKey;
+			this.groupIdKey = groupIdKey;
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			if (status != STATUS_COMMITTED) {
+				releaseClaim(this.messageIdKey, this.groupIdKey);
+			}
+		}
+
+	}
+
 }
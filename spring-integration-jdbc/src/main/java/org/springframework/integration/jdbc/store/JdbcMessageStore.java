@@ -44,6 +44,7 @@ import org.springframework.integration.store.MessageMetadata;
 import org.springframework.integration.store.MessageStore;
 import org.springframework.integration.store.SimpleMessageGroup;
 import org.springframework.integration.support.converter.WhiteListDeserializingConverter;
+import org.springframework.integration.util.GroupCommitBatcher;
 import org.springframework.integration.util.UUIDConverter;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -53,6 +54,7 @@ import org.springframework.jdbc.support.lob.DefaultLobHandler;
 import org.springframework.jdbc.support.lob.LobHandler;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
 import org.springframework.messaging.Message;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -195,6 +197,12 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 
 	private volatile Map<Query, String> queryCache = new HashMap<Query, String>();
 
+	private int insertBatchSize = 1;
+
+	private long insertBatchLinger;
+
+	private volatile GroupCommitBatcher<MessageInsert> insertBatcher;
+
 	/**
 	 * Create a {@link MessageStore} with all mandatory properties.
 	 * @param dataSource a {@link DataSource}
@@ -277,6 +285,34 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 		this.deserializer.addWhiteListPatterns(patterns);
 	}
 
+	/**
+	 * Set the maximum number of concurrent {@link #addMessage(Message)} calls to coalesce
+	 * into a single JDBC batch (group commit). Each caller is blocked until the batch with
+	 * its message is written, so the durability guarantees are the same as with
+	 * individual inserts. The batching is applied only for calls outside of a
+	 * transaction. Defaults to 1 - no batching.
+	 * @param insertBatchSize the batch size.
+	 * @since 5.2.3
+	 * @see #setInsertBatchLinger(long)
+	 */
+	public void setInsertBatchSize(int insertBatchSize) {
+		Assert.isTrue(insertBatchSize > 0, "'insertBatchSize' must be greater than 0");
+		this.insertBatchSize = insertBatchSize;
+	}
+
+	/**
+	 * Set the maximum time in milliseconds to wait for more concurrent inserts before
+	 * writing a batch which is not full. The batch is not written before the previous
+	 * one is completed anyway. Defaults to 0 - write immediately if the database is idle.
+	 * @param insertBatchLinger the linger time.
+	 * @since 5.2.3
+	 * @see #setInsertBatchSize(int)
+	 */
+	public void setInsertBatchLinger(long insertBatchLinger) {
+		Assert.isTrue(insertBatchLinger >= 0, "'insertBatchLinger' must not be negative");
+		this.insertBatchLinger = insertBatchLinger;
+	}
+
 	@Override
 	public Message<?> removeMessage(UUID id) {
 		Message<?> message = getMessage(id);
@@ -324,8 +360,12 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 	}
 
 	@Override
-	@SuppressWarnings("unchecked")
 	public <T> Message<T> addMessage(final Message<T> message) {
+		return addMessage(message, true);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Message<T> addMessage(Message<T> message, boolean batchingAllowed) {
 		UUID id = message.getHeaders().getId();
 		Assert.notNull(id, "Cannot store messages without an ID header");
 		final String messageId = getKey(id);
@@ -335,6 +375,44 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 			logger.debug("Inserting message with id key=" + messageId);
 		}
 
+		boolean inserted;
+		if (batchingAllowed && this.insertBatchSize > 1
+				&& !TransactionSynchronizationManager.isActualTransactionActive()) {
+
+			MessageInsert messageInsert = new MessageInsert(messageId, messageBytes);
+			getInsertBatcher().add(messageInsert);
+			inserted = messageInsert.inserted;
+		}
+		else {
+			inserted = doInsertMessage(messageId, messageBytes);
+		}
+
+		if (!inserted) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("The Message with id [" + id + "] already exists.\n" +
+						"Ignoring INSERT and SELECT existing...");
+			}
+			return (Message<T>) getMessage(id);
+		}
+		return message;
+	}
+
+	private GroupCommitBatcher<MessageInsert> getInsertBatcher() {
+		GroupCommitBatcher<MessageInsert> batcher = this.insertBatcher;
+		if (batcher == null) {
+			synchronized (this) {
+				batcher = this.insertBatcher;
+				if (batcher == null) {
+					batcher = new GroupCommitBatcher<>(this.insertBatchSize, this.insertBatchLinger,
+							this::doInsertMessages);
+					this.insertBatcher = batcher;
+				}
+			}
+		}
+		return batcher;
+	}
+
+	private boolean doInsertMessage(String messageId, byte[] messageBytes) {
 		try {
 			this.jdbcTemplate.update(getQuery(Query.CREATE_MESSAGE), ps -> {
 				ps.setString(1, messageId);
@@ -343,15 +421,34 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 
 				this.lobHandler.getLobCreator().setBlobAsBytes(ps, 4, messageBytes);
 			});
+			return true;
 		}
-		catch (DuplicateKeyException e) {
-			if (logger.isDebugEnabled()) {
-				logger.debug("The Message with id [" + id + "] already exists.\n" +
-						"Ignoring INSERT and SELECT existing...");
+		catch (@SuppressWarnings("unused") DuplicateKeyException e) {
+			return false;
+		}
+	}
+
+	private void doInsertMessages(List<MessageInsert> messageInserts) {
+		try {
+			Timestamp createdDate = new Timestamp(System.currentTimeMillis());
+			this.jdbcTemplate.batchUpdate(getQuery(Query.CREATE_MESSAGE), messageInserts, messageInserts.size(),
+					(ps, messageInsert) -> {
+						ps.setString(1, messageInsert.messageId);
+						ps.setString(2, this.region);
+						ps.setTimestamp(3, createdDate);
+
+						this.lobHandler.getLobCreator().setBlobAsBytes(ps, 4, messageInsert.messageBytes);
+					});
+			for (MessageInsert messageInsert : messageInserts) {
+				messageInsert.inserted = true;
+			}
+		}
+		catch (@SuppressWarnings("unused") DuplicateKeyException e) {
+			// Some drivers apply a part of the batch: insert one by one, skipping existing
+			for (MessageInsert messageInsert : messageInserts) {
+				messageInsert.inserted = doInsertMessage(messageInsert.messageId, messageInsert.messageBytes);
 			}
-			return (Message<T>) getMessage(id);
 		}
-		return message;
 	}
 
 	@Override
@@ -381,7 +478,7 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 		}
 
 		for (Message<?> message : messages) {
-			addMessage(message);
+			addMessage(message, false);
 		}
 		this.jdbcTemplate.batchUpdate(getQuery(Query.CREATE_GROUP_TO_MESSAGE),
 				Arrays.asList(messages),
@@ -689,4 +786,19 @@ public class JdbcMessageStore extends AbstractMessageGroupStore implements Messa
 
 	}
 
+	private static final class MessageInsert {
+
+		private final String messageId;
+
+		private final byte[] messageBytes;
+
+		private volatile boolean inserted;
+
+		MessageInsert(String messageId, byte[] messageBytes) {
+			this.messageId = messageId;
+			this.messageBytes = messageBytes;
+		}
+
+	}
+
 }
@@ -16,6 +16,8 @@
 
 package org.springframework.integration.jdbc.store.channel;
 
+import org.springframework.lang.Nullable;
+
 /**
  * Common interface used in order to configure the
  * {@link org.springframework.integration.jdbc.store.JdbcChannelMessageStore} to provide
@@ -66,6 +68,85 @@ public interface ChannelMessageStoreQueryProvider {
 	 */
 	String getPriorityPollFromGroupQuery();
 
+	/**
+	 * Get the query used to retrieve up to {@code :max_rows} oldest messages for a
+	 * channel with a single statement, claiming the rows (e.g. with
+	 * {@code FOR UPDATE SKIP LOCKED}) where the database supports it, so concurrent
+	 * pollers don't wait for each other on the same rows. No more than the requested
+	 * number of rows is read from the result, so the query may ignore the
+	 * {@code :max_rows} parameter if the database cannot limit the rows together with
+	 * the locking.
+	 * @return Sql Query or null if not supported; the messages are polled one by one then.
+	 * @since 5.2.3
+	 */
+	@Nullable
+	default String getPollMessagesFromGroupQuery() {
+		return null;
+	}
+
+	/**
+	 * Get the query used to retrieve up to {@code :max_rows} oldest messages by
+	 * priority for a channel with a single statement.
+	 * @return Sql Query or null if not supported; the messages are polled one by one then.
+	 * @since 5.2.3
+	 * @see #getPollMessagesFromGroupQuery()
+	 */
+	@Nullable
+	default String getPriorityPollMessagesFromGroupQuery() {
+		return null;
+	}
+
+	/**
+	 * Get the query used to retrieve the oldest message for a channel which is not
+	 * claimed by another poller, or its claim has expired: the {@code LEASE_EXPIRY}
+	 * is null or less than the {@code :now} parameter.
+	 * The row is not locked by this query; it is claimed by the
+	 * {@link #getClaimMessageQuery()} afterwards.
+	 * @return Sql Query or null if not supported.
+	 * @since 5.2.3
+	 */
+	@Nullable
+	default String getPollFromGroupUnclaimedQuery() {
+		return null;
+	}
+
+	/**
+	 * Get the query used to retrieve the oldest message by priority for a channel
+	 * which is not claimed by another poller, or its claim has expired.
+	 * @return Sql Query or null if not supported.
+	 * @since 5.2.3
+	 * @see #getPollFromGroupUnclaimedQuery()
+	 */
+	@Nullable
+	default String getPriorityPollFromGroupUnclaimedQuery() {
+		return null;
+	}
+
+	/**
+	 * Query to claim a single message by setting its {@code LEASE_EXPIRY} to the
+	 * provided value, only if it is not claimed by another poller, or its claim has
+	 * expired.
+	 * The parameters are: new lease expiry, message id, channel, region and the
+	 * current time.
+	 * @return Sql Query
+	 * @since 5.2.3
+	 */
+	default String getClaimMessageQuery() {
+		return "UPDATE %PREFIX%CHANNEL_MESSAGE set LEASE_EXPIRY=? where MESSAGE_ID=? and GROUP_KEY=? and REGION=? "
+				+ "and (LEASE_EXPIRY is null or LEASE_EXPIRY < ?)";
+	}
+
+	/**
+	 * Query to release a claim for a single message, so it can be polled again
+	 * immediately.
+	 * The parameters are: message id, channel and region.
+	 * @return Sql Query
+	 * @since 5.2.3
+	 */
+	default String getReleaseMessageClaimQuery() {
+		return "UPDATE %PREFIX%CHANNEL_MESSAGE set LEASE_EXPIRY=null where MESSAGE_ID=? and GROUP_KEY=? and REGION=?";
+	}
+
 	/**
 	 * Query that retrieves a message for the provided message id, channel and
 	 * region.
@@ -57,4 +57,31 @@ public class DerbyChannelMessageStoreQueryProvider extends AbstractChannelMessag
 				+ "order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE FETCH FIRST ROW ONLY";
 	}
 
+	@Override
+	public String getPollMessagesFromGroupQuery() {
+		return SELECT_COMMON
+				+ "order by CREATED_DATE, MESSAGE_SEQUENCE FETCH FIRST :max_rows ROWS ONLY";
+	}
+
+	@Override
+	public String getPriorityPollMessagesFromGroupQuery() {
+		return SELECT_COMMON
+				+ "order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE "
+				+ "FETCH FIRST :max_rows ROWS ONLY";
+	}
+
+	@Override
+	public String getPollFromGroupUnclaimedQuery() {
+		return SELECT_COMMON
+				+ "and (%PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY is null or %PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY < :now) "
+				+ "order by CREATED_DATE, MESSAGE_SEQUENCE FETCH FIRST ROW ONLY";
+	}
+
+	@Override
+	public String getPriorityPollFromGroupUnclaimedQuery() {
+		return SELECT_COMMON
+				+ "and (%PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY is null or %PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY < :now) "
+				+ "order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE FETCH FIRST ROW ONLY";
+	}
+
 }
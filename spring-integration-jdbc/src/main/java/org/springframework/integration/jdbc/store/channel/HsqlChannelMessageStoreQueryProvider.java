@@ -60,4 +60,30 @@ public class HsqlChannelMessageStoreQueryProvider extends AbstractChannelMessage
 				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1";
 	}
 
+	@Override
+	public String getPollMessagesFromGroupQuery() {
+		return SELECT_COMMON +
+				"order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT :max_rows";
+	}
+
+	@Override
+	public String getPriorityPollMessagesFromGroupQuery() {
+		return SELECT_COMMON +
+				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE LIMIT :max_rows";
+	}
+
+	@Override
+	public String getPollFromGroupUnclaimedQuery() {
+		return SELECT_COMMON
+				+ "and (%PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY is null or %PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY < :now) "
+				+ "order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1";
+	}
+
+	@Override
+	public String getPriorityPollFromGroupUnclaimedQuery() {
+		return SELECT_COMMON
+				+ "and (%PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY is null or %PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY < :now) "
+				+ "order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1";
+	}
+
 }
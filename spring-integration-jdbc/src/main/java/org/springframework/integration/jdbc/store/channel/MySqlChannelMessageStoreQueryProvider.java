@@ -54,4 +54,18 @@ public class MySqlChannelMessageStoreQueryProvider extends AbstractChannelMessag
 				"order by MESSAGE_PRIORITY DESC, CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1";
 	}
 
+	@Override
+	public String getPollFromGroupUnclaimedQuery() {
+		return SELECT_COMMON
+				+ "and (%PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY is null or %PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY < :now) "
+				+ "order by CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1";
+	}
+
+	@Override
+	public String getPriorityPollFromGroupUnclaimedQuery() {
+		return SELECT_COMMON
+				+ "and (%PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY is null or %PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY < :now) "
+				+ "order by MESSAGE_PRIORITY DESC, CREATED_DATE, MESSAGE_SEQUENCE LIMIT 1";
+	}
+
 }
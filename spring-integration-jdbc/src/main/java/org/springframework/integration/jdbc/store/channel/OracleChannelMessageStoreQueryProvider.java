@@ -75,4 +75,28 @@ public class OracleChannelMessageStoreQueryProvider extends AbstractChannelMessa
 				"order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE FOR UPDATE SKIP LOCKED";
 	}
 
+	@Override
+	public String getPollMessagesFromGroupQuery() {
+		return getPollFromGroupQuery();
+	}
+
+	@Override
+	public String getPriorityPollMessagesFromGroupQuery() {
+		return getPriorityPollFromGroupQuery();
+	}
+
+	@Override
+	public String getPollFromGroupUnclaimedQuery() {
+		return SELECT_COMMON
+				+ "and (%PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY is null or %PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY < :now) "
+				+ "order by CREATED_DATE, MESSAGE_SEQUENCE";
+	}
+
+	@Override
+	public String getPriorityPollFromGroupUnclaimedQuery() {
+		return SELECT_COMMON
+				+ "and (%PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY is null or %PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY < :now) "
+				+ "order by MESSAGE_PRIORITY DESC NULLS LAST, CREATED_DATE, MESSAGE_SEQUENCE";
+	}
+
 }
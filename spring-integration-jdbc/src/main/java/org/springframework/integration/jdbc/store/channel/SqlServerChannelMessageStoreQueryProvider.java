@@ -19,6 +19,8 @@ package org.springframework.integration.jdbc.store.channel;
 /**
  * Channel message store query provider for Microsoft SQL Server / Azure SQL database.
  * @author Sundara Balaji
+ * @author Artem Bilan
+ *
  * @since 5.1
  */
 public class SqlServerChannelMessageStoreQueryProvider extends AbstractChannelMessageStoreQueryProvider {
@@ -28,6 +30,11 @@ public class SqlServerChannelMessageStoreQueryProvider extends AbstractChannelMe
 			+ "from %PREFIX%CHANNEL_MESSAGE "
 			+ "where %PREFIX%CHANNEL_MESSAGE.GROUP_KEY = :group_key and %PREFIX%CHANNEL_MESSAGE.REGION = :region ";
 
+	private static final String SELECT_BATCH_COMMON =
+			"SELECT TOP (:max_rows) %PREFIX%CHANNEL_MESSAGE.MESSAGE_ID, %PREFIX%CHANNEL_MESSAGE.MESSAGE_BYTES "
+			+ "from %PREFIX%CHANNEL_MESSAGE WITH (UPDLOCK, READPAST, ROWLOCK) "
+			+ "where %PREFIX%CHANNEL_MESSAGE.GROUP_KEY = :group_key and %PREFIX%CHANNEL_MESSAGE.REGION = :region ";
+
 	@Override
 	public String getPollFromGroupExcludeIdsQuery() {
 		return SELECT_COMMON +
@@ -60,4 +67,30 @@ public class SqlServerChannelMessageStoreQueryProvider extends AbstractChannelMe
 				+ " values (?, ?, ?, ?, ?,(NEXT VALUE FOR %PREFIX%MESSAGE_SEQ), ?)";
 	}
 
+	@Override
+	public String getPollMessagesFromGroupQuery() {
+		return SELECT_BATCH_COMMON +
+				"order by CREATED_DATE, MESSAGE_SEQUENCE";
+	}
+
+	@Override
+	public String getPriorityPollMessagesFromGroupQuery() {
+		return SELECT_BATCH_COMMON +
+				"order by MESSAGE_PRIORITY DESC, CREATED_DATE, MESSAGE_SEQUENCE";
+	}
+
+	@Override
+	public String getPollFromGroupUnclaimedQuery() {
+		return SELECT_COMMON
+				+ "and (%PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY is null or %PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY < :now) "
+				+ "order by CREATED_DATE, MESSAGE_SEQUENCE";
+	}
+
+	@Override
+	public String getPriorityPollFromGroupUnclaimedQuery() {
+		return SELECT_COMMON
+				+ "and (%PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY is null or %PREFIX%CHANNEL_MESSAGE.LEASE_EXPIRY < :now) "
+				+ "order by MESSAGE_PRIORITY DESC, CREATED_DATE, MESSAGE_SEQUENCE";
+	}
+
 }
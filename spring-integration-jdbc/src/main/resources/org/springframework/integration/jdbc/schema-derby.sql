@@ -43,6 +43,7 @@ CREATE TABLE INT_CHANNEL_MESSAGE (
 	MESSAGE_PRIORITY BIGINT,
 	MESSAGE_SEQUENCE BIGINT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1, INCREMENT BY 1),
 	MESSAGE_BYTES BLOB,
+	LEASE_EXPIRY BIGINT,
 	REGION VARCHAR(100) NOT NULL,
 	constraint INT_CHANNEL_MESSAGE_PK primary key (REGION, GROUP_KEY, CREATED_DATE, MESSAGE_SEQUENCE)
 );
@@ -43,6 +43,7 @@ CREATE TABLE INT_CHANNEL_MESSAGE (
 	MESSAGE_PRIORITY BIGINT,
 	MESSAGE_SEQUENCE BIGINT NOT NULL AUTO_INCREMENT UNIQUE,
 	MESSAGE_BYTES BLOB,
+	LEASE_EXPIRY BIGINT,
 	REGION VARCHAR(100) NOT NULL,
 	constraint INT_CHANNEL_MESSAGE_PK primary key (REGION, GROUP_KEY, CREATED_DATE, MESSAGE_SEQUENCE)
 ) ENGINE=InnoDB;
@@ -43,6 +43,7 @@ CREATE TABLE INT_CHANNEL_MESSAGE (
 	MESSAGE_PRIORITY NUMBER(19,0),
 	MESSAGE_SEQUENCE NUMBER(19,0) NOT NULL ,
 	MESSAGE_BYTES BLOB,
+	LEASE_EXPIRY NUMBER(19,0),
 	REGION VARCHAR2(100) NOT NULL,
 	constraint INT_CHANNEL_MESSAGE_PK primary key (REGION, GROUP_KEY, CREATED_DATE, MESSAGE_SEQUENCE)
 );
@@ -17,6 +17,7 @@
 package org.springframework.integration.jdbc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.mock;
 
 import java.sql.ResultSet;
@@ -31,13 +32,19 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.integration.StaticMessageHeaderAccessor;
+import org.springframework.integration.acks.AcknowledgmentCallback;
+import org.springframework.integration.metadata.SimpleMetadataStore;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
 import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 import org.springframework.messaging.Message;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * @author Jonas Partner
@@ -257,6 +264,150 @@ public class JdbcPollingChannelAdapterIntegrationTests {
 		assertThat(countOfStatusTen).as("Status not updated incorrect number of rows with status 10").isEqualTo(2);
 	}
 
+	@Test
+	public void testKeysetPaginationWithFetchSize() {
+		JdbcPollingChannelAdapter adapter = new JdbcPollingChannelAdapter(embeddedDatabase,
+				"select * from item where id > :lastKey order by id");
+		adapter.setMaxRows(2);
+		adapter.setFetchSize(2);
+		adapter.setKeysetColumn("id");
+		adapter.setKeysetInitialValue(0);
+		SimpleMetadataStore metadataStore = new SimpleMetadataStore();
+		adapter.setMetadataStore(metadataStore);
+		adapter.setMetadataKey("items");
+		adapter.setRowMapper(new ItemRowMapper());
+		adapter.setBeanFactory(mock(BeanFactory.class));
+		adapter.afterPropertiesSet();
+
+		for (int i = 1; i <= 5; i++) {
+			jdbcTemplate.update("insert into item values(?,2)", i);
+		}
+
+		Message<Object> message = adapter.receive();
+		assertThat((List<?>) message.getPayload()).extracting("id").containsExactly(1, 2);
+		assertThat(metadataStore.get("items")).isNull();
+		acknowledge(message, AcknowledgmentCallback.Status.ACCEPT);
+		assertThat(metadataStore.get("items")).isEqualTo("2");
+		assertThat((List<?>) receiveAndAccept(adapter).getPayload()).extracting("id").containsExactly(3, 4);
+		assertThat((List<?>) receiveAndAccept(adapter).getPayload()).extracting("id").containsExactly(5);
+		assertThat(adapter.receive()).isNull();
+		assertThat(metadataStore.get("items")).isEqualTo("5");
+
+		jdbcTemplate.update("insert into item values(6,2)");
+		assertThat((List<?>) receiveAndAccept(adapter).getPayload()).extracting("id").containsExactly(6);
+	}
+
+	@Test
+	public void testKeysetPaginationNotAdvancedWithoutAcceptance() {
+		JdbcPollingChannelAdapter adapter = new JdbcPollingChannelAdapter(embeddedDatabase,
+				"select * from item where id > :lastKey order by id");
+		adapter.setMaxRows(2);
+		adapter.setKeysetColumn("id");
+		adapter.setKeysetInitialValue(0);
+		SimpleMetadataStore metadataStore = new SimpleMetadataStore();
+		adapter.setMetadataStore(metadataStore);
+		adapter.setMetadataKey("items");
+		adapter.setRowMapper(new ItemRowMapper());
+		adapter.setBeanFactory(mock(BeanFactory.class));
+		adapter.afterPropertiesSet();
+
+		for (int i = 1; i <= 3; i++) {
+			jdbcTemplate.update("insert into item values(?,2)", i);
+		}
+
+		Message<Object> message = adapter.receive();
+		assertThat((List<?>) message.getPayload()).extracting("id").containsExactly(1, 2);
+		acknowledge(message, AcknowledgmentCallback.Status.REJECT);
+		assertThat(metadataStore.get("items")).isNull();
+
+		message = adapter.receive();
+		assertThat((List<?>) message.getPayload()).extracting("id").containsExactly(1, 2);
+		assertThat(metadataStore.get("items")).isNull();
+
+		assertThat((List<?>) receiveAndAccept(adapter).getPayload()).extracting("id").containsExactly(1, 2);
+		assertThat(metadataStore.get("items")).isEqualTo("2");
+		assertThat((List<?>) receiveAndAccept(adapter).getPayload()).extracting("id").containsExactly(3);
+	}
+
+	@Test
+	public void testKeysetPaginationAdvancedAfterCommit() {
+		JdbcPollingChannelAdapter adapter = new JdbcPollingChannelAdapter(embeddedDatabase,
+				"select * from item where id > :lastKey order by id");
+		adapter.setKeysetColumn("id");
+		adapter.setKeysetInitialValue(0);
+		SimpleMetadataStore metadataStore = new SimpleMetadataStore();
+		adapter.setMetadataStore(metadataStore);
+		adapter.setMetadataKey("items");
+		adapter.setRowMapper(new ItemRowMapper());
+		adapter.setBeanFactory(mock(BeanFactory.class));
+		adapter.afterPropertiesSet();
+
+		jdbcTemplate.update("insert into item values(1,2)");
+
+		TransactionTemplate transactionTemplate =
+				new TransactionTemplate(new DataSourceTransactionManager(embeddedDatabase));
+
+		transactionTemplate.execute(status -> {
+			acknowledge(adapter.receive(), AcknowledgmentCallback.Status.ACCEPT);
+			assertThat(metadataStore.get("items")).isNull();
+			status.setRollbackOnly();
+			return null;
+		});
+		assertThat(metadataStore.get("items")).isNull();
+
+		transactionTemplate.execute(status -> {
+			acknowledge(adapter.receive(), AcknowledgmentCallback.Status.ACCEPT);
+			assertThat(metadataStore.get("items")).isNull();
+			return null;
+		});
+		assertThat(metadataStore.get("items")).isEqualTo("1");
+	}
+
+	@Test
+	public void testSimplePollForListWithRowMapperAndBatchUpdatePerRow() {
+		JdbcPollingChannelAdapter adapter = new JdbcPollingChannelAdapter(embeddedDatabase,
+				"select * from item where status=2");
+		adapter.setUpdateSql("update item set status = 10 where id = :id");
+		adapter.setUpdatePerRow(true);
+		adapter.setBatchUpdatePerRow(true);
+		adapter.setRowMapper(new ItemRowMapper());
+		adapter.setBeanFactory(mock(BeanFactory.class));
+		adapter.afterPropertiesSet();
+
+		jdbcTemplate.update("insert into item values(1,2)");
+		jdbcTemplate.update("insert into item values(2,2)");
+
+		Message<Object> message = adapter.receive();
+		assertThat((List<?>) message.getPayload()).extracting("id").containsExactly(1, 2);
+
+		int countOfStatusTen = jdbcTemplate.queryForObject("select count(*) from item where status = 10", Integer.class);
+		assertThat(countOfStatusTen).as("Status not updated incorrect number of rows with status 10").isEqualTo(2);
+	}
+
+	@Test
+	public void testBatchUpdatePerRowFailureIsPropagated() {
+		JdbcPollingChannelAdapter adapter = new JdbcPollingChannelAdapter(embeddedDatabase,
+				"select * from item where status=2 order by id");
+		adapter.setUpdateSql("update item set status = 10 / (id - 2) where id = :id");
+		adapter.setUpdatePerRow(true);
+		adapter.setBatchUpdatePerRow(true);
+		adapter.setRowMapper(new ItemRowMapper());
+		adapter.setBeanFactory(mock(BeanFactory.class));
+		adapter.afterPropertiesSet();
+
+		jdbcTemplate.update("insert into item values(1,2)");
+		jdbcTemplate.update("insert into item values(2,2)");
+
+		TransactionTemplate transactionTemplate =
+				new TransactionTemplate(new DataSourceTransactionManager(embeddedDatabase));
+
+		assertThatExceptionOfType(DataAccessException.class)
+				.isThrownBy(() -> transactionTemplate.execute(status -> adapter.receive()));
+
+		int countOfStatusTwo = jdbcTemplate.queryForObject("select count(*) from item where status = 2", Integer.class);
+		assertThat(countOfStatusTwo).as("Rows must stay unprocessed after the rolled back batch").isEqualTo(2);
+	}
+
 	@Test
 	public void testEmptyPoll() {
 		JdbcPollingChannelAdapter adapter = new JdbcPollingChannelAdapter(embeddedDatabase, "select * from item");
@@ -264,6 +415,18 @@ public class JdbcPollingChannelAdapterIntegrationTests {
 		assertThat(message).as("Message received when no rows in table").isNull();
 	}
 
+	private static Message<Object> receiveAndAccept(JdbcPollingChannelAdapter adapter) {
+		Message<Object> message = adapter.receive();
+		acknowledge(message, AcknowledgmentCallback.Status.ACCEPT);
+		return message;
+	}
+
+	private static void acknowledge(Message<?> message, AcknowledgmentCallback.Status status) {
+		AcknowledgmentCallback callback = StaticMessageHeaderAccessor.getAcknowledgmentCallback(message);
+		assertThat(callback).isNotNull();
+		callback.acknowledge(status);
+	}
+
 	private static class Item {
 
 		private int id;
@@ -18,6 +18,7 @@ package org.springframework.integration.jdbc.lock;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
@@ -25,6 +26,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 
+import javax.sql.DataSource;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -33,6 +36,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.integration.test.util.TestUtils;
+import org.springframework.integration.util.UUIDConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
@@ -56,6 +61,9 @@ public class JdbcLockRegistryTests {
 	@Autowired
 	private LockRepository client;
 
+	@Autowired
+	private DataSource dataSource;
+
 	@Before
 	public void clear() {
 		this.registry.expireUnusedOlderThan(0);
@@ -266,4 +274,28 @@ public class JdbcLockRegistryTests {
 		assertThat(((Exception) imse).getMessage()).contains("You do not own");
 	}
 
+	@Test
+	public void testRenewLocks() {
+		Lock lock = this.registry.obtain("foo");
+		lock.lock();
+		try {
+			Lock other = this.registry.obtain("bar");
+			assertThat(other.tryLock()).isTrue();
+			other.unlock();
+
+			String path = UUIDConverter.getUUID("foo").toString();
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+			jdbcTemplate.update("UPDATE INT_LOCK SET CREATED_DATE=? WHERE LOCK_KEY=?",
+					new Date(System.currentTimeMillis() - DefaultLockRepository.DEFAULT_TTL * 2), path);
+
+			this.registry.renewLocks();
+
+			assertThat(this.client.isAcquired(path)).isTrue();
+			assertThat(this.client.isAcquired(UUIDConverter.getUUID("bar").toString())).isFalse();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
 }
@@ -26,6 +26,9 @@ import java.util.List;
 import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
@@ -49,6 +52,7 @@ import org.springframework.messaging.support.GenericMessage;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -112,6 +116,39 @@ public class JdbcMessageStoreTests {
 		assertThat(fooChannelHistory.get("type")).isEqualTo("channel");
 	}
 
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void testInsertBatching() throws Exception {
+		messageStore.setRegion("insertBatching");
+		messageStore.setInsertBatchSize(5);
+		messageStore.setInsertBatchLinger(100);
+
+		Message<String> existing = MessageBuilder.withPayload("foo").build();
+		messageStore.addMessage(existing);
+
+		ExecutorService executor = Executors.newFixedThreadPool(10);
+		List<Future<Message<String>>> results = new ArrayList<>();
+		for (int i = 0; i < 9; i++) {
+			results.add(executor.submit(() -> messageStore.addMessage(MessageBuilder.withPayload("bar").build())));
+		}
+		results.add(executor.submit(() -> messageStore.addMessage(new GenericMessage<>("baz", existing.getHeaders()))));
+
+		try {
+			for (int i = 0; i < 9; i++) {
+				assertThat(results.get(i).get(10, TimeUnit.SECONDS).getPayload()).isEqualTo("bar");
+			}
+			assertThat(results.get(9).get(10, TimeUnit.SECONDS).getPayload()).isEqualTo("foo");
+			assertThat(messageStore.getMessageCount()).isEqualTo(10);
+		}
+		finally {
+			executor.shutdownNow();
+			messageStore.removeMessage(existing.getHeaders().getId());
+			for (Future<Message<String>> result : results) {
+				messageStore.removeMessage(result.get().getHeaders().getId());
+			}
+		}
+	}
+
 	@Test
 	public void testSize() {
 		Message<String> message = MessageBuilder.withPayload("foo").build();
@@ -20,6 +20,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.sql.DataSource;
 
@@ -31,6 +38,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.serializer.support.SerializingConverter;
 import org.springframework.integration.jdbc.store.JdbcChannelMessageStore;
 import org.springframework.integration.support.MessageBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.lob.DefaultLobHandler;
 import org.springframework.jdbc.support.lob.LobHandler;
 import org.springframework.messaging.Message;
@@ -131,6 +139,104 @@ public abstract class AbstractJdbcChannelMessageStoreTests {
 		assertThat(messageFromDb.getHeaders().getId()).isEqualTo(message.getHeaders().getId());
 	}
 
+	@Test
+	public void testPollMessagesFromGroup() {
+		List<Message<?>> messages = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Message<Integer> message = MessageBuilder.withPayload(i).build();
+			messages.add(message);
+			messageStore.addMessageToGroup(TEST_MESSAGE_GROUP, message);
+		}
+
+		List<Message<?>> polled = messageStore.pollMessagesFromGroup(TEST_MESSAGE_GROUP, 3);
+		assertThat(polled).extracting(Message::getPayload).containsExactly(0, 1, 2);
+		assertThat(messageStore.messageGroupSize(TEST_MESSAGE_GROUP)).isEqualTo(2);
+
+		polled = messageStore.pollMessagesFromGroup(TEST_MESSAGE_GROUP, 10);
+		assertThat(polled).extracting(message -> message.getHeaders().getId())
+				.containsExactly(messages.get(3).getHeaders().getId(), messages.get(4).getHeaders().getId());
+		assertThat(messageStore.pollMessagesFromGroup(TEST_MESSAGE_GROUP, 10)).isEmpty();
+	}
+
+	@Test
+	public void testPriorityPollMessagesFromGroup() {
+		messageStore.setPriorityEnabled(true);
+		for (int i = 0; i < 3; i++) {
+			messageStore.addMessageToGroup(TEST_MESSAGE_GROUP, MessageBuilder.withPayload(i).setPriority(i).build());
+		}
+		messageStore.addMessageToGroup(TEST_MESSAGE_GROUP, MessageBuilder.withPayload(3).build());
+
+		List<Message<?>> polled = messageStore.pollMessagesFromGroup(TEST_MESSAGE_GROUP, 3);
+		assertThat(polled).extracting(Message::getPayload).containsExactly(2, 1, 0);
+		polled = messageStore.pollMessagesFromGroup(TEST_MESSAGE_GROUP, 3);
+		assertThat(polled).extracting(Message::getPayload).containsExactly(3);
+	}
+
+	@Test
+	public void testClaimIsReleasedOnRollback() {
+		messageStore.setLeaseDuration(Duration.ofMinutes(1));
+		messageStore.afterPropertiesSet();
+		Message<String> message = MessageBuilder.withPayload("foo").build();
+		messageStore.addMessageToGroup(TEST_MESSAGE_GROUP, message);
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		Message<?> polled = transactionTemplate.execute(status -> {
+			Message<?> result = messageStore.pollMessageFromGroup(TEST_MESSAGE_GROUP);
+			status.setRollbackOnly();
+			return result;
+		});
+		assertThat(polled).isNotNull();
+		assertThat(polled.getHeaders().getId()).isEqualTo(message.getHeaders().getId());
+
+		polled = transactionTemplate.execute(status -> messageStore.pollMessageFromGroup(TEST_MESSAGE_GROUP));
+		assertThat(polled).isNotNull();
+		assertThat(polled.getHeaders().getId()).isEqualTo(message.getHeaders().getId());
+		assertThat(messageStore.messageGroupSize(TEST_MESSAGE_GROUP)).isEqualTo(0);
+	}
+
+	@Test
+	public void testClaimedMessageIsPolledAfterLeaseExpiry() {
+		messageStore.setLeaseDuration(Duration.ofMinutes(1));
+		messageStore.afterPropertiesSet();
+		Message<String> message = MessageBuilder.withPayload("foo").build();
+		messageStore.addMessageToGroup(TEST_MESSAGE_GROUP, message);
+
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.update("UPDATE INT_CHANNEL_MESSAGE set LEASE_EXPIRY=?", System.currentTimeMillis() + 60000);
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		assertThat(transactionTemplate.execute(status -> messageStore.pollMessageFromGroup(TEST_MESSAGE_GROUP)))
+				.isNull();
+
+		jdbcTemplate.update("UPDATE INT_CHANNEL_MESSAGE set LEASE_EXPIRY=?", System.currentTimeMillis() - 1);
+
+		Message<?> polled =
+				transactionTemplate.execute(status -> messageStore.pollMessageFromGroup(TEST_MESSAGE_GROUP));
+		assertThat(polled).isNotNull();
+		assertThat(polled.getHeaders().getId()).isEqualTo(message.getHeaders().getId());
+	}
+
+	@Test
+	public void testInsertBatching() throws Exception {
+		messageStore.setInsertBatchSize(5);
+		messageStore.setInsertBatchLinger(100);
+		ExecutorService executor = Executors.newFixedThreadPool(10);
+		List<Future<?>> results = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			Message<Integer> message = MessageBuilder.withPayload(i).build();
+			results.add(executor.submit(() -> messageStore.addMessageToGroup(TEST_MESSAGE_GROUP, message)));
+		}
+		try {
+			for (Future<?> result : results) {
+				result.get(10, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertThat(messageStore.messageGroupSize(TEST_MESSAGE_GROUP)).isEqualTo(10);
+	}
+
 	private ChannelMessageStorePreparedStatementSetter getMessageGroupPreparedStatementSetter() {
 		return new ChannelMessageStorePreparedStatementSetter() {
 
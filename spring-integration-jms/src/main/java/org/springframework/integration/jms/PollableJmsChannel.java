@@ -16,8 +16,6 @@
 
 package org.springframework.integration.jms;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.List;
 
 import org.springframework.integration.channel.ExecutorChannelInterceptorAware;
@@ -92,19 +90,19 @@ public class PollableJmsChannel extends AbstractJmsChannel
 	@Nullable
 	public Message<?> receive() {
 		ChannelInterceptorList interceptorList = getIChannelInterceptorList();
-		Deque<ChannelInterceptor> interceptorStack = null;
+		ChannelInterceptor[] appliedInterceptors = null;
 		boolean counted = false;
 		boolean countsEnabled = isCountsEnabled();
 		try {
 			if (isLoggingEnabled() && logger.isTraceEnabled()) {
 				logger.trace("preReceive on channel '" + this + "'");
 			}
-			if (interceptorList.getInterceptors().size() > 0) {
-				interceptorStack = new ArrayDeque<>();
-
-				if (!interceptorList.preReceive(this, interceptorStack)) {
+			ChannelInterceptor[] interceptorArray = interceptorList.getInterceptorArray();
+			if (interceptorArray.length > 0) {
+				if (!interceptorList.preReceive(this, interceptorArray)) {
 					return null;
 				}
+				appliedInterceptors = interceptorArray;
 			}
 			Object object;
 			if (this.messageSelector == null) {
@@ -138,17 +136,21 @@ public class PollableJmsChannel extends AbstractJmsChannel
 					logger.debug("postReceive on channel '" + this + "', message: " + message);
 				}
 			}
-			if (interceptorStack != null && message != null) {
-				message = interceptorList.postReceive(message, this);
+			if (appliedInterceptors != null) {
+				if (message != null) {
+					message = interceptorList.postReceive(message, this, appliedInterceptors);
+				}
+				interceptorList.afterReceiveCompletion(message, this, null, appliedInterceptors);
 			}
-			interceptorList.afterReceiveCompletion(message, this, null, interceptorStack);
 			return message;
 		}
 		catch (RuntimeException ex) {
 			if (countsEnabled && !counted) {
 				incrementReceiveErrorCounter(ex);
 			}
-			interceptorList.afterReceiveCompletion(null, this, ex, interceptorStack);
+			if (appliedInterceptors != null) {
+				interceptorList.afterReceiveCompletion(null, this, ex, appliedInterceptors);
+			}
 			throw ex;
 		}
 	}